@@ -0,0 +1,186 @@
+package com.mcdevon.fixed;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/*
+ * Minimal benchmark harness without external dependencies. Measures
+ * throughput (ops/s) and allocation (bytes/op) of each registered case.
+ *
+ * Output is tab separated, one line per case, and stable across releases:
+ *   # fixed-bench 1
+ *   # benchmark	impl	ops/s	B/op	iterations
+ *   mul	Fixed	123456789	16.00	5
+ */
+public final class Bench {
+
+	public interface Op {
+		void run(int i, Sink sink);
+	}
+
+	// Keeps results alive so that the JIT cannot drop the measured work
+	public static final class Sink {
+		private final Object[] _objects = new Object[INPUT_SIZE];
+		private long _bits;
+
+		public void consume(int i, Object value) {
+			_objects[i & INPUT_MASK] = value;
+		}
+
+		public void consume(long value) {
+			_bits += value;
+		}
+
+		public void consume(double value) {
+			_bits += Double.doubleToRawLongBits(value);
+		}
+
+		public void consume(boolean value) {
+			_bits += value ? 1 : 0;
+		}
+
+		long bits() {
+			return _bits;
+		}
+	}
+
+	// Inputs are indexed with (i & INPUT_MASK)
+	public static final int INPUT_SIZE = 1024;
+	public static final int INPUT_MASK = INPUT_SIZE - 1;
+
+	public static final String FORMAT_VERSION = "1";
+
+	private static final class Case {
+		final String benchmark;
+		final String impl;
+		final Op op;
+
+		Case(String benchmark, String impl, Op op) {
+			this.benchmark = benchmark;
+			this.impl = impl;
+			this.op = op;
+		}
+	}
+
+	private final List<Case> _cases = new ArrayList<Case>();
+	private final Sink _sink = new Sink();
+
+	private long _warmupMillis = 500;
+	private long _iterationMillis = 200;
+	private int _iterations = 5;
+	private int _batch = INPUT_SIZE * 16;
+	private Pattern _filter;
+
+	private static final com.sun.management.ThreadMXBean threadBean =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	public Bench add(String benchmark, String impl, Op op) {
+		_cases.add(new Case(benchmark, impl, op));
+		return this;
+	}
+
+	// Op of a registered case, for running it under another harness
+	Op find(String benchmark, String impl) {
+		for (Case c : _cases) {
+			if (c.benchmark.equals(benchmark) && c.impl.equals(impl)) {
+				return c.op;
+			}
+		}
+		throw new IllegalArgumentException("Unknown case: " + benchmark + "/" + impl);
+	}
+
+	// benchmark/impl of every registered case, in registration order
+	List<String> names() {
+		List<String> names = new ArrayList<String>();
+		for (Case c : _cases) {
+			names.add(c.benchmark + "/" + c.impl);
+		}
+		return names;
+	}
+
+	// Operations between clock reads, lower it for slow operations
+	public Bench batch(int ops) {
+		_batch = ops;
+		return this;
+	}
+
+	// Parses -w <warmup ms> -t <iteration ms> -i <iterations> -f <regex>
+	public Bench configure(String[] args) {
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			if (args[i].equals("-w")) {
+				_warmupMillis = Long.parseLong(value);
+			} else if (args[i].equals("-t")) {
+				_iterationMillis = Long.parseLong(value);
+			} else if (args[i].equals("-i")) {
+				_iterations = Integer.parseInt(value);
+			} else if (args[i].equals("-f")) {
+				_filter = Pattern.compile(value);
+			} else {
+				throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+		}
+		return this;
+	}
+
+	public void run(PrintStream out) {
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		out.println("# fixed-bench " + FORMAT_VERSION);
+		out.println("# benchmark\timpl\tops/s\tB/op\titerations");
+
+		for (Case c : _cases) {
+			String name = c.benchmark + "\t" + c.impl;
+			if (_filter != null && !_filter.matcher(c.benchmark + "/" + c.impl).find()) {
+				continue;
+			}
+
+			measure(c.op, _warmupMillis);
+
+			long ops = 0;
+			long nanos = 0;
+			long bytes = 0;
+			for (int i = 0; i < _iterations; i++) {
+				long[] result = measure(c.op, _iterationMillis);
+				ops += result[0];
+				nanos += result[1];
+				bytes += result[2];
+			}
+
+			double opsPerSecond = ops * 1e9 / nanos;
+			double bytesPerOp = (double) bytes / ops;
+			out.println(String.format(java.util.Locale.ROOT, "%s\t%.0f\t%.2f\t%d",
+					name, opsPerSecond, bytesPerOp, _iterations));
+		}
+
+		// Make the sink observable so the work cannot be eliminated
+		if (_sink.bits() == 42) {
+			out.println("#");
+		}
+	}
+
+	// Returns {ops, nanos, allocated bytes}
+	private long[] measure(Op op, long millis) {
+		final int batch = _batch;
+		long threadId = Thread.currentThread().getId();
+		long deadline = System.nanoTime() + millis * 1000000L;
+		long ops = 0;
+
+		long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+		long start = System.nanoTime();
+		long now;
+		do {
+			for (int i = 0; i < batch; i++) {
+				op.run(i, _sink);
+			}
+			ops += batch;
+			now = System.nanoTime();
+		} while (now < deadline);
+		long endBytes = threadBean.getThreadAllocatedBytes(threadId);
+
+		return new long[] { ops, now - start, endBytes - startBytes };
+	}
+}
@@ -0,0 +1,294 @@
+package com.mcdevon.fixed;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/*
+ * Benchmarks every public operation of Fixed, the matching FixedMath raw
+ * variant, and double / BigDecimal equivalents where one exists.
+ *
+ * Usage: java com.mcdevon.fixed.FixedBenchmark [-w ms] [-t ms] [-i n] [-f regex]
+ */
+public final class FixedBenchmark {
+
+	private static final int N = Bench.INPUT_SIZE;
+	private static final int M = Bench.INPUT_MASK;
+	private static final MathContext MC = MathContext.DECIMAL64;
+
+	// Operand pairs, all small enough that unsafe ops do not overflow
+	static final Fixed[] fa = new Fixed[N];
+	static final Fixed[] fb = new Fixed[N];
+	static final int[] ia = new int[N];
+	static final int[] ib = new int[N];
+	static final double[] da = new double[N];
+	static final double[] db = new double[N];
+	static final BigDecimal[] ba = new BigDecimal[N];
+	static final BigDecimal[] bb = new BigDecimal[N];
+	static final String[] sa = new String[N];
+	static final byte[][] bytes = new byte[N][];
+	static final byte[] textBuffer = new byte[FixedMath.MAX_STRING_LENGTH];
+	static final int[] ints = new int[N];
+	static final long[] la = new long[N];
+	static final long[] lb = new long[N];
+	// Small values and quarters, covered by the Fixed instance cache
+	static final Fixed[] fs = new Fixed[N];
+	static final int[] is = new int[N];
+	static final int[] smallInts = new int[N];
+	static final int[] quarters = new int[N];
+	// Exponents in [-10, 10] and positive values for logarithms
+	static final int[] ea = new int[N];
+	static final double[] eda = new double[N];
+	static final int[] pa = new int[N];
+	static final double[] pda = new double[N];
+
+	static {
+		Random random = new Random(42);
+		for (int i = 0; i < N; i++) {
+			ia[i] = random.nextInt(FixedMath.fromInt(1000) * 2) - FixedMath.fromInt(1000);
+			int b = random.nextInt(FixedMath.fromInt(100) * 2) - FixedMath.fromInt(100);
+			ib[i] = b != 0 ? b : FixedMath.ONE;
+			fa[i] = Fixed.fromData(ia[i]);
+			fb[i] = Fixed.fromData(ib[i]);
+			da[i] = fa[i].doubleValue();
+			db[i] = fb[i].doubleValue();
+			ba[i] = fa[i].bigDecimalValue();
+			bb[i] = fb[i].bigDecimalValue();
+			sa[i] = fa[i].toString();
+			bytes[i] = sa[i].getBytes(StandardCharsets.US_ASCII);
+			ints[i] = random.nextInt(2000) - 1000;
+			la[i] = Fixed64Math.fromFixed(ia[i]);
+			lb[i] = Fixed64Math.fromFixed(ib[i]);
+			is[i] = random.nextInt(FixedMath.fromInt(200)) - FixedMath.fromInt(100);
+			fs[i] = Fixed.fromData(is[i]);
+			smallInts[i] = random.nextInt(200) - 100;
+			quarters[i] = is[i] & -(FixedMath.ONE / 4);
+			ea[i] = ia[i] / 100;
+			eda[i] = ea[i] / (double)FixedMath.ONE;
+			pa[i] = FixedMath.abs(ia[i]) + 1;
+			pda[i] = pa[i] / (double)FixedMath.ONE;
+		}
+	}
+
+	public static void main(String[] args) {
+		Fixed.generateDynamicLutData();
+
+		Bench bench = new Bench().configure(args);
+		addCases(bench);
+		bench.run(System.out);
+	}
+
+	static void addCases(Bench b) {
+		// Arithmetic
+		b.add("add", "Fixed", (i, s) -> s.consume(i, fa[i & M].add(fb[i & M])));
+		b.add("add", "FixedMath", (i, s) -> s.consume(FixedMath.add(ia[i & M], ib[i & M])));
+		b.add("add", "double", (i, s) -> s.consume(da[i & M] + db[i & M]));
+		b.add("add", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].add(bb[i & M])));
+
+		b.add("sub", "Fixed", (i, s) -> s.consume(i, fa[i & M].sub(fb[i & M])));
+		b.add("sub", "FixedMath", (i, s) -> s.consume(FixedMath.sub(ia[i & M], ib[i & M])));
+		b.add("sub", "double", (i, s) -> s.consume(da[i & M] - db[i & M]));
+		b.add("sub", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].subtract(bb[i & M])));
+
+		b.add("mul", "Fixed", (i, s) -> s.consume(i, fa[i & M].mul(fb[i & M])));
+		b.add("mul", "FixedMath", (i, s) -> s.consume(FixedMath.mul(ia[i & M], ib[i & M])));
+		b.add("mul", "double", (i, s) -> s.consume(da[i & M] * db[i & M]));
+		b.add("mul", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].multiply(bb[i & M], MC)));
+
+		b.add("div", "Fixed", (i, s) -> s.consume(i, fa[i & M].div(fb[i & M])));
+		b.add("div", "FixedMath", (i, s) -> s.consume(FixedMath.div(ia[i & M], ib[i & M])));
+		b.add("div", "double", (i, s) -> s.consume(da[i & M] / db[i & M]));
+		b.add("div", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].divide(bb[i & M], MC)));
+
+		b.add("mod", "Fixed", (i, s) -> s.consume(i, fa[i & M].mod(fb[i & M])));
+		b.add("mod", "FixedMath", (i, s) -> s.consume(FixedMath.mod(ia[i & M], ib[i & M])));
+		b.add("mod", "double", (i, s) -> s.consume(da[i & M] % db[i & M]));
+		b.add("mod", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].remainder(bb[i & M], MC)));
+
+		b.add("negate", "Fixed", (i, s) -> s.consume(i, fa[i & M].negate()));
+		b.add("negate", "FixedMath", (i, s) -> s.consume(FixedMath.negate(ia[i & M])));
+		b.add("negate", "double", (i, s) -> s.consume(-da[i & M]));
+		b.add("negate", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].negate()));
+
+		// Safe arithmetic
+		b.add("safeAdd", "Fixed", (i, s) -> s.consume(i, fa[i & M].safeAdd(fb[i & M])));
+		b.add("safeAdd", "FixedMath", (i, s) -> s.consume(FixedMath.safeAdd(ia[i & M], ib[i & M])));
+		b.add("safeSub", "Fixed", (i, s) -> s.consume(i, fa[i & M].safeSub(fb[i & M])));
+		b.add("safeSub", "FixedMath", (i, s) -> s.consume(FixedMath.safeSub(ia[i & M], ib[i & M])));
+		b.add("safeMul", "Fixed", (i, s) -> s.consume(i, fa[i & M].safeMul(fb[i & M])));
+		b.add("safeMul", "FixedMath", (i, s) -> s.consume(FixedMath.safeMul(ia[i & M], ib[i & M])));
+		b.add("safeDiv", "Fixed", (i, s) -> s.consume(i, fa[i & M].safeDiv(fb[i & M])));
+		b.add("safeDiv", "FixedMath", (i, s) -> s.consume(FixedMath.safeDiv(ia[i & M], ib[i & M])));
+		b.add("safeMod", "Fixed", (i, s) -> s.consume(i, fa[i & M].safeMod(fb[i & M])));
+		b.add("safeMod", "FixedMath", (i, s) -> s.consume(FixedMath.safeMod(ia[i & M], ib[i & M])));
+
+		// Exact arithmetic
+		b.add("addExact", "FixedMath", (i, s) -> s.consume(FixedMath.addExact(ia[i & M], ib[i & M])));
+		b.add("addExact", "FixedOverflow", (i, s) -> s.consume(FixedOverflow.THROW.add(ia[i & M], ib[i & M])));
+		b.add("mulExact", "FixedMath", (i, s) -> s.consume(FixedMath.mulExact(ia[i & M], ib[i & M])));
+		b.add("mulExact", "FixedOverflow", (i, s) -> s.consume(FixedOverflow.THROW.mul(ia[i & M], ib[i & M])));
+		b.add("divExact", "FixedMath", (i, s) -> s.consume(FixedMath.divExact(ia[i & M], ib[i & M])));
+
+		// Rounded arithmetic
+		b.add("mulRound", "Fixed", (i, s) -> s.consume(i, fa[i & M].mulRound(fb[i & M])));
+		b.add("mulRound", "FixedMath", (i, s) -> s.consume(FixedMath.mulRound(ia[i & M], ib[i & M])));
+		b.add("mulRound", "FixedMath.HALF_EVEN", (i, s) -> s.consume(FixedMath.mul(ia[i & M], ib[i & M], RoundingMode.HALF_EVEN)));
+		b.add("divRound", "FixedMath", (i, s) -> s.consume(FixedMath.divRound(ia[i & M], ib[i & M])));
+		b.add("divRound", "FixedMath.HALF_EVEN", (i, s) -> s.consume(FixedMath.div(ia[i & M], ib[i & M], RoundingMode.HALF_EVEN)));
+		b.add("divRound", "FixedMath.safeDiv", (i, s) -> s.consume(FixedMath.safeDiv(ia[i & M], ib[i & M])));
+		b.add("fma", "FixedMath", (i, s) -> s.consume(FixedMath.fma(ia[i & M], ib[i & M], ia[(i + 1) & M])));
+		b.add("fma", "FixedMath.mul+add", (i, s) -> s.consume(FixedMath.add(FixedMath.mul(ia[i & M], ib[i & M]), ia[(i + 1) & M])));
+		b.add("fma", "double", (i, s) -> s.consume(da[i & M] * db[i & M] + da[(i + 1) & M]));
+
+		// Comparison
+		b.add("lessThan", "Fixed", (i, s) -> s.consume(fa[i & M].lessThan(fb[i & M])));
+		b.add("lessThan", "double", (i, s) -> s.consume(da[i & M] < db[i & M]));
+		b.add("lessThan", "BigDecimal", (i, s) -> s.consume(ba[i & M].compareTo(bb[i & M]) < 0));
+		b.add("greaterThan", "Fixed", (i, s) -> s.consume(fa[i & M].greaterThan(fb[i & M])));
+		b.add("lessThanOrEquals", "Fixed", (i, s) -> s.consume(fa[i & M].lessThanOrEquals(fb[i & M])));
+		b.add("greaterThanOrEquals", "Fixed", (i, s) -> s.consume(fa[i & M].greaterThanOrEquals(fb[i & M])));
+		b.add("equals", "Fixed", (i, s) -> s.consume(fa[i & M].equals(fb[i & M])));
+		b.add("equals", "BigDecimal", (i, s) -> s.consume(ba[i & M].equals(bb[i & M])));
+		b.add("hashCode", "Fixed", (i, s) -> s.consume(fa[i & M].hashCode()));
+		b.add("hashCode", "BigDecimal", (i, s) -> s.consume(ba[i & M].hashCode()));
+
+		// Rounding and sign
+		b.add("sign", "Fixed", (i, s) -> s.consume(Fixed.sign(fa[i & M])));
+		b.add("sign", "double", (i, s) -> s.consume(Math.signum(da[i & M])));
+		b.add("sign", "BigDecimal", (i, s) -> s.consume(ba[i & M].signum()));
+		b.add("abs", "Fixed", (i, s) -> s.consume(i, Fixed.abs(fa[i & M])));
+		b.add("abs", "FixedMath", (i, s) -> s.consume(FixedMath.abs(ia[i & M])));
+		b.add("abs", "double", (i, s) -> s.consume(Math.abs(da[i & M])));
+		b.add("abs", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].abs()));
+		b.add("safeAbs", "Fixed", (i, s) -> s.consume(i, Fixed.safeAbs(fa[i & M])));
+		b.add("floor", "Fixed", (i, s) -> s.consume(i, Fixed.floor(fa[i & M])));
+		b.add("floor", "FixedMath", (i, s) -> s.consume(FixedMath.floor(ia[i & M])));
+		b.add("floor", "Fixed.small", (i, s) -> s.consume(i, Fixed.floor(fs[i & M])));
+		b.add("floor", "double", (i, s) -> s.consume(Math.floor(da[i & M])));
+		b.add("floor", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].setScale(0, java.math.RoundingMode.FLOOR)));
+		b.add("Ceiling", "Fixed", (i, s) -> s.consume(i, Fixed.Ceiling(fa[i & M])));
+		b.add("Ceiling", "double", (i, s) -> s.consume(Math.ceil(da[i & M])));
+		b.add("round", "Fixed", (i, s) -> s.consume(i, Fixed.round(fa[i & M])));
+		b.add("round", "FixedMath", (i, s) -> s.consume(FixedMath.round(ia[i & M])));
+		b.add("round", "Fixed.small", (i, s) -> s.consume(i, Fixed.round(fs[i & M])));
+		b.add("round", "double", (i, s) -> s.consume(Math.floor(da[i & M] + 0.5)));
+		b.add("round", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].setScale(0, java.math.RoundingMode.HALF_UP)));
+		b.add("roundRuleEven", "Fixed", (i, s) -> s.consume(i, Fixed.roundRuleEven(fa[i & M])));
+		b.add("roundRuleEven", "double", (i, s) -> s.consume(Math.rint(da[i & M])));
+		b.add("roundRuleEven", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].setScale(0, java.math.RoundingMode.HALF_EVEN)));
+
+		// Math functions
+		b.add("sqrt", "Fixed", (i, s) -> s.consume(i, Fixed.sqrt(Fixed.abs(fa[i & M]))));
+		b.add("sqrt", "FixedMath", (i, s) -> s.consume(FixedMath.sqrt(FixedMath.abs(ia[i & M]))));
+		b.add("sqrt", "double", (i, s) -> s.consume(Math.sqrt(Math.abs(da[i & M]))));
+		b.add("invSqrt", "Fixed", (i, s) -> s.consume(i, Fixed.invSqrt(Fixed.abs(fb[i & M]))));
+		b.add("invSqrt", "FixedMath", (i, s) -> s.consume(FixedMath.invSqrt(FixedMath.abs(ib[i & M]))));
+		b.add("invSqrt", "double", (i, s) -> s.consume(1.0 / Math.sqrt(Math.abs(db[i & M]))));
+		b.add("sin", "Fixed", (i, s) -> s.consume(i, Fixed.sin(fa[i & M])));
+		b.add("sin", "FixedMath", (i, s) -> s.consume(FixedMath.sin(ia[i & M])));
+		b.add("sin", "double", (i, s) -> s.consume(Math.sin(da[i & M])));
+		b.add("cos", "Fixed", (i, s) -> s.consume(i, Fixed.cos(fa[i & M])));
+		b.add("cos", "FixedMath", (i, s) -> s.consume(FixedMath.cos(ia[i & M])));
+		b.add("cos", "double", (i, s) -> s.consume(Math.cos(da[i & M])));
+		b.add("sincos", "FixedMath", (i, s) -> s.consume(FixedMath.sincos(ia[i & M])));
+		b.add("sincos", "FixedMath.sin+cos", (i, s) -> s.consume(FixedMath.sin(ia[i & M]) + FixedMath.cos(ia[i & M])));
+		b.add("sincos", "double", (i, s) -> s.consume(Math.sin(da[i & M]) + Math.cos(da[i & M])));
+		b.add("tan", "Fixed", (i, s) -> s.consume(i, Fixed.tan(fa[i & M])));
+		b.add("tan", "FixedMath", (i, s) -> s.consume(FixedMath.tan(ia[i & M])));
+		b.add("tan", "double", (i, s) -> s.consume(Math.tan(da[i & M])));
+		b.add("atan2", "Fixed", (i, s) -> s.consume(i, Fixed.atan2(fa[i & M], fb[i & M])));
+		b.add("atan2", "FixedMath", (i, s) -> s.consume(FixedMath.atan2(ia[i & M], ib[i & M])));
+		b.add("atan2", "double", (i, s) -> s.consume(Math.atan2(da[i & M], db[i & M])));
+		b.add("toRadians", "Fixed", (i, s) -> s.consume(i, Fixed.toRadians(fa[i & M])));
+		b.add("toRadians", "double", (i, s) -> s.consume(Math.toRadians(da[i & M])));
+		b.add("toDegrees", "Fixed", (i, s) -> s.consume(i, Fixed.toDegrees(fa[i & M])));
+		b.add("toDegrees", "double", (i, s) -> s.consume(Math.toDegrees(da[i & M])));
+
+		// Exponentials and logarithms, double converts from and to raw values
+		b.add("exp2", "FixedMath", (i, s) -> s.consume(FixedMath.exp2(ea[i & M])));
+		b.add("exp2", "double", (i, s) -> s.consume(FixedMath.fromDouble(Math.pow(2, FixedMath.doubleValue(ea[i & M])))));
+		b.add("exp", "Fixed", (i, s) -> s.consume(i, Fixed.exp(Fixed.fromData(ea[i & M]))));
+		b.add("exp", "FixedMath", (i, s) -> s.consume(FixedMath.exp(ea[i & M])));
+		b.add("exp", "double", (i, s) -> s.consume(FixedMath.fromDouble(Math.exp(FixedMath.doubleValue(ea[i & M])))));
+		b.add("exp", "double.only", (i, s) -> s.consume(Math.exp(eda[i & M])));
+		b.add("log2", "FixedMath", (i, s) -> s.consume(FixedMath.log2(pa[i & M])));
+		b.add("log2", "double", (i, s) -> s.consume(FixedMath.fromDouble(Math.log(FixedMath.doubleValue(pa[i & M])) / Math.log(2))));
+		b.add("ln", "FixedMath", (i, s) -> s.consume(FixedMath.ln(pa[i & M])));
+		b.add("ln", "double", (i, s) -> s.consume(FixedMath.fromDouble(Math.log(FixedMath.doubleValue(pa[i & M])))));
+		b.add("ln", "double.only", (i, s) -> s.consume(Math.log(pda[i & M])));
+		b.add("pow", "FixedMath", (i, s) -> s.consume(FixedMath.pow(pa[i & M], ea[i & M] >> 2)));
+		b.add("pow", "double", (i, s) -> s.consume(FixedMath.fromDouble(Math.pow(FixedMath.doubleValue(pa[i & M]), FixedMath.doubleValue(ea[i & M] >> 2)))));
+
+		// Conversions
+		b.add("fromData", "Fixed", (i, s) -> s.consume(i, Fixed.fromData(ia[i & M])));
+		b.add("fromInt", "Fixed", (i, s) -> s.consume(i, Fixed.fromInt(ints[i & M])));
+		b.add("fromInt", "Fixed.small", (i, s) -> s.consume(i, Fixed.fromInt(smallInts[i & M])));
+		b.add("fromData", "Fixed.small", (i, s) -> s.consume(i, Fixed.fromData(quarters[i & M])));
+		b.add("fromInt", "BigDecimal", (i, s) -> s.consume(i, BigDecimal.valueOf(ints[i & M])));
+		b.add("fromLong", "Fixed", (i, s) -> s.consume(i, Fixed.fromLong(ints[i & M])));
+		b.add("fromFloat", "Fixed", (i, s) -> s.consume(i, Fixed.fromFloat((float) da[i & M])));
+		b.add("fromDouble", "Fixed", (i, s) -> s.consume(i, Fixed.fromDouble(da[i & M])));
+		b.add("fromDouble", "BigDecimal", (i, s) -> s.consume(i, BigDecimal.valueOf(da[i & M])));
+		b.add("fromString", "Fixed", (i, s) -> s.consume(i, Fixed.fromString(sa[i & M])));
+		b.add("fromString", "FixedMath", (i, s) -> s.consume(FixedMath.fromString(sa[i & M])));
+		b.add("fromString", "FixedMath.bytes", (i, s) -> s.consume(FixedMath.fromString(bytes[i & M], 0, bytes[i & M].length)));
+		b.add("fromString", "double", (i, s) -> s.consume(Double.parseDouble(sa[i & M])));
+		b.add("fromString", "BigDecimal", (i, s) -> s.consume(i, new BigDecimal(sa[i & M])));
+		b.add("floatValue", "Fixed", (i, s) -> s.consume(fa[i & M].floatValue()));
+		b.add("doubleValue", "Fixed", (i, s) -> s.consume(fa[i & M].doubleValue()));
+		b.add("doubleValue", "BigDecimal", (i, s) -> s.consume(ba[i & M].doubleValue()));
+		b.add("intValue", "Fixed", (i, s) -> s.consume(fa[i & M].intValue()));
+		b.add("intValue", "BigDecimal", (i, s) -> s.consume(ba[i & M].intValue()));
+		b.add("dataValue", "Fixed", (i, s) -> s.consume(fa[i & M].dataValue()));
+		b.add("bigDecimalValue", "Fixed", (i, s) -> s.consume(i, fa[i & M].bigDecimalValue()));
+		b.add("toString", "Fixed", (i, s) -> s.consume(i, fa[i & M].toString()));
+		b.add("toString", "FixedMath.bytes", (i, s) -> s.consume(FixedMath.toString(ia[i & M], textBuffer, 0)));
+		b.add("toString", "double", (i, s) -> s.consume(i, Double.toString(da[i & M])));
+		b.add("toString", "BigDecimal", (i, s) -> s.consume(i, ba[i & M].toString()));
+		b.add("lutSize", "Fixed", (i, s) -> s.consume(Fixed.lutSize()));
+		b.add("info", "Fixed", (i, s) -> s.consume(i, Fixed.info()));
+
+		// Random numbers
+		FixedRandom fixedRandom = new FixedRandom(42);
+		Random random = new Random(42);
+		b.add("random", "FixedRandom", (i, s) -> s.consume(fixedRandom.nextFixed()));
+		b.add("random", "Random.nextDouble", (i, s) -> s.consume(FixedMath.fromDouble(random.nextDouble())));
+		b.add("randomRange", "FixedRandom", (i, s) -> s.consume(fixedRandom.nextFixed(ia[i & M], ia[i & M] + FixedMath.ONE)));
+		b.add("randomGaussian", "FixedRandom", (i, s) -> s.consume(fixedRandom.nextGaussian()));
+		b.add("randomGaussian", "Random.nextGaussian", (i, s) -> s.consume(FixedMath.fromDouble(random.nextGaussian())));
+
+		// Curves, parameters in [0, ONE) and 17 samples per sampleBezier call
+		Fixed one = Fixed.fromInt(1);
+		Fixed three = Fixed.fromInt(3);
+		int[] samples = new int[17];
+		b.add("bezier", "FixedCurves", (i, s) -> s.consume(FixedCurves.bezier(ia[i & M], ib[i & M], ia[(i + 1) & M], ib[(i + 1) & M], ia[i & M] & (FixedMath.ONE - 1))));
+		b.add("bezier", "Fixed", (i, s) -> {
+			Fixed t = Fixed.fromData(ia[i & M] & (FixedMath.ONE - 1));
+			Fixed u = one.sub(t);
+			s.consume(i, fa[i & M].mul(u).mul(u).mul(u).add(three.mul(fb[i & M]).mul(u).mul(u).mul(t))
+					.add(three.mul(fa[(i + 1) & M]).mul(u).mul(t).mul(t)).add(fb[(i + 1) & M].mul(t).mul(t).mul(t)));
+		});
+		b.add("bezier", "double", (i, s) -> {
+			double t = (ia[i & M] & (FixedMath.ONE - 1)) / (double)FixedMath.ONE;
+			double u = 1 - t;
+			s.consume(da[i & M] * u * u * u + 3 * db[i & M] * u * u * t + 3 * da[(i + 1) & M] * u * t * t + db[(i + 1) & M] * t * t * t);
+		});
+		b.add("catmullRom", "FixedCurves", (i, s) -> s.consume(FixedCurves.catmullRom(ia[i & M], ib[i & M], ia[(i + 1) & M], ib[(i + 1) & M], ia[i & M] & (FixedMath.ONE - 1))));
+		b.add("sampleBezier", "FixedCurves", (i, s) -> {
+			FixedCurves.sampleBezier(ia[i & M], ib[i & M], ia[(i + 1) & M], ib[(i + 1) & M], 4, samples, 0);
+			s.consume(samples[i & 15]);
+		});
+
+		// 64-bit counterparts
+		b.add("mul", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.mul(la[i & M], lb[i & M])));
+		b.add("div", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.div(la[i & M], lb[i & M])));
+		b.add("safeMul", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.safeMul(la[i & M], lb[i & M])));
+		b.add("safeDiv", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.safeDiv(la[i & M], lb[i & M])));
+		b.add("sqrt", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.sqrt(Fixed64Math.abs(la[i & M]))));
+		b.add("sin", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.sin(la[i & M])));
+		b.add("atan2", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.atan2(la[i & M], lb[i & M])));
+		b.add("fromString", "Fixed64Math", (i, s) -> s.consume(Fixed64Math.fromString(sa[i & M])));
+	}
+}
@@ -0,0 +1,137 @@
+package com.mcdevon.fixed;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Runs the cases of FixedBenchmark under JMH, one fork per case, so the
+ * call of each case is monomorphic. The parameter is benchmark/impl as
+ * printed by FixedBenchmark. The default list holds every case in
+ * registration order, FixedJmhBenchmarkTest checks that it stays complete,
+ * and a subset can be selected with -p.
+ *
+ * Usage: mvn -Pjmh test-compile exec:exec [-Djmh.args="-prof gc -p op=mul/Fixed"]
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedJmhBenchmark {
+
+	@Param({
+		"add/Fixed", "add/FixedMath", "add/double", "add/BigDecimal",
+		"sub/Fixed", "sub/FixedMath", "sub/double", "sub/BigDecimal",
+		"mul/Fixed", "mul/FixedMath", "mul/double", "mul/BigDecimal",
+		"div/Fixed", "div/FixedMath", "div/double", "div/BigDecimal",
+		"mod/Fixed", "mod/FixedMath", "mod/double", "mod/BigDecimal",
+		"negate/Fixed", "negate/FixedMath", "negate/double", "negate/BigDecimal",
+		"safeAdd/Fixed", "safeAdd/FixedMath",
+		"safeSub/Fixed", "safeSub/FixedMath",
+		"safeMul/Fixed", "safeMul/FixedMath",
+		"safeDiv/Fixed", "safeDiv/FixedMath",
+		"safeMod/Fixed", "safeMod/FixedMath",
+		"addExact/FixedMath", "addExact/FixedOverflow",
+		"mulExact/FixedMath", "mulExact/FixedOverflow",
+		"divExact/FixedMath",
+		"mulRound/Fixed", "mulRound/FixedMath", "mulRound/FixedMath.HALF_EVEN",
+		"divRound/FixedMath", "divRound/FixedMath.HALF_EVEN", "divRound/FixedMath.safeDiv",
+		"fma/FixedMath", "fma/FixedMath.mul+add", "fma/double",
+		"lessThan/Fixed", "lessThan/double", "lessThan/BigDecimal",
+		"greaterThan/Fixed",
+		"lessThanOrEquals/Fixed",
+		"greaterThanOrEquals/Fixed",
+		"equals/Fixed", "equals/BigDecimal",
+		"hashCode/Fixed", "hashCode/BigDecimal",
+		"sign/Fixed", "sign/double", "sign/BigDecimal",
+		"abs/Fixed", "abs/FixedMath", "abs/double", "abs/BigDecimal",
+		"safeAbs/Fixed",
+		"floor/Fixed", "floor/FixedMath", "floor/Fixed.small", "floor/double", "floor/BigDecimal",
+		"Ceiling/Fixed", "Ceiling/double",
+		"round/Fixed", "round/FixedMath", "round/Fixed.small", "round/double", "round/BigDecimal",
+		"roundRuleEven/Fixed", "roundRuleEven/double", "roundRuleEven/BigDecimal",
+		"sqrt/Fixed", "sqrt/FixedMath", "sqrt/double",
+		"invSqrt/Fixed", "invSqrt/FixedMath", "invSqrt/double",
+		"sin/Fixed", "sin/FixedMath", "sin/double",
+		"cos/Fixed", "cos/FixedMath", "cos/double",
+		"sincos/FixedMath", "sincos/FixedMath.sin+cos", "sincos/double",
+		"tan/Fixed", "tan/FixedMath", "tan/double",
+		"atan2/Fixed", "atan2/FixedMath", "atan2/double",
+		"toRadians/Fixed", "toRadians/double",
+		"toDegrees/Fixed", "toDegrees/double",
+		"exp2/FixedMath", "exp2/double",
+		"exp/Fixed", "exp/FixedMath", "exp/double", "exp/double.only",
+		"log2/FixedMath", "log2/double",
+		"ln/FixedMath", "ln/double", "ln/double.only",
+		"pow/FixedMath", "pow/double",
+		"fromData/Fixed",
+		"fromInt/Fixed", "fromInt/Fixed.small",
+		"fromData/Fixed.small",
+		"fromInt/BigDecimal",
+		"fromLong/Fixed",
+		"fromFloat/Fixed",
+		"fromDouble/Fixed", "fromDouble/BigDecimal",
+		"fromString/Fixed", "fromString/FixedMath", "fromString/FixedMath.bytes", "fromString/double",
+		"fromString/BigDecimal",
+		"floatValue/Fixed",
+		"doubleValue/Fixed", "doubleValue/BigDecimal",
+		"intValue/Fixed", "intValue/BigDecimal",
+		"dataValue/Fixed",
+		"bigDecimalValue/Fixed",
+		"toString/Fixed", "toString/FixedMath.bytes", "toString/double", "toString/BigDecimal",
+		"lutSize/Fixed",
+		"info/Fixed",
+		"random/FixedRandom", "random/Random.nextDouble",
+		"randomRange/FixedRandom",
+		"randomGaussian/FixedRandom", "randomGaussian/Random.nextGaussian",
+		"bezier/FixedCurves", "bezier/Fixed", "bezier/double",
+		"catmullRom/FixedCurves",
+		"sampleBezier/FixedCurves",
+		"mul/Fixed64Math",
+		"div/Fixed64Math",
+		"safeMul/Fixed64Math",
+		"safeDiv/Fixed64Math",
+		"sqrt/Fixed64Math",
+		"sin/Fixed64Math",
+		"atan2/Fixed64Math",
+		"fromString/Fixed64Math",
+	})
+	public String op;
+
+	private Bench.Op _op;
+	private final Bench.Sink _sink = new Bench.Sink();
+
+	@Setup
+	public void setup() {
+		Fixed.generateDynamicLutData();
+		Bench bench = new Bench();
+		FixedBenchmark.addCases(bench);
+		int slash = op.indexOf('/');
+		_op = bench.find(op.substring(0, slash), op.substring(slash + 1));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(Bench.INPUT_SIZE)
+	public void run(Blackhole blackhole) {
+		Bench.Op op = _op;
+		Bench.Sink sink = _sink;
+		for (int i = 0; i < Bench.INPUT_SIZE; i++) {
+			op.run(i, sink);
+		}
+		blackhole.consume(sink.bits());
+	}
+}
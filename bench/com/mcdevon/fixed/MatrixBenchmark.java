@@ -0,0 +1,87 @@
+package com.mcdevon.fixed;
+
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Scaling of FixedMatrices over 1 ... N threads, N being the number of
+ * available processors. impl is the thread count, or "loop" for a naive
+ * i-j-k product.
+ *
+ * Usage: java com.mcdevon.fixed.MatrixBenchmark [-w ms] [-t ms] [-i n] [-f regex]
+ */
+public final class MatrixBenchmark {
+
+	static final int SIZE = 512;
+
+	static final int[] a = new int[SIZE * SIZE];
+	static final int[] b = new int[SIZE * SIZE];
+	static final int[] out = new int[SIZE * SIZE];
+	static final int[] x = new int[SIZE];
+	static final int[] y = new int[SIZE];
+	// Diagonally dominant, symmetric positive definite
+	static final int[] spd = new int[SIZE * SIZE];
+
+	static {
+		FixedRandom random = new FixedRandom(42);
+		random.fill(a, 0, a.length, -FixedMath.fromInt(4), FixedMath.fromInt(4));
+		random.fill(b, 0, b.length, -FixedMath.fromInt(4), FixedMath.fromInt(4));
+		random.fill(x, 0, x.length, -FixedMath.fromInt(4), FixedMath.fromInt(4));
+		for (int i = 0; i < SIZE; i++) {
+			for (int j = 0; j <= i; j++) {
+				spd[i * SIZE + j] = spd[j * SIZE + i] = a[i * SIZE + j] >> 4;
+			}
+			spd[i * SIZE + i] = FixedMath.fromInt(SIZE);
+		}
+	}
+
+	public static void main(String[] args) {
+		// Each operation takes milliseconds
+		Bench bench = new Bench().batch(1).configure(args);
+		addCases(bench);
+		bench.run(System.out);
+	}
+
+	static void addCases(Bench bench) {
+		bench.add("multiply", "loop", (i, s) -> {
+			for (int r = 0; r < SIZE; r++) {
+				for (int c = 0; c < SIZE; c++) {
+					long sum = 0;
+					for (int k = 0; k < SIZE; k++) {
+						sum += ((long)a[r * SIZE + k] * b[k * SIZE + c]) >> FixedMath.DECIMAL_BITS;
+					}
+					out[r * SIZE + c] = (int)sum;
+				}
+			}
+			s.consume(out[i & (out.length - 1)]);
+		});
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; threads <= processors; threads <<= 1) {
+			addCases(bench, threads);
+		}
+		if (Integer.bitCount(processors) != 1) {
+			addCases(bench, processors);
+		}
+	}
+
+	private static void addCases(Bench bench, int threads) {
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		String impl = "threads=" + threads;
+		bench.add("multiply", impl, (i, s) -> {
+			FixedMatrices.multiply(a, b, out, SIZE, SIZE, SIZE, pool);
+			s.consume(out[i & (out.length - 1)]);
+		});
+		bench.add("multiplyVector", impl, (i, s) -> {
+			FixedMatrices.multiplyVector(a, x, y, SIZE, SIZE, pool);
+			s.consume(y[i & (SIZE - 1)]);
+		});
+		bench.add("luSolve", impl, (i, s) -> {
+			FixedMatrices.lu(spd, SIZE, pool).solve(x, y);
+			s.consume(y[i & (SIZE - 1)]);
+		});
+		bench.add("choleskySolve", impl, (i, s) -> {
+			FixedMatrices.cholesky(spd, SIZE, pool).solve(x, y);
+			s.consume(y[i & (SIZE - 1)]);
+		});
+	}
+}
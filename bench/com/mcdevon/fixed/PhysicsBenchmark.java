@@ -0,0 +1,96 @@
+package com.mcdevon.fixed;
+
+/*
+ * Scaling of a collision tick over 10k, 100k and 1M moving circles at the
+ * same density. One operation is one tick: move every body, update the
+ * FixedSpatialHash broad phase and test every reported pair with
+ * FixedCollision.circleOverlaps().
+ *
+ * Usage: java com.mcdevon.fixed.PhysicsBenchmark [-w ms] [-t ms] [-i n] [-f regex]
+ */
+public final class PhysicsBenchmark {
+
+	static final int RADIUS = FixedMath.ONE / 2;
+	// Two units per cell, one body per 16 square units
+	static final int CELL_SHIFT = FixedMath.DECIMAL_BITS + 1;
+	static final int AREA_PER_BODY = 16;
+
+	static final class World {
+		final int count;
+		final int size;
+		final int[] x;
+		final int[] y;
+		final int[] vx;
+		final int[] vy;
+		final FixedSpatialHash hash;
+		final FixedSpatialHash.PairConsumer collide = this::collide;
+		int contacts;
+
+		World(int count) {
+			this.count = count;
+			size = FixedMath.fromInt((int)Math.sqrt((double)count * AREA_PER_BODY));
+			x = new int[count];
+			y = new int[count];
+			vx = new int[count];
+			vy = new int[count];
+			FixedRandom random = new FixedRandom(42);
+			random.fill(x, 0, count, RADIUS, size - RADIUS);
+			random.fill(y, 0, count, RADIUS, size - RADIUS);
+			random.fill(vx, 0, count, -FixedMath.ONE / 16, FixedMath.ONE / 16);
+			random.fill(vy, 0, count, -FixedMath.ONE / 16, FixedMath.ONE / 16);
+			hash = new FixedSpatialHash(CELL_SHIFT, 32 - Integer.numberOfLeadingZeros(count - 1));
+			for (int i = 0; i < count; i++) {
+				hash.update(i, x[i] - RADIUS, y[i] - RADIUS, x[i] + RADIUS, y[i] + RADIUS);
+			}
+		}
+
+		int tick() {
+			for (int i = 0; i < count; i++) {
+				int nx = x[i] + vx[i];
+				int ny = y[i] + vy[i];
+				// Bounce off the walls
+				if (nx < RADIUS || nx > size - RADIUS) {
+					vx[i] = -vx[i];
+					nx = x[i];
+				}
+				if (ny < RADIUS || ny > size - RADIUS) {
+					vy[i] = -vy[i];
+					ny = y[i];
+				}
+				x[i] = nx;
+				y[i] = ny;
+				hash.update(i, nx - RADIUS, ny - RADIUS, nx + RADIUS, ny + RADIUS);
+			}
+			contacts = 0;
+			hash.forEachPair(collide);
+			return contacts;
+		}
+
+		private void collide(int a, int b) {
+			if (FixedCollision.circleOverlaps(x[a], y[a], RADIUS, x[b], y[b], RADIUS)) {
+				contacts++;
+			}
+		}
+	}
+
+	public static void main(String[] args) {
+		// Each operation takes milliseconds
+		Bench bench = new Bench().batch(1).configure(args);
+		addCases(bench);
+		bench.run(System.out);
+	}
+
+	static void addCases(Bench b) {
+		for (int count = 10000; count <= 1000000; count *= 10) {
+			final int bodies = count;
+			// Worlds are built on first use, so filtered out sizes cost nothing
+			final World[] world = new World[1];
+			b.add("tick", "bodies=" + count, (i, s) -> {
+				if (world[0] == null) {
+					world[0] = new World(bodies);
+				}
+				s.consume(world[0].tick());
+			});
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.mcdevon.fixed;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * Scaling of FixedReductions over 1 ... N threads, N being the number of
+ * available processors. One operation is a reduction over LENGTH values,
+ * impl is the thread count, or "loop" for a plain sequential loop.
+ *
+ * Usage: java com.mcdevon.fixed.ReductionBenchmark [-w ms] [-t ms] [-i n] [-f regex]
+ */
+public final class ReductionBenchmark {
+
+	static final int LENGTH = 1 << 22;
+
+	static final int[] a = new int[LENGTH];
+	static final int[] b = new int[LENGTH];
+
+	static {
+		FixedRandom random = new FixedRandom(42);
+		random.fill(a, 0, LENGTH, -FixedMath.fromInt(100), FixedMath.fromInt(100));
+		random.fill(b, 0, LENGTH, -FixedMath.fromInt(100), FixedMath.fromInt(100));
+	}
+
+	public static void main(String[] args) {
+		// Each operation takes milliseconds
+		Bench bench = new Bench().batch(1).configure(args);
+		addCases(bench);
+		bench.run(System.out);
+	}
+
+	static void addCases(Bench b) {
+		b.add("sum", "loop", (i, s) -> {
+			long sum = 0;
+			for (int v : a) {
+				sum += v;
+			}
+			s.consume(sum);
+		});
+
+		int processors = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; threads <= processors; threads <<= 1) {
+			addCases(b, threads);
+		}
+		if (Integer.bitCount(processors) != 1) {
+			addCases(b, processors);
+		}
+	}
+
+	private static void addCases(Bench b, int threads) {
+		final ForkJoinPool pool = new ForkJoinPool(threads);
+		String impl = "threads=" + threads;
+		b.add("sum", impl, (i, s) -> s.consume(FixedReductions.sum(a, pool)));
+		b.add("dot", impl, (i, s) -> s.consume(FixedReductions.dot(a, ReductionBenchmark.b, pool)));
+		b.add("sumOfSquares", impl, (i, s) -> s.consume(FixedReductions.sumOfSquares(a, pool)));
+		b.add("norm", impl, (i, s) -> s.consume(FixedReductions.norm(a, pool)));
+		b.add("min", impl, (i, s) -> s.consume(FixedReductions.min(a, pool)));
+		b.add("max", impl, (i, s) -> s.consume(FixedReductions.max(a, pool)));
+		b.add("mean", impl, (i, s) -> s.consume(FixedReductions.mean(a, pool)));
+	}
+}
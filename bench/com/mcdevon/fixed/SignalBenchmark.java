@@ -0,0 +1,59 @@
+package com.mcdevon.fixed;
+
+/*
+ * FixedFft and FixedConvolver. One operation is one transform of the
+ * given size, or one block of convolution, impl "direct" being a plain
+ * loop of products over the kernel for the same block.
+ *
+ * Usage: java com.mcdevon.fixed.SignalBenchmark [-w ms] [-t ms] [-i n] [-f regex]
+ */
+public final class SignalBenchmark {
+
+	static final int BLOCK_SIZE = 1024;
+
+	public static void main(String[] args) {
+		// Each operation takes microseconds
+		Bench bench = new Bench().batch(16).configure(args);
+		addCases(bench);
+		bench.run(System.out);
+	}
+
+	static void addCases(Bench b) {
+		FixedRandom random = new FixedRandom(42);
+		for (int bits = 8; bits <= 16; bits += 4) {
+			final int size = 1 << bits;
+			final FixedFft fft = new FixedFft(size);
+			final int[] signal = new int[2 * size];
+			final int[] data = new int[2 * size];
+			random.fill(signal, 0, signal.length, -FixedMath.fromInt(10), FixedMath.fromInt(10));
+			b.add("fft", "size=" + size, (i, s) -> {
+				System.arraycopy(signal, 0, data, 0, data.length);
+				s.consume(fft.forward(data) + data[i & (data.length - 1)]);
+			});
+		}
+
+		for (int kernelLength = 16; kernelLength <= 1024; kernelLength *= 8) {
+			final int[] kernel = new int[kernelLength];
+			final int[] in = new int[BLOCK_SIZE];
+			final int[] out = new int[BLOCK_SIZE];
+			random.fill(kernel, 0, kernelLength, -FixedMath.ONE, FixedMath.ONE);
+			random.fill(in, 0, BLOCK_SIZE, -FixedMath.fromInt(10), FixedMath.fromInt(10));
+			final FixedConvolver convolver = new FixedConvolver(kernel, BLOCK_SIZE);
+			String impl = "kernel=" + kernelLength;
+			b.add("convolve", impl, (i, s) -> {
+				convolver.process(in, 0, out, 0);
+				s.consume(out[i & (BLOCK_SIZE - 1)]);
+			});
+			b.add("convolve", impl + ".direct", (i, s) -> {
+				for (int n = 0; n < BLOCK_SIZE; n++) {
+					long sum = 0;
+					for (int j = 0; j < kernel.length && j <= n; j++) {
+						sum += (long)in[n - j] * kernel[j];
+					}
+					out[n] = (int)(sum >> FixedMath.DECIMAL_BITS);
+				}
+				s.consume(out[i & (BLOCK_SIZE - 1)]);
+			});
+		}
+	}
+}
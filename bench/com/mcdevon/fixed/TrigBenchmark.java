@@ -0,0 +1,149 @@
+package com.mcdevon.fixed;
+
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+/*
+ * Accuracy and throughput of every FixedTrigEngine and FixedAtan2 tier.
+ *
+ * Accuracy is measured in ulps of the Fixed format against StrictMath and
+ * printed as a separate TSV block before the throughput results:
+ *   # fixed-trig-accuracy 1
+ *   # function	engine	max_ulp	mean_ulp	table_bytes
+ *
+ * Usage: java com.mcdevon.fixed.TrigBenchmark [-w ms] [-t ms] [-i n] [-f regex]
+ */
+public final class TrigBenchmark {
+
+	private static final int N = Bench.INPUT_SIZE;
+	private static final int M = Bench.INPUT_MASK;
+	private static final double ONE = FixedMath.ONE;
+
+	static final int[] angles = new int[N];
+	static final int[] units = new int[N];
+	static final int[] ya = new int[N];
+	static final int[] xa = new int[N];
+
+	static {
+		Random random = new Random(42);
+		for (int i = 0; i < N; i++) {
+			angles[i] = random.nextInt(FixedMath.PI_TIMES_TWO * 8) - FixedMath.PI_TIMES_TWO * 4;
+			units[i] = random.nextInt(FixedMath.TWO + 1) - FixedMath.ONE;
+			ya[i] = random.nextInt(FixedMath.fromInt(200)) - FixedMath.fromInt(100);
+			xa[i] = random.nextInt(FixedMath.fromInt(200)) - FixedMath.fromInt(100);
+		}
+	}
+
+	private interface Function {
+		int apply(FixedTrigEngine engine, int value);
+	}
+
+	private interface Exact {
+		double apply(double value);
+	}
+
+	public static void main(String[] args) {
+		Fixed.generateDynamicLutData();
+
+		printAccuracy(System.out);
+
+		Bench bench = new Bench().configure(args);
+		addCases(bench);
+		bench.run(System.out);
+	}
+
+	static void addCases(Bench b) {
+		for (final FixedTrigEngine e : FixedTrigEngine.values()) {
+			final int[] out = new int[2];
+			b.add("sin", e.name(), (i, s) -> s.consume(e.sin(angles[i & M])));
+			b.add("cos", e.name(), (i, s) -> s.consume(e.cos(angles[i & M])));
+			b.add("sincos", e.name(), (i, s) -> {
+				e.sincos(angles[i & M], out);
+				s.consume(out[0] + out[1]);
+			});
+			b.add("tan", e.name(), (i, s) -> s.consume(e.tan(angles[i & M])));
+			b.add("atan", e.name(), (i, s) -> s.consume(e.atan(ya[i & M])));
+			b.add("atan2", e.name(), (i, s) -> s.consume(e.atan2(ya[i & M], xa[i & M])));
+			b.add("asin", e.name(), (i, s) -> s.consume(e.asin(units[i & M])));
+			b.add("acos", e.name(), (i, s) -> s.consume(e.acos(units[i & M])));
+		}
+		for (final FixedAtan2 tier : FixedAtan2.values()) {
+			final int[] out = new int[Bench.INPUT_SIZE];
+			b.add("atan2", "FixedAtan2." + tier.name(), (i, s) -> s.consume(tier.atan2(ya[i & M], xa[i & M])));
+			b.add("atan2.batch", "FixedAtan2." + tier.name(), (i, s) -> {
+				if ((i & M) == 0) {
+					tier.atan2(ya, xa, out);
+				}
+				s.consume(out[i & M]);
+			});
+		}
+	}
+
+	/*
+	 * Accuracy
+	 */
+
+	static void printAccuracy(PrintStream out) {
+		out.println("# fixed-trig-accuracy 1");
+		out.println("# function\tengine\tmax_ulp\tmean_ulp\ttable_bytes");
+
+		// Four full turns in both directions, every representable angle
+		int turns = FixedMath.PI_TIMES_TWO * 4;
+		for (FixedTrigEngine e : FixedTrigEngine.values()) {
+			report(out, "sin", e, -turns, turns, FixedTrigEngine::sin, StrictMath::sin);
+			report(out, "cos", e, -turns, turns, FixedTrigEngine::cos, StrictMath::cos);
+			report(out, "tan", e, -FixedMath.PI_OVER_TWO * 15 / 16, FixedMath.PI_OVER_TWO * 15 / 16,
+					FixedTrigEngine::tan, StrictMath::tan);
+			report(out, "atan", e, -FixedMath.fromInt(64), FixedMath.fromInt(64),
+					FixedTrigEngine::atan, StrictMath::atan);
+			report(out, "asin", e, -FixedMath.ONE, FixedMath.ONE, FixedTrigEngine::asin, StrictMath::asin);
+			report(out, "acos", e, -FixedMath.ONE, FixedMath.ONE, FixedTrigEngine::acos, StrictMath::acos);
+			reportAtan2(out, e.name(), e::atan2, tableBytes(e));
+		}
+		// FAST is the only tier that is not also an engine
+		reportAtan2(out, "FixedAtan2.FAST", FixedAtan2.FAST::atan2, 0);
+	}
+
+	private static void report(PrintStream out, String name, FixedTrigEngine engine, int from, int to,
+			Function function, Exact exact) {
+		double max = 0;
+		double sum = 0;
+		for (int v = from; v <= to; v++) {
+			double error = Math.abs(function.apply(engine, v) - exact.apply(v / ONE) * ONE);
+			max = Math.max(max, error);
+			sum += error;
+		}
+		print(out, name, engine.name(), max, sum / ((long)to - from + 1), tableBytes(engine));
+	}
+
+	private static void reportAtan2(PrintStream out, String engine, IntBinaryOperator atan2, int tableBytes) {
+		Random random = new Random(7);
+		int count = 1 << 20;
+		double max = 0;
+		double sum = 0;
+		for (int i = 0; i < count; i++) {
+			int y = random.nextInt(FixedMath.fromInt(2000)) - FixedMath.fromInt(1000);
+			int x = random.nextInt(FixedMath.fromInt(2000)) - FixedMath.fromInt(1000);
+			double error = Math.abs(atan2.applyAsInt(y, x) - StrictMath.atan2(y, x) * ONE);
+			max = Math.max(max, error);
+			sum += error;
+		}
+		print(out, "atan2", engine, max, sum / count, tableBytes);
+	}
+
+	private static void print(PrintStream out, String name, String engine, double max, double mean, int tableBytes) {
+		out.printf("%s\t%s\t%.3f\t%.4f\t%d%n", name, engine, max, mean, tableBytes);
+	}
+
+	private static int tableBytes(FixedTrigEngine engine) {
+		switch (engine) {
+		case LUT:
+			return FixedLut.shared().size() * 8 + FixedAtanLut.tableSize() * 4;
+		case CORDIC:
+			return FixedCordic.tableSize() * 4;
+		default:
+			return 0;
+		}
+	}
+}
@@ -1,95 +1,35 @@
 package com.mcdevon.fixed;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 public final class Fixed {
 	private final int _data;
 	
 	// Static values for 32-bit fixed-point value
-	private static final int MAX_VALUE = Integer.MAX_VALUE;
-	private static final int MIN_VALUE = Integer.MIN_VALUE;
+	private static final int MAX_VALUE = FixedMath.MAX_VALUE;
+	private static final int MIN_VALUE = FixedMath.MIN_VALUE;
 	
-	public static final int BITS = 32;
+	public static final int BITS = FixedMath.BITS;
 	
-	// NOTE: Decimal bits must be less than or equal to (BITS / 2) for mul() to work
-	// and an even number for sqrt() to work!
-	private static final int DECIMAL_BITS = 10;
-	private static final int DECIMAL_MASK = new Integer(-1) >>> (BITS - DECIMAL_BITS);
-	private static final int FULL_MASK = new Integer(-1);
-	
-	private static final int ONE = 1 << DECIMAL_BITS;
-	private static final int TWO = 1 << (DECIMAL_BITS + 1);
-	private static final int HALF = 1 << (DECIMAL_BITS - 1);
+	private static final int ONE = FixedMath.ONE;
 	
 	public static final Fixed maxValue = new Fixed(MAX_VALUE);
 	public static final Fixed minValue = new Fixed(MIN_VALUE);
-	public static final Fixed zero = new Fixed(0);
-	public static final Fixed one = new Fixed(ONE);
-	public static final Fixed two = new Fixed(TWO);
-	public static final Fixed half = new Fixed(HALF);
-	public static final Fixed precision = new Fixed(1);
-	
-	// String part lengths
-	//private static final int _leftLength = Integer.toString(maxValue.intValue()).length();
-	private static final int _rightLength;
-	static {
-		String[] parts = precision.bigDecimalValue().toString().split("\\.");
-		if (parts.length <= 1) {
-			_rightLength = 0;
-		} else {
-			int res = 1;
-			for (int i = 0; i < parts[1].length(); i++) {
-				if (parts[1].charAt(i) == '0') {
-					res++;
-					continue;
-				}
-				break;
-			}
-			_rightLength = res;
-		}
-	}
-	
-	private static Fixed[] _tenPowerTable = new Fixed[] {
-			Fixed.fromLong(1L),  // 10^0
-			Fixed.fromLong(10L),  // 10^1
-			Fixed.fromLong(100L),  // 10^2
-			Fixed.fromLong(1000L),  // 10^3
-			Fixed.fromLong(10000L),  // 10^4
-			Fixed.fromLong(100000L),  // 10^5
-			Fixed.fromLong(1000000L),  // 10^6
-			Fixed.fromLong(10000000L),  // 10^7
-			Fixed.fromLong(100000000L),  // 10^8
-			Fixed.fromLong(1000000000L),  // 10^9
-			Fixed.fromLong(10000000000L),  // 10^10
-			Fixed.fromLong(100000000000L),  // 10^11
-			Fixed.fromLong(1000000000000L),  // 10^12
-			Fixed.fromLong(10000000000000L),  // 10^13
-			Fixed.fromLong(100000000000000L),  // 10^14
-			Fixed.fromLong(1000000000000000L),  // 10^15
-			Fixed.fromLong(10000000000000000L),  // 10^16
-			Fixed.fromLong(100000000000000000L),  // 10^17
-			Fixed.fromLong(1000000000000000000L),  // 10^18
-	};
-	
-	public static final Fixed pi = Fixed.fromString("3.14159265358979323846264338327950288419716939937510");
-	public static final Fixed piTimesTwo = Fixed.fromString("6.28318530717958647692528676655900576839433879875020");
-	public static final Fixed piOverTwo = Fixed.fromString("1.57079632679489661923132169163975144209858469968755");
-	public static final Fixed piInv = Fixed.fromString("0.31830988618379067153776752674502872406891929148091");
-	public static final Fixed piOverTwoInv = Fixed.fromString("0.63661977236758134307553505349005744813783858296183");
-		
-	// Values for sin/tan look-up table generation and use
-	private static final int LUT_LERP_LIMIT = 14;
-	private static final boolean LUT_LERP_IN_USE = DECIMAL_BITS > LUT_LERP_LIMIT;
-	private static final int LUT_SIZE = LUT_LERP_IN_USE ? Fixed.fromInt((1 << LUT_LERP_LIMIT)).mul(piOverTwo).intValue() : piOverTwo._data;
-	private static final Fixed LUT_INTERVAL = piOverTwo.safeDiv(Fixed.fromInt(LUT_SIZE - 1));
-	private static final Fixed LUT_INTERVAL_INV = Fixed.fromInt(LUT_SIZE - 1).safeDiv(piOverTwo);
+	public static final Fixed zero = cached(0);
+	public static final Fixed one = cached(ONE);
+	public static final Fixed two = cached(FixedMath.TWO);
+	public static final Fixed half = cached(FixedMath.HALF);
+	public static final Fixed precision = new Fixed(FixedMath.PRECISION);
 	
-	private static final Fixed degToRad = pi.div(Fixed.fromInt(180));
-	private static final Fixed radToDeg = Fixed.fromInt(180).safeDiv(pi);
+	public static final Fixed pi = new Fixed(FixedMath.PI);
+	public static final Fixed piTimesTwo = new Fixed(FixedMath.PI_TIMES_TWO);
+	public static final Fixed piOverTwo = new Fixed(FixedMath.PI_OVER_TWO);
+	public static final Fixed piInv = new Fixed(FixedMath.PI_INV);
+	public static final Fixed piOverTwoInv = new Fixed(FixedMath.PI_OVER_TWO_INV);
 	
-	private static final int PI = pi._data;
-	private static final int PI_TIMES_TWO = piTimesTwo._data;
-	private static final int PI_OVER_TWO = piOverTwo._data;
+	private static final int LUT_SIZE = FixedMath.LUT_SIZE;
+	private static final Fixed LUT_INTERVAL = new Fixed(FixedMath.LUT_INTERVAL);
 	
 	public static int lutSize() {
 		return LUT_SIZE;
@@ -99,67 +39,115 @@ public final class Fixed {
 		_data = data;
 	}
 	
+	/*
+	 * Instance cache
+	 */
+	
+	// Shared instances like Integer.valueOf(): integers from
+	// com.mcdevon.fixed.cache.low to com.mcdevon.fixed.cache.high in steps
+	// of 2^-com.mcdevon.fixed.cache.fractionBits, default -128...127 in
+	// quarters. Set high below low to disable.
+	//
+	// Once Fixed can become a value class, identity no longer exists and
+	// this holder and cached() are dropped, factories construct directly.
+	// That is why the constructor stays private and equality is equals().
+	private static final class Cache {
+		static final int DEFAULT_FRACTION_BITS = 2;
+		static final int DEFAULT_LOW = -128;
+		static final int DEFAULT_HIGH = 127;
+		
+		static final int FRACTION_BITS;
+		static final int LOW;
+		static final int HIGH;
+		static final int SHIFT;
+		static final int STEP_MASK;
+		static final int FIRST;
+		static final Fixed[] VALUES;
+		
+		static {
+			int fractionBits = Integer.getInteger("com.mcdevon.fixed.cache.fractionBits", DEFAULT_FRACTION_BITS);
+			int low = Integer.getInteger("com.mcdevon.fixed.cache.low", DEFAULT_LOW);
+			int high = Integer.getInteger("com.mcdevon.fixed.cache.high", DEFAULT_HIGH);
+			String error = cacheError(fractionBits, low, high);
+			if (error != null) {
+				// Failing here would leave Fixed itself uninitialized
+				System.err.println(error + ", using the default cache");
+				fractionBits = DEFAULT_FRACTION_BITS;
+				low = DEFAULT_LOW;
+				high = DEFAULT_HIGH;
+			}
+			FRACTION_BITS = fractionBits;
+			LOW = low;
+			HIGH = high;
+			
+			SHIFT = FixedMath.DECIMAL_BITS - FRACTION_BITS;
+			STEP_MASK = (1 << SHIFT) - 1;
+			FIRST = LOW << FRACTION_BITS;
+			VALUES = new Fixed[HIGH < LOW ? 0 : ((HIGH - LOW) << FRACTION_BITS) + 1];
+			for (int i = 0; i < VALUES.length; i++) {
+				VALUES[i] = new Fixed((FIRST + i) << SHIFT);
+			}
+		}
+	}
+	
+	// Why a cache configuration is invalid, or null if it is valid
+	static String cacheError(int fractionBits, int low, int high) {
+		if (fractionBits < 0 || fractionBits > FixedMath.DECIMAL_BITS) {
+			return "Cache fraction bits must be between 0 and " + FixedMath.DECIMAL_BITS + ": " + fractionBits;
+		}
+		if (high >= low && (low < FixedMath.intValue(MIN_VALUE) || high > FixedMath.intValue(MAX_VALUE)
+				|| ((long)high - low) << fractionBits >= 1 << 24)) {
+			return "Cache range too large: " + low + "..." + high;
+		}
+		return null;
+	}
+	
+	// Cached instance where one exists. Instances are not guaranteed to be
+	// identical, always compare with equals().
+	private static Fixed cached(int data) {
+		if ((data & Cache.STEP_MASK) == 0) {
+			int index = (data >> Cache.SHIFT) - Cache.FIRST;
+			if (index >= 0 && index < Cache.VALUES.length) {
+				return Cache.VALUES[index];
+			}
+		}
+		return new Fixed(data);
+	}
+	
 	public static int sign(Fixed value) {
-		return value._data < 0 ? -1 :
-			value._data > 0 ? 1 : 0;
+		return FixedMath.sign(value._data);
 	}
 	
 	public static Fixed toRadians(Fixed value) {
-		return value.mul(degToRad);
+		return new Fixed(FixedMath.toRadians(value._data));
 	}
 	
 	public static Fixed toDegrees(Fixed value) {
-		return value.mul(radToDeg);
+		return new Fixed(FixedMath.toDegrees(value._data));
 	}
 	
 	public static Fixed abs(Fixed value) {
-		int mask = value._data >> (BITS - 1);
-		return new Fixed((value._data + mask) ^ mask);
+		return new Fixed(FixedMath.abs(value._data));
 	}
 	
 	public static Fixed safeAbs(Fixed value) {
-        if (value._data == MIN_VALUE) {
-            return maxValue;
-        }
-		
-		int mask = value._data >> (BITS - 1);
-		return new Fixed((value._data + mask) ^ mask);
+		return new Fixed(FixedMath.safeAbs(value._data));
 	}
 	
-	 public static Fixed floor(Fixed value) {
-         // Just zero out the decimal part
-         return new Fixed(value._data & (~DECIMAL_MASK));
-     }
-	 
-     public static Fixed Ceiling(Fixed value) {
-         boolean hasFrac = (value._data & DECIMAL_MASK) != 0;
-         return hasFrac ? floor(value).add(one) : value;
-     }
+	public static Fixed floor(Fixed value) {
+		return cached(FixedMath.floor(value._data));
+	}
+	
+	public static Fixed Ceiling(Fixed value) {
+		return cached(FixedMath.ceiling(value._data));
+	}
 	
 	public static Fixed round(Fixed value) {
-		int fract = value._data & DECIMAL_MASK;
-        Fixed integral = floor(value);
-        if (fract < HALF) {
-            return integral;
-        }
-        // Halves are always rounded upwards
-        return integral.add(one);
+		return cached(FixedMath.round(value._data));
 	}
 	
 	public static Fixed roundRuleEven(Fixed value) {
-		int fract = value._data & DECIMAL_MASK;
-        Fixed integral = floor(value);
-        if (fract < HALF) {
-            return integral;
-        }
-        if (fract > HALF) {
-        	return integral.add(one);
-        }
-
-        // Halves are rounded to nearest even number
-        return (integral._data & ONE) == 0
-                ? integral
-                : integral.add(one);
+		return cached(FixedMath.roundRuleEven(value._data));
 	}
 	
 	/*
@@ -167,37 +155,27 @@ public final class Fixed {
 	 */
 	
 	public Fixed add(Fixed value) {
-		return new Fixed(_data + value._data);
+		return new Fixed(FixedMath.add(_data, value._data));
 	}
 	
 	public Fixed sub(Fixed value) {
-		return new Fixed(_data - value._data);
+		return new Fixed(FixedMath.sub(_data, value._data));
 	}
 	
 	public Fixed mul(Fixed value) {
-        return new Fixed((int)(((long)_data * value._data) >> DECIMAL_BITS));
-    }
-	
-	private static final int oneBitHighMask = MIN_VALUE;
-    private static final int fourBitHighMask = oneBitHighMask >> 3;
-	
-	private static int leadingZeroes(int x) {
-        int result = 0;
-        while ((x & fourBitHighMask) == 0) { result += 4; x <<= 4; }
-        while ((x & oneBitHighMask) == 0) { result += 1; x <<= 1; }
-        return result;
-    }
-
-    public Fixed div(Fixed value) {
-        return new Fixed((int)(((long)_data << DECIMAL_BITS) / value._data));
-    }
-    
+		return new Fixed(FixedMath.mul(_data, value._data));
+	}
+	
+	public Fixed div(Fixed value) {
+		return new Fixed(FixedMath.div(_data, value._data));
+	}
+	
 	public Fixed mod(Fixed value) {
-		return new Fixed(_data % value._data);
+		return new Fixed(FixedMath.mod(_data, value._data));
 	}
 	
 	public Fixed negate() {
-		return new Fixed(-_data);
+		return new Fixed(FixedMath.negate(_data));
 	}
 	
 	public boolean lessThan(Fixed value) {
@@ -242,159 +220,76 @@ public final class Fixed {
 	 */
 
 	public Fixed safeAdd(Fixed value) {
-        int xl = _data;
-        int yl = value._data;
-        int sum = xl + yl;
-         
-        // Check for overflows
-        // TODO: Throw exception for overflow?
-        if (((~(xl ^ yl) & (xl ^ sum)) & MIN_VALUE) != 0) {
-            sum = xl > 0 ? MAX_VALUE : MIN_VALUE;
-        }
-        return new Fixed(sum);
+		return new Fixed(FixedMath.safeAdd(_data, value._data));
 	}
 	
 	public Fixed safeSub(Fixed value) {
-        int xl = _data;
-        int yl = value._data;
-        int sub = xl - yl;
-        
-        // Check for overflows
-        // TODO: Throw exception for overflow?
-        if ((((xl ^ yl) & (xl ^ sub)) & MIN_VALUE) != 0) {
-        	sub = xl < 0 ? MIN_VALUE : MAX_VALUE;
-        }
-        return new Fixed(sub);
+		return new Fixed(FixedMath.safeSub(_data, value._data));
 	}
 	
 	public Fixed safeMul(Fixed value) {
-        int xl = _data;
-        int yl = value._data;
-
-        int xlo = xl & DECIMAL_MASK;
-        int xhi = xl >> DECIMAL_BITS;
-        int ylo = yl & DECIMAL_MASK;
-        int yhi = yl >> DECIMAL_BITS;
-
-        int lolo = xlo * ylo;
-        int lohi = xlo * yhi;
-        int hilo = xhi * ylo;
-        int hihi = xhi * yhi;
-
-        int loResult = lolo >>> DECIMAL_BITS;
-        int midResult1 = lohi;
-        int midResult2 = hilo;
-        int hiResult = hihi << DECIMAL_BITS;
-
-        boolean overflow = false;
-        
-        int sum = loResult + midResult1;
-        
-        // a + b overflows if sign(x) ^ sign(y) != sign(sum),
-        // test after every add
-        overflow |= ((loResult ^ midResult1 ^ sum) & MIN_VALUE) != 0;
-        
-        int sumTest = sum + midResult2;
-        overflow |= ((sum ^ midResult2 ^ sumTest) & MIN_VALUE) != 0;
-        
-        sum = sumTest + hiResult;
-        overflow |= ((sumTest ^ hiResult ^ sum) & MIN_VALUE) != 0;
-
-        boolean opSignsEqual = ((xl ^ yl) & MIN_VALUE) == 0;
-
-        // check for same sign operands and negative result and for
-        // different sign operands and positive result
-        if (opSignsEqual) {
-            if (sum < 0 || (overflow && xl > 0)) {
-                return maxValue;
-            }
-        }
-        else if (sum > 0) {
-            return minValue;
-        }
-
-        // if the top bits of hihi are neither all 0s or 1s,
-        // then this means the result overflowed.
-        int topBits = hihi >> DECIMAL_BITS;
-        if (topBits != 0 && topBits != -1) {
-            return opSignsEqual ? maxValue : minValue; 
-        }
-
-        // Last case of negative overflow
-        if (!opSignsEqual) {
-            int posOp;
-            int negOp;
-            if (xl > yl) {
-                posOp = xl;
-                negOp = yl;
-            }
-            else {
-                posOp = yl;
-                negOp = xl;
-            }
-            if (sum > negOp && negOp < -ONE && posOp > ONE) {
-                return minValue;
-            }
-        }
-
-        return new Fixed(sum);
+		return new Fixed(FixedMath.safeMul(_data, value._data));
 	}
 	
-    public Fixed safeDiv(Fixed value) {
-        int xl = _data;
-        int yl = value._data;
-
-        if (yl == 0) {
-            throw new ArithmeticException("Divide by zero");
-        }
-
-        int remainder = xl >= 0 ? xl : (-xl) & (~MIN_VALUE);
-        int divider = yl >= 0 ? yl : (-yl) & (~MIN_VALUE);
-        int quotient = 0;
-        int bitPos = DECIMAL_BITS + 1;
-
-        // If the divider is divisible by 2^n, use bit shifts for faster calculation
-        while ((divider & 0xF) == 0 && bitPos >= 4) {
-            divider >>>= 4;
-            bitPos -= 4;
-        }
-
-        while (remainder != 0 && bitPos >= 0) {
-            int shift = leadingZeroes(remainder);
-            if (shift > bitPos) {
-                shift = bitPos;
-            }
-            remainder <<= shift;
-            bitPos -= shift;
-
-            // Safer div and mod by casting to long
-            int div = (int) ((remainder & 0xFFFFFFFFL) / (divider & 0xFFFFFFFFL));
-            remainder = (int) ((remainder & 0xFFFFFFFFL) % (divider & 0xFFFFFFFFL));
-            quotient += div << bitPos;
-
-            // Detect overflow
-            if ((div & ~(FULL_MASK >>> bitPos)) != 0) {
-                return ((xl ^ yl) & MIN_VALUE) == 0 ? maxValue : minValue;
-            }
-
-            remainder <<= 1;
-            bitPos--;
-        }
-
-        // rounding
-        quotient++;
-        int result = quotient >>> 1;
-        if (((xl ^ yl) & MIN_VALUE) != 0) {
-            result = -result;
-        }
-
-        return new Fixed(result);
-    }
-
+	public Fixed safeDiv(Fixed value) {
+		return new Fixed(FixedMath.safeDiv(_data, value._data));
+	}
 	
 	public Fixed safeMod(Fixed value) {
-		return new Fixed(_data == MIN_VALUE & value._data == -1 ? 0 :
-                		 _data % value._data);
+		return new Fixed(FixedMath.safeMod(_data, value._data));
+	}
+	
+	/*
+	 * Exact operators, throw ArithmeticException on overflow
+	 */
+	
+	public Fixed addExact(Fixed value) {
+		return new Fixed(FixedMath.addExact(_data, value._data));
+	}
+	
+	public Fixed subExact(Fixed value) {
+		return new Fixed(FixedMath.subExact(_data, value._data));
+	}
+	
+	public Fixed mulExact(Fixed value) {
+		return new Fixed(FixedMath.mulExact(_data, value._data));
+	}
+	
+	public Fixed divExact(Fixed value) {
+		return new Fixed(FixedMath.divExact(_data, value._data));
+	}
+	
+	public Fixed negateExact() {
+		return new Fixed(FixedMath.negateExact(_data));
+	}
+	
+	/*
+	 * Rounded operators, see FixedMath for error bounds
+	 */
+	
+	public Fixed mulRound(Fixed value) {
+		return new Fixed(FixedMath.mulRound(_data, value._data));
+	}
+	
+	public Fixed divRound(Fixed value) {
+		return new Fixed(FixedMath.divRound(_data, value._data));
+	}
+	
+	public Fixed mul(Fixed value, RoundingMode mode) {
+		return new Fixed(FixedMath.mul(_data, value._data, mode));
+	}
+	
+	public Fixed div(Fixed value, RoundingMode mode) {
+		return new Fixed(FixedMath.div(_data, value._data, mode));
+	}
+	
+	// this * factor + addend, rounded once
+	public Fixed fma(Fixed factor, Fixed addend) {
+		return new Fixed(FixedMath.fma(_data, factor._data, addend._data));
+	}
+	
+	public Fixed fma(Fixed factor, Fixed addend, RoundingMode mode) {
+		return new Fixed(FixedMath.fma(_data, factor._data, addend._data, mode));
 	}
 	
 	/*
@@ -402,223 +297,48 @@ public final class Fixed {
 	 */
 		
 	public static Fixed sqrt(Fixed x) {
-		// BitShift-based sqrt
-		
-        int xl = x._data;
-        if (xl < 0) {
-            // Sqrt not defined for negative numbers and NaN not available
-            throw new ArithmeticException("Sqrt for negative number");
-        }
-
-        int num = xl;
-        int result = 0;
-
-        // second-highest bit
-        int bit = 1 << (BITS - 2);
-
-        while (bit > num) {
-            bit >>>= 2;
-        }
-
-        for (int i = 0; i < 2; i++) {
-            // First we get the top bits of the answer.
-            while (bit != 0) {
-                if (num >= result + bit) {
-                    num -= result + bit;
-                    result = (result >>> 1) + bit;
-                }
-                else {
-                    result = result >>> 1;
-                }
-                bit >>>= 2;
-            }
-
-            if (i == 0) {
-                // Then process it again to get the lowest 16 bits.
-                if (num > (1 << (DECIMAL_BITS)) - 1) {
-                    // The remainder 'num' is too large to be shifted left
-                    // by 32, so we have to add 1 to result manually and
-                    // adjust 'num' accordingly.
-                    // num = a - (result + 0.5)^2
-                    //       = num + result^2 - (result + 0.5)^2
-                    //       = num - result - 0.5
-                    num -= result;
-                    num = (num << (DECIMAL_BITS)) - HALF;
-                    result = (result << (DECIMAL_BITS)) + HALF;
-                }
-                else {
-                    num <<= (DECIMAL_BITS);
-                    result <<= (DECIMAL_BITS);
-                }
-
-                bit = 1 << (DECIMAL_BITS - 2);
-            }
-        }
-        // Finally, if next bit would have been 1, round the result upwards.
-        if (num > result) {
-            ++result;
-        }
-        return new Fixed(result);
-    }
+		return new Fixed(FixedMath.sqrt(x._data));
+	}
+	
+	public static Fixed invSqrt(Fixed x) {
+		return new Fixed(FixedMath.invSqrt(x._data));
+	}
 	
 	public static Fixed sin(Fixed value) {
-		int angle = value._data;
-		
-		// Clamp to 0...2pi
-		int clamp2pi = angle % PI_TIMES_TWO;
-		if (angle < 0) {
-			clamp2pi += PI_TIMES_TWO;
-        }
-		
-		// Clamp further to take use of luts
-		boolean flipV = clamp2pi >= PI;
-		int clampPi = clamp2pi;
-		
-		while (clampPi >= PI) {
-            clampPi -= PI;
-        }
-		
-		// Last clamp
-        boolean flipH = clampPi >= PI_OVER_TWO;
-        
-        int clampPiPer2 = clampPi;
-        if (clampPiPer2 >= PI_OVER_TWO) {
-            clampPiPer2 -= PI_OVER_TWO;
-		}
-                
-        if (LUT_LERP_IN_USE) {
-        	// Use linear interpolation to get a bit more accurate value for sin
-        	Fixed clamped = new Fixed(clampPiPer2);
-
-        	// Find the two closest values in the lut
-        	Fixed rawIndex = clamped.safeMul(LUT_INTERVAL_INV);
-        	Fixed roundedIndex = roundRuleEven(rawIndex); 
-        	Fixed indexError = rawIndex.sub(roundedIndex);
-
-        	// Get the nearest values
-        	// TODO: Fix luts to give out more accurate result
-        	int index1 = flipH ? Math.abs(FixedPoint32Lut.sin.length - 1 - roundedIndex.intValue()): 
-        				roundedIndex.intValue();
-        	int index2 = flipH ? Math.abs(FixedPoint32Lut.sin.length - 1 - roundedIndex.intValue() - sign(indexError)) : 
-        		roundedIndex.intValue() + sign(indexError);
-        	
-        	Fixed nearestValue = new Fixed(FixedPoint32Lut.sin[index1]);
-        	Fixed secondNearestValue = new Fixed(FixedPoint32Lut.sin[index2]);
-
-        	// Lerp to get final value
-        	int delta = indexError.mul(abs(nearestValue.sub(secondNearestValue)))._data;
-        	int interpolatedValue = nearestValue._data + (flipH ? -delta : delta);
-        	int finalValue = flipV ? -interpolatedValue : interpolatedValue;
-        	
-        	return new Fixed(finalValue);
-        } else {
-            
-        	// Expect to find most accurate value directly from lut
-        	if (clampPiPer2 >= LUT_SIZE) {
-        		clampPiPer2 = LUT_SIZE - 1;
-        	}
-        	
-        	int result = FixedPoint32Lut.sin[flipH ? LUT_SIZE - 1 - clampPiPer2 :
-        		clampPiPer2];
-        	return new Fixed(flipV ? -result : result);
-        }
+		return new Fixed(FixedMath.sin(value._data));
 	}
 	
 	public static Fixed cos(Fixed value) {
-        int vd = value._data;
-        int sinAngle = vd + (vd > 0 ? -PI - PI_OVER_TWO : PI_OVER_TWO);
-        return sin(new Fixed(sinAngle));
-    }
+		return new Fixed(FixedMath.cos(value._data));
+	}
 	
 	public static Fixed tan(Fixed value) {
-        int clampPi = value._data % PI;
-        boolean flip = false;
-        if (clampPi < 0) {
-            clampPi = -clampPi;
-            flip = true;
-        }
-        
-        // Clamp to pi/2
-        if (clampPi > PI_OVER_TWO) {
-            flip = !flip;
-            clampPi = PI_OVER_TWO - (clampPi - PI_OVER_TWO);
-        }
-
-        if (LUT_LERP_IN_USE) {
-        	// Use linear interpolation to get a bit more accurate value for sin
-        	Fixed clamped = new Fixed(clampPi);
-
-        	// Find the two closest values in the lut
-        	Fixed rawIndex = clamped.safeMul(LUT_INTERVAL_INV);
-        	Fixed roundedIndex = roundRuleEven(rawIndex); 
-        	Fixed indexError = rawIndex.sub(roundedIndex);
-
-        	// Get the nearest values        	
-        	Fixed nearestValue = new Fixed(FixedPoint32Lut.tan[roundedIndex.intValue()]);
-        	Fixed secondNearestValue = new Fixed(FixedPoint32Lut.tan[roundedIndex.intValue() + sign(indexError)]);
-
-        	// Lerp to get final value
-        	int delta = indexError.mul(abs(nearestValue.sub(secondNearestValue)))._data;
-        	int interpolatedValue = nearestValue._data + delta;
-        	int finalValue = flip ? -interpolatedValue : interpolatedValue;
-        	
-        	return new Fixed(finalValue);
-        } else {
-            
-        	// Expect to find most accurate value directly from lut
-        	if (clampPi >= LUT_SIZE) {
-        		clampPi = LUT_SIZE - 1;
-        	}
-        	
-        	int result = FixedPoint32Lut.tan[clampPi];
-        	return new Fixed(flip ? -result : result);
-        }
-    }
-	
-	private static Fixed atan2Help = Fixed.fromString("0.28");
-
-    public static Fixed atan2(Fixed y, Fixed x) {
-		// Approximate atan2 with error < 0.005 (if enough decimal bits)
-        int yl = y._data;
-        int xl = x._data;
-        
-        // div by zero cases
-        if (xl == 0) {
-            if (yl > 0) {
-                return piOverTwo;
-            }
-            if (yl == 0) {
-                return zero;
-            }
-            return piOverTwo.negate();
-        }
-        Fixed atan;
-        Fixed z = y.div(x);
-
-        Fixed divider = one.add(atan2Help.safeMul(z).safeMul(z));
-        
-        // overflow check
-        if (divider.equals(maxValue)) {
-            return y.lessThan(zero) ? piOverTwo.negate() : piOverTwo;
-        }
-
-        if (abs(z).lessThan(one)) {
-            atan = z.div(divider);
-            if (xl < 0) {
-                if (yl < 0) {
-                    return atan.sub(pi);
-                }
-                return atan.add(pi);
-            }
-        }
-        else {
-            atan = piOverTwo.sub(z.div(z.safeMul(z).add(atan2Help)));
-            if (yl < 0) {
-                return atan.sub(pi);
-            }
-        }
-        return atan;
-    }
+		return new Fixed(FixedMath.tan(value._data));
+	}
+	
+	public static Fixed atan2(Fixed y, Fixed x) {
+		return new Fixed(FixedMath.atan2(y._data, x._data));
+	}
+	
+	public static Fixed exp2(Fixed x) {
+		return new Fixed(FixedMath.exp2(x._data));
+	}
+	
+	public static Fixed exp(Fixed x) {
+		return new Fixed(FixedMath.exp(x._data));
+	}
+	
+	public static Fixed log2(Fixed x) {
+		return new Fixed(FixedMath.log2(x._data));
+	}
+	
+	public static Fixed ln(Fixed x) {
+		return new Fixed(FixedMath.ln(x._data));
+	}
+	
+	public static Fixed pow(Fixed x, Fixed y) {
+		return new Fixed(FixedMath.pow(x._data, y._data));
+	}
 	
 	/*
 	 * Look-up table generation
@@ -681,35 +401,9 @@ public final class Fixed {
 		   System.err.println(e.getLocalizedMessage());
 		}
 	}	
+	// Builds or maps the tables now instead of on first use, see FixedLut
 	static void generateDynamicLutData() {
-		
-		FixedPoint32Lut.sin = new int[LUT_SIZE];
-		FixedPoint32Lut.tan = new int[LUT_SIZE];
-		
-		for (int i = 0; i < LUT_SIZE; ++i) {
-			Fixed startValue = new Fixed(i * LUT_INTERVAL._data);
-			double angle = startValue.doubleValue();
-			double sin = Math.sin(angle);
-			Fixed result = Fixed.fromDouble(sin);
-			FixedPoint32Lut.sin[i] = result._data;
-		}
-
-		boolean overflow = false;
-		for (int i = 0; i < LUT_SIZE; ++i) {
-			double angle = new Fixed(i * LUT_INTERVAL._data).doubleValue();
-			double tan = Math.tan(angle);
-			Fixed result;
-			// After first overflow, all remaining values are maxValue
-			if (overflow || tan > maxValue.doubleValue() || tan < 0.0) {
-				result = maxValue;
-				if (!overflow) {
-					overflow = true;
-				}
-			} else {
-				result = Fixed.fromDouble(tan);
-			}
-			FixedPoint32Lut.tan[i] = result._data;
-		}
+		FixedLut.shared();
 	}
 	
 	/*
@@ -717,86 +411,43 @@ public final class Fixed {
 	 */
 	
 	public static Fixed fromData(int dataValue) {
-		return new Fixed(dataValue);
+		return cached(dataValue);
 	}
 	
 	public static Fixed fromInt(int value) {
-		return new Fixed(value * ONE);
+		return cached(FixedMath.fromInt(value));
 	}
 	
 	public static Fixed fromLong(long value) {
-		return new Fixed((int)value * ONE);
+		return cached(FixedMath.fromLong(value));
 	}
 	
 	public static Fixed fromFloat(float value) {
-		return new Fixed((int)(value * ONE));
+		return new Fixed(FixedMath.fromFloat(value));
 	}
 	
 	public static Fixed fromDouble(double value) {
-		return new Fixed((int)(value * ONE));
+		return new Fixed(FixedMath.fromDouble(value));
 	}
 	
 	public static Fixed fromString(String stringValue) {
-		String[] parts = null;
-		String[] delimiters = {"\\.",","};
-
-		for (int i = 0; i < delimiters.length && (parts == null || parts.length == 1); i++) {
-			parts = stringValue.split(delimiters[i]);
-		}
-
-		if (parts.length > 2 || parts.length == 0) {
-			throw new NumberFormatException("Invalid input string");
-		}
-
-		int left = Integer.parseInt(parts[0]);
-
-		if (left > maxValue.intValue()) {
-			throw new NumberFormatException("Invalid input string: too large number");
-		}
-		
-		if (parts.length == 2) {
-
-			if (parts[1].length() > _rightLength) {
-				parts[1] = parts[1].substring(0, _rightLength);
-			}
-			
-			int right = Integer.parseInt(parts[1]);
-			Fixed divider = _tenPowerTable[parts[1].length()]; // 10 ^parts.Length
-			
-			// Decimal precision of fromString may decrease when DECIMAL_BITS == 16
-			while (divider.intValue() < 0) {
-				parts[1] = parts[1].substring(0, parts[1].length() - 1);
-				right = Integer.parseInt(parts[1]);
-				divider = _tenPowerTable[parts[1].length()];
-			}
-				
-			Fixed fLeft = Fixed.fromInt(left);
-			Fixed sign = fLeft.lessThan(Fixed.zero) ? Fixed.one.negate() : Fixed.one;
-
-			Fixed lr = Fixed.fromInt(right);
-			lr = lr.safeDiv(divider);
-			lr = lr.mul(sign);
-			
-			return fLeft.add(lr);
-		}
-
-		return Fixed.fromInt(left);
+		return new Fixed(FixedMath.fromString(stringValue));
 	}
 	
 	public float floatValue() {
-        return (float)_data / ONE;
+		return FixedMath.floatValue(_data);
 	}
 	
 	public double doubleValue() {
-        return (double)_data / ONE;
+		return FixedMath.doubleValue(_data);
 	}
 	
 	public int intValue() {
-		return _data >> DECIMAL_BITS;
+		return FixedMath.intValue(_data);
 	}
 	
 	public BigDecimal bigDecimalValue() {
-		return new BigDecimal(_data).divide(new BigDecimal(ONE));
+		return FixedMath.bigDecimalValue(_data);
 	}
 	
 	public int dataValue() {
@@ -804,7 +455,7 @@ public final class Fixed {
 	}
 	
 	public String toString() {
-		return bigDecimalValue().toString();
+		return FixedMath.toString(_data);
 	}
 	
 	public static String info() {
@@ -0,0 +1,263 @@
+package com.mcdevon.fixed;
+
+import java.math.BigDecimal;
+
+public final class Fixed64 {
+	private final long _data;
+
+	// Static values for 64-bit fixed-point value
+	private static final long MAX_VALUE = Fixed64Math.MAX_VALUE;
+	private static final long MIN_VALUE = Fixed64Math.MIN_VALUE;
+
+	public static final int BITS = Fixed64Math.BITS;
+
+	private static final long ONE = Fixed64Math.ONE;
+
+	public static final Fixed64 maxValue = new Fixed64(MAX_VALUE);
+	public static final Fixed64 minValue = new Fixed64(MIN_VALUE);
+	public static final Fixed64 zero = new Fixed64(0);
+	public static final Fixed64 one = new Fixed64(ONE);
+	public static final Fixed64 two = new Fixed64(Fixed64Math.TWO);
+	public static final Fixed64 half = new Fixed64(Fixed64Math.HALF);
+	public static final Fixed64 precision = new Fixed64(Fixed64Math.PRECISION);
+
+	public static final Fixed64 pi = new Fixed64(Fixed64Math.PI);
+	public static final Fixed64 piTimesTwo = new Fixed64(Fixed64Math.PI_TIMES_TWO);
+	public static final Fixed64 piOverTwo = new Fixed64(Fixed64Math.PI_OVER_TWO);
+	public static final Fixed64 piInv = new Fixed64(Fixed64Math.PI_INV);
+	public static final Fixed64 piOverTwoInv = new Fixed64(Fixed64Math.PI_OVER_TWO_INV);
+
+	private Fixed64(long data) {
+		_data = data;
+	}
+
+	public static int sign(Fixed64 value) {
+		return Fixed64Math.sign(value._data);
+	}
+
+	public static Fixed64 toRadians(Fixed64 value) {
+		return new Fixed64(Fixed64Math.toRadians(value._data));
+	}
+
+	public static Fixed64 toDegrees(Fixed64 value) {
+		return new Fixed64(Fixed64Math.toDegrees(value._data));
+	}
+
+	public static Fixed64 abs(Fixed64 value) {
+		return new Fixed64(Fixed64Math.abs(value._data));
+	}
+
+	public static Fixed64 safeAbs(Fixed64 value) {
+		return new Fixed64(Fixed64Math.safeAbs(value._data));
+	}
+
+	public static Fixed64 floor(Fixed64 value) {
+		return new Fixed64(Fixed64Math.floor(value._data));
+	}
+
+	public static Fixed64 Ceiling(Fixed64 value) {
+		return new Fixed64(Fixed64Math.ceiling(value._data));
+	}
+
+	public static Fixed64 round(Fixed64 value) {
+		return new Fixed64(Fixed64Math.round(value._data));
+	}
+
+	public static Fixed64 roundRuleEven(Fixed64 value) {
+		return new Fixed64(Fixed64Math.roundRuleEven(value._data));
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public Fixed64 add(Fixed64 value) {
+		return new Fixed64(Fixed64Math.add(_data, value._data));
+	}
+
+	public Fixed64 sub(Fixed64 value) {
+		return new Fixed64(Fixed64Math.sub(_data, value._data));
+	}
+
+	public Fixed64 mul(Fixed64 value) {
+		return new Fixed64(Fixed64Math.mul(_data, value._data));
+	}
+
+	public Fixed64 div(Fixed64 value) {
+		return new Fixed64(Fixed64Math.div(_data, value._data));
+	}
+
+	public Fixed64 mod(Fixed64 value) {
+		return new Fixed64(Fixed64Math.mod(_data, value._data));
+	}
+
+	public Fixed64 negate() {
+		return new Fixed64(Fixed64Math.negate(_data));
+	}
+
+	public boolean lessThan(Fixed64 value) {
+		return _data < value._data;
+	}
+
+	public boolean greaterThan(Fixed64 value) {
+		return _data > value._data;
+	}
+
+	public boolean lessThanOrEquals(Fixed64 value) {
+		return _data <= value._data;
+	}
+
+	public boolean greaterThanOrEquals(Fixed64 value) {
+		return _data >= value._data;
+	}
+
+	public boolean equals(Fixed64 value) {
+		return _data == value._data;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+	    if (obj == null) {
+	        return false;
+	    }
+	    if (!(obj instanceof Fixed64)) {
+	        return false;
+	    }
+	    final Fixed64 other = (Fixed64) obj;
+	    return _data == other._data;
+	}
+
+	@Override
+	public int hashCode() {
+	    return (int)(_data ^ (_data >>> 32));
+	}
+
+	/*
+	 * Safe operators
+	 */
+
+	public Fixed64 safeAdd(Fixed64 value) {
+		return new Fixed64(Fixed64Math.safeAdd(_data, value._data));
+	}
+
+	public Fixed64 safeSub(Fixed64 value) {
+		return new Fixed64(Fixed64Math.safeSub(_data, value._data));
+	}
+
+	public Fixed64 safeMul(Fixed64 value) {
+		return new Fixed64(Fixed64Math.safeMul(_data, value._data));
+	}
+
+	public Fixed64 safeDiv(Fixed64 value) {
+		return new Fixed64(Fixed64Math.safeDiv(_data, value._data));
+	}
+
+	public Fixed64 safeMod(Fixed64 value) {
+		return new Fixed64(Fixed64Math.safeMod(_data, value._data));
+	}
+
+	/*
+	 * Math operations
+	 */
+
+	public static Fixed64 sqrt(Fixed64 x) {
+		return new Fixed64(Fixed64Math.sqrt(x._data));
+	}
+
+	public static Fixed64 sin(Fixed64 value) {
+		return new Fixed64(Fixed64Math.sin(value._data));
+	}
+
+	public static Fixed64 cos(Fixed64 value) {
+		return new Fixed64(Fixed64Math.cos(value._data));
+	}
+
+	public static Fixed64 tan(Fixed64 value) {
+		return new Fixed64(Fixed64Math.tan(value._data));
+	}
+
+	public static Fixed64 atan2(Fixed64 y, Fixed64 x) {
+		return new Fixed64(Fixed64Math.atan2(y._data, x._data));
+	}
+
+	/*
+	 * Compatibility
+	 */
+
+	public static Fixed64 fromData(long dataValue) {
+		return new Fixed64(dataValue);
+	}
+
+	public static Fixed64 fromInt(int value) {
+		return new Fixed64(Fixed64Math.fromInt(value));
+	}
+
+	public static Fixed64 fromLong(long value) {
+		return new Fixed64(Fixed64Math.fromLong(value));
+	}
+
+	public static Fixed64 fromFloat(float value) {
+		return new Fixed64(Fixed64Math.fromFloat(value));
+	}
+
+	public static Fixed64 fromDouble(double value) {
+		return new Fixed64(Fixed64Math.fromDouble(value));
+	}
+
+	public static Fixed64 fromFixed(Fixed value) {
+		return new Fixed64(Fixed64Math.fromFixed(value.dataValue()));
+	}
+
+	public static Fixed64 fromString(String stringValue) {
+		return new Fixed64(Fixed64Math.fromString(stringValue));
+	}
+
+	public float floatValue() {
+		return Fixed64Math.floatValue(_data);
+	}
+
+	public double doubleValue() {
+		return Fixed64Math.doubleValue(_data);
+	}
+
+	public int intValue() {
+		return Fixed64Math.intValue(_data);
+	}
+
+	public long longValue() {
+		return Fixed64Math.longValue(_data);
+	}
+
+	public Fixed toFixed() {
+		return Fixed.fromData(Fixed64Math.toFixed(_data));
+	}
+
+	public BigDecimal bigDecimalValue() {
+		return Fixed64Math.bigDecimalValue(_data);
+	}
+
+	public long dataValue() {
+		return _data;
+	}
+
+	public String toString() {
+		return Fixed64Math.toString(_data);
+	}
+
+	public static String info() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("Precision: ");
+		builder.append(precision);
+		builder.append("\n");
+
+		builder.append("Max value: ");
+		builder.append(maxValue);
+		builder.append("\n");
+
+		builder.append("Min Value: ");
+		builder.append(minValue);
+		builder.append("\n");
+
+		return builder.toString();
+	}
+}
@@ -0,0 +1,516 @@
+package com.mcdevon.fixed;
+
+import java.math.BigDecimal;
+
+/*
+ * Allocation-free Q32.32 math on raw long data values, the 64-bit
+ * counterpart of FixedMath. Fixed64 delegates to these methods.
+ *
+ * Multiply and divide use a 128-bit intermediate, trigonometry uses
+ * integer polynomials, so results do not depend on floating point.
+ */
+public final class Fixed64Math {
+
+	public static final long MAX_VALUE = Long.MAX_VALUE;
+	public static final long MIN_VALUE = Long.MIN_VALUE;
+
+	public static final int BITS = 64;
+	public static final int DECIMAL_BITS = 32;
+	static final long DECIMAL_MASK = -1L >>> (BITS - DECIMAL_BITS);
+
+	public static final long ONE = 1L << DECIMAL_BITS;
+	public static final long TWO = 1L << (DECIMAL_BITS + 1);
+	public static final long HALF = 1L << (DECIMAL_BITS - 1);
+	public static final long PRECISION = 1L;
+
+	public static final long PI = 13493037705L;
+	public static final long PI_TIMES_TWO = 26986075409L;
+	public static final long PI_OVER_TWO = 6746518852L;
+	public static final long PI_INV = 1367130551L;
+	public static final long PI_OVER_TWO_INV = 2734261102L;
+
+	private static final long DEG_TO_RAD = 74961321L;
+	private static final long RAD_TO_DEG = 246083499208L;
+
+	// Polynomials are evaluated with 61 decimal bits, enough for |x| < 4
+	private static final int POLY_BITS = 61;
+	private static final int POLY_SHIFT = POLY_BITS - DECIMAL_BITS;
+	private static final long POLY_ONE = 1L << POLY_BITS;
+	private static final long POLY_PI_OVER_TWO = 3622009729038561421L;
+	private static final long POLY_PI_OVER_FOUR = 1811004864519280711L;
+	// tan(pi / 8)
+	private static final long POLY_ATAN_SPLIT = 955111447119501601L;
+
+	// Taylor coefficients of sin for x^3 ... x^17, error < 2^-40 on [0, pi/2]
+	private static final long[] SIN_COEFFICIENTS = {
+			-384307168202282325L,
+			19215358410114116L,
+			-457508533574146L,
+			6354285188530L,
+			-57766228987L,
+			370296340L,
+			-1763316L,
+			6483L,
+	};
+
+	// Taylor coefficients of atan for x^3 ... x^29, error < 2^-38 on [-tan(pi/8), tan(pi/8)]
+	private static final long[] ATAN_COEFFICIENTS = {
+			-768614336404564651L,
+			461168601842738790L,
+			-329406144173384850L,
+			256204778801521550L,
+			-209622091746699450L,
+			177372539170284150L,
+			-153722867280912930L,
+			135637824071393762L,
+			-121360158379668103L,
+			109802048057794950L,
+			-100254043878856259L,
+			92233720368547758L,
+			-85401592933840517L,
+			79511827903920481L,
+	};
+
+	// Powers of ten for fromString
+	private static final long[] _tenPowerTable = new long[19];
+	static {
+		long power = 1L;
+		for (int i = 0; i < _tenPowerTable.length; i++) {
+			_tenPowerTable[i] = power;
+			power *= 10L;
+		}
+	}
+
+	private Fixed64Math() {
+	}
+
+	public static int sign(long value) {
+		return value < 0 ? -1 :
+			value > 0 ? 1 : 0;
+	}
+
+	public static long toRadians(long value) {
+		return mul(value, DEG_TO_RAD);
+	}
+
+	public static long toDegrees(long value) {
+		return mul(value, RAD_TO_DEG);
+	}
+
+	public static long abs(long value) {
+		long mask = value >> (BITS - 1);
+		return (value + mask) ^ mask;
+	}
+
+	public static long safeAbs(long value) {
+		if (value == MIN_VALUE) {
+			return MAX_VALUE;
+		}
+		return abs(value);
+	}
+
+	public static long floor(long value) {
+		// Just zero out the decimal part
+		return value & (~DECIMAL_MASK);
+	}
+
+	public static long ceiling(long value) {
+		boolean hasFrac = (value & DECIMAL_MASK) != 0;
+		return hasFrac ? floor(value) + ONE : value;
+	}
+
+	public static long round(long value) {
+		long fract = value & DECIMAL_MASK;
+		long integral = floor(value);
+		if (fract < HALF) {
+			return integral;
+		}
+		// Halves are always rounded upwards
+		return integral + ONE;
+	}
+
+	public static long roundRuleEven(long value) {
+		long fract = value & DECIMAL_MASK;
+		long integral = floor(value);
+		if (fract < HALF) {
+			return integral;
+		}
+		if (fract > HALF) {
+			return integral + ONE;
+		}
+
+		// Halves are rounded to nearest even number
+		return (integral & ONE) == 0
+				? integral
+				: integral + ONE;
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public static long add(long x, long y) {
+		return x + y;
+	}
+
+	public static long sub(long x, long y) {
+		return x - y;
+	}
+
+	public static long mul(long x, long y) {
+		// Low 64 bits of the 128-bit product shifted right
+		return (multiplyHigh(x, y) << (BITS - DECIMAL_BITS)) | ((x * y) >>> DECIMAL_BITS);
+	}
+
+	public static long div(long x, long y) {
+		if (y == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+		long quotient = divideMagnitude(absMagnitude(x), absMagnitude(y), DECIMAL_BITS);
+		return (x ^ y) < 0 ? -quotient : quotient;
+	}
+
+	public static long mod(long x, long y) {
+		return x % y;
+	}
+
+	public static long negate(long value) {
+		return -value;
+	}
+
+	/*
+	 * Safe operators
+	 */
+
+	public static long safeAdd(long x, long y) {
+		long sum = x + y;
+
+		// Check for overflows
+		if (((~(x ^ y) & (x ^ sum)) & MIN_VALUE) != 0) {
+			sum = x > 0 ? MAX_VALUE : MIN_VALUE;
+		}
+		return sum;
+	}
+
+	public static long safeSub(long x, long y) {
+		long sub = x - y;
+
+		// Check for overflows
+		if ((((x ^ y) & (x ^ sub)) & MIN_VALUE) != 0) {
+			sub = x < 0 ? MIN_VALUE : MAX_VALUE;
+		}
+		return sub;
+	}
+
+	public static long safeMul(long x, long y) {
+		long hi = multiplyHigh(x, y);
+
+		// Result fits if the bits above it are a sign extension
+		if ((hi >> (DECIMAL_BITS - 1)) != (hi >> (BITS - 1))) {
+			return (x ^ y) < 0 ? MIN_VALUE : MAX_VALUE;
+		}
+		return (hi << (BITS - DECIMAL_BITS)) | ((x * y) >>> DECIMAL_BITS);
+	}
+
+	public static long safeDiv(long x, long y) {
+		if (y == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+
+		long ux = absMagnitude(x);
+		long uy = absMagnitude(y);
+		boolean negative = (x ^ y) < 0;
+
+		// Integer part of the quotient must fit below the sign bit
+		if (Long.compareUnsigned(Long.divideUnsigned(ux, uy), 1L << (BITS - DECIMAL_BITS - 1)) >= 0) {
+			return negative ? MIN_VALUE : MAX_VALUE;
+		}
+
+		// One extra bit for rounding halves upwards
+		// The quotient is below 2^64 - 1 here, so this cannot overflow
+		long quotient = (divideMagnitude(ux, uy, DECIMAL_BITS + 1) + 1) >>> 1;
+		return negative ? -quotient : quotient;
+	}
+
+	public static long safeMod(long x, long y) {
+		return x == MIN_VALUE & y == -1 ? 0 :
+			x % y;
+	}
+
+	/*
+	 * 128-bit helpers
+	 */
+
+	// High 64 bits of the signed 128-bit product, same as Math.multiplyHigh()
+	static long multiplyHigh(long x, long y) {
+		long x1 = x >> 32;
+		long x2 = x & 0xFFFFFFFFL;
+		long y1 = y >> 32;
+		long y2 = y & 0xFFFFFFFFL;
+
+		long z2 = x2 * y2;
+		long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		long z0 = t >> 32;
+		z1 += x2 * y1;
+
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+	// Magnitude as an unsigned value, MIN_VALUE gives 2^63
+	private static long absMagnitude(long value) {
+		return value < 0 ? -value : value;
+	}
+
+	// Unsigned (ux * 2^shift) / uy truncated to 64 bits
+	static long divideMagnitude(long ux, long uy, int shift) {
+		long quotient = Long.divideUnsigned(ux, uy);
+		long remainder = Long.remainderUnsigned(ux, uy);
+
+		// Remainder is less than divider, so it can be shifted by the
+		// leading zeroes of the divider without overflow
+		int step = Math.max(1, Long.numberOfLeadingZeros(uy));
+		while (shift > 0 && remainder != 0) {
+			int bits = Math.min(step, shift);
+			remainder <<= bits;
+			quotient = (quotient << bits) + Long.divideUnsigned(remainder, uy);
+			remainder = Long.remainderUnsigned(remainder, uy);
+			shift -= bits;
+		}
+		return quotient << shift;
+	}
+
+	/*
+	 * Math operations
+	 */
+
+	public static long sqrt(long x) {
+		if (x < 0) {
+			// Sqrt not defined for negative numbers and NaN not available
+			throw new ArithmeticException("Sqrt for negative number");
+		}
+		if (x == 0) {
+			return 0;
+		}
+
+		// Newton iteration on x * 2^DECIMAL_BITS, starting above the root
+		int bits = BITS - Long.numberOfLeadingZeros(x) + DECIMAL_BITS;
+		long result = 1L << ((bits + 1) >>> 1);
+		while (true) {
+			long next = (result + divideMagnitude(x, result, DECIMAL_BITS)) >>> 1;
+			if (next >= result) {
+				break;
+			}
+			result = next;
+		}
+
+		// Remainder is below 2^64, so wrapping arithmetic gives it exactly.
+		// If next bit would have been 1, round the result upwards.
+		long remainder = (x << DECIMAL_BITS) - result * result;
+		if (remainder > result) {
+			++result;
+		}
+		return result;
+	}
+
+	private static long polyMul(long x, long y) {
+		return (multiplyHigh(x, y) << (BITS - POLY_BITS)) | ((x * y) >>> POLY_BITS);
+	}
+
+	private static long polyToFixed(long value) {
+		return (value + (1L << (POLY_SHIFT - 1))) >> POLY_SHIFT;
+	}
+
+	// sin for angle in [0, 2pi)
+	private static long sinClamped(long angle) {
+		boolean flipV = angle >= PI;
+		if (flipV) {
+			angle -= PI;
+		}
+		if (angle > PI_OVER_TWO) {
+			angle = PI - angle;
+		}
+
+		long x = angle << POLY_SHIFT;
+		long x2 = polyMul(x, x);
+		long sum = SIN_COEFFICIENTS[SIN_COEFFICIENTS.length - 1];
+		for (int i = SIN_COEFFICIENTS.length - 2; i >= 0; i--) {
+			sum = SIN_COEFFICIENTS[i] + polyMul(x2, sum);
+		}
+		long result = polyToFixed(x + polyMul(x, polyMul(x2, sum)));
+		return flipV ? -result : result;
+	}
+
+	private static long clampTwoPi(long angle) {
+		long clamped = angle % PI_TIMES_TWO;
+		return clamped < 0 ? clamped + PI_TIMES_TWO : clamped;
+	}
+
+	public static long sin(long angle) {
+		return sinClamped(clampTwoPi(angle));
+	}
+
+	public static long cos(long angle) {
+		long shifted = clampTwoPi(angle) + PI_OVER_TWO;
+		if (shifted >= PI_TIMES_TWO) {
+			shifted -= PI_TIMES_TWO;
+		}
+		return sinClamped(shifted);
+	}
+
+	// Saturates where cos rounds to zero, like FixedTrigEngine.tan()
+	public static long tan(long angle) {
+		long sin = sin(angle);
+		long cos = cos(angle);
+		if (cos == 0) {
+			return sin < 0 ? MIN_VALUE : MAX_VALUE;
+		}
+		return safeDiv(sin, cos);
+	}
+
+	// atan for z in [0, 1] with POLY_BITS decimal bits
+	private static long polyAtan(long z) {
+		long offset = 0;
+		if (z > POLY_ATAN_SPLIT) {
+			// atan(z) = pi/4 + atan((z - 1) / (z + 1))
+			long t = divideMagnitude(POLY_ONE - z, POLY_ONE + z, POLY_BITS);
+			z = -t;
+			offset = POLY_PI_OVER_FOUR;
+		}
+
+		long z2 = polyMul(z, z);
+		long sum = ATAN_COEFFICIENTS[ATAN_COEFFICIENTS.length - 1];
+		for (int i = ATAN_COEFFICIENTS.length - 2; i >= 0; i--) {
+			sum = ATAN_COEFFICIENTS[i] + polyMul(z2, sum);
+		}
+		return offset + z + polyMul(z, polyMul(z2, sum));
+	}
+
+	public static long atan2(long y, long x) {
+		// div by zero cases
+		if (x == 0) {
+			if (y > 0) {
+				return PI_OVER_TWO;
+			}
+			if (y == 0) {
+				return 0;
+			}
+			return -PI_OVER_TWO;
+		}
+
+		long ux = absMagnitude(x);
+		long uy = absMagnitude(y);
+
+		long angle;
+		if (Long.compareUnsigned(uy, ux) <= 0) {
+			angle = polyAtan(divideMagnitude(uy, ux, POLY_BITS));
+		} else {
+			angle = POLY_PI_OVER_TWO - polyAtan(divideMagnitude(ux, uy, POLY_BITS));
+		}
+
+		long result = polyToFixed(angle);
+		if (x < 0) {
+			result = PI - result;
+		}
+		return y < 0 ? -result : result;
+	}
+
+	/*
+	 * Compatibility
+	 */
+
+	public static long fromInt(int value) {
+		return (long)value << DECIMAL_BITS;
+	}
+
+	public static long fromLong(long value) {
+		return value << DECIMAL_BITS;
+	}
+
+	public static long fromFloat(float value) {
+		return (long)((double)value * ONE);
+	}
+
+	public static long fromDouble(double value) {
+		return (long)(value * ONE);
+	}
+
+	public static long fromFixed(int fixedData) {
+		return (long)fixedData << (DECIMAL_BITS - FixedMath.DECIMAL_BITS);
+	}
+
+	public static long fromString(String stringValue) {
+		int delimiter = stringValue.indexOf('.');
+		if (delimiter < 0) {
+			delimiter = stringValue.indexOf(',');
+		}
+		if (delimiter < 0) {
+			return checkedFromLong(Long.parseLong(stringValue));
+		}
+
+		String leftPart = stringValue.substring(0, delimiter);
+		String rightPart = stringValue.substring(delimiter + 1);
+		if (rightPart.isEmpty() || rightPart.charAt(0) == '-' || rightPart.charAt(0) == '+') {
+			throw new NumberFormatException("Invalid input string");
+		}
+
+		boolean negative = leftPart.startsWith("-");
+		long left = leftPart.isEmpty() || leftPart.equals("-") || leftPart.equals("+") ? 0 : Long.parseLong(leftPart);
+
+		// Digits beyond the last table entry are dropped. Halves between
+		// two results need 33 fraction digits, so this can only round text
+		// within 10^-18 above a half down instead of up.
+		if (rightPart.length() >= _tenPowerTable.length) {
+			rightPart = rightPart.substring(0, _tenPowerTable.length - 1);
+		}
+		long right = Long.parseLong(rightPart);
+		long divider = _tenPowerTable[rightPart.length()];
+		long fraction = (divideMagnitude(right, divider, DECIMAL_BITS + 1) + 1) >>> 1;
+
+		// The fraction takes the sign of the text, so MIN_VALUE parses like
+		// every other value and "-0.5" is negative
+		long result = checkedFromLong(left);
+		try {
+			return negative ? Math.subtractExact(result, fraction) : Math.addExact(result, fraction);
+		} catch (ArithmeticException e) {
+			throw new NumberFormatException("Invalid input string: too large number");
+		}
+	}
+
+	private static long checkedFromLong(long value) {
+		if (value > intValue(MAX_VALUE) || value < intValue(MIN_VALUE)) {
+			throw new NumberFormatException("Invalid input string: too large number");
+		}
+		return fromLong(value);
+	}
+
+	public static float floatValue(long value) {
+		return (float)((double)value / ONE);
+	}
+
+	public static double doubleValue(long value) {
+		return (double)value / ONE;
+	}
+
+	public static int intValue(long value) {
+		return (int)(value >> DECIMAL_BITS);
+	}
+
+	public static long longValue(long value) {
+		return value >> DECIMAL_BITS;
+	}
+
+	// Truncates decimals to the Fixed format, wraps if out of its range
+	public static int toFixed(long value) {
+		return (int)(value >> (DECIMAL_BITS - FixedMath.DECIMAL_BITS));
+	}
+
+	public static BigDecimal bigDecimalValue(long value) {
+		return new BigDecimal(value).divide(new BigDecimal(ONE));
+	}
+
+	// Never in scientific notation, which fromString() does not accept
+	public static String toString(long value) {
+		return bigDecimalValue(value).toPlainString();
+	}
+}
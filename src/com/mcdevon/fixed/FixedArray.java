@@ -0,0 +1,220 @@
+package com.mcdevon.fixed;
+
+import java.util.Arrays;
+
+/*
+ * Growable list of raw data values backed by an int[], 4 bytes per value.
+ * Bulk operators work element by element like FixedArrays and modify this
+ * array.
+ */
+public final class FixedArray {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private int[] _data;
+	private int _size;
+
+	public FixedArray() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public FixedArray(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Negative capacity: " + capacity);
+		}
+		_data = new int[capacity];
+	}
+
+	// Copies values
+	public FixedArray(int[] values) {
+		_data = values.clone();
+		_size = values.length;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public boolean isEmpty() {
+		return _size == 0;
+	}
+
+	public void clear() {
+		_size = 0;
+	}
+
+	public void ensureCapacity(int capacity) {
+		if (capacity > _data.length) {
+			int grown = _data.length + (_data.length >> 1) + 1;
+			_data = Arrays.copyOf(_data, Math.max(capacity, grown));
+		}
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= _size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", size: " + _size);
+		}
+	}
+
+	// Backing array, valid up to size(). Replaced when the array grows.
+	public int[] array() {
+		return _data;
+	}
+
+	public int[] toArray() {
+		return Arrays.copyOf(_data, _size);
+	}
+
+	/*
+	 * Accessors
+	 */
+
+	public int get(int index) {
+		checkIndex(index);
+		return _data[index];
+	}
+
+	public Fixed getFixed(int index) {
+		return Fixed.fromData(get(index));
+	}
+
+	public void set(int index, int value) {
+		checkIndex(index);
+		_data[index] = value;
+	}
+
+	public void set(int index, Fixed value) {
+		set(index, value.dataValue());
+	}
+
+	public void add(int value) {
+		if (_size == _data.length) {
+			ensureCapacity(_size + 1);
+		}
+		_data[_size++] = value;
+	}
+
+	public void add(Fixed value) {
+		add(value.dataValue());
+	}
+
+	public void addAll(int[] values, int offset, int length) {
+		ensureCapacity(_size + length);
+		System.arraycopy(values, offset, _data, _size, length);
+		_size += length;
+	}
+
+	public void addAll(FixedArray values) {
+		addAll(values._data, 0, values._size);
+	}
+
+	// Removes the last value and returns it
+	public int removeLast() {
+		checkIndex(_size - 1);
+		return _data[--_size];
+	}
+
+	/*
+	 * Bulk operators
+	 */
+
+	private void checkSize(FixedArray other) {
+		if (other._size != _size) {
+			throw new IllegalArgumentException("Size mismatch: " + other._size + " != " + _size);
+		}
+	}
+
+	public FixedArray addAssign(FixedArray other) {
+		checkSize(other);
+		int[] a = _data;
+		int[] b = other._data;
+		for (int i = 0; i < _size; i++) {
+			a[i] += b[i];
+		}
+		return this;
+	}
+
+	public FixedArray subAssign(FixedArray other) {
+		checkSize(other);
+		int[] a = _data;
+		int[] b = other._data;
+		for (int i = 0; i < _size; i++) {
+			a[i] -= b[i];
+		}
+		return this;
+	}
+
+	public FixedArray mulAssign(FixedArray other) {
+		checkSize(other);
+		int[] a = _data;
+		int[] b = other._data;
+		for (int i = 0; i < _size; i++) {
+			a[i] = (int)(((long)a[i] * b[i]) >> FixedMath.DECIMAL_BITS);
+		}
+		return this;
+	}
+
+	public FixedArray mulAssign(int scalar) {
+		int[] a = _data;
+		for (int i = 0; i < _size; i++) {
+			a[i] = (int)(((long)a[i] * scalar) >> FixedMath.DECIMAL_BITS);
+		}
+		return this;
+	}
+
+	public FixedArray negateInPlace() {
+		int[] a = _data;
+		for (int i = 0; i < _size; i++) {
+			a[i] = -a[i];
+		}
+		return this;
+	}
+
+	public int dot(FixedArray other) {
+		checkSize(other);
+		int[] a = _data;
+		int[] b = other._data;
+		int sum = 0;
+		for (int i = 0; i < _size; i++) {
+			sum += (int)(((long)a[i] * b[i]) >> FixedMath.DECIMAL_BITS);
+		}
+		return sum;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof FixedArray)) {
+			return false;
+		}
+		final FixedArray other = (FixedArray) obj;
+		if (other._size != _size) {
+			return false;
+		}
+		for (int i = 0; i < _size; i++) {
+			if (_data[i] != other._data[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = 1;
+		for (int i = 0; i < _size; i++) {
+			h = 31 * h + _data[i];
+		}
+		return h;
+	}
+
+	public String toString() {
+		StringBuilder builder = new StringBuilder(2 + _size * 8).append('[');
+		for (int i = 0; i < _size; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			FixedMath.toString(_data[i], builder);
+		}
+		return builder.append(']').toString();
+	}
+}
@@ -0,0 +1,263 @@
+package com.mcdevon.fixed;
+
+import com.mcdevon.fixed.FixedOverflowCounters.Operation;
+
+/*
+ * Bulk operations over arrays of raw data values. Results and overflow
+ * counts are identical to applying the matching Fixed / FixedMath operator
+ * element by element.
+ *
+ * Loops are kept simple and branch-free so the JIT can vectorize them.
+ * Output array may be the same as one of the inputs.
+ */
+public final class FixedArrays {
+
+	private static final int MAX_VALUE = FixedMath.MAX_VALUE;
+	private static final int DECIMAL_BITS = FixedMath.DECIMAL_BITS;
+	private static final int HALF = FixedMath.HALF;
+
+	private FixedArrays() {
+	}
+
+	private static void checkLength(int[] a, int length) {
+		if (a.length < length) {
+			throw new IllegalArgumentException("Array too short: " + a.length + " < " + length);
+		}
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public static void add(int[] a, int[] b, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = a[i] + b[i];
+		}
+	}
+
+	public static void sub(int[] a, int[] b, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = a[i] - b[i];
+		}
+	}
+
+	public static void mul(int[] a, int[] b, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = (int)(((long)a[i] * b[i]) >> DECIMAL_BITS);
+		}
+	}
+
+	public static void mul(int[] a, int scalar, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = (int)(((long)a[i] * scalar) >> DECIMAL_BITS);
+		}
+	}
+
+	public static void negate(int[] a, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = -a[i];
+		}
+	}
+
+	// out = a * b + c with a single rounding, like FixedMath.fma()
+	public static void fma(int[] a, int[] b, int[] c, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		checkLength(c, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = (int)(((long)a[i] * b[i] + ((long)c[i] << DECIMAL_BITS) + HALF) >> DECIMAL_BITS);
+		}
+	}
+
+	// out = a + (b - a) * t
+	public static void lerp(int[] a, int[] b, int t, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		for (int i = 0; i < n; i++) {
+			int x = a[i];
+			out[i] = x + (int)(((long)(b[i] - x) * t) >> DECIMAL_BITS);
+		}
+	}
+
+	// out = a + (b - a) * t, with separate t for each element
+	public static void lerp(int[] a, int[] b, int[] t, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		checkLength(t, n);
+		for (int i = 0; i < n; i++) {
+			int x = a[i];
+			out[i] = x + (int)(((long)(b[i] - x) * t[i]) >> DECIMAL_BITS);
+		}
+	}
+
+	// Sum of a[i] * b[i], added like Fixed.add()
+	public static int dot(int[] a, int[] b) {
+		int n = a.length;
+		checkLength(b, n);
+		int sum = 0;
+		for (int i = 0; i < n; i++) {
+			sum += (int)(((long)a[i] * b[i]) >> DECIMAL_BITS);
+		}
+		return sum;
+	}
+
+	/*
+	 * Safe operators
+	 */
+
+	public static void safeAdd(int[] a, int[] b, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		int saturatedLanes = 0;
+		for (int i = 0; i < n; i++) {
+			int x = a[i];
+			int y = b[i];
+			int sum = x + y;
+			// All ones on overflow, saturate towards the sign of x
+			int overflow = (~(x ^ y) & (x ^ sum)) >> 31;
+			int saturated = (x >> 31) ^ MAX_VALUE;
+			out[i] = (sum & ~overflow) | (saturated & overflow);
+			saturatedLanes -= overflow;
+		}
+		FixedOverflowCounters.saturatedLanes(Operation.ADD, saturatedLanes);
+	}
+
+	public static void safeSub(int[] a, int[] b, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		int saturatedLanes = 0;
+		for (int i = 0; i < n; i++) {
+			int x = a[i];
+			int y = b[i];
+			int sub = x - y;
+			int overflow = ((x ^ y) & (x ^ sub)) >> 31;
+			int saturated = (x >> 31) ^ MAX_VALUE;
+			out[i] = (sub & ~overflow) | (saturated & overflow);
+			saturatedLanes -= overflow;
+		}
+		FixedOverflowCounters.saturatedLanes(Operation.SUB, saturatedLanes);
+	}
+
+	public static void safeMul(int[] a, int[] b, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.safeMul(a[i], b[i]);
+		}
+	}
+
+	// out = safeAdd(safeMul(a, b), c)
+	public static void safeFma(int[] a, int[] b, int[] c, int[] out) {
+		int n = out.length;
+		checkLength(a, n);
+		checkLength(b, n);
+		checkLength(c, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.safeAdd(FixedMath.safeMul(a[i], b[i]), c[i]);
+		}
+	}
+
+	/*
+	 * Trigonometry
+	 */
+
+	public static void sin(int[] angles, int[] out) {
+		int n = out.length;
+		checkLength(angles, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.sin(angles[i]);
+		}
+	}
+
+	public static void cos(int[] angles, int[] out) {
+		int n = out.length;
+		checkLength(angles, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.cos(angles[i]);
+		}
+	}
+
+	// One range reduction per angle, sinOut and cosOut must be different arrays
+	public static void sincos(int[] angles, int[] sinOut, int[] cosOut) {
+		int n = sinOut.length;
+		checkLength(angles, n);
+		checkLength(cosOut, n);
+		for (int i = 0; i < n; i++) {
+			long sincos = FixedMath.sincos(angles[i]);
+			sinOut[i] = FixedMath.sinOf(sincos);
+			cosOut[i] = FixedMath.cosOf(sincos);
+		}
+	}
+
+	/*
+	 * Exponentials and logarithms
+	 */
+
+	public static void exp2(int[] values, int[] out) {
+		int n = out.length;
+		checkLength(values, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.exp2(values[i]);
+		}
+	}
+
+	public static void exp(int[] values, int[] out) {
+		int n = out.length;
+		checkLength(values, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.exp(values[i]);
+		}
+	}
+
+	public static void log2(int[] values, int[] out) {
+		int n = out.length;
+		checkLength(values, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.log2(values[i]);
+		}
+	}
+
+	public static void ln(int[] values, int[] out) {
+		int n = out.length;
+		checkLength(values, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.ln(values[i]);
+		}
+	}
+
+	public static void pow(int[] x, int y, int[] out) {
+		int n = out.length;
+		checkLength(x, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.pow(x[i], y);
+		}
+	}
+
+	public static void pow(int[] x, int[] y, int[] out) {
+		int n = out.length;
+		checkLength(x, n);
+		checkLength(y, n);
+		for (int i = 0; i < n; i++) {
+			out[i] = FixedMath.pow(x[i], y[i]);
+		}
+	}
+}
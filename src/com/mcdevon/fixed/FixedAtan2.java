@@ -0,0 +1,54 @@
+package com.mcdevon.fixed;
+
+/*
+ * atan2 on raw data values in three accuracy tiers:
+ *
+ * FAST is FixedMath.atan2Fast(), the 0.28 rational approximation with an
+ * error of up to about 0.005.
+ * POLYNOMIAL is FixedTrigEngine.POLYNOMIAL.atan2(), within 1 ulp.
+ * LUT is FixedMath.atan2(), an octant look-up table, within 1 ulp.
+ *
+ * Each makes one division per call and none allocate. Results are in
+ * [-pi, pi], atan2(0, 0) is zero.
+ */
+public enum FixedAtan2 {
+	FAST {
+		@Override
+		public int atan2(int y, int x) {
+			return FixedMath.atan2Fast(y, x);
+		}
+	},
+	POLYNOMIAL {
+		@Override
+		public int atan2(int y, int x) {
+			return FixedTrigEngine.POLYNOMIAL.atan2(y, x);
+		}
+	},
+	LUT {
+		@Override
+		public int atan2(int y, int x) {
+			return FixedMath.atan2(y, x);
+		}
+	};
+
+	public abstract int atan2(int y, int x);
+
+	public int atan(int value) {
+		return atan2(value, FixedMath.ONE);
+	}
+
+	public Fixed atan2(Fixed y, Fixed x) {
+		return Fixed.fromData(atan2(y.dataValue(), x.dataValue()));
+	}
+
+	// out[i] = atan2(y[i], x[i])
+	public void atan2(int[] y, int[] x, int[] out) {
+		int n = out.length;
+		if (y.length < n || x.length < n) {
+			throw new IllegalArgumentException("Array too short: " + Math.min(y.length, x.length) + " < " + n);
+		}
+		for (int i = 0; i < n; i++) {
+			out[i] = atan2(y[i], x[i]);
+		}
+	}
+}
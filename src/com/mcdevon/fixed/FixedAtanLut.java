@@ -0,0 +1,57 @@
+package com.mcdevon.fixed;
+
+/*
+ * Octant look-up table kernel of FixedMath.atan2(). Values have
+ * FixedTrigEngine.TRIG_BITS decimal bits. (y, x) is folded into the first
+ * octant, atan(min / max) is interpolated linearly between 258 entries,
+ * below 2^-19 error, and the octant is mapped back.
+ */
+final class FixedAtanLut {
+
+	private static final int TRIG_BITS = FixedTrigEngine.TRIG_BITS;
+	private static final int TABLE_BITS = 8;
+	private static final int INDEX_SHIFT = TRIG_BITS - TABLE_BITS;
+	private static final long FRACTION_MASK = (1L << INDEX_SHIFT) - 1;
+
+	// atan(i / 256), generated with StrictMath so the table is the same on
+	// every JVM. One extra entry so t = 1 can interpolate too.
+	private static final int[] ATAN_TABLE = new int[(1 << TABLE_BITS) + 2];
+	static {
+		for (int i = 0; i < ATAN_TABLE.length; i++) {
+			double t = StrictMath.scalb((double)i, -TABLE_BITS);
+			ATAN_TABLE[i] = (int)StrictMath.round(StrictMath.atan(t) * (1L << TRIG_BITS));
+		}
+	}
+
+	private FixedAtanLut() {
+	}
+
+	static int tableSize() {
+		return ATAN_TABLE.length;
+	}
+
+	// t in [0, 1]
+	static long atan(long t) {
+		int index = (int)(t >>> INDEX_SHIFT);
+		long low = ATAN_TABLE[index];
+		return low + (((ATAN_TABLE[index + 1] - low) * (t & FRACTION_MASK)) >> INDEX_SHIFT);
+	}
+
+	// Raw data values in and out, one division
+	static int atan2(int y, int x) {
+		if (x == 0 && y == 0) {
+			return 0;
+		}
+		long ax = Math.abs((long)x);
+		long ay = Math.abs((long)y);
+
+		// Below or above the diagonal, then the quadrant
+		long angle = ay <= ax
+				? atan((ay << TRIG_BITS) / ax)
+				: FixedTrigEngine.PI_OVER_TWO - atan((ax << TRIG_BITS) / ay);
+		if (x < 0) {
+			angle = FixedTrigEngine.PI - angle;
+		}
+		return FixedTrigEngine.toFixed(y < 0 ? -angle : angle);
+	}
+}
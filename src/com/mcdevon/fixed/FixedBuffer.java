@@ -0,0 +1,186 @@
+package com.mcdevon.fixed;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/*
+ * Fixed-length off-heap storage of raw data values, 4 bytes per value
+ * outside the Java heap. Indices are longs, values are kept in direct
+ * buffers of up to 2^28 values each, so lengths above Integer.MAX_VALUE
+ * work too. Memory is released when the buffer is garbage collected.
+ */
+public final class FixedBuffer {
+
+	private static final int CHUNK_BITS = 28;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final long _length;
+	private final ByteBuffer[] _chunks;
+
+	// Values start at zero
+	public FixedBuffer(long length) {
+		if (length < 0) {
+			throw new IllegalArgumentException("Negative length: " + length);
+		}
+		_length = length;
+		_chunks = new ByteBuffer[(int)((length + CHUNK_MASK) >>> CHUNK_BITS)];
+		for (int i = 0; i < _chunks.length; i++) {
+			long values = Math.min(CHUNK_SIZE, length - ((long)i << CHUNK_BITS));
+			_chunks[i] = ByteBuffer.allocateDirect((int)values * 4).order(ByteOrder.nativeOrder());
+		}
+	}
+
+	public long length() {
+		return _length;
+	}
+
+	/*
+	 * Accessors
+	 */
+
+	public int get(long index) {
+		checkIndex(index);
+		return _chunks[(int)(index >>> CHUNK_BITS)].getInt(((int)index & CHUNK_MASK) << 2);
+	}
+
+	public Fixed getFixed(long index) {
+		return Fixed.fromData(get(index));
+	}
+
+	public void set(long index, int value) {
+		checkIndex(index);
+		_chunks[(int)(index >>> CHUNK_BITS)].putInt(((int)index & CHUNK_MASK) << 2, value);
+	}
+
+	public void set(long index, Fixed value) {
+		set(index, value.dataValue());
+	}
+
+	private void checkIndex(long index) {
+		if (index < 0 || index >= _length) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", length: " + _length);
+		}
+	}
+
+	private void checkRange(long index, long length) {
+		if (index < 0 || length < 0 || index > _length - length) {
+			throw new IndexOutOfBoundsException("Range: " + index + " + " + length + ", length: " + _length);
+		}
+	}
+
+	// Copies length values starting at index into out[offset]...
+	public void get(long index, int[] out, int offset, int length) {
+		checkRange(index, length);
+		while (length > 0) {
+			int position = (int)index & CHUNK_MASK;
+			int count = Math.min(length, CHUNK_SIZE - position);
+			ByteBuffer chunk = _chunks[(int)(index >>> CHUNK_BITS)].duplicate().order(ByteOrder.nativeOrder());
+			chunk.position(position << 2);
+			chunk.asIntBuffer().get(out, offset, count);
+			index += count;
+			offset += count;
+			length -= count;
+		}
+	}
+
+	// Copies values[offset]... into the buffer starting at index
+	public void set(long index, int[] values, int offset, int length) {
+		checkRange(index, length);
+		while (length > 0) {
+			int position = (int)index & CHUNK_MASK;
+			int count = Math.min(length, CHUNK_SIZE - position);
+			ByteBuffer chunk = _chunks[(int)(index >>> CHUNK_BITS)].duplicate().order(ByteOrder.nativeOrder());
+			chunk.position(position << 2);
+			chunk.asIntBuffer().put(values, offset, count);
+			index += count;
+			offset += count;
+			length -= count;
+		}
+	}
+
+	public void fill(int value) {
+		for (ByteBuffer chunk : _chunks) {
+			for (int i = 0; i < chunk.capacity(); i += 4) {
+				chunk.putInt(i, value);
+			}
+		}
+	}
+
+	/*
+	 * Bulk operators
+	 */
+
+	private void checkLength(FixedBuffer other) {
+		if (other._length != _length) {
+			throw new IllegalArgumentException("Length mismatch: " + other._length + " != " + _length);
+		}
+	}
+
+	public FixedBuffer addAssign(FixedBuffer other) {
+		checkLength(other);
+		for (int c = 0; c < _chunks.length; c++) {
+			ByteBuffer a = _chunks[c];
+			ByteBuffer b = other._chunks[c];
+			for (int i = 0; i < a.capacity(); i += 4) {
+				a.putInt(i, a.getInt(i) + b.getInt(i));
+			}
+		}
+		return this;
+	}
+
+	public FixedBuffer subAssign(FixedBuffer other) {
+		checkLength(other);
+		for (int c = 0; c < _chunks.length; c++) {
+			ByteBuffer a = _chunks[c];
+			ByteBuffer b = other._chunks[c];
+			for (int i = 0; i < a.capacity(); i += 4) {
+				a.putInt(i, a.getInt(i) - b.getInt(i));
+			}
+		}
+		return this;
+	}
+
+	public FixedBuffer mulAssign(FixedBuffer other) {
+		checkLength(other);
+		for (int c = 0; c < _chunks.length; c++) {
+			ByteBuffer a = _chunks[c];
+			ByteBuffer b = other._chunks[c];
+			for (int i = 0; i < a.capacity(); i += 4) {
+				a.putInt(i, (int)(((long)a.getInt(i) * b.getInt(i)) >> FixedMath.DECIMAL_BITS));
+			}
+		}
+		return this;
+	}
+
+	public FixedBuffer mulAssign(int scalar) {
+		for (ByteBuffer a : _chunks) {
+			for (int i = 0; i < a.capacity(); i += 4) {
+				a.putInt(i, (int)(((long)a.getInt(i) * scalar) >> FixedMath.DECIMAL_BITS));
+			}
+		}
+		return this;
+	}
+
+	public FixedBuffer negateInPlace() {
+		for (ByteBuffer a : _chunks) {
+			for (int i = 0; i < a.capacity(); i += 4) {
+				a.putInt(i, -a.getInt(i));
+			}
+		}
+		return this;
+	}
+
+	public int dot(FixedBuffer other) {
+		checkLength(other);
+		int sum = 0;
+		for (int c = 0; c < _chunks.length; c++) {
+			ByteBuffer a = _chunks[c];
+			ByteBuffer b = other._chunks[c];
+			for (int i = 0; i < a.capacity(); i += 4) {
+				sum += (int)(((long)a.getInt(i) * b.getInt(i)) >> FixedMath.DECIMAL_BITS);
+			}
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,293 @@
+package com.mcdevon.fixed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Binary codec for arrays of raw data values and vectors.
+ *
+ * Every block starts with a header recording the Q-format, byte order,
+ * encoding and element count, followed by the payload:
+ *
+ *   0  magic "FXQD"           8  components per element
+ *   4  version               9  reserved (3 bytes)
+ *   5  flags                12  element count, in the block's byte order
+ *   6  bits
+ *   7  decimal bits
+ *
+ * RAW blocks are bulk-copied in the byte order of the buffer they are
+ * written to, so direct and memory-mapped buffers are written without
+ * per-value work. VARINT stores each value as a zigzag varint, DELTA the
+ * difference to a base array such as the previous snapshot.
+ */
+public final class FixedCodec {
+
+	public enum Encoding {
+		RAW, VARINT, DELTA
+	}
+
+	public static final int HEADER_BYTES = 16;
+
+	private static final int MAGIC = 0x46585144; // "FXQD"
+	private static final int VERSION = 1;
+	private static final int LITTLE_ENDIAN_FLAG = 0x80;
+	private static final int ENCODING_MASK = 0x0F;
+
+	// Longest varint of an int
+	private static final int MAX_VARINT_BYTES = 5;
+
+	private FixedCodec() {
+	}
+
+	// Upper bound of the block size of count values in any encoding
+	public static int maxBlockSize(int count) {
+		return HEADER_BYTES + MAX_VARINT_BYTES * count;
+	}
+
+	/*
+	 * Header
+	 */
+
+	private static void writeHeader(ByteBuffer out, Encoding encoding, int components, int count) {
+		int flags = encoding.ordinal() | (out.order() == ByteOrder.LITTLE_ENDIAN ? LITTLE_ENDIAN_FLAG : 0);
+		int position = out.position();
+		// Magic is written big-endian so it can be checked before the order is known
+		out.put((byte)(MAGIC >>> 24)).put((byte)(MAGIC >>> 16)).put((byte)(MAGIC >>> 8)).put((byte)MAGIC);
+		out.put((byte)VERSION).put((byte)flags).put((byte)FixedMath.BITS).put((byte)FixedMath.DECIMAL_BITS);
+		out.put((byte)components).put((byte)0).put((byte)0).put((byte)0);
+		out.putInt(count);
+		out.position(position + HEADER_BYTES);
+	}
+
+	// Checks the header at the position of in without moving it
+	private static void checkHeader(ByteBuffer in, int components) {
+		int position = in.position();
+		int magic = ((in.get(position) & 0xFF) << 24) | ((in.get(position + 1) & 0xFF) << 16)
+				| ((in.get(position + 2) & 0xFF) << 8) | (in.get(position + 3) & 0xFF);
+		if (magic != MAGIC || in.get(position + 4) != VERSION) {
+			throw new IllegalArgumentException("Not a fixed-point data block");
+		}
+		if (in.get(position + 6) != FixedMath.BITS || in.get(position + 7) != FixedMath.DECIMAL_BITS) {
+			throw new IllegalArgumentException("Q-format mismatch: " + (in.get(position + 6) - in.get(position + 7))
+					+ "." + in.get(position + 7) + " data, " + (FixedMath.BITS - FixedMath.DECIMAL_BITS)
+					+ "." + FixedMath.DECIMAL_BITS + " expected");
+		}
+		if (in.get(position + 8) != components) {
+			throw new IllegalArgumentException("Block has " + in.get(position + 8) + " components, "
+					+ components + " expected");
+		}
+		if ((in.get(position + 5) & ENCODING_MASK) >= Encoding.values().length) {
+			throw new IllegalArgumentException("Unknown encoding");
+		}
+	}
+
+	private static ByteOrder order(ByteBuffer in) {
+		return (in.get(in.position() + 5) & LITTLE_ENDIAN_FLAG) != 0 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+	}
+
+	public static Encoding encoding(ByteBuffer in) {
+		checkHeader(in, in.get(in.position() + 8));
+		return Encoding.values()[in.get(in.position() + 5) & ENCODING_MASK];
+	}
+
+	// Number of elements in the block at the position of in, without reading it
+	public static int count(ByteBuffer in) {
+		checkHeader(in, in.get(in.position() + 8));
+		ByteOrder previous = in.order();
+		int count = in.order(order(in)).getInt(in.position() + 12);
+		in.order(previous);
+		return count;
+	}
+
+	private static void checkLength(int length, int offset, int count) {
+		if (offset < 0 || count < 0 || length - offset < count) {
+			throw new IllegalArgumentException("Array too short: " + length + " < " + offset + " + " + count);
+		}
+	}
+
+	/*
+	 * Arrays
+	 */
+
+	// RAW block of values[offset] ... values[offset + length - 1] in the byte order of out
+	public static void write(ByteBuffer out, int[] values, int offset, int length) {
+		checkLength(values.length, offset, length);
+		writeHeader(out, Encoding.RAW, 1, length);
+		IntBuffer ints = out.asIntBuffer();
+		ints.put(values, offset, length);
+		out.position(out.position() + 4 * length);
+	}
+
+	public static void writeVarint(ByteBuffer out, int[] values, int offset, int length) {
+		checkLength(values.length, offset, length);
+		writeHeader(out, Encoding.VARINT, 1, length);
+		for (int i = 0; i < length; i++) {
+			putVarint(out, values[offset + i]);
+		}
+	}
+
+	// Differences to base[offset] ... base[offset + length - 1]
+	public static void writeDelta(ByteBuffer out, int[] values, int[] base, int offset, int length) {
+		checkLength(values.length, offset, length);
+		checkLength(base.length, offset, length);
+		writeHeader(out, Encoding.DELTA, 1, length);
+		for (int i = offset; i < offset + length; i++) {
+			putVarint(out, values[i] - base[i]);
+		}
+	}
+
+	// Reads a block of any encoding into out starting at offset and returns
+	// the number of values. DELTA blocks need the base they were written
+	// against, base may be out itself.
+	public static int read(ByteBuffer in, int[] out, int offset, int[] base) {
+		checkHeader(in, 1);
+		ByteOrder previous = in.order();
+		in.order(order(in));
+		try {
+			Encoding encoding = Encoding.values()[in.get(in.position() + 5) & ENCODING_MASK];
+			int count = in.getInt(in.position() + 12);
+			checkLength(out.length, offset, count);
+			in.position(in.position() + HEADER_BYTES);
+
+			switch (encoding) {
+			case RAW:
+				in.asIntBuffer().get(out, offset, count);
+				in.position(in.position() + 4 * count);
+				break;
+			case VARINT:
+				for (int i = offset; i < offset + count; i++) {
+					out[i] = getVarint(in);
+				}
+				break;
+			case DELTA:
+				if (base == null) {
+					throw new IllegalArgumentException("Delta block needs a base array");
+				}
+				checkLength(base.length, offset, count);
+				for (int i = offset; i < offset + count; i++) {
+					out[i] = base[i] + getVarint(in);
+				}
+				break;
+			}
+			return count;
+		} finally {
+			in.order(previous);
+		}
+	}
+
+	public static int read(ByteBuffer in, int[] out, int offset) {
+		return read(in, out, offset, null);
+	}
+
+	private static void putVarint(ByteBuffer out, int value) {
+		int zigzag = (value << 1) ^ (value >> 31);
+		while ((zigzag & ~0x7F) != 0) {
+			out.put((byte)((zigzag & 0x7F) | 0x80));
+			zigzag >>>= 7;
+		}
+		out.put((byte)zigzag);
+	}
+
+	private static int getVarint(ByteBuffer in) {
+		int zigzag = 0;
+		for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+			byte b = in.get();
+			zigzag |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return (zigzag >>> 1) ^ -(zigzag & 1);
+			}
+		}
+		throw new IllegalArgumentException("Invalid varint");
+	}
+
+	/*
+	 * Vectors, RAW blocks with one element per vector
+	 */
+
+	public static void write(ByteBuffer out, FixedVec2[] vectors, int offset, int length) {
+		checkLength(vectors.length, offset, length);
+		writeHeader(out, Encoding.RAW, 2, length);
+		for (int i = offset; i < offset + length; i++) {
+			out.putInt(vectors[i].x).putInt(vectors[i].y);
+		}
+	}
+
+	public static void write(ByteBuffer out, FixedVec3[] vectors, int offset, int length) {
+		checkLength(vectors.length, offset, length);
+		writeHeader(out, Encoding.RAW, 3, length);
+		for (int i = offset; i < offset + length; i++) {
+			out.putInt(vectors[i].x).putInt(vectors[i].y).putInt(vectors[i].z);
+		}
+	}
+
+	// Sets the existing vectors out[offset] ... and returns the count
+	public static int read(ByteBuffer in, FixedVec2[] out, int offset) {
+		checkHeader(in, 2);
+		ByteOrder previous = in.order();
+		in.order(order(in));
+		try {
+			int count = in.getInt(in.position() + 12);
+			checkLength(out.length, offset, count);
+			checkRaw(in);
+			in.position(in.position() + HEADER_BYTES);
+			for (int i = offset; i < offset + count; i++) {
+				out[i].set(in.getInt(), in.getInt());
+			}
+			return count;
+		} finally {
+			in.order(previous);
+		}
+	}
+
+	public static int read(ByteBuffer in, FixedVec3[] out, int offset) {
+		checkHeader(in, 3);
+		ByteOrder previous = in.order();
+		in.order(order(in));
+		try {
+			int count = in.getInt(in.position() + 12);
+			checkLength(out.length, offset, count);
+			checkRaw(in);
+			in.position(in.position() + HEADER_BYTES);
+			for (int i = offset; i < offset + count; i++) {
+				out[i].set(in.getInt(), in.getInt(), in.getInt());
+			}
+			return count;
+		} finally {
+			in.order(previous);
+		}
+	}
+
+	private static void checkRaw(ByteBuffer in) {
+		if ((in.get(in.position() + 5) & ENCODING_MASK) != Encoding.RAW.ordinal()) {
+			throw new IllegalArgumentException("Vector blocks must be RAW");
+		}
+	}
+
+	/*
+	 * Memory-mapped files
+	 */
+
+	// One RAW block in the given byte order, replacing the file
+	public static void write(Path file, int[] values, ByteOrder order) throws IOException {
+		long size = HEADER_BYTES + 4L * values.length;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size).order(order);
+			write(out, values, 0, values.length);
+		}
+	}
+
+	public static int[] read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			int[] values = new int[count(in)];
+			read(in, values, 0);
+			return values;
+		}
+	}
+}
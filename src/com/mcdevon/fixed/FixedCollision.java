@@ -0,0 +1,147 @@
+package com.mcdevon.fixed;
+
+/*
+ * Intersection tests on raw data values for deterministic collision code,
+ * without allocation. Boxes are given as min / max corners with edges
+ * included, circles as center and radius (radius >= 0).
+ *
+ * Coordinate differences are taken with safeSub(), so they saturate
+ * instead of wrapping, and their products are formed exactly in a long.
+ * Tests are exact while coordinate differences fit in an int; returned
+ * parameters t are rounded toward zero.
+ */
+public final class FixedCollision {
+
+	// Returned by the ray and segment tests when nothing is hit
+	public static final int MISS = -1;
+
+	private static final int DECIMAL_BITS = FixedMath.DECIMAL_BITS;
+
+	private FixedCollision() {
+	}
+
+	/*
+	 * Boxes
+	 */
+
+	public static boolean aabbOverlaps(int minX1, int minY1, int maxX1, int maxY1,
+			int minX2, int minY2, int maxX2, int maxY2) {
+		return minX1 <= maxX2 && minX2 <= maxX1 && minY1 <= maxY2 && minY2 <= maxY1;
+	}
+
+	public static boolean aabbContains(int minX, int minY, int maxX, int maxY, int x, int y) {
+		return x >= minX && x <= maxX && y >= minY && y <= maxY;
+	}
+
+	/*
+	 * Circles
+	 */
+
+	public static boolean circleOverlaps(int x1, int y1, int r1, int x2, int y2, int r2) {
+		return within(FixedMath.safeSub(x2, x1), FixedMath.safeSub(y2, y1), FixedMath.safeAdd(r1, r2));
+	}
+
+	public static boolean circleContains(int x, int y, int r, int px, int py) {
+		return within(FixedMath.safeSub(px, x), FixedMath.safeSub(py, y), r);
+	}
+
+	// Circle against the closest point of the box
+	public static boolean circleAabbOverlaps(int x, int y, int r, int minX, int minY, int maxX, int maxY) {
+		int closestX = x < minX ? minX : x > maxX ? maxX : x;
+		int closestY = y < minY ? minY : y > maxY ? maxY : y;
+		return within(FixedMath.safeSub(x, closestX), FixedMath.safeSub(y, closestY), r);
+	}
+
+	// dx^2 + dy^2 <= r^2. The sum only overflows, to a negative value, for
+	// dx = dy = MIN_VALUE, which is out of reach of any radius.
+	private static boolean within(int dx, int dy, int r) {
+		long distance = (long)dx * dx + (long)dy * dy;
+		return distance >= 0 && distance <= (long)r * r;
+	}
+
+	/*
+	 * Rays and segments. A ray is origin + t * direction for t in
+	 * [0, maxT], with t a raw value, so t = ONE is one direction length.
+	 */
+
+	// Slab test, t of the entry point, or zero if the origin is inside
+	public static int rayAabb(int originX, int originY, int directionX, int directionY, int maxT,
+			int minX, int minY, int maxX, int maxY) {
+		long near = 0;
+		long far = maxT;
+		if (directionX == 0) {
+			if (originX < minX || originX > maxX) {
+				return MISS;
+			}
+		} else {
+			long t1 = ((long)minX - originX << DECIMAL_BITS) / directionX;
+			long t2 = ((long)maxX - originX << DECIMAL_BITS) / directionX;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+		}
+		if (directionY == 0) {
+			if (originY < minY || originY > maxY) {
+				return MISS;
+			}
+		} else {
+			long t1 = ((long)minY - originY << DECIMAL_BITS) / directionY;
+			long t2 = ((long)maxY - originY << DECIMAL_BITS) / directionY;
+			near = Math.max(near, Math.min(t1, t2));
+			far = Math.min(far, Math.max(t1, t2));
+		}
+		return near <= far ? (int)near : MISS;
+	}
+
+	// t of the hit on segment (x0, y0) - (x1, y1). Parallel segments miss.
+	public static int raySegment(int originX, int originY, int directionX, int directionY, int maxT,
+			int x0, int y0, int x1, int y1) {
+		long t = intersect(originX, originY, directionX, directionY,
+				x0, y0, FixedMath.safeSub(x1, x0), FixedMath.safeSub(y1, y0), false);
+		return t >= 0 && t <= maxT ? (int)t : MISS;
+	}
+
+	// t in [0, ONE] along the first segment of the crossing with the
+	// second one. Parallel segments miss.
+	public static int segmentsIntersect(int ax0, int ay0, int ax1, int ay1, int bx0, int by0, int bx1, int by1) {
+		return (int)intersect(ax0, ay0, FixedMath.safeSub(ax1, ax0), FixedMath.safeSub(ay1, ay0),
+				bx0, by0, FixedMath.safeSub(bx1, bx0), FixedMath.safeSub(by1, by0), true);
+	}
+
+	public static boolean segmentsIntersect(FixedVec2 a0, FixedVec2 a1, FixedVec2 b0, FixedVec2 b1) {
+		return segmentsIntersect(a0.x, a0.y, a1.x, a1.y, b0.x, b0.y, b1.x, b1.y) != MISS;
+	}
+
+	// p + t r against q + u s with u in [0, 1], and t in [0, 1] if bounded.
+	// Both cross products are exact, t = cross(q - p, s) / cross(r, s).
+	private static long intersect(int px, int py, int rx, int ry, int qx, int qy, int sx, int sy, boolean bounded) {
+		long denominator = (long)rx * sy - (long)ry * sx;
+		if (denominator == 0) {
+			return MISS;
+		}
+		int qpx = FixedMath.safeSub(qx, px);
+		int qpy = FixedMath.safeSub(qy, py);
+		long t = (long)qpx * sy - (long)qpy * sx;
+		long u = (long)qpx * ry - (long)qpy * rx;
+		if (denominator < 0) {
+			denominator = -denominator;
+			t = -t;
+			u = -u;
+		}
+		if (t < 0 || u < 0 || u > denominator || (bounded && t > denominator)) {
+			return MISS;
+		}
+		return ratio(t, denominator);
+	}
+
+	// numerator / denominator as a raw value, both non-negative. Drops low
+	// bits of large operands so the shifted numerator fits in a long.
+	private static long ratio(long numerator, long denominator) {
+		int shift = Math.max(0, DECIMAL_BITS + 1 - Long.numberOfLeadingZeros(numerator));
+		numerator >>= shift;
+		denominator >>= shift;
+		if (denominator == 0) {
+			return Long.MAX_VALUE;
+		}
+		return (numerator << DECIMAL_BITS) / denominator;
+	}
+}
@@ -0,0 +1,147 @@
+package com.mcdevon.fixed;
+
+import java.util.Arrays;
+
+/*
+ * Streaming convolution of raw data values with a fixed kernel by
+ * overlap-add: each block of input is transformed with FixedFft,
+ * multiplied by the spectrum of the kernel and transformed back, and the
+ * tail that reaches into the following blocks is carried over.
+ *
+ * Output sample n is the sum of input[n - j] * kernel[j], like a loop of
+ * FixedMath.mul(), within rounding of the block floating point transforms.
+ * All buffers are allocated up front, so process() does not allocate and
+ * the input may be unbounded. Not thread safe.
+ */
+public final class FixedConvolver {
+
+	// Bit length of the kernel spectrum, leaving room for two products
+	private static final int SPECTRUM_BITS = 29;
+	private static final int PRODUCT_BITS = 30;
+	// Blocks are scaled up to this bit length before each transform to
+	// keep the rounding of the passes small against the values
+	private static final int SIGNAL_BITS = 28;
+
+	private final int _blockSize;
+	private final int _kernelLength;
+	private final FixedFft _fft;
+
+	private final int[] _spectrum;
+	private final int _spectrumExponent;
+
+	private final int[] _buffer;
+	private final int[] _tail;
+
+	// Every call of process() takes blockSize samples
+	public FixedConvolver(int[] kernel, int blockSize) {
+		if (kernel.length == 0) {
+			throw new IllegalArgumentException("Empty kernel");
+		}
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+		}
+		long length = (long)blockSize + kernel.length - 1;
+		if (length > 1 << FixedFft.MAX_SIZE_BITS) {
+			throw new IllegalArgumentException("Block size plus kernel length too large: " + length);
+		}
+		int size = Math.max(2, Integer.highestOneBit((int)length - 1) << 1);
+		_blockSize = blockSize;
+		_kernelLength = kernel.length;
+		_fft = new FixedFft(size);
+		_buffer = new int[2 * size];
+		_tail = new int[kernel.length - 1];
+
+		// Kernel spectrum with SPECTRUM_BITS significant bits
+		_spectrum = new int[2 * size];
+		for (int i = 0; i < kernel.length; i++) {
+			_spectrum[2 * i] = kernel[i];
+		}
+		int exponent = normalize(_spectrum, SIGNAL_BITS);
+		exponent += _fft.forward(_spectrum);
+		_spectrumExponent = exponent + normalize(_spectrum, SPECTRUM_BITS);
+	}
+
+	public int blockSize() {
+		return _blockSize;
+	}
+
+	public int kernelLength() {
+		return _kernelLength;
+	}
+
+	// Samples still owed after the last block, written by flush()
+	public int tailLength() {
+		return _tail.length;
+	}
+
+	// Convolves in[inOffset] ... in[inOffset + blockSize - 1] and writes
+	// as many output samples to out[outOffset]... in may be out.
+	public void process(int[] in, int inOffset, int[] out, int outOffset) {
+		int blockSize = _blockSize;
+		if (inOffset < 0 || in.length - inOffset < blockSize || outOffset < 0 || out.length - outOffset < blockSize) {
+			throw new IllegalArgumentException("Arrays too short for block size " + blockSize);
+		}
+		int[] buffer = _buffer;
+		Arrays.fill(buffer, 0);
+		for (int i = 0; i < blockSize; i++) {
+			buffer[2 * i] = in[inOffset + i];
+		}
+		int exponent = normalize(buffer, SIGNAL_BITS);
+		exponent += _fft.forward(buffer);
+
+		// Make room for the products, |re| and |im| < 2^31
+		int shift = Math.max(0, FixedFft.bitLength(buffer, buffer.length) - PRODUCT_BITS);
+		FixedFft.shift(buffer, buffer.length, shift);
+		exponent += shift;
+
+		int[] spectrum = _spectrum;
+		for (int i = 0; i < buffer.length; i += 2) {
+			long re = buffer[i];
+			long im = buffer[i + 1];
+			long kernelRe = spectrum[i];
+			long kernelIm = spectrum[i + 1];
+			buffer[i] = (int)((re * kernelRe - im * kernelIm + (1L << (PRODUCT_BITS - 1))) >> PRODUCT_BITS);
+			buffer[i + 1] = (int)((re * kernelIm + im * kernelRe + (1L << (PRODUCT_BITS - 1))) >> PRODUCT_BITS);
+		}
+		exponent += _spectrumExponent + PRODUCT_BITS;
+		exponent += normalize(buffer, SIGNAL_BITS);
+		exponent += _fft.inverse(buffer);
+
+		// Raw products carry DECIMAL_BITS extra decimal bits
+		_fft.scale(buffer, exponent - FixedMath.DECIMAL_BITS);
+
+		int[] tail = _tail;
+		for (int i = 0; i < blockSize; i++) {
+			int value = buffer[2 * i];
+			out[outOffset + i] = i < tail.length ? FixedMath.safeAdd(value, tail[i]) : value;
+		}
+		// Reads of tail run ahead of the writes
+		for (int i = 0; i < tail.length; i++) {
+			int value = buffer[2 * (blockSize + i)];
+			tail[i] = blockSize + i < tail.length ? FixedMath.safeAdd(value, tail[blockSize + i]) : value;
+		}
+	}
+
+	// Shifts data to the given bit length, returns the shift to the right
+	private static int normalize(int[] data, int bits) {
+		int length = FixedFft.bitLength(data, data.length);
+		if (length == 0) {
+			return 0;
+		}
+		FixedFft.shift(data, data.length, length - bits);
+		return length - bits;
+	}
+
+	// Writes the remaining tailLength() samples and starts a new stream
+	public void flush(int[] out, int outOffset) {
+		if (outOffset < 0 || out.length - outOffset < _tail.length) {
+			throw new IllegalArgumentException("Array too short for tail length " + _tail.length);
+		}
+		System.arraycopy(_tail, 0, out, outOffset, _tail.length);
+		reset();
+	}
+
+	public void reset() {
+		Arrays.fill(_tail, 0);
+	}
+}
@@ -0,0 +1,77 @@
+package com.mcdevon.fixed;
+
+/*
+ * CORDIC kernels of FixedTrigEngine.CORDIC. Values have
+ * FixedTrigEngine.TRIG_BITS decimal bits. Only shifts and adds are used
+ * per iteration, and the table holds one int per iteration.
+ */
+final class FixedCordic {
+
+	private static final int TRIG_BITS = FixedTrigEngine.TRIG_BITS;
+
+	// Each iteration adds about one bit, leave a margin above the output
+	static final int ITERATIONS = FixedMath.DECIMAL_BITS + 10;
+
+	// atan(2^-i), generated with StrictMath so the table is the same on every JVM
+	private static final int[] ATAN_TABLE = new int[ITERATIONS];
+	// 1 / CORDIC gain
+	private static final long GAIN_INV;
+	static {
+		double gain = 1.0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			double power = StrictMath.scalb(1.0, -i);
+			ATAN_TABLE[i] = (int)StrictMath.round(StrictMath.atan(power) * (1L << TRIG_BITS));
+			gain *= StrictMath.sqrt(1.0 + power * power);
+		}
+		GAIN_INV = StrictMath.round((1L << TRIG_BITS) / gain);
+	}
+
+	private FixedCordic() {
+	}
+
+	static int tableSize() {
+		return ATAN_TABLE.length;
+	}
+
+	// Rotation mode, angle in [0, pi/2)
+	static long sinCos(long angle) {
+		long x = GAIN_INV;
+		long y = 0;
+		long z = angle;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long dx = y >> i;
+			long dy = x >> i;
+			if (z >= 0) {
+				x -= dx;
+				y += dy;
+				z -= ATAN_TABLE[i];
+			} else {
+				x += dx;
+				y -= dy;
+				z += ATAN_TABLE[i];
+			}
+		}
+		return FixedTrigEngine.pack(y, x);
+	}
+
+	// Vectoring mode, t in [0, 1]
+	static long atan(long t) {
+		long x = 1L << TRIG_BITS;
+		long y = t;
+		long z = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			long dx = y >> i;
+			long dy = x >> i;
+			if (y > 0) {
+				x += dx;
+				y -= dy;
+				z += ATAN_TABLE[i];
+			} else {
+				x -= dx;
+				y += dy;
+				z -= ATAN_TABLE[i];
+			}
+		}
+		return z;
+	}
+}
@@ -0,0 +1,125 @@
+package com.mcdevon.fixed;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/*
+ * Streaming reader for delimited numeric text, one record per line.
+ * Fields are parsed straight from the byte buffer with the same rules as
+ * FixedMath.fromString(), so '.' or ',' can be the decimal separator as
+ * long as it differs from the field delimiter. Lines end with "\n" or
+ * "\r\n". Text must be ASCII.
+ */
+public final class FixedCsvReader implements Closeable {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final InputStream _in;
+	private final byte _delimiter;
+
+	private byte[] _buffer = new byte[BUFFER_SIZE];
+	private int _position;
+	private int _limit;
+	private boolean _endOfInput;
+	private long _lineNumber;
+
+	public FixedCsvReader(InputStream in) {
+		this(in, ',');
+	}
+
+	public FixedCsvReader(InputStream in, char delimiter) {
+		if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r') {
+			throw new IllegalArgumentException("Invalid delimiter: " + (int)delimiter);
+		}
+		_in = in;
+		_delimiter = (byte)delimiter;
+	}
+
+	// Number of lines read so far
+	public long lineNumber() {
+		return _lineNumber;
+	}
+
+	// Reads the values of the next line into out and returns their count,
+	// or -1 at the end of input. An empty line has no values.
+	public int readRecord(int[] out) throws IOException {
+		int lineEnd = findLineEnd();
+		if (lineEnd < 0) {
+			return -1;
+		}
+
+		byte[] buffer = _buffer;
+		int start = _position;
+		int end = lineEnd > start && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+		_position = lineEnd < _limit ? lineEnd + 1 : lineEnd;
+		_lineNumber++;
+
+		if (start == end) {
+			return 0;
+		}
+
+		int count = 0;
+		int fieldStart = start;
+		for (int i = start; i <= end; i++) {
+			if (i == end || buffer[i] == _delimiter) {
+				if (count == out.length) {
+					throw new IllegalArgumentException("Line " + _lineNumber + " has more than " + out.length + " values");
+				}
+				try {
+					out[count] = FixedMath.fromString(buffer, fieldStart, i);
+				} catch (NumberFormatException e) {
+					throw new NumberFormatException("Line " + _lineNumber + ", field " + (count + 1) + ": " + e.getMessage());
+				}
+				count++;
+				fieldStart = i + 1;
+			}
+		}
+		return count;
+	}
+
+	// Index of the '\n' ending the current line, _limit for a last line
+	// without one, or -1 at the end of input
+	private int findLineEnd() throws IOException {
+		int scanned = _position;
+		while (true) {
+			for (int i = scanned; i < _limit; i++) {
+				if (_buffer[i] == '\n') {
+					return i;
+				}
+			}
+			if (_endOfInput) {
+				return _position < _limit ? _limit : -1;
+			}
+			scanned = _limit - _position;
+			fill();
+		}
+	}
+
+	// Moves the unread bytes to the front and reads more, growing the
+	// buffer for lines longer than it
+	private void fill() throws IOException {
+		int remaining = _limit - _position;
+		if (remaining == _buffer.length) {
+			byte[] larger = new byte[_buffer.length * 2];
+			System.arraycopy(_buffer, _position, larger, 0, remaining);
+			_buffer = larger;
+		} else {
+			System.arraycopy(_buffer, _position, _buffer, 0, remaining);
+		}
+		_position = 0;
+		_limit = remaining;
+
+		int read = _in.read(_buffer, _limit, _buffer.length - _limit);
+		if (read < 0) {
+			_endOfInput = true;
+		} else {
+			_limit += read;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		_in.close();
+	}
+}
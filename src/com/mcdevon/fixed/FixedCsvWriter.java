@@ -0,0 +1,77 @@
+package com.mcdevon.fixed;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/*
+ * Streaming writer for delimited numeric text, one record per line.
+ * Values are formatted straight into the byte buffer with the same text
+ * as FixedMath.toString(), so FixedCsvReader reads them back exactly.
+ */
+public final class FixedCsvWriter implements Closeable, Flushable {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final OutputStream _out;
+	private final byte _delimiter;
+
+	private final byte[] _buffer = new byte[BUFFER_SIZE];
+	private int _position;
+
+	public FixedCsvWriter(OutputStream out) {
+		this(out, ',');
+	}
+
+	// Delimiter must not be a character used by toString()
+	public FixedCsvWriter(OutputStream out, char delimiter) {
+		if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r' || delimiter == '.' || delimiter == '-'
+				|| (delimiter >= '0' && delimiter <= '9')) {
+			throw new IllegalArgumentException("Invalid delimiter: " + (int)delimiter);
+		}
+		_out = out;
+		_delimiter = (byte)delimiter;
+	}
+
+	public void writeRecord(int[] values) throws IOException {
+		writeRecord(values, 0, values.length);
+	}
+
+	// Writes values[start] ... values[end - 1] as one line
+	public void writeRecord(int[] values, int start, int end) throws IOException {
+		for (int i = start; i < end; i++) {
+			if (_buffer.length - _position <= FixedMath.MAX_STRING_LENGTH + 1) {
+				flushBuffer();
+			}
+			if (i > start) {
+				_buffer[_position++] = _delimiter;
+			}
+			_position = FixedMath.toString(values[i], _buffer, _position);
+		}
+		if (_position == _buffer.length) {
+			flushBuffer();
+		}
+		_buffer[_position++] = '\n';
+	}
+
+	private void flushBuffer() throws IOException {
+		_out.write(_buffer, 0, _position);
+		_position = 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		_out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			_out.close();
+		}
+	}
+}
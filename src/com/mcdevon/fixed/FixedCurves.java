@@ -0,0 +1,256 @@
+package com.mcdevon.fixed;
+
+import java.util.Arrays;
+
+/*
+ * Interpolation and cubic curves on raw data values, one component at a
+ * time, without allocation.
+ *
+ * Curves are evaluated exactly in a long and rounded once, half up, so
+ * bezier(), hermite() and catmullRom() at t = i / 2^k give the same value
+ * as the i-th sample of the matching sample*() method. Curve parameters t
+ * are in [0, ONE].
+ *
+ * sample*() evaluates 2^k + 1 evenly spaced points by forward differencing
+ * on integers scaled by 2^(3k): three additions per point and no
+ * multiplications or accumulated rounding.
+ */
+public final class FixedCurves {
+
+	private static final int DECIMAL_BITS = FixedMath.DECIMAL_BITS;
+	private static final int ONE = FixedMath.ONE;
+
+	// Cubic weights have 3 * DECIMAL_BITS decimal bits
+	private static final int WEIGHT_BITS = 3 * DECIMAL_BITS;
+
+	private FixedCurves() {
+	}
+
+	/*
+	 * Interpolation
+	 */
+
+	// a + (b - a) * t, t may be outside [0, ONE]
+	public static int lerp(int a, int b, int t) {
+		return a + (int)((((long)b - a) * t) >> DECIMAL_BITS);
+	}
+
+	// t with lerp(a, b, t) == value, zero if a == b
+	public static int inverseLerp(int a, int b, int value) {
+		return (int)inverseLerpLong(a, b, value);
+	}
+
+	private static long inverseLerpLong(long a, long b, long value) {
+		return a == b ? 0 : ((value - a) << DECIMAL_BITS) / (b - a);
+	}
+
+	public static int clamp(int value, int min, int max) {
+		return value < min ? min : value > max ? max : value;
+	}
+
+	// 3t^2 - 2t^3 of t = inverseLerp(edge0, edge1, x) clamped to [0, ONE]
+	public static int smoothstep(int edge0, int edge1, int x) {
+		long t = Math.max(0, Math.min(ONE, inverseLerpLong(edge0, edge1, x)));
+		return round(t * t * (3L * ONE - 2 * t), 2 * DECIMAL_BITS);
+	}
+
+	private static int round(long value, int bits) {
+		return (int)((value + (1L << (bits - 1))) >> bits);
+	}
+
+	/*
+	 * Cubic curves
+	 */
+
+	public static int bezier(int p0, int p1, int p2, int p3, int t) {
+		long u = ONE - t;
+		long tt = (long)t * t;
+		long uu = u * u;
+		return round(p0 * uu * u + 3L * p1 * uu * t + 3L * p2 * u * tt + p3 * tt * t, WEIGHT_BITS);
+	}
+
+	// Through p0 with tangent m0 at t = 0 and p1 with tangent m1 at t = ONE
+	public static int hermite(int p0, int m0, int p1, int m1, int t) {
+		long c2 = 3 * ((long)p1 - p0) - 2L * m0 - m1;
+		long c3 = 2 * ((long)p0 - p1) + m0 + m1;
+		return evaluate(p0, m0, c2, c3, 0, t);
+	}
+
+	// Uniform Catmull-Rom segment between p1 and p2
+	public static int catmullRom(int p0, int p1, int p2, int p3, int t) {
+		// Twice the power basis coefficients
+		long c2 = 2L * p0 - 5L * p1 + 4L * p2 - p3;
+		long c3 = (long)p3 - p0 + 3 * ((long)p1 - p2);
+		return evaluate(2L * p1, (long)p2 - p0, c2, c3, 1, t);
+	}
+
+	// (c0 + c1 t + c2 t^2 + c3 t^3) / 2^extraBits. Exact while the
+	// coefficients stay below 2^(62 - WEIGHT_BITS), a range of about
+	// +-2^28 raw for control values and tangents.
+	private static int evaluate(long c0, long c1, long c2, long c3, int extraBits, int t) {
+		long value = ((c0 << DECIMAL_BITS) + c1 * t) << DECIMAL_BITS;
+		value = (value + c2 * t * t) << DECIMAL_BITS;
+		value += c3 * t * t * t;
+		return round(value, WEIGHT_BITS + extraBits);
+	}
+
+	/*
+	 * Sampling
+	 */
+
+	public static final int MAX_SEGMENT_BITS = DECIMAL_BITS;
+
+	// Writes bezier() at t = i / 2^segmentBits for i = 0 ... 2^segmentBits
+	// into out[offset]...
+	public static void sampleBezier(int p0, int p1, int p2, int p3, int segmentBits, int[] out, int offset) {
+		long c1 = 3 * ((long)p1 - p0);
+		long c2 = 3 * ((long)p0 - 2L * p1 + p2);
+		long c3 = (long)p3 - p0 + 3 * ((long)p1 - p2);
+		sample(p0, c1, c2, c3, 0, segmentBits, out, offset);
+	}
+
+	public static void sampleHermite(int p0, int m0, int p1, int m1, int segmentBits, int[] out, int offset) {
+		long c2 = 3 * ((long)p1 - p0) - 2L * m0 - m1;
+		long c3 = 2 * ((long)p0 - p1) + m0 + m1;
+		sample(p0, m0, c2, c3, 0, segmentBits, out, offset);
+	}
+
+	public static void sampleCatmullRom(int p0, int p1, int p2, int p3, int segmentBits, int[] out, int offset) {
+		long c2 = 2L * p0 - 5L * p1 + 4L * p2 - p3;
+		long c3 = (long)p3 - p0 + 3 * ((long)p1 - p2);
+		sample(2L * p1, (long)p2 - p0, c2, c3, 1, segmentBits, out, offset);
+	}
+
+	// P(i) = 2^(3k) f(i / 2^k) is a cubic in i with integer coefficients,
+	// so its forward differences are exact
+	private static void sample(long c0, long c1, long c2, long c3, int extraBits, int segmentBits,
+			int[] out, int offset) {
+		if (segmentBits < 0 || segmentBits > MAX_SEGMENT_BITS) {
+			throw new IllegalArgumentException("Segment bits must be between 0 and " + MAX_SEGMENT_BITS);
+		}
+		int count = (1 << segmentBits) + 1;
+		if (offset < 0 || out.length - offset < count) {
+			throw new IllegalArgumentException("Array too short: " + out.length + " < " + offset + " + " + count);
+		}
+		long bound = Math.max(Math.max(Math.abs(c0), Math.abs(c1)), Math.max(Math.abs(c2), Math.abs(c3)));
+		if (Long.numberOfLeadingZeros(bound) <= 3 * segmentBits + 4) {
+			throw new IllegalArgumentException("Curve values too large for " + segmentBits + " segment bits");
+		}
+
+		int k = segmentBits;
+		long value = c0 << (3 * k);
+		long d1 = (c1 << (2 * k)) + (c2 << k) + c3;
+		long d2 = (c2 << (k + 1)) + 6 * c3;
+		long d3 = 6 * c3;
+
+		int shift = 3 * k + extraBits;
+		long half = shift > 0 ? 1L << (shift - 1) : 0;
+		for (int i = offset; i < offset + count; i++) {
+			out[i] = (int)((value + half) >> shift);
+			value += d1;
+			d1 += d2;
+			d2 += d3;
+		}
+	}
+
+	/*
+	 * Arc length
+	 */
+
+	// Cumulative chord lengths of a sampled 2D curve, to move along it at
+	// constant speed: parameterAt(distance) gives the curve parameter t
+	public static final class ArcLengthTable {
+
+		private final int _segmentBits;
+		private final int[] _lengths;
+
+		// xs and ys hold 2^segmentBits + 1 samples at evenly spaced t in
+		// [0, ONE], as written by the sample*() methods
+		public ArcLengthTable(int[] xs, int[] ys, int segmentBits) {
+			if (segmentBits < 0 || segmentBits > MAX_SEGMENT_BITS) {
+				throw new IllegalArgumentException("Segment bits must be between 0 and " + MAX_SEGMENT_BITS);
+			}
+			int count = (1 << segmentBits) + 1;
+			if (xs.length < count || ys.length < count) {
+				throw new IllegalArgumentException("Array too short: " + Math.min(xs.length, ys.length) + " < " + count);
+			}
+			_segmentBits = segmentBits;
+			_lengths = new int[count];
+			long length = 0;
+			for (int i = 1; i < count; i++) {
+				length += distance((long)xs[i] - xs[i - 1], (long)ys[i] - ys[i - 1]);
+				if (length > FixedMath.MAX_VALUE) {
+					throw new IllegalArgumentException("Curve longer than MAX_VALUE");
+				}
+				_lengths[i] = (int)length;
+			}
+		}
+
+		public static ArcLengthTable bezier(FixedVec2 p0, FixedVec2 p1, FixedVec2 p2, FixedVec2 p3, int segmentBits) {
+			int count = (1 << segmentBits) + 1;
+			int[] xs = new int[count];
+			int[] ys = new int[count];
+			sampleBezier(p0.x, p1.x, p2.x, p3.x, segmentBits, xs, 0);
+			sampleBezier(p0.y, p1.y, p2.y, p3.y, segmentBits, ys, 0);
+			return new ArcLengthTable(xs, ys, segmentBits);
+		}
+
+		// Rounded Euclidean length of (dx, dy) in raw units
+		private static long distance(long dx, long dy) {
+			int scale = 0;
+			while (Math.abs(dx) >= 1L << 30 || Math.abs(dy) >= 1L << 30) {
+				dx >>= 1;
+				dy >>= 1;
+				scale++;
+			}
+			long squared = dx * dx + dy * dy;
+			long root = FixedMath.sqrtLong(squared);
+			if (squared - root * root > root) {
+				root++;
+			}
+			return root << scale;
+		}
+
+		public int length() {
+			return _lengths[_lengths.length - 1];
+		}
+
+		// Distance along the curve at parameter t, linear between samples
+		public int distanceAt(int t) {
+			int shift = DECIMAL_BITS - _segmentBits;
+			if (t <= 0) {
+				return 0;
+			}
+			int index = t >> shift;
+			if (index >= _lengths.length - 1) {
+				return length();
+			}
+			long low = _lengths[index];
+			return (int)(low + (((_lengths[index + 1] - low) * (t & ((1 << shift) - 1))) >> shift));
+		}
+
+		// Parameter t at a distance along the curve, clamped to [0, ONE]
+		public int parameterAt(int distance) {
+			if (distance <= 0) {
+				return 0;
+			}
+			if (distance >= length()) {
+				return ONE;
+			}
+			int shift = DECIMAL_BITS - _segmentBits;
+			int index = Arrays.binarySearch(_lengths, distance);
+			if (index >= 0) {
+				// Equal lengths of zero-length segments, take the first
+				while (index > 0 && _lengths[index - 1] == distance) {
+					index--;
+				}
+				return index << shift;
+			}
+			// Strictly inside a segment, which therefore has a length
+			index = -index - 2;
+			long low = _lengths[index];
+			long segment = _lengths[index + 1] - low;
+			return (index << shift) + (int)(((distance - low) << shift) / segment);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.mcdevon.fixed;
+
+/*
+ * Integer kernels of FixedMath.exp2() / log2() and friends. Values have
+ * EXP_BITS decimal bits. The argument is split with a 16-entry table, so
+ * the remaining polynomial only covers an interval of 1/16 and stays below
+ * 2^-30 error.
+ */
+final class FixedExp {
+
+	static final int EXP_BITS = 30;
+	static final long EXP_ONE = 1L << EXP_BITS;
+	private static final long EXP_MASK = EXP_ONE - 1;
+
+	private static final int TABLE_BITS = 4;
+	private static final int INDEX_SHIFT = EXP_BITS - TABLE_BITS;
+
+	static final long LN2 = 744261118L;
+	static final long LOG2E = 1549082005L;
+
+	// ln(2) and log2(e) with 2 * EXP_BITS decimal bits, split in halves
+	private static final long LN2_HIGH = 744261117L;
+	private static final long LN2_LOW = 1025308571L;
+	private static final long LOG2E_HIGH = 1549082004L;
+	private static final long LOG2E_LOW = 730005015L;
+
+	// 2^(i / 16)
+	private static final long[] EXP2_TABLE = {
+		1073741824L, 1121280436L, 1170923762L, 1222764986L, 1276901417L, 1333434672L, 1392470869L, 1454120821L,
+		1518500250L, 1585730000L, 1655936265L, 1729250827L, 1805811301L, 1885761398L, 1969251188L, 2056437387L
+	};
+
+	// 1 / (1 + (i + 0.5) / 16) and -log2 of the rounded value
+	private static final long[] RECIPROCAL_TABLE = {
+		1041204193L, 981706811L, 928641578L, 881018933L, 838042399L, 799063683L, 763549742L, 731058263L,
+		701219150L, 673720360L, 648296950L, 624722516L, 602802428L, 582368447L, 563274399L, 545392673L
+	};
+	private static final long[] LOG2_RECIPROCAL_TABLE = {
+		47667823L, 138816582L, 224898838L, 306448298L, 383918542L, 457698295L, 528123240L, 595485245L,
+		660039670L, 722011214L, 781598637L, 838978603L, 894308842L, 947730758L, 999371608L, 1049346326L
+	};
+
+	// 1/2, 1/6, 1/24, 1/120
+	private static final long EXP_2 = 536870912L;
+	private static final long EXP_3 = 178956971L;
+	private static final long EXP_4 = 44739243L;
+	private static final long EXP_5 = 8947849L;
+
+	// 1/3, 1/4, 1/5
+	private static final long LOG_3 = 357913941L;
+	private static final long LOG_4 = 268435456L;
+	private static final long LOG_5 = 214748365L;
+
+	private FixedExp() {
+	}
+
+	// Rounded, so errors of the chained products do not all add up downwards
+	private static long mul(long x, long y) {
+		return (x * y + (EXP_ONE >> 1)) >> EXP_BITS;
+	}
+
+	// 2^f for f in [0, 1), in [EXP_ONE, 2 * EXP_ONE) with 2 * EXP_BITS decimal bits
+	static long exp2Fraction(long f) {
+		long base = EXP2_TABLE[(int)(f >>> INDEX_SHIFT)];
+		// 2^r = e^(r ln 2) for r in [0, 1/16)
+		long z = mul(f & ((1L << INDEX_SHIFT) - 1), LN2);
+		long poly = EXP_ONE + z + mul(z, mul(z, EXP_2 + mul(z, EXP_3 + mul(z, EXP_4 + mul(z, EXP_5)))));
+		return base * poly;
+	}
+
+	// log2(m) for m in [EXP_ONE, 2 * EXP_ONE), in [0, EXP_ONE)
+	static long log2Mantissa(long m) {
+		int index = (int)(m >>> INDEX_SHIFT) & ((1 << TABLE_BITS) - 1);
+		// m * c is within 1/32 of 1
+		long u = mul(m, RECIPROCAL_TABLE[index]) - EXP_ONE;
+		long ln = u - mul(u, mul(u, (EXP_ONE >> 1) - mul(u, LOG_3 - mul(u, LOG_4 - mul(u, LOG_5)))));
+		return LOG2_RECIPROCAL_TABLE[index] + mul(ln, LOG2E);
+	}
+
+	// 2^t for t with EXP_BITS decimal bits, rounded to a raw data value,
+	// saturated to MAX_VALUE
+	static int exp2(long t) {
+		long k = t >> EXP_BITS;
+		long p = exp2Fraction(t & EXP_MASK);
+		long shift = 2 * EXP_BITS - FixedMath.DECIMAL_BITS - k;
+		if (shift <= 0) {
+			// p is at least 2^60, so any left shift overflows
+			return FixedMath.MAX_VALUE;
+		}
+		if (shift >= 63) {
+			return 0;
+		}
+		long result = (p + (1L << (shift - 1))) >> shift;
+		return result > FixedMath.MAX_VALUE ? FixedMath.MAX_VALUE : (int)result;
+	}
+
+	// e^x = 2^(x log2(e)), the product needs more than EXP_BITS of log2(e)
+	// to stay within 1 ulp at the top of the range
+	static int exp(int x) {
+		long t = (long)x * LOG2E_HIGH + (((long)x * LOG2E_LOW) >> EXP_BITS);
+		return exp2(t >> FixedMath.DECIMAL_BITS);
+	}
+
+	// log2(x) for a positive raw data value, with EXP_BITS decimal bits
+	static long log2(int x) {
+		int n = 31 - Integer.numberOfLeadingZeros(x);
+		long m = (long)x << (EXP_BITS - n);
+		return ((long)(n - FixedMath.DECIMAL_BITS) << EXP_BITS) + log2Mantissa(m);
+	}
+
+	// ln(x) = log2(x) ln(2), with EXP_BITS decimal bits. The integral part
+	// of log2 needs more than EXP_BITS of ln(2) at the ends of the range
+	static long ln(int x) {
+		long log = log2(x);
+		long k = log >> EXP_BITS;
+		long f = log & EXP_MASK;
+		return k * LN2_HIGH + ((k * LN2_LOW + f * LN2_HIGH + ((f * LN2_LOW) >> EXP_BITS)) >> EXP_BITS);
+	}
+}
@@ -0,0 +1,250 @@
+package com.mcdevon.fixed;
+
+/*
+ * In-place FFT of 2^k complex values, interleaved as re, im in an int[]
+ * of raw data values. Radix-4 passes after a bit-reversal permutation,
+ * with one radix-2 pass first when k is odd.
+ *
+ * Twiddle factors come from the sinCos kernel of a FixedTrigEngine with
+ * TRIG_BITS decimal bits, one octant computed and the rest mirrored.
+ *
+ * Block floating point: before each pass the whole block is shifted right
+ * just enough that the pass cannot overflow, and the shifts are returned
+ * as an exponent, so the true result is data * 2^exponent. Small signals
+ * are not shifted at all, but rounding is then large against them, so
+ * scale them up first like FixedConvolver does. Everything is integer
+ * arithmetic, so results are identical on every platform.
+ */
+public final class FixedFft {
+
+	public static final int MAX_SIZE_BITS = 24;
+
+	private static final int TWIDDLE_BITS = FixedTrigEngine.TRIG_BITS;
+	private static final long TWIDDLE_HALF = 1L << (TWIDDLE_BITS - 1);
+
+	// Largest bit length of a value before a pass, |output| < 2^31
+	private static final int RADIX_2_BITS = 29;
+	private static final int RADIX_4_BITS = 28;
+
+	private final int _size;
+	private final int _sizeBits;
+	// cos and sin of 2 pi j / size for j < size
+	private final int[] _cos;
+	private final int[] _sin;
+
+	// Twiddles of FixedTrigEngine.POLYNOMIAL, accurate to about 2^-21
+	public FixedFft(int size) {
+		this(size, FixedTrigEngine.POLYNOMIAL);
+	}
+
+	public FixedFft(int size, FixedTrigEngine engine) {
+		if (size < 2 || size > 1 << MAX_SIZE_BITS || Integer.bitCount(size) != 1) {
+			throw new IllegalArgumentException("Size must be a power of two between 2 and 2^" + MAX_SIZE_BITS);
+		}
+		_size = size;
+		_sizeBits = Integer.numberOfTrailingZeros(size);
+		_cos = new int[size];
+		_sin = new int[size];
+
+		// First quadrant from the octant [0, pi/4]
+		int quarter = size >> 2;
+		for (int j = 0; j <= size >> 3; j++) {
+			long angle = (FixedTrigEngine.PI_TIMES_TWO * j + (size >> 1)) / size;
+			long sinCos = engine.sinCosKernel(angle);
+			_sin[j] = (int)FixedTrigEngine.sinOf(sinCos);
+			_cos[j] = (int)FixedTrigEngine.cosOf(sinCos);
+			if (quarter > 0) {
+				_sin[quarter - j] = _cos[j];
+				_cos[quarter - j] = _sin[j];
+			}
+		}
+		if (quarter == 0) {
+			_cos[1] = -_cos[0];
+		}
+		for (int j = quarter; j < size && quarter > 0; j++) {
+			int r = j - quarter;
+			_cos[j] = -_sin[r];
+			_sin[j] = _cos[r];
+		}
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	/*
+	 * Transforms
+	 */
+
+	// X[k] = sum of x[j] e^(-2 pi i j k / size), returns the exponent
+	public int forward(int[] data) {
+		return transform(data, false);
+	}
+
+	// x[j] = sum of X[k] e^(2 pi i j k / size) / size, returns the
+	// exponent, which includes the division by size
+	public int inverse(int[] data) {
+		return transform(data, true) - _sizeBits;
+	}
+
+	private int transform(int[] data, boolean inverse) {
+		if (data.length < 2 * _size) {
+			throw new IllegalArgumentException("Array too short: " + data.length + " < " + 2 * _size);
+		}
+		reverseBits(data);
+		int exponent = 0;
+		int length = 1;
+		if ((_sizeBits & 1) != 0) {
+			exponent += normalize(data, RADIX_2_BITS);
+			radix2(data);
+			length = 2;
+		}
+		for (; length < _size; length <<= 2) {
+			exponent += normalize(data, RADIX_4_BITS);
+			radix4(data, length, inverse);
+		}
+		return exponent;
+	}
+
+	private void reverseBits(int[] data) {
+		int shift = 32 - _sizeBits;
+		for (int i = 0; i < _size; i++) {
+			int j = Integer.reverse(i) >>> shift;
+			if (i < j) {
+				int re = data[2 * i];
+				int im = data[2 * i + 1];
+				data[2 * i] = data[2 * j];
+				data[2 * i + 1] = data[2 * j + 1];
+				data[2 * j] = re;
+				data[2 * j + 1] = im;
+			}
+		}
+	}
+
+	// Length 2 transforms of neighbouring values
+	private void radix2(int[] data) {
+		for (int i = 0; i < 2 * _size; i += 4) {
+			int re = data[i + 2];
+			int im = data[i + 3];
+			data[i + 2] = data[i] - re;
+			data[i + 3] = data[i + 1] - im;
+			data[i] += re;
+			data[i + 1] += im;
+		}
+	}
+
+	// Combines four transforms of length into one of 4 length. In bit
+	// reversed order the blocks hold the sub-sequences 4j, 4j + 2, 4j + 1
+	// and 4j + 3.
+	private void radix4(int[] data, int length, boolean inverse) {
+		int stride = _size / (4 * length);
+		int[] cos = _cos;
+		int[] sin = _sin;
+		for (int block = 0; block < _size; block += 4 * length) {
+			for (int k = 0; k < length; k++) {
+				int i0 = 2 * (block + k);
+				int i1 = i0 + 2 * length;
+				int i2 = i1 + 2 * length;
+				int i3 = i2 + 2 * length;
+
+				int w1 = k * stride;
+				int w2 = 2 * w1;
+				int w3 = 3 * w1;
+				// Forward twiddles are cos - i sin, inverse ones cos + i sin
+				int s1 = inverse ? -sin[w1] : sin[w1];
+				int s2 = inverse ? -sin[w2] : sin[w2];
+				int s3 = inverse ? -sin[w3] : sin[w3];
+
+				long t0r = data[i0];
+				long t0i = data[i0 + 1];
+				long t2r = twiddleRe(data[i1], data[i1 + 1], cos[w2], s2);
+				long t2i = twiddleIm(data[i1], data[i1 + 1], cos[w2], s2);
+				long t1r = twiddleRe(data[i2], data[i2 + 1], cos[w1], s1);
+				long t1i = twiddleIm(data[i2], data[i2 + 1], cos[w1], s1);
+				long t3r = twiddleRe(data[i3], data[i3 + 1], cos[w3], s3);
+				long t3i = twiddleIm(data[i3], data[i3 + 1], cos[w3], s3);
+
+				long u0r = t0r + t2r;
+				long u0i = t0i + t2i;
+				long u1r = t0r - t2r;
+				long u1i = t0i - t2i;
+				long u2r = t1r + t3r;
+				long u2i = t1i + t3i;
+				// -i (t1 - t3) forward, i (t1 - t3) inverse
+				long u3r = inverse ? t3i - t1i : t1i - t3i;
+				long u3i = inverse ? t1r - t3r : t3r - t1r;
+
+				data[i0] = (int)(u0r + u2r);
+				data[i0 + 1] = (int)(u0i + u2i);
+				data[i1] = (int)(u1r + u3r);
+				data[i1 + 1] = (int)(u1i + u3i);
+				data[i2] = (int)(u0r - u2r);
+				data[i2 + 1] = (int)(u0i - u2i);
+				data[i3] = (int)(u1r - u3r);
+				data[i3 + 1] = (int)(u1i - u3i);
+			}
+		}
+	}
+
+	// Real and imaginary part of (re + i im) (cos - i sin), rounded
+	private static long twiddleRe(int re, int im, int cos, int sin) {
+		return ((long)re * cos + (long)im * sin + TWIDDLE_HALF) >> TWIDDLE_BITS;
+	}
+
+	private static long twiddleIm(int re, int im, int cos, int sin) {
+		return ((long)im * cos - (long)re * sin + TWIDDLE_HALF) >> TWIDDLE_BITS;
+	}
+
+	// Shifts the block right until no value has more than bits bits, and
+	// returns the shift
+	private int normalize(int[] data, int bits) {
+		int shift = Math.max(0, bitLength(data, 2 * _size) - bits);
+		if (shift > 0) {
+			shift(data, 2 * _size, shift);
+		}
+		return shift;
+	}
+
+	/*
+	 * Block exponents
+	 */
+
+	// Bits needed for the largest magnitude of values[0] ... values[length - 1]
+	static int bitLength(int[] values, int length) {
+		int bits = 0;
+		for (int i = 0; i < length; i++) {
+			int value = values[i];
+			bits |= value ^ (value >> 31);
+		}
+		return 32 - Integer.numberOfLeadingZeros(bits);
+	}
+
+	// Shifts right rounding half up, or left saturating for negative shifts
+	static void shift(int[] values, int length, int shift) {
+		if (shift > 0) {
+			if (shift > 31) {
+				shift = 32;
+			}
+			long half = 1L << (shift - 1);
+			for (int i = 0; i < length; i++) {
+				values[i] = (int)((values[i] + half) >> shift);
+			}
+		} else if (shift < 0) {
+			int left = Math.min(-shift, 32);
+			for (int i = 0; i < length; i++) {
+				long value = (long)values[i] << left;
+				if (value > FixedMath.MAX_VALUE || value < FixedMath.MIN_VALUE) {
+					value = FixedOverflowCounters.saturated(FixedOverflowCounters.Operation.CONVERT,
+							values[i] > 0 ? FixedMath.MAX_VALUE : FixedMath.MIN_VALUE);
+				}
+				values[i] = (int)value;
+			}
+		}
+	}
+
+	// Applies an exponent returned by forward() or inverse(), so data holds
+	// plain raw values again
+	public void scale(int[] data, int exponent) {
+		shift(data, 2 * _size, -exponent);
+	}
+}
@@ -0,0 +1,188 @@
+package com.mcdevon.fixed;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * Generates a specialized FixedQ<integer>_<decimal> class for each Q-format
+ * from templates/FixedQ.java.template. The decimal bits are a compile-time
+ * constant in each generated class, so shifts and masks are constant-folded.
+ * The class of the Fixed format delegates to FixedMath instead, so both
+ * give the same results bit for bit.
+ *
+ * Run from the repository root:
+ *   java com.mcdevon.fixed.FixedFormatGenerator [decimalBits ...]
+ */
+final class FixedFormatGenerator {
+
+	private static final String TEMPLATE = "templates/FixedQ.java.template";
+	private static final String OUTPUT_DIR = "src/com/mcdevon/fixed/";
+
+	private static final int[] DEFAULT_FORMATS = { 16, 10, 24 };
+
+	// A public static method of the template, up to and including its body
+	private static final Pattern METHOD = Pattern.compile(
+			"\n\tpublic static (\\w+) (\\w+)\\(([^)]*)\\) \\{\n.*?\n\t}\n", Pattern.DOTALL);
+
+	private static final BigDecimal PI = new BigDecimal("3.14159265358979323846264338327950288419716939937510");
+
+	private FixedFormatGenerator() {
+	}
+
+	static String className(int decimalBits) {
+		return "FixedQ" + (FixedMath.BITS - decimalBits) + "_" + decimalBits;
+	}
+
+	static void generate(int[] formats) throws IOException {
+		String template = new String(Files.readAllBytes(Paths.get(TEMPLATE)), StandardCharsets.UTF_8);
+
+		for (int decimalBits : formats) {
+			// Integer part must have room for 2pi
+			if (decimalBits < 1 || decimalBits > FixedMath.BITS - 4) {
+				throw new IllegalArgumentException("Unsupported decimal bits: " + decimalBits);
+			}
+
+			String source = template
+					.replace("${CLASS}", className(decimalBits))
+					.replace("${INTEGER_BITS}", Integer.toString(FixedMath.BITS - decimalBits))
+					.replace("${DECIMAL_BITS}", Integer.toString(decimalBits))
+					.replace("${PI}", constant(PI, decimalBits))
+					.replace("${PI_TIMES_TWO}", constant(PI.multiply(BigDecimal.valueOf(2)), decimalBits))
+					.replace("${PI_OVER_TWO}", constant(PI.divide(BigDecimal.valueOf(2)), decimalBits))
+					.replace("${CONVERSIONS}", conversions(decimalBits, formats));
+			if (decimalBits == FixedMath.DECIMAL_BITS) {
+				source = delegateToFixedMath(source);
+			}
+
+			Files.write(Paths.get(OUTPUT_DIR + className(decimalBits) + ".java"),
+					source.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static String constant(BigDecimal value, int decimalBits) {
+		BigDecimal scaled = value.multiply(BigDecimal.valueOf(1L << decimalBits));
+		return Integer.toString(scaled.setScale(0, RoundingMode.HALF_UP).intValueExact());
+	}
+
+	// Replaces the body of every method that FixedMath also has with a call
+	// to FixedMath
+	private static String delegateToFixedMath(String source) {
+		Matcher matcher = METHOD.matcher(source);
+		StringBuilder builder = new StringBuilder();
+		int end = 0;
+		while (matcher.find()) {
+			String returnType = matcher.group(1);
+			String name = matcher.group(2);
+			String parameters = matcher.group(3);
+			if (!hasFixedMathMethod(returnType, name, parameters)) {
+				continue;
+			}
+			StringBuilder arguments = new StringBuilder();
+			for (String parameter : parameters.split(", ")) {
+				if (arguments.length() > 0) {
+					arguments.append(", ");
+				}
+				arguments.append(parameter.substring(parameter.indexOf(' ') + 1));
+			}
+			builder.append(source, end, matcher.start());
+			builder.append("\n\tpublic static ").append(returnType).append(' ').append(name)
+					.append('(').append(parameters).append(") {\n");
+			builder.append("\t\treturn FixedMath.").append(name).append('(').append(arguments).append(");\n");
+			builder.append("\t}\n");
+			end = matcher.end();
+		}
+		builder.append(source, end, source.length());
+		return builder.toString().replace("do not edit by hand.\n",
+				"do not edit by hand. Every method that FixedMath also has\n * delegates to it, so results are the same bit for bit.\n");
+	}
+
+	private static boolean hasFixedMathMethod(String returnType, String name, String parameters) {
+		String[] list = parameters.split(", ");
+		Class<?>[] types = new Class<?>[list.length];
+		for (int i = 0; i < list.length; i++) {
+			types[i] = type(list[i].substring(0, list[i].indexOf(' ')));
+		}
+		try {
+			return FixedMath.class.getMethod(name, types).getReturnType() == type(returnType);
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	private static Class<?> type(String name) {
+		switch (name) {
+		case "int":
+			return int.class;
+		case "long":
+			return long.class;
+		case "float":
+			return float.class;
+		case "double":
+			return double.class;
+		case "String":
+			return String.class;
+		case "BigDecimal":
+			return BigDecimal.class;
+		default:
+			throw new IllegalArgumentException("Unknown type in template: " + name);
+		}
+	}
+
+	private static String conversions(int decimalBits, int[] formats) {
+		StringBuilder builder = new StringBuilder();
+
+		// Conversions to and from the Fixed / FixedMath format
+		conversion(builder, "toFixed", decimalBits, FixedMath.DECIMAL_BITS, false);
+		conversion(builder, "safeToFixed", decimalBits, FixedMath.DECIMAL_BITS, true);
+		conversion(builder, "fromFixed", FixedMath.DECIMAL_BITS, decimalBits, false);
+		conversion(builder, "safeFromFixed", FixedMath.DECIMAL_BITS, decimalBits, true);
+
+		for (int other : formats) {
+			if (other == decimalBits) {
+				continue;
+			}
+			String name = className(other).substring("Fixed".length());
+			conversion(builder, "to" + name, decimalBits, other, false);
+			conversion(builder, "safeTo" + name, decimalBits, other, true);
+		}
+		return builder.toString();
+	}
+
+	private static void conversion(StringBuilder builder, String name, int fromBits, int toBits, boolean safe) {
+		builder.append("\n\tpublic static int ").append(name).append("(int value) {\n");
+		if (fromBits == toBits) {
+			builder.append("\t\treturn value;\n");
+		} else if (fromBits > toBits) {
+			builder.append("\t\treturn value >> ").append(fromBits - toBits).append(";\n");
+		} else {
+			int shift = toBits - fromBits;
+			if (safe) {
+				builder.append("\t\tif (value > (MAX_VALUE >> ").append(shift).append(")) {\n");
+				builder.append("\t\t\treturn MAX_VALUE;\n");
+				builder.append("\t\t}\n");
+				builder.append("\t\tif (value < (MIN_VALUE >> ").append(shift).append(")) {\n");
+				builder.append("\t\t\treturn MIN_VALUE;\n");
+				builder.append("\t\t}\n");
+			}
+			builder.append("\t\treturn value << ").append(shift).append(";\n");
+		}
+		builder.append("\t}\n");
+	}
+
+	public static void main(String[] args) throws IOException {
+		int[] formats = DEFAULT_FORMATS;
+		if (args.length > 0) {
+			formats = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				formats[i] = Integer.parseInt(args[i]);
+			}
+		}
+		generate(formats);
+	}
+}
@@ -0,0 +1,274 @@
+package com.mcdevon.fixed;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Sin and tan look-up tables over [0, pi/2) used by FixedMath.
+ *
+ * Entry i holds the value at angle i / 2^resolutionBits, so the resolution
+ * is independent of DECIMAL_BITS. Lookups with a lower resolution than
+ * DECIMAL_BITS interpolate linearly between neighbouring entries.
+ *
+ * The shared tables are built on first use. When the system property
+ * com.mcdevon.fixed.lut.file is set they are memory-mapped from that file,
+ * which is generated once if it is missing or does not match, so every JVM
+ * on a host shares the same pages. com.mcdevon.fixed.lut.bits sets the
+ * resolution of the shared tables.
+ *
+ * Instances are immutable and the shared one is published by the class
+ * initialization of a lazy holder, so every thread sees complete tables.
+ * Heap tables are also kept as int[] in static final fields of the holder,
+ * which the JIT treats as constants on the FixedMath hot path.
+ */
+public final class FixedLut {
+
+	static final int DEFAULT_RESOLUTION_BITS = Math.min(FixedMath.DECIMAL_BITS, FixedMath.LUT_LERP_LIMIT);
+	public static final int MAX_RESOLUTION_BITS = 24;
+
+	// File layout: header, sin entries, tan entries, all ints in native order
+	private static final int MAGIC = 0x46584C54; // "FXLT"
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 32;
+
+	private final int _resolutionBits;
+	private final int _size;
+	private final IntBuffer _sin;
+	private final IntBuffer _tan;
+	// Backing arrays of heap tables, null for mapped tables
+	private final int[] _sinArray;
+	private final int[] _tanArray;
+
+	// Difference between resolution and DECIMAL_BITS
+	private final int _shift;
+	private final int _lerpMask;
+
+	private FixedLut(int resolutionBits, int size, IntBuffer sin, IntBuffer tan, int[] sinArray, int[] tanArray) {
+		_resolutionBits = resolutionBits;
+		_size = size;
+		_sin = sin;
+		_tan = tan;
+		_sinArray = sinArray;
+		_tanArray = tanArray;
+		_shift = resolutionBits - FixedMath.DECIMAL_BITS;
+		_lerpMask = _shift < 0 ? -1 >>> (32 + _shift) : 0;
+	}
+
+	private static final class Shared {
+		static final FixedLut INSTANCE = load();
+		static final int[] SIN = INSTANCE._sinArray;
+		static final int[] TAN = INSTANCE._tanArray;
+		static final int SHIFT = INSTANCE._shift;
+		static final int LERP_MASK = INSTANCE._lerpMask;
+	}
+
+	// Tables used by FixedMath, built or mapped on first call
+	public static FixedLut shared() {
+		return Shared.INSTANCE;
+	}
+
+	private static FixedLut load() {
+		int resolutionBits = Integer.getInteger("com.mcdevon.fixed.lut.bits", DEFAULT_RESOLUTION_BITS);
+		String file = System.getProperty("com.mcdevon.fixed.lut.file");
+		if (file != null) {
+			try {
+				return map(Paths.get(file), resolutionBits);
+			} catch (IOException e) {
+				System.err.println(e.getLocalizedMessage());
+			}
+		}
+		return build(resolutionBits);
+	}
+
+	/*
+	 * Generation
+	 */
+
+	// Number of entries, angles i / 2^resolutionBits below pi/2
+	static int size(int resolutionBits) {
+		checkResolution(resolutionBits);
+		return (int)(Math.PI * 0.5 * (1 << resolutionBits));
+	}
+
+	private static void checkResolution(int resolutionBits) {
+		if (resolutionBits < 1 || resolutionBits > MAX_RESOLUTION_BITS) {
+			throw new IllegalArgumentException("Resolution bits must be between 1 and " + MAX_RESOLUTION_BITS);
+		}
+	}
+
+	public static FixedLut build(int resolutionBits) {
+		int size = size(resolutionBits);
+		int[] sin = new int[size];
+		int[] tan = new int[size];
+		fill(resolutionBits, IntBuffer.wrap(sin), IntBuffer.wrap(tan));
+		return new FixedLut(resolutionBits, size, IntBuffer.wrap(sin).asReadOnlyBuffer(),
+				IntBuffer.wrap(tan).asReadOnlyBuffer(), sin, tan);
+	}
+
+	// StrictMath so a table file is identical whichever JVM generated it
+	private static void fill(int resolutionBits, IntBuffer sin, IntBuffer tan) {
+		int size = sin.capacity();
+		double interval = 1.0 / (1 << resolutionBits);
+
+		for (int i = 0; i < size; ++i) {
+			sin.put(i, FixedMath.fromDouble(StrictMath.sin(i * interval)));
+		}
+
+		boolean overflow = false;
+		for (int i = 0; i < size; ++i) {
+			double tanValue = StrictMath.tan(i * interval);
+			// After first overflow, all remaining values are MAX_VALUE
+			if (overflow || tanValue > FixedMath.doubleValue(FixedMath.MAX_VALUE) || tanValue < 0.0) {
+				overflow = true;
+				tan.put(i, FixedMath.MAX_VALUE);
+			} else {
+				tan.put(i, FixedMath.fromDouble(tanValue));
+			}
+		}
+	}
+
+	/*
+	 * Table files
+	 */
+
+	// Maps the tables from file, generating the file first if it is missing
+	// or was made for another format, resolution or byte order
+	public static FixedLut map(Path file, int resolutionBits) throws IOException {
+		int size = size(resolutionBits);
+		long length = HEADER_BYTES + 8L * size;
+
+		if (!Files.isRegularFile(file) || Files.size(file) != length || !matches(file, resolutionBits, size)) {
+			write(file, resolutionBits, size, length);
+		}
+
+		ByteBuffer bytes;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+		}
+		return new FixedLut(resolutionBits, size, ints(bytes, HEADER_BYTES, size),
+				ints(bytes, HEADER_BYTES + 4 * size, size), null, null);
+	}
+
+	private static boolean matches(Path file, int resolutionBits, int size) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.nativeOrder());
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			while (header.hasRemaining()) {
+				if (channel.read(header) < 0) {
+					return false;
+				}
+			}
+		}
+		return header.getInt(0) == MAGIC && header.getInt(4) == VERSION
+				&& header.getInt(8) == FixedMath.DECIMAL_BITS && header.getInt(12) == resolutionBits
+				&& header.getInt(16) == size;
+	}
+
+	// Written next to the target and moved in place, so other processes
+	// never map a partially written file
+	private static void write(Path file, int resolutionBits, int size, long length) throws IOException {
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_WRITE, 0, length).order(ByteOrder.nativeOrder());
+				bytes.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, FixedMath.DECIMAL_BITS)
+						.putInt(12, resolutionBits).putInt(16, size);
+				fill(resolutionBits, ints(bytes, HEADER_BYTES, size), ints(bytes, HEADER_BYTES + 4 * size, size));
+				channel.force(true);
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static IntBuffer ints(ByteBuffer bytes, int offset, int count) {
+		ByteBuffer slice = bytes.duplicate();
+		slice.position(offset);
+		slice.limit(offset + 4 * count);
+		return slice.slice().order(ByteOrder.nativeOrder()).asIntBuffer();
+	}
+
+	/*
+	 * Look-up
+	 */
+
+	public int resolutionBits() {
+		return _resolutionBits;
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	// Angle is a data value in [0, pi/2), larger angles use the last entry
+	public int sin(int angle) {
+		return _sinArray != null ? lookUp(_sinArray, _shift, _lerpMask, angle) : lookUp(_sin, angle);
+	}
+
+	public int tan(int angle) {
+		return _tanArray != null ? lookUp(_tanArray, _shift, _lerpMask, angle) : lookUp(_tan, angle);
+	}
+
+	// shared().sin(angle) through the static final copies
+	static int sharedSin(int angle) {
+		int[] table = Shared.SIN;
+		return table != null ? lookUp(table, Shared.SHIFT, Shared.LERP_MASK, angle) : Shared.INSTANCE.sin(angle);
+	}
+
+	static int sharedTan(int angle) {
+		int[] table = Shared.TAN;
+		return table != null ? lookUp(table, Shared.SHIFT, Shared.LERP_MASK, angle) : Shared.INSTANCE.tan(angle);
+	}
+
+	// Same as the IntBuffer version, the index is clamped to table.length
+	// so bounds checks can be eliminated
+	private static int lookUp(int[] table, int shift, int lerpMask, int angle) {
+		int last = table.length - 1;
+		if (shift >= 0) {
+			int index = angle << shift;
+			return table[index < last ? index : last];
+		}
+
+		int index = angle >> -shift;
+		if (index >= last) {
+			return table[last];
+		}
+
+		// Interpolate, rounding half up
+		long first = table[index];
+		long delta = table[index + 1] - first;
+		return (int)(first + ((delta * (angle & lerpMask) + (1L << (-shift - 1))) >> -shift));
+	}
+
+	private int lookUp(IntBuffer table, int angle) {
+		if (_shift >= 0) {
+			int index = angle << _shift;
+			return table.get(index < _size ? index : _size - 1);
+		}
+
+		int index = angle >> -_shift;
+		if (index >= _size - 1) {
+			return table.get(_size - 1);
+		}
+
+		// Interpolate, rounding half up
+		long first = table.get(index);
+		long delta = table.get(index + 1) - first;
+		return (int)(first + ((delta * (angle & _lerpMask) + (1L << (-_shift - 1))) >> -_shift));
+	}
+}
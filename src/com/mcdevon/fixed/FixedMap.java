@@ -0,0 +1,235 @@
+package com.mcdevon.fixed;
+
+import java.util.Arrays;
+
+/*
+ * Map from int keys to raw data values with open addressing and linear
+ * probing, so entries are stored in two int[] without per-entry objects.
+ * Key 0 marks a free slot and is kept outside the tables.
+ */
+public final class FixedMap {
+
+	public interface EntryConsumer {
+		void accept(int key, int value);
+	}
+
+	private static final int MIN_CAPACITY = 16;
+
+	private int[] _keys;
+	private int[] _values;
+	private int _mask;
+	private int _size;
+
+	private boolean _hasZeroKey;
+	private int _zeroValue;
+
+	public FixedMap() {
+		this(MIN_CAPACITY / 2);
+	}
+
+	// Holds expectedSize entries without rehashing
+	public FixedMap(int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Negative size: " + expectedSize);
+		}
+		int capacity = MIN_CAPACITY;
+		while (capacity * 3L / 4 < expectedSize) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	private void allocate(int capacity) {
+		_keys = new int[capacity];
+		_values = new int[capacity];
+		_mask = capacity - 1;
+	}
+
+	private int slot(int key) {
+		int h = key * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & _mask;
+	}
+
+	public int size() {
+		return _size + (_hasZeroKey ? 1 : 0);
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		Arrays.fill(_keys, 0);
+		_size = 0;
+		_hasZeroKey = false;
+	}
+
+	/*
+	 * Accessors
+	 */
+
+	public boolean containsKey(int key) {
+		if (key == 0) {
+			return _hasZeroKey;
+		}
+		return find(key) >= 0;
+	}
+
+	// Raw value of key, or defaultValue if absent
+	public int get(int key, int defaultValue) {
+		if (key == 0) {
+			return _hasZeroKey ? _zeroValue : defaultValue;
+		}
+		int slot = find(key);
+		return slot >= 0 ? _values[slot] : defaultValue;
+	}
+
+	// Null if absent
+	public Fixed getFixed(int key) {
+		if (key == 0) {
+			return _hasZeroKey ? Fixed.fromData(_zeroValue) : null;
+		}
+		int slot = find(key);
+		return slot >= 0 ? Fixed.fromData(_values[slot]) : null;
+	}
+
+	public void put(int key, int value) {
+		if (key == 0) {
+			_hasZeroKey = true;
+			_zeroValue = value;
+			return;
+		}
+		int slot = slot(key);
+		while (_keys[slot] != 0) {
+			if (_keys[slot] == key) {
+				_values[slot] = value;
+				return;
+			}
+			slot = (slot + 1) & _mask;
+		}
+		_keys[slot] = key;
+		_values[slot] = value;
+		if (++_size > _keys.length * 3 / 4) {
+			rehash(_keys.length << 1);
+		}
+	}
+
+	public void put(int key, Fixed value) {
+		put(key, value.dataValue());
+	}
+
+	// Adds delta to the value of key like Fixed.add(), absent keys start at zero
+	public void addTo(int key, int delta) {
+		if (key == 0) {
+			_zeroValue = _hasZeroKey ? _zeroValue + delta : delta;
+			_hasZeroKey = true;
+			return;
+		}
+		int slot = find(key);
+		if (slot >= 0) {
+			_values[slot] += delta;
+		} else {
+			put(key, delta);
+		}
+	}
+
+	// Returns true if key was present
+	public boolean remove(int key) {
+		if (key == 0) {
+			boolean had = _hasZeroKey;
+			_hasZeroKey = false;
+			return had;
+		}
+		int slot = find(key);
+		if (slot < 0) {
+			return false;
+		}
+
+		// Shift following entries of the probe sequence back into the gap
+		int gap = slot;
+		int next = (gap + 1) & _mask;
+		while (_keys[next] != 0) {
+			int home = slot(_keys[next]);
+			if (((next - home) & _mask) >= ((next - gap) & _mask)) {
+				_keys[gap] = _keys[next];
+				_values[gap] = _values[next];
+				gap = next;
+			}
+			next = (next + 1) & _mask;
+		}
+		_keys[gap] = 0;
+		_size--;
+		return true;
+	}
+
+	private int find(int key) {
+		int slot = slot(key);
+		int k;
+		while ((k = _keys[slot]) != 0) {
+			if (k == key) {
+				return slot;
+			}
+			slot = (slot + 1) & _mask;
+		}
+		return -1;
+	}
+
+	private void rehash(int capacity) {
+		int[] keys = _keys;
+		int[] values = _values;
+		allocate(capacity);
+		for (int i = 0; i < keys.length; i++) {
+			int key = keys[i];
+			if (key != 0) {
+				int slot = slot(key);
+				while (_keys[slot] != 0) {
+					slot = (slot + 1) & _mask;
+				}
+				_keys[slot] = key;
+				_values[slot] = values[i];
+			}
+		}
+	}
+
+	public void forEach(EntryConsumer consumer) {
+		if (_hasZeroKey) {
+			consumer.accept(0, _zeroValue);
+		}
+		for (int i = 0; i < _keys.length; i++) {
+			if (_keys[i] != 0) {
+				consumer.accept(_keys[i], _values[i]);
+			}
+		}
+	}
+
+	/*
+	 * Bulk operators
+	 */
+
+	public FixedMap mulAssign(int scalar) {
+		_zeroValue = FixedMath.mul(_zeroValue, scalar);
+		for (int i = 0; i < _keys.length; i++) {
+			if (_keys[i] != 0) {
+				_values[i] = FixedMath.mul(_values[i], scalar);
+			}
+		}
+		return this;
+	}
+
+	// Adds every entry of other with addTo()
+	public FixedMap addAssign(FixedMap other) {
+		other.forEach(this::addTo);
+		return this;
+	}
+
+	public String toString() {
+		final StringBuilder builder = new StringBuilder().append('{');
+		forEach((key, value) -> {
+			if (builder.length() > 1) {
+				builder.append(", ");
+			}
+			FixedMath.toString(value, builder.append(key).append('='));
+		});
+		return builder.append('}').toString();
+	}
+}
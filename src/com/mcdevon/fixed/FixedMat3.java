@@ -0,0 +1,141 @@
+package com.mcdevon.fixed;
+
+/*
+ * Mutable 3x3 matrix of raw fixed-point data values, fields named by
+ * row and column. Vectors are treated as columns: v' = M * v.
+ */
+public final class FixedMat3 {
+	public int m00, m01, m02;
+	public int m10, m11, m12;
+	public int m20, m21, m22;
+
+	// Identity matrix
+	public FixedMat3() {
+		m00 = m11 = m22 = FixedMath.ONE;
+	}
+
+	public FixedMat3(FixedMat3 value) {
+		set(value);
+	}
+
+	public FixedMat3 set(FixedMat3 m) {
+		m00 = m.m00; m01 = m.m01; m02 = m.m02;
+		m10 = m.m10; m11 = m.m11; m12 = m.m12;
+		m20 = m.m20; m21 = m.m21; m22 = m.m22;
+		return this;
+	}
+
+	public FixedMat3 setIdentity() {
+		m00 = FixedMath.ONE; m01 = 0; m02 = 0;
+		m10 = 0; m11 = FixedMath.ONE; m12 = 0;
+		m20 = 0; m21 = 0; m22 = FixedMath.ONE;
+		return this;
+	}
+
+	public FixedMat3 setScale(int sx, int sy, int sz) {
+		setIdentity();
+		m00 = sx;
+		m11 = sy;
+		m22 = sz;
+		return this;
+	}
+
+	// Rotation matrix of a unit quaternion
+	public FixedMat3 setRotation(FixedQuat q) {
+		int xx = FixedMath.mul(q.x, q.x), yy = FixedMath.mul(q.y, q.y), zz = FixedMath.mul(q.z, q.z);
+		int xy = FixedMath.mul(q.x, q.y), xz = FixedMath.mul(q.x, q.z), yz = FixedMath.mul(q.y, q.z);
+		int wx = FixedMath.mul(q.w, q.x), wy = FixedMath.mul(q.w, q.y), wz = FixedMath.mul(q.w, q.z);
+		int one = FixedMath.ONE;
+
+		m00 = one - 2 * (yy + zz); m01 = 2 * (xy - wz); m02 = 2 * (xz + wy);
+		m10 = 2 * (xy + wz); m11 = one - 2 * (xx + zz); m12 = 2 * (yz - wx);
+		m20 = 2 * (xz - wy); m21 = 2 * (yz + wx); m22 = one - 2 * (xx + yy);
+		return this;
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public FixedMat3 mul(FixedMat3 value) {
+		return mul(this, value, new FixedMat3());
+	}
+
+	public FixedMat3 mulAssign(FixedMat3 value) {
+		return mul(this, value, this);
+	}
+
+	// out = a * b, out may be a or b
+	public static FixedMat3 mul(FixedMat3 a, FixedMat3 b, FixedMat3 out) {
+		int r00 = dot(a.m00, a.m01, a.m02, b.m00, b.m10, b.m20);
+		int r01 = dot(a.m00, a.m01, a.m02, b.m01, b.m11, b.m21);
+		int r02 = dot(a.m00, a.m01, a.m02, b.m02, b.m12, b.m22);
+		int r10 = dot(a.m10, a.m11, a.m12, b.m00, b.m10, b.m20);
+		int r11 = dot(a.m10, a.m11, a.m12, b.m01, b.m11, b.m21);
+		int r12 = dot(a.m10, a.m11, a.m12, b.m02, b.m12, b.m22);
+		int r20 = dot(a.m20, a.m21, a.m22, b.m00, b.m10, b.m20);
+		int r21 = dot(a.m20, a.m21, a.m22, b.m01, b.m11, b.m21);
+		int r22 = dot(a.m20, a.m21, a.m22, b.m02, b.m12, b.m22);
+
+		out.m00 = r00; out.m01 = r01; out.m02 = r02;
+		out.m10 = r10; out.m11 = r11; out.m12 = r12;
+		out.m20 = r20; out.m21 = r21; out.m22 = r22;
+		return out;
+	}
+
+	private static int dot(int a0, int a1, int a2, int b0, int b1, int b2) {
+		return FixedMath.mul(a0, b0) + FixedMath.mul(a1, b1) + FixedMath.mul(a2, b2);
+	}
+
+	public FixedVec3 transform(FixedVec3 v) {
+		return transform(v, new FixedVec3());
+	}
+
+	// out = M * v, out may be v
+	public FixedVec3 transform(FixedVec3 v, FixedVec3 out) {
+		int x = dot(m00, m01, m02, v.x, v.y, v.z);
+		int y = dot(m10, m11, m12, v.x, v.y, v.z);
+		int z = dot(m20, m21, m22, v.x, v.y, v.z);
+		return out.set(x, y, z);
+	}
+
+	public FixedMat3 transposeInPlace() {
+		int t;
+		t = m01; m01 = m10; m10 = t;
+		t = m02; m02 = m20; m20 = t;
+		t = m12; m12 = m21; m21 = t;
+		return this;
+	}
+
+	public int determinant() {
+		return FixedMath.mul(m00, FixedMath.mul(m11, m22) - FixedMath.mul(m12, m21))
+				- FixedMath.mul(m01, FixedMath.mul(m10, m22) - FixedMath.mul(m12, m20))
+				+ FixedMath.mul(m02, FixedMath.mul(m10, m21) - FixedMath.mul(m11, m20));
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof FixedMat3)) {
+			return false;
+		}
+		final FixedMat3 o = (FixedMat3) obj;
+		return m00 == o.m00 && m01 == o.m01 && m02 == o.m02
+				&& m10 == o.m10 && m11 == o.m11 && m12 == o.m12
+				&& m20 == o.m20 && m21 == o.m21 && m22 == o.m22;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = m00;
+		h = 31 * h + m01; h = 31 * h + m02;
+		h = 31 * h + m10; h = 31 * h + m11; h = 31 * h + m12;
+		h = 31 * h + m20; h = 31 * h + m21; h = 31 * h + m22;
+		return h;
+	}
+
+	public String toString() {
+		return "[" + FixedMath.toString(m00) + ", " + FixedMath.toString(m01) + ", " + FixedMath.toString(m02) + "]\n"
+				+ "[" + FixedMath.toString(m10) + ", " + FixedMath.toString(m11) + ", " + FixedMath.toString(m12) + "]\n"
+				+ "[" + FixedMath.toString(m20) + ", " + FixedMath.toString(m21) + ", " + FixedMath.toString(m22) + "]";
+	}
+}
@@ -0,0 +1,168 @@
+package com.mcdevon.fixed;
+
+/*
+ * Mutable 4x4 affine / projective matrix of raw fixed-point data values,
+ * fields named by row and column. Vectors are treated as columns.
+ */
+public final class FixedMat4 {
+	public int m00, m01, m02, m03;
+	public int m10, m11, m12, m13;
+	public int m20, m21, m22, m23;
+	public int m30, m31, m32, m33;
+
+	// Identity matrix
+	public FixedMat4() {
+		m00 = m11 = m22 = m33 = FixedMath.ONE;
+	}
+
+	public FixedMat4(FixedMat4 value) {
+		set(value);
+	}
+
+	public FixedMat4 set(FixedMat4 m) {
+		m00 = m.m00; m01 = m.m01; m02 = m.m02; m03 = m.m03;
+		m10 = m.m10; m11 = m.m11; m12 = m.m12; m13 = m.m13;
+		m20 = m.m20; m21 = m.m21; m22 = m.m22; m23 = m.m23;
+		m30 = m.m30; m31 = m.m31; m32 = m.m32; m33 = m.m33;
+		return this;
+	}
+
+	public FixedMat4 setIdentity() {
+		m00 = FixedMath.ONE; m01 = 0; m02 = 0; m03 = 0;
+		m10 = 0; m11 = FixedMath.ONE; m12 = 0; m13 = 0;
+		m20 = 0; m21 = 0; m22 = FixedMath.ONE; m23 = 0;
+		m30 = 0; m31 = 0; m32 = 0; m33 = FixedMath.ONE;
+		return this;
+	}
+
+	public FixedMat4 setTranslation(int tx, int ty, int tz) {
+		setIdentity();
+		m03 = tx;
+		m13 = ty;
+		m23 = tz;
+		return this;
+	}
+
+	public FixedMat4 setScale(int sx, int sy, int sz) {
+		setIdentity();
+		m00 = sx;
+		m11 = sy;
+		m22 = sz;
+		return this;
+	}
+
+	// Rotation of a unit quaternion followed by translation
+	public FixedMat4 setRotationTranslation(FixedQuat q, FixedVec3 t) {
+		int xx = FixedMath.mul(q.x, q.x), yy = FixedMath.mul(q.y, q.y), zz = FixedMath.mul(q.z, q.z);
+		int xy = FixedMath.mul(q.x, q.y), xz = FixedMath.mul(q.x, q.z), yz = FixedMath.mul(q.y, q.z);
+		int wx = FixedMath.mul(q.w, q.x), wy = FixedMath.mul(q.w, q.y), wz = FixedMath.mul(q.w, q.z);
+		int one = FixedMath.ONE;
+
+		m00 = one - 2 * (yy + zz); m01 = 2 * (xy - wz); m02 = 2 * (xz + wy); m03 = t.x;
+		m10 = 2 * (xy + wz); m11 = one - 2 * (xx + zz); m12 = 2 * (yz - wx); m13 = t.y;
+		m20 = 2 * (xz - wy); m21 = 2 * (yz + wx); m22 = one - 2 * (xx + yy); m23 = t.z;
+		m30 = 0; m31 = 0; m32 = 0; m33 = FixedMath.ONE;
+		return this;
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public FixedMat4 mul(FixedMat4 value) {
+		return mul(this, value, new FixedMat4());
+	}
+
+	public FixedMat4 mulAssign(FixedMat4 value) {
+		return mul(this, value, this);
+	}
+
+	// out = a * b, out may be a or b
+	public static FixedMat4 mul(FixedMat4 a, FixedMat4 b, FixedMat4 out) {
+		int r00 = dot(a.m00, a.m01, a.m02, a.m03, b.m00, b.m10, b.m20, b.m30);
+		int r01 = dot(a.m00, a.m01, a.m02, a.m03, b.m01, b.m11, b.m21, b.m31);
+		int r02 = dot(a.m00, a.m01, a.m02, a.m03, b.m02, b.m12, b.m22, b.m32);
+		int r03 = dot(a.m00, a.m01, a.m02, a.m03, b.m03, b.m13, b.m23, b.m33);
+		int r10 = dot(a.m10, a.m11, a.m12, a.m13, b.m00, b.m10, b.m20, b.m30);
+		int r11 = dot(a.m10, a.m11, a.m12, a.m13, b.m01, b.m11, b.m21, b.m31);
+		int r12 = dot(a.m10, a.m11, a.m12, a.m13, b.m02, b.m12, b.m22, b.m32);
+		int r13 = dot(a.m10, a.m11, a.m12, a.m13, b.m03, b.m13, b.m23, b.m33);
+		int r20 = dot(a.m20, a.m21, a.m22, a.m23, b.m00, b.m10, b.m20, b.m30);
+		int r21 = dot(a.m20, a.m21, a.m22, a.m23, b.m01, b.m11, b.m21, b.m31);
+		int r22 = dot(a.m20, a.m21, a.m22, a.m23, b.m02, b.m12, b.m22, b.m32);
+		int r23 = dot(a.m20, a.m21, a.m22, a.m23, b.m03, b.m13, b.m23, b.m33);
+		int r30 = dot(a.m30, a.m31, a.m32, a.m33, b.m00, b.m10, b.m20, b.m30);
+		int r31 = dot(a.m30, a.m31, a.m32, a.m33, b.m01, b.m11, b.m21, b.m31);
+		int r32 = dot(a.m30, a.m31, a.m32, a.m33, b.m02, b.m12, b.m22, b.m32);
+		int r33 = dot(a.m30, a.m31, a.m32, a.m33, b.m03, b.m13, b.m23, b.m33);
+
+		out.m00 = r00; out.m01 = r01; out.m02 = r02; out.m03 = r03;
+		out.m10 = r10; out.m11 = r11; out.m12 = r12; out.m13 = r13;
+		out.m20 = r20; out.m21 = r21; out.m22 = r22; out.m23 = r23;
+		out.m30 = r30; out.m31 = r31; out.m32 = r32; out.m33 = r33;
+		return out;
+	}
+
+	private static int dot(int a0, int a1, int a2, int a3, int b0, int b1, int b2, int b3) {
+		return FixedMath.mul(a0, b0) + FixedMath.mul(a1, b1) + FixedMath.mul(a2, b2) + FixedMath.mul(a3, b3);
+	}
+
+	// Point with w = 1 and no perspective divide, out may be v
+	public FixedVec3 transformPoint(FixedVec3 v, FixedVec3 out) {
+		int x = dot(m00, m01, m02, m03, v.x, v.y, v.z, FixedMath.ONE);
+		int y = dot(m10, m11, m12, m13, v.x, v.y, v.z, FixedMath.ONE);
+		int z = dot(m20, m21, m22, m23, v.x, v.y, v.z, FixedMath.ONE);
+		return out.set(x, y, z);
+	}
+
+	// Direction with w = 0, out may be v
+	public FixedVec3 transformDirection(FixedVec3 v, FixedVec3 out) {
+		int x = dot(m00, m01, m02, m03, v.x, v.y, v.z, 0);
+		int y = dot(m10, m11, m12, m13, v.x, v.y, v.z, 0);
+		int z = dot(m20, m21, m22, m23, v.x, v.y, v.z, 0);
+		return out.set(x, y, z);
+	}
+
+	public FixedMat4 transposeInPlace() {
+		int t;
+		t = m01; m01 = m10; m10 = t;
+		t = m02; m02 = m20; m20 = t;
+		t = m03; m03 = m30; m30 = t;
+		t = m12; m12 = m21; m21 = t;
+		t = m13; m13 = m31; m31 = t;
+		t = m23; m23 = m32; m32 = t;
+		return this;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof FixedMat4)) {
+			return false;
+		}
+		final FixedMat4 o = (FixedMat4) obj;
+		return m00 == o.m00 && m01 == o.m01 && m02 == o.m02 && m03 == o.m03
+				&& m10 == o.m10 && m11 == o.m11 && m12 == o.m12 && m13 == o.m13
+				&& m20 == o.m20 && m21 == o.m21 && m22 == o.m22 && m23 == o.m23
+				&& m30 == o.m30 && m31 == o.m31 && m32 == o.m32 && m33 == o.m33;
+	}
+
+	@Override
+	public int hashCode() {
+		int h = m00;
+		h = 31 * h + m01; h = 31 * h + m02; h = 31 * h + m03;
+		h = 31 * h + m10; h = 31 * h + m11; h = 31 * h + m12; h = 31 * h + m13;
+		h = 31 * h + m20; h = 31 * h + m21; h = 31 * h + m22; h = 31 * h + m23;
+		h = 31 * h + m30; h = 31 * h + m31; h = 31 * h + m32; h = 31 * h + m33;
+		return h;
+	}
+
+	public String toString() {
+		return row(m00, m01, m02, m03) + "\n" + row(m10, m11, m12, m13) + "\n"
+				+ row(m20, m21, m22, m23) + "\n" + row(m30, m31, m32, m33);
+	}
+
+	private static String row(int a, int b, int c, int d) {
+		return "[" + FixedMath.toString(a) + ", " + FixedMath.toString(b) + ", "
+				+ FixedMath.toString(c) + ", " + FixedMath.toString(d) + "]";
+	}
+}
@@ -0,0 +1,934 @@
+package com.mcdevon.fixed;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import com.mcdevon.fixed.FixedOverflowCounters.Operation;
+
+/*
+ * Allocation-free companion of Fixed. Every method works on raw data values
+ * (as returned by Fixed.dataValue() and accepted by Fixed.fromData()), and
+ * Fixed delegates to these methods, so both paths give identical results.
+ */
+public final class FixedMath {
+
+	// Static values for 32-bit fixed-point value
+	public static final int MAX_VALUE = Integer.MAX_VALUE;
+	public static final int MIN_VALUE = Integer.MIN_VALUE;
+
+	public static final int BITS = 32;
+
+	// NOTE: Decimal bits must be less than or equal to (BITS / 2) for safeMul() to work
+	// and an even number for sqrt() to work!
+	public static final int DECIMAL_BITS = 10;
+	static final int DECIMAL_MASK = -1 >>> (BITS - DECIMAL_BITS);
+	static final int FULL_MASK = -1;
+
+	public static final int ONE = 1 << DECIMAL_BITS;
+	public static final int TWO = 1 << (DECIMAL_BITS + 1);
+	public static final int HALF = 1 << (DECIMAL_BITS - 1);
+	public static final int PRECISION = 1;
+
+	// Marks an exact result for round(long, int, RoundingMode)
+	private static final int NO_REMAINDER = 2;
+
+	// String part lengths
+	private static final int _rightLength;
+	static {
+		String[] parts = bigDecimalValue(PRECISION).toString().split("\\.");
+		if (parts.length <= 1) {
+			_rightLength = 0;
+		} else {
+			int res = 1;
+			for (int i = 0; i < parts[1].length(); i++) {
+				if (parts[1].charAt(i) == '0') {
+					res++;
+					continue;
+				}
+				break;
+			}
+			_rightLength = res;
+		}
+	}
+
+	// Longest toString() result: sign, integer digits, point, decimal digits
+	public static final int MAX_STRING_LENGTH =
+			Long.toString(1L << (BITS - 1 - DECIMAL_BITS)).length() + DECIMAL_BITS + 2;
+
+	// Powers of ten converted like fromLong(), overflowing values included
+	private static final int[] _tenPowerTable = new int[19];
+	static {
+		long power = 1L;
+		for (int i = 0; i < _tenPowerTable.length; i++) {
+			_tenPowerTable[i] = fromLong(power);
+			power *= 10L;
+		}
+	}
+
+	public static final int PI = fromString("3.14159265358979323846264338327950288419716939937510");
+	public static final int PI_TIMES_TWO = fromString("6.28318530717958647692528676655900576839433879875020");
+	public static final int PI_OVER_TWO = fromString("1.57079632679489661923132169163975144209858469968755");
+	public static final int PI_INV = fromString("0.31830988618379067153776752674502872406891929148091");
+	public static final int PI_OVER_TWO_INV = fromString("0.63661977236758134307553505349005744813783858296183");
+
+	// Values for Fixed.generateLutFile(), FixedLut has the tables in use
+	static final int LUT_LERP_LIMIT = 14;
+	static final boolean LUT_LERP_IN_USE = DECIMAL_BITS > LUT_LERP_LIMIT;
+	static final int LUT_SIZE = LUT_LERP_IN_USE ? intValue(mul(fromInt(1 << LUT_LERP_LIMIT), PI_OVER_TWO)) : PI_OVER_TWO;
+	static final int LUT_INTERVAL = safeDiv(PI_OVER_TWO, fromInt(LUT_SIZE - 1));
+
+	private static final int DEG_TO_RAD = div(PI, fromInt(180));
+	private static final int RAD_TO_DEG = safeDiv(fromInt(180), PI);
+
+	private static final int ATAN2_HELP = fromString("0.28");
+
+	private FixedMath() {
+	}
+
+	public static int sign(int value) {
+		return value < 0 ? -1 :
+			value > 0 ? 1 : 0;
+	}
+
+	public static int toRadians(int value) {
+		return mul(value, DEG_TO_RAD);
+	}
+
+	public static int toDegrees(int value) {
+		return mul(value, RAD_TO_DEG);
+	}
+
+	public static int abs(int value) {
+		int mask = value >> (BITS - 1);
+		return (value + mask) ^ mask;
+	}
+
+	public static int safeAbs(int value) {
+		if (value == MIN_VALUE) {
+			return FixedOverflowCounters.saturated(Operation.NEGATE, MAX_VALUE);
+		}
+
+		int mask = value >> (BITS - 1);
+		return (value + mask) ^ mask;
+	}
+
+	public static int floor(int value) {
+		// Just zero out the decimal part
+		return value & (~DECIMAL_MASK);
+	}
+
+	public static int ceiling(int value) {
+		boolean hasFrac = (value & DECIMAL_MASK) != 0;
+		return hasFrac ? floor(value) + ONE : value;
+	}
+
+	public static int round(int value) {
+		int fract = value & DECIMAL_MASK;
+		int integral = floor(value);
+		if (fract < HALF) {
+			return integral;
+		}
+		// Halves are always rounded upwards
+		return integral + ONE;
+	}
+
+	public static int roundRuleEven(int value) {
+		int fract = value & DECIMAL_MASK;
+		int integral = floor(value);
+		if (fract < HALF) {
+			return integral;
+		}
+		if (fract > HALF) {
+			return integral + ONE;
+		}
+
+		// Halves are rounded to nearest even number
+		return (integral & ONE) == 0
+				? integral
+				: integral + ONE;
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public static int add(int x, int y) {
+		return x + y;
+	}
+
+	public static int sub(int x, int y) {
+		return x - y;
+	}
+
+	public static int mul(int x, int y) {
+		return (int)(((long)x * y) >> DECIMAL_BITS);
+	}
+
+	public static int div(int x, int y) {
+		return (int)(((long)x << DECIMAL_BITS) / y);
+	}
+
+	public static int mod(int x, int y) {
+		return x % y;
+	}
+
+	public static int negate(int value) {
+		return -value;
+	}
+
+	/*
+	 * Safe operators
+	 */
+
+	public static int safeAdd(int x, int y) {
+		int sum = x + y;
+
+		// Check for overflows, addExact() throws instead
+		if (((~(x ^ y) & (x ^ sum)) & MIN_VALUE) != 0) {
+			sum = FixedOverflowCounters.saturated(Operation.ADD, x > 0 ? MAX_VALUE : MIN_VALUE);
+		}
+		return sum;
+	}
+
+	public static int safeSub(int x, int y) {
+		int sub = x - y;
+
+		// Check for overflows, subExact() throws instead
+		if ((((x ^ y) & (x ^ sub)) & MIN_VALUE) != 0) {
+			sub = FixedOverflowCounters.saturated(Operation.SUB, x < 0 ? MIN_VALUE : MAX_VALUE);
+		}
+		return sub;
+	}
+
+	public static int safeMul(int x, int y) {
+		long product = ((long)x * y) >> DECIMAL_BITS;
+		if (product > MAX_VALUE || product < MIN_VALUE) {
+			return FixedOverflowCounters.saturated(Operation.MUL, product > 0 ? MAX_VALUE : MIN_VALUE);
+		}
+		return (int)product;
+	}
+
+	public static int safeDiv(int x, int y) {
+		if (y == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+
+		// One 64-bit division of the magnitudes with an extra bit, rounded
+		// half away from zero. Magnitudes are longs, so MIN_VALUE works too.
+		long quotient = ((Math.abs((long)x) << (DECIMAL_BITS + 1)) / Math.abs((long)y) + 1) >>> 1;
+		if ((x ^ y) < 0) {
+			return quotient > 1L << (BITS - 1)
+					? FixedOverflowCounters.saturated(Operation.DIV, MIN_VALUE) : (int)-quotient;
+		}
+		return quotient > MAX_VALUE
+				? FixedOverflowCounters.saturated(Operation.DIV, MAX_VALUE) : (int)quotient;
+	}
+
+	public static int safeMod(int x, int y) {
+		return x == MIN_VALUE & y == -1 ? 0 :
+			x % y;
+	}
+
+	public static int safeNegate(int value) {
+		return value == MIN_VALUE ? FixedOverflowCounters.saturated(Operation.NEGATE, MAX_VALUE) : -value;
+	}
+
+	/*
+	 * Exact operators, throw ArithmeticException where the plain operators
+	 * would overflow
+	 */
+
+	public static int addExact(int x, int y) {
+		int sum = x + y;
+		if (((~(x ^ y) & (x ^ sum)) & MIN_VALUE) != 0) {
+			throw FixedOverflowCounters.thrown(Operation.ADD);
+		}
+		return sum;
+	}
+
+	public static int subExact(int x, int y) {
+		int sub = x - y;
+		if ((((x ^ y) & (x ^ sub)) & MIN_VALUE) != 0) {
+			throw FixedOverflowCounters.thrown(Operation.SUB);
+		}
+		return sub;
+	}
+
+	// Same result as mul() when it fits
+	public static int mulExact(int x, int y) {
+		long product = ((long)x * y) >> DECIMAL_BITS;
+		if ((int)product != product) {
+			throw FixedOverflowCounters.thrown(Operation.MUL);
+		}
+		return (int)product;
+	}
+
+	// Same result as div() when it fits
+	public static int divExact(int x, int y) {
+		if (y == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+		long quotient = ((long)x << DECIMAL_BITS) / y;
+		if ((int)quotient != quotient) {
+			throw FixedOverflowCounters.thrown(Operation.DIV);
+		}
+		return (int)quotient;
+	}
+
+	public static int negateExact(int value) {
+		if (value == MIN_VALUE) {
+			throw FixedOverflowCounters.thrown(Operation.NEGATE);
+		}
+		return -value;
+	}
+
+	public static int absExact(int value) {
+		if (value == MIN_VALUE) {
+			throw FixedOverflowCounters.thrown(Operation.NEGATE);
+		}
+		return abs(value);
+	}
+
+	/*
+	 * Rounded operators. An ulp is one raw unit, 2^-DECIMAL_BITS.
+	 *
+	 * mul() rounds toward negative infinity and div() toward zero, both
+	 * within 1 ulp. The RoundingMode variants round the exact result once
+	 * with the semantics of BigDecimal: FLOOR, CEILING, DOWN and UP within
+	 * 1 ulp, HALF_UP, HALF_DOWN and HALF_EVEN within 1/2 ulp, UNNECESSARY
+	 * throws ArithmeticException if the result is not exact. All of them
+	 * wrap like mul() and div() where the result does not fit.
+	 */
+
+	// Within 1/2 ulp, halves rounded toward positive infinity like round()
+	public static int mulRound(int x, int y) {
+		return (int)(((long)x * y + HALF) >> DECIMAL_BITS);
+	}
+
+	// Within 1/2 ulp, halves rounded away from zero. Same result as
+	// safeDiv() when it fits.
+	public static int divRound(int x, int y) {
+		long quotient = ((long)x << (DECIMAL_BITS + 1)) / y;
+		return (int)(quotient >= 0 ? (quotient + 1) >> 1 : -((1 - quotient) >> 1));
+	}
+
+	public static int mul(int x, int y, RoundingMode mode) {
+		long product = (long)x * y;
+		long floor = product >> DECIMAL_BITS;
+		long remainder = product & DECIMAL_MASK;
+		return (int)round(floor, remainder == 0 ? NO_REMAINDER : Long.compare(remainder, HALF), mode);
+	}
+
+	public static int div(int x, int y, RoundingMode mode) {
+		if (y == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+		return (int)roundQuotient((long)x << DECIMAL_BITS, y, mode);
+	}
+
+	// x * y + z with a single rounding to nearest, halves toward positive
+	// infinity, within 1/2 ulp. mul() followed by add() is within 1 ulp.
+	public static int fma(int x, int y, int z) {
+		return (int)(((long)x * y + ((long)z << DECIMAL_BITS) + HALF) >> DECIMAL_BITS);
+	}
+
+	public static int fma(int x, int y, int z, RoundingMode mode) {
+		long sum = (long)x * y + ((long)z << DECIMAL_BITS);
+		long floor = sum >> DECIMAL_BITS;
+		long remainder = sum & DECIMAL_MASK;
+		return (int)round(floor, remainder == 0 ? NO_REMAINDER : Long.compare(remainder, HALF), mode);
+	}
+
+	// numerator / denominator rounded to an integer
+	private static long roundQuotient(long numerator, long denominator, RoundingMode mode) {
+		if (denominator < 0) {
+			numerator = -numerator;
+			denominator = -denominator;
+		}
+		long floor = Math.floorDiv(numerator, denominator);
+		long remainder = Math.floorMod(numerator, denominator);
+		return round(floor, remainder == 0 ? NO_REMAINDER : Long.compare(remainder, denominator - remainder), mode);
+	}
+
+	// Rounds floor + fraction, the fraction in (0, 1) compared to 1/2 as
+	// -1, 0 or 1, or NO_REMAINDER if the fraction is zero
+	private static long round(long floor, int half, RoundingMode mode) {
+		if (half == NO_REMAINDER) {
+			return floor;
+		}
+		boolean negative = floor < 0;
+		switch (mode) {
+		case FLOOR:
+			return floor;
+		case CEILING:
+			return floor + 1;
+		case DOWN:
+			return negative ? floor + 1 : floor;
+		case UP:
+			return negative ? floor : floor + 1;
+		case HALF_UP:
+			return half > 0 || (half == 0 && !negative) ? floor + 1 : floor;
+		case HALF_DOWN:
+			return half > 0 || (half == 0 && negative) ? floor + 1 : floor;
+		case HALF_EVEN:
+			return half > 0 || (half == 0 && (floor & 1) != 0) ? floor + 1 : floor;
+		default:
+			throw new ArithmeticException("Rounding necessary");
+		}
+	}
+
+	/*
+	 * Math operations
+	 */
+
+	public static int sqrt(int x) {
+		if (x < 0) {
+			// Sqrt not defined for negative numbers and NaN not available
+			throw new ArithmeticException("Sqrt for negative number");
+		}
+
+		// Root of x * 2^DECIMAL_BITS, rounded up if the next bit would be 1
+		long n = (long)x << DECIMAL_BITS;
+		long root = sqrtLong(n);
+		return (int)(n - root * root > root ? root + 1 : root);
+	}
+
+	private static final int INV_SQRT_SHIFT = 31 - DECIMAL_BITS - DECIMAL_BITS / 2;
+
+	public static int invSqrt(int xl) {
+		if (xl <= 0) {
+			throw new ArithmeticException("InvSqrt for non-positive number");
+		}
+
+		// sqrt(2^62 / x) == 2^31 / sqrt(x)
+		long root = sqrtLong((1L << 62) / xl);
+		return (int)((root + (1L << (INV_SQRT_SHIFT - 1))) >> INV_SQRT_SHIFT);
+	}
+
+	// Floor of the square root of n in [0, 2^62]. The double estimate
+	// is corrected with exact integer arithmetic, so the result is exact.
+	static long sqrtLong(long n) {
+		long root = (long)Math.sqrt((double)n);
+		while (root * root > n) {
+			root--;
+		}
+		while ((root + 1) * (root + 1) <= n) {
+			root++;
+		}
+		return root;
+	}
+
+	/*
+	 * Vector lengths for FixedVec2, FixedVec3 and FixedQuat, from the exact
+	 * sum of squares of up to four raw components
+	 */
+
+	// Unsigned sum with 2 * DECIMAL_BITS decimal bits. Each pair is at most
+	// 2^63, only four MIN_VALUE components overflow, to 0.
+	private static long squares(int x, int y, int z, int w) {
+		return ((long)x * x + (long)y * y) + ((long)z * z + (long)w * w);
+	}
+
+	// Root of the sum of squares rounded to nearest, at most 2^32
+	static long lengthLong(int x, int y, int z, int w) {
+		long squares = squares(x, y, z, w);
+		if (squares == 0) {
+			return x == 0 ? 0 : 1L << BITS;
+		}
+		// Floor of the unsigned root, corrected like sqrtLong()
+		long max = (1L << BITS) - 1;
+		long root = Math.min((long)Math.sqrt((double)(squares >>> 1) * 2), max);
+		while (Long.compareUnsigned(root * root, squares) > 0) {
+			root--;
+		}
+		while (root < max && Long.compareUnsigned((root + 1) * (root + 1), squares) <= 0) {
+			root++;
+		}
+		return squares - root * root > root ? root + 1 : root;
+	}
+
+	static int length(int x, int y, int z, int w) {
+		long length = lengthLong(x, y, z, w);
+		return length > MAX_VALUE ? FixedOverflowCounters.saturated(Operation.MUL, MAX_VALUE) : (int)length;
+	}
+
+	// Floor of the sum of squares, saturated
+	static int lengthSquared(int x, int y, int z, int w) {
+		long squares = squares(x, y, z, w);
+		if ((squares == 0 && x != 0) || Long.compareUnsigned(squares >>> DECIMAL_BITS, MAX_VALUE) > 0) {
+			return FixedOverflowCounters.saturated(Operation.MUL, MAX_VALUE);
+		}
+		return (int)(squares >>> DECIMAL_BITS);
+	}
+
+	// Left shift of the components that brings the largest magnitude to
+	// 2^29 ... 2^30, so the rounding of the length to an integer is
+	// negligible for unit vectors
+	static int unitShift(int x, int y, int z, int w) {
+		int bits = abs(x) | abs(y) | abs(z) | abs(w);
+		return Math.max(0, Integer.numberOfLeadingZeros(bits) - 2);
+	}
+
+	// Component of a unit vector, value / length rounded like safeDiv().
+	// |value| is at most length, so this cannot overflow.
+	static int divideByLength(int value, long length) {
+		long quotient = ((Math.abs((long)value) << (DECIMAL_BITS + 1)) / length + 1) >>> 1;
+		return (int)(value < 0 ? -quotient : quotient);
+	}
+
+	/*
+	 * Exponentials and logarithms, integer-only through FixedExp.
+	 * log2() and ln() are within 1/2 ulp plus 2^-20 ulp. exp2() and exp()
+	 * are within 1/2 ulp plus 2^-29 of the result. pow() is within 1 ulp
+	 * plus 2^-29 max(1, |y|) of the result, the error of log2(x) grows with
+	 * y. exp2(), exp() and pow() saturate to MAX_VALUE and underflow to zero.
+	 */
+
+	public static int exp2(int value) {
+		return FixedExp.exp2((long)value << (FixedExp.EXP_BITS - DECIMAL_BITS));
+	}
+
+	public static int exp(int value) {
+		return FixedExp.exp(value);
+	}
+
+	public static int log2(int value) {
+		if (value <= 0) {
+			throw new ArithmeticException("Log for non-positive number");
+		}
+		return roundExp(FixedExp.log2(value));
+	}
+
+	public static int ln(int value) {
+		if (value <= 0) {
+			throw new ArithmeticException("Log for non-positive number");
+		}
+		return roundExp(FixedExp.ln(value));
+	}
+
+	// x^y, negative x only for integral y
+	public static int pow(int x, int y) {
+		if (x <= 0) {
+			if (x == 0) {
+				if (y < 0) {
+					throw new ArithmeticException("Pow of zero to negative power");
+				}
+				return y == 0 ? ONE : 0;
+			}
+			if ((y & DECIMAL_MASK) != 0) {
+				throw new ArithmeticException("Pow of negative number to non-integral power");
+			}
+			int result = pow(x == MIN_VALUE ? MAX_VALUE : -x, y);
+			return (y & ONE) != 0 ? -result : result;
+		}
+
+		long log = FixedExp.log2(x);
+		// Products of 63 bits or more are far outside the range anyway
+		if (Long.numberOfLeadingZeros(Math.abs(log)) + Long.numberOfLeadingZeros(Math.abs((long)y)) < 66) {
+			return (log < 0) == (y < 0) ? MAX_VALUE : 0;
+		}
+		return FixedExp.exp2((log * y) >> DECIMAL_BITS);
+	}
+
+	private static int roundExp(long value) {
+		int shift = FixedExp.EXP_BITS - DECIMAL_BITS;
+		return (int)((value + (1L << (shift - 1))) >> shift);
+	}
+
+	public static int sin(int angle) {
+		return sinClamped(clamp2pi(angle));
+	}
+
+	// Clamp to 0...2pi, a negative multiple of 2pi gives 2pi
+	private static int clamp2pi(int angle) {
+		int clamp2pi = angle % PI_TIMES_TWO;
+		if (angle < 0) {
+			clamp2pi += PI_TIMES_TWO;
+		}
+		return clamp2pi;
+	}
+
+	// Same as cos(angle) for clamp2pi == clamp2pi(angle), without a second
+	// division
+	private static int cosClamped(int angle, int clamp2pi) {
+		int sinAngle = angle + (angle > 0 ? -PI - PI_OVER_TWO : PI_OVER_TWO);
+		int sinClamp2pi = clamp2pi + (sinAngle - angle);
+		if (sinClamp2pi < 0) {
+			sinClamp2pi += PI_TIMES_TWO;
+		} else if (sinClamp2pi >= PI_TIMES_TWO) {
+			sinClamp2pi -= PI_TIMES_TWO;
+		}
+		if (sinClamp2pi == 0 && sinAngle < 0) {
+			sinClamp2pi = PI_TIMES_TWO;
+		}
+		return sinClamped(sinClamp2pi);
+	}
+
+	private static int sinClamped(int clamp2pi) {
+		// Clamp further to take use of luts
+		boolean flipV = clamp2pi >= PI;
+		int clampPi = clamp2pi;
+
+		while (clampPi >= PI) {
+			clampPi -= PI;
+		}
+
+		// Last clamp
+		boolean flipH = clampPi >= PI_OVER_TWO;
+
+		int clampPiPer2 = clampPi;
+		if (clampPiPer2 >= PI_OVER_TWO) {
+			clampPiPer2 -= PI_OVER_TWO;
+		}
+
+		// Expect to find most accurate value directly from lut
+		if (clampPiPer2 >= PI_OVER_TWO) {
+			clampPiPer2 = PI_OVER_TWO - 1;
+		}
+
+		int result = FixedLut.sharedSin(flipH ? PI_OVER_TWO - 1 - clampPiPer2 :
+			clampPiPer2);
+		return flipV ? -result : result;
+	}
+
+	public static int cos(int value) {
+		int sinAngle = value + (value > 0 ? -PI - PI_OVER_TWO : PI_OVER_TWO);
+		return sin(sinAngle);
+	}
+
+	// Sin in the high and cos in the low 32 bits, with one range reduction
+	public static long sincos(int angle) {
+		int clamp2pi = clamp2pi(angle);
+		return ((long)sinClamped(clamp2pi) << 32) | (cosClamped(angle, clamp2pi) & 0xFFFFFFFFL);
+	}
+
+	// out[0] = sin, out[1] = cos
+	public static void sincos(int angle, int[] out) {
+		int clamp2pi = clamp2pi(angle);
+		out[0] = sinClamped(clamp2pi);
+		out[1] = cosClamped(angle, clamp2pi);
+	}
+
+	public static int sinOf(long sincos) {
+		return (int)(sincos >> 32);
+	}
+
+	public static int cosOf(long sincos) {
+		return (int)sincos;
+	}
+
+	public static int tan(int value) {
+		int clampPi = value % PI;
+		boolean flip = false;
+		if (clampPi < 0) {
+			clampPi = -clampPi;
+			flip = true;
+		}
+
+		// Clamp to pi/2
+		if (clampPi > PI_OVER_TWO) {
+			flip = !flip;
+			clampPi = PI_OVER_TWO - (clampPi - PI_OVER_TWO);
+		}
+
+		// Expect to find most accurate value directly from lut
+		if (clampPi >= PI_OVER_TWO) {
+			clampPi = PI_OVER_TWO - 1;
+		}
+
+		int result = FixedLut.sharedTan(clampPi);
+		return flip ? -result : result;
+	}
+
+	// Within 1 ulp, see FixedAtanLut. FixedAtan2 selects other accuracy tiers.
+	public static int atan2(int yl, int xl) {
+		return FixedAtanLut.atan2(yl, xl);
+	}
+
+	// z / (1 + 0.28 z^2) with an error of up to about 0.005, one division.
+	// Only the ratio of y and x matters, so both are scaled to 16
+	// significant bits and the products fit in a long.
+	public static int atan2Fast(int yl, int xl) {
+		if (xl == 0 && yl == 0) {
+			return 0;
+		}
+		long ax = Math.abs((long)xl);
+		long ay = Math.abs((long)yl);
+		int shift = 48 - Long.numberOfLeadingZeros(Math.max(ax, ay));
+		if (shift > 0) {
+			ax >>= shift;
+			ay >>= shift;
+		}
+		else {
+			ax <<= -shift;
+			ay <<= -shift;
+		}
+
+		long atan;
+		if (ay <= ax) {
+			atan = ((ax * ay) << DECIMAL_BITS) / (ax * ax + ((ATAN2_HELP * ay * ay) >> DECIMAL_BITS));
+		}
+		else {
+			atan = PI_OVER_TWO - ((ax * ay) << DECIMAL_BITS) / (ay * ay + ((ATAN2_HELP * ax * ax) >> DECIMAL_BITS));
+		}
+		if (xl < 0) {
+			atan = PI - atan;
+		}
+		return (int)(yl < 0 ? -atan : atan);
+	}
+
+	/*
+	 * Compatibility
+	 */
+
+	public static int fromInt(int value) {
+		return value * ONE;
+	}
+
+	public static int fromLong(long value) {
+		return (int)value * ONE;
+	}
+
+	public static int safeFromInt(int value) {
+		return safeFromLong(value);
+	}
+
+	public static int safeFromLong(long value) {
+		if (value > MAX_VALUE >> DECIMAL_BITS) {
+			return FixedOverflowCounters.saturated(Operation.CONVERT, MAX_VALUE);
+		}
+		if (value < MIN_VALUE >> DECIMAL_BITS) {
+			return FixedOverflowCounters.saturated(Operation.CONVERT, MIN_VALUE);
+		}
+		return (int)value << DECIMAL_BITS;
+	}
+
+	public static int fromIntExact(int value) {
+		return fromLongExact(value);
+	}
+
+	public static int fromLongExact(long value) {
+		if (value > MAX_VALUE >> DECIMAL_BITS || value < MIN_VALUE >> DECIMAL_BITS) {
+			throw FixedOverflowCounters.thrown(Operation.CONVERT);
+		}
+		return (int)value << DECIMAL_BITS;
+	}
+
+	public static int fromFloat(float value) {
+		return (int)(value * ONE);
+	}
+
+	public static int fromDouble(double value) {
+		return (int)(value * ONE);
+	}
+
+	public static int fromString(String stringValue) {
+		return fromString(stringValue, 0, stringValue.length());
+	}
+
+	// Same result as fromString(value.subSequence(start, end).toString())
+	public static int fromString(CharSequence value, int start, int end) {
+		if (start < 0 || end > value.length() || start > end) {
+			throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + value.length());
+		}
+		return parse(value, null, start, end);
+	}
+
+	// Bytes are read as ISO-8859-1 characters, any ASCII text gives the
+	// same result as fromString(String)
+	public static int fromString(byte[] value, int start, int end) {
+		if (start < 0 || end > value.length || start > end) {
+			throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + value.length);
+		}
+		return parse(null, value, start, end);
+	}
+
+	// Exactly one of chars and bytes is non-null
+	private static char charAt(CharSequence chars, byte[] bytes, int index) {
+		return chars != null ? chars.charAt(index) : (char)(bytes[index] & 0xFF);
+	}
+
+	private static int parse(CharSequence chars, byte[] bytes, int start, int end) {
+		// Split into parts like String.split(), first by '.' and by ',' only
+		// if '.' does not split. Trailing empty parts are dropped.
+		char delimiter = '.';
+		int partsEnd = trimEnd(chars, bytes, start, end, delimiter);
+		int split = indexOf(chars, bytes, start, partsEnd, delimiter);
+		if (split < 0 && (partsEnd > start || partsEnd == end)) {
+			delimiter = ',';
+			partsEnd = trimEnd(chars, bytes, start, end, delimiter);
+			split = indexOf(chars, bytes, start, partsEnd, delimiter);
+		}
+
+		if ((partsEnd == start && partsEnd < end)
+				|| (split >= 0 && indexOf(chars, bytes, split + 1, partsEnd, delimiter) >= 0)) {
+			throw new NumberFormatException("Invalid input string");
+		}
+
+		int left = parseInt(chars, bytes, start, split < 0 ? partsEnd : split);
+
+		if (left > intValue(MAX_VALUE)) {
+			throw new NumberFormatException("Invalid input string: too large number");
+		}
+
+		if (split >= 0) {
+			int rightStart = split + 1;
+			int rightEnd = Math.min(partsEnd, rightStart + _rightLength);
+
+			int right = parseInt(chars, bytes, rightStart, rightEnd);
+			int divider = _tenPowerTable[rightEnd - rightStart]; // 10 ^parts.Length
+
+			// Decimal precision of fromString may decrease when DECIMAL_BITS == 16
+			while (intValue(divider) < 0) {
+				rightEnd--;
+				right = parseInt(chars, bytes, rightStart, rightEnd);
+				divider = _tenPowerTable[rightEnd - rightStart];
+			}
+
+			int fLeft = fromInt(left);
+			// "-0.5" has a zero integer part, the sign is in the text
+			int sign = left < 0 || charAt(chars, bytes, start) == '-' ? -ONE : ONE;
+
+			int lr = fromInt(right);
+			lr = safeDiv(lr, divider);
+			lr = mul(lr, sign);
+
+			return fLeft + lr;
+		}
+
+		return fromInt(left);
+	}
+
+	private static int trimEnd(CharSequence chars, byte[] bytes, int start, int end, char delimiter) {
+		while (end > start && charAt(chars, bytes, end - 1) == delimiter) {
+			end--;
+		}
+		return end;
+	}
+
+	private static int indexOf(CharSequence chars, byte[] bytes, int start, int end, char delimiter) {
+		for (int i = start; i < end; i++) {
+			if (charAt(chars, bytes, i) == delimiter) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	// Same rules as Integer.parseInt()
+	private static int parseInt(CharSequence chars, byte[] bytes, int start, int end) {
+		if (start == end) {
+			throw new NumberFormatException("Invalid input string: empty number");
+		}
+
+		int i = start;
+		boolean negative = false;
+		char first = charAt(chars, bytes, i);
+		if (first < '0') {
+			if (first == '-') {
+				negative = true;
+			} else if (first != '+') {
+				throw new NumberFormatException("Invalid input string: unexpected '" + first + "'");
+			}
+			if (++i == end) {
+				throw new NumberFormatException("Invalid input string: sign without digits");
+			}
+		}
+
+		long limit = negative ? -(long)Integer.MIN_VALUE : Integer.MAX_VALUE;
+		long result = 0;
+		for (; i < end; i++) {
+			char c = charAt(chars, bytes, i);
+			int digit = c >= '0' && c <= '9' ? c - '0' : Character.digit(c, 10);
+			if (digit < 0) {
+				throw new NumberFormatException("Invalid input string: unexpected '" + c + "'");
+			}
+			result = result * 10 + digit;
+			if (result > limit) {
+				throw new NumberFormatException("Invalid input string: too large number");
+			}
+		}
+		return (int)(negative ? -result : result);
+	}
+
+	public static float floatValue(int value) {
+		return (float)value / ONE;
+	}
+
+	public static double doubleValue(int value) {
+		return (double)value / ONE;
+	}
+
+	public static int intValue(int value) {
+		return value >> DECIMAL_BITS;
+	}
+
+	public static BigDecimal bigDecimalValue(int value) {
+		return new BigDecimal(value).divide(new BigDecimal(ONE));
+	}
+
+	public static String toString(int value) {
+		return toString(value, new StringBuilder(MAX_STRING_LENGTH)).toString();
+	}
+
+	// Appends the same text as toString(value)
+	public static StringBuilder toString(int value, StringBuilder out) {
+		format(value, out, null, 0);
+		return out;
+	}
+
+	// Writes the same text as toString(value) in ASCII, returns the offset
+	// after the last byte. At most MAX_STRING_LENGTH bytes are written.
+	public static int toString(int value, byte[] out, int offset) {
+		return format(value, null, out, offset);
+	}
+
+	// Exactly one of builder and bytes is non-null
+	private static int put(StringBuilder builder, byte[] bytes, int offset, char c) {
+		if (builder != null) {
+			builder.append(c);
+		} else {
+			bytes[offset] = (byte)c;
+		}
+		return offset + 1;
+	}
+
+	// Exact decimal expansion without trailing zeros, like
+	// BigDecimal.toString() of bigDecimalValue(value)
+	private static int format(int value, StringBuilder builder, byte[] bytes, int offset) {
+		long magnitude = Math.abs((long)value);
+		long integer = magnitude >> DECIMAL_BITS;
+		long fraction = magnitude & DECIMAL_MASK;
+
+		if (integer == 0 && fraction != 0 && fraction * 1000000 < ONE) {
+			// BigDecimal switches to exponent notation below 10^-6
+			String text = bigDecimalValue(value).toString();
+			for (int i = 0; i < text.length(); i++) {
+				offset = put(builder, bytes, offset, text.charAt(i));
+			}
+			return offset;
+		}
+
+		if (value < 0) {
+			offset = put(builder, bytes, offset, '-');
+		}
+
+		long power = 1;
+		while (power * 10 <= integer) {
+			power *= 10;
+		}
+		for (; power > 0; power /= 10) {
+			offset = put(builder, bytes, offset, (char)('0' + integer / power % 10));
+		}
+
+		if (fraction != 0) {
+			offset = put(builder, bytes, offset, '.');
+			while (fraction != 0) {
+				fraction *= 10;
+				offset = put(builder, bytes, offset, (char)('0' + (fraction >> DECIMAL_BITS)));
+				fraction &= DECIMAL_MASK;
+			}
+		}
+		return offset;
+	}
+}
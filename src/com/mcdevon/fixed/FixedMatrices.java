@@ -0,0 +1,348 @@
+package com.mcdevon.fixed;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Linear algebra on row-major int[] matrices of raw data values, split
+ * over a ForkJoinPool for large sizes.
+ *
+ * Every element is a sum of products, each rounded like FixedMath.mul(),
+ * accumulated exactly in a FixedSum and narrowed once, saturating like
+ * the safe* operators. The sums are associative, so results do not depend
+ * on blocking, on the split of the work or on the thread count, and are
+ * bit for bit the same on every platform.
+ */
+public final class FixedMatrices {
+
+	// Tile edge of multiply()
+	public static final int BLOCK = 64;
+
+	// Below about this many multiply-adds a single thread is faster
+	public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	private static final int DECIMAL_BITS = FixedMath.DECIMAL_BITS;
+
+	private FixedMatrices() {
+	}
+
+	private static void checkLength(int[] matrix, long length) {
+		if (matrix.length < length) {
+			throw new IllegalArgumentException("Array too short: " + matrix.length + " < " + length);
+		}
+	}
+
+	private static int narrow(long value) {
+		if (value > FixedMath.MAX_VALUE) {
+			return FixedOverflowCounters.saturated(FixedOverflowCounters.Operation.ADD, FixedMath.MAX_VALUE);
+		}
+		if (value < FixedMath.MIN_VALUE) {
+			return FixedOverflowCounters.saturated(FixedOverflowCounters.Operation.ADD, FixedMath.MIN_VALUE);
+		}
+		return (int)value;
+	}
+
+	// Like FixedMath.div() of the narrowed numerator, saturating
+	private static int divide(long numerator, int denominator) {
+		return narrow(((long)narrow(numerator) << DECIMAL_BITS) / denominator);
+	}
+
+	/*
+	 * Products
+	 */
+
+	// out (m x n) = a (m x k) * b (k x n), out must not be a or b
+	public static void multiply(int[] a, int[] b, int[] out, int m, int k, int n) {
+		multiply(a, b, out, m, k, n, ForkJoinPool.commonPool());
+	}
+
+	public static void multiply(final int[] a, final int[] b, final int[] out, final int m, final int k, final int n,
+			ForkJoinPool pool) {
+		checkLength(a, (long)m * k);
+		checkLength(b, (long)k * n);
+		checkLength(out, (long)m * n);
+		if (out == a || out == b) {
+			throw new IllegalArgumentException("Output must not be an operand");
+		}
+		final int columnTiles = (n + BLOCK - 1) / BLOCK;
+		int tiles = (m + BLOCK - 1) / BLOCK * columnTiles;
+		long work = (long)m * k * n;
+		forRange(pool, 0, tiles, work < PARALLEL_THRESHOLD ? tiles : 1, (from, to) -> {
+			int[] packed = new int[BLOCK * k];
+			for (int tile = from; tile < to; tile++) {
+				multiplyTile(a, b, out, m, k, n, tile / columnTiles * BLOCK, tile % columnTiles * BLOCK, packed);
+			}
+		});
+	}
+
+	// Copies the columns of the tile from b into rows of packed, so every
+	// element is one contiguous dot product kept in a register
+	private static void multiplyTile(int[] a, int[] b, int[] out, int m, int k, int n, int row0, int column0,
+			int[] packed) {
+		int rows = Math.min(BLOCK, m - row0);
+		int columns = Math.min(BLOCK, n - column0);
+		for (int p = 0; p < k; p++) {
+			int bRow = p * n + column0;
+			for (int j = 0; j < columns; j++) {
+				packed[j * k + p] = b[bRow + j];
+			}
+		}
+		for (int i = 0; i < rows; i++) {
+			int aRow = (row0 + i) * k;
+			int outRow = (row0 + i) * n + column0;
+			for (int j = 0; j < columns; j++) {
+				out[outRow + j] = narrow(dot(a, aRow, packed, j * k, k));
+			}
+		}
+	}
+
+	// out (m) = a (m x n) * x (n), out must not be x
+	public static void multiplyVector(int[] a, int[] x, int[] out, int m, int n) {
+		multiplyVector(a, x, out, m, n, ForkJoinPool.commonPool());
+	}
+
+	public static void multiplyVector(final int[] a, final int[] x, final int[] out, int m, final int n,
+			ForkJoinPool pool) {
+		checkLength(a, (long)m * n);
+		checkLength(x, n);
+		checkLength(out, m);
+		if (out == x) {
+			throw new IllegalArgumentException("Output must not be an operand");
+		}
+		forRange(pool, 0, m, grain(n), (from, to) -> {
+			for (int i = from; i < to; i++) {
+				out[i] = narrow(dot(a, i * n, 1, x, 0, 1, n));
+			}
+		});
+	}
+
+	// Sum of a[i] * b[i] for length steps, products rounded like mul(),
+	// saturated to +-FixedSum.INFINITY so an int can still be added
+	private static long dot(int[] a, int aOffset, int[] b, int bOffset, int length) {
+		return FixedSum.dot(a, aOffset, b, bOffset, length).longValue();
+	}
+
+	private static long dot(int[] a, int aOffset, int aStride, int[] b, int bOffset, int bStride, int length) {
+		return FixedSum.dot(a, aOffset, aStride, b, bOffset, bStride, length).longValue();
+	}
+
+	/*
+	 * Factorizations
+	 */
+
+	// LU factorization with partial pivoting of the n x n matrix a, which
+	// is left unchanged. Throws ArithmeticException if a is singular at
+	// this precision.
+	public static LU lu(int[] a, int n) {
+		return lu(a, n, ForkJoinPool.commonPool());
+	}
+
+	public static LU lu(int[] a, int n, ForkJoinPool pool) {
+		checkLength(a, (long)n * n);
+		return new LU(Arrays.copyOf(a, n * n), n, pool);
+	}
+
+	// Cholesky factorization of the symmetric positive definite n x n
+	// matrix a, of which only the lower triangle is read. Throws
+	// ArithmeticException if a is not positive definite at this precision.
+	public static Cholesky cholesky(int[] a, int n) {
+		return cholesky(a, n, ForkJoinPool.commonPool());
+	}
+
+	public static Cholesky cholesky(int[] a, int n, ForkJoinPool pool) {
+		checkLength(a, (long)n * n);
+		return new Cholesky(Arrays.copyOf(a, n * n), n, pool);
+	}
+
+	// P a = L U, L with unit diagonal, both kept in one matrix. Computed
+	// in Crout order so each element is one long sum narrowed once.
+	public static final class LU {
+
+		private final int _n;
+		private final int[] _lu;
+		private final int[] _permutation;
+
+		LU(final int[] lu, final int n, ForkJoinPool pool) {
+			_n = n;
+			_lu = lu;
+			_permutation = new int[n];
+			for (int i = 0; i < n; i++) {
+				_permutation[i] = i;
+			}
+			final long[] column = new long[n];
+			for (int step = 0; step < n; step++) {
+				final int p = step;
+
+				// Candidates for the pivot, column p of U if row r is chosen
+				forRange(pool, p, n, grain(p), (from, to) -> {
+					for (int r = from; r < to; r++) {
+						column[r] = lu[r * n + p] - dot(lu, r * n, 1, lu, p, n, p);
+					}
+				});
+				int pivot = p;
+				for (int r = p + 1; r < n; r++) {
+					if (Math.abs(column[r]) > Math.abs(column[pivot])) {
+						pivot = r;
+					}
+				}
+				if (pivot != p) {
+					swapRows(pivot, p);
+					long value = column[pivot];
+					column[pivot] = column[p];
+					column[p] = value;
+				}
+				final int diagonal = narrow(column[p]);
+				if (diagonal == 0) {
+					throw new ArithmeticException("Singular matrix");
+				}
+				lu[p * n + p] = diagonal;
+				for (int r = p + 1; r < n; r++) {
+					lu[r * n + p] = divide(column[r], diagonal);
+				}
+
+				// Row p of U
+				forRange(pool, p + 1, n, grain(p), (from, to) -> {
+					for (int c = from; c < to; c++) {
+						lu[p * n + c] = narrow(lu[p * n + c] - dot(lu, p * n, 1, lu, c, n, p));
+					}
+				});
+			}
+		}
+
+		private void swapRows(int i, int j) {
+			int[] row = Arrays.copyOfRange(_lu, i * _n, (i + 1) * _n);
+			System.arraycopy(_lu, j * _n, _lu, i * _n, _n);
+			System.arraycopy(row, 0, _lu, j * _n, _n);
+			int index = _permutation[i];
+			_permutation[i] = _permutation[j];
+			_permutation[j] = index;
+		}
+
+		public int size() {
+			return _n;
+		}
+
+		// Solves a x = b, x may be b
+		public void solve(int[] b, int[] x) {
+			int n = _n;
+			checkLength(b, n);
+			checkLength(x, n);
+			int[] y = new int[n];
+			for (int i = 0; i < n; i++) {
+				y[i] = narrow(b[_permutation[i]] - dot(_lu, i * n, 1, y, 0, 1, i));
+			}
+			for (int i = n - 1; i >= 0; i--) {
+				y[i] = divide(y[i] - dot(_lu, i * n + i + 1, 1, y, i + 1, 1, n - i - 1), _lu[i * n + i]);
+			}
+			System.arraycopy(y, 0, x, 0, n);
+		}
+	}
+
+	// a = L L^T with L lower triangular, the upper triangle is zero
+	public static final class Cholesky {
+
+		private final int _n;
+		private final int[] _l;
+
+		Cholesky(final int[] l, final int n, ForkJoinPool pool) {
+			_n = n;
+			_l = l;
+			for (int step = 0; step < n; step++) {
+				final int j = step;
+				long square = l[j * n + j] - dot(l, j * n, 1, l, j * n, 1, j);
+				if (square <= 0) {
+					throw new ArithmeticException("Matrix not positive definite");
+				}
+				final int diagonal = FixedMath.sqrt(narrow(square));
+				if (diagonal == 0) {
+					throw new ArithmeticException("Matrix not positive definite");
+				}
+				l[j * n + j] = diagonal;
+				Arrays.fill(l, j * n + j + 1, (j + 1) * n, 0);
+
+				// Column j below the diagonal, rows are independent
+				forRange(pool, j + 1, n, grain(j), (from, to) -> {
+					for (int i = from; i < to; i++) {
+						l[i * n + j] = divide(l[i * n + j] - dot(l, i * n, 1, l, j * n, 1, j), diagonal);
+					}
+				});
+			}
+		}
+
+		public int size() {
+			return _n;
+		}
+
+		// Copy of L, n x n row-major
+		public int[] factor() {
+			return _l.clone();
+		}
+
+		// Solves a x = b, x may be b
+		public void solve(int[] b, int[] x) {
+			int n = _n;
+			checkLength(b, n);
+			checkLength(x, n);
+			int[] y = Arrays.copyOf(b, n);
+			for (int i = 0; i < n; i++) {
+				y[i] = divide(y[i] - dot(_l, i * n, 1, y, 0, 1, i), _l[i * n + i]);
+			}
+			for (int i = n - 1; i >= 0; i--) {
+				y[i] = divide(y[i] - dot(_l, (i + 1) * n + i, n, y, i + 1, 1, n - i - 1), _l[i * n + i]);
+			}
+			System.arraycopy(y, 0, x, 0, n);
+		}
+	}
+
+	/*
+	 * Parallel ranges
+	 */
+
+	private interface RangeBody {
+		void run(int from, int to);
+	}
+
+	// Items per task so each task does about PARALLEL_THRESHOLD work
+	private static int grain(int workPerItem) {
+		return Math.max(1, PARALLEL_THRESHOLD / Math.max(1, workPerItem));
+	}
+
+	private static void forRange(ForkJoinPool pool, int from, int to, int grain, RangeBody body) {
+		if (to - from <= grain || pool.getParallelism() == 1) {
+			body.run(from, to);
+		} else {
+			pool.invoke(new RangeTask(body, from, to, grain));
+		}
+	}
+
+	private static final class RangeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final RangeBody _body;
+		private final int _from;
+		private final int _to;
+		private final int _grain;
+
+		RangeTask(RangeBody body, int from, int to, int grain) {
+			_body = body;
+			_from = from;
+			_to = to;
+			_grain = grain;
+		}
+
+		@Override
+		protected void compute() {
+			if (_to - _from <= _grain) {
+				_body.run(_from, _to);
+				return;
+			}
+			int middle = (_from + _to) >>> 1;
+			RangeTask left = new RangeTask(_body, _from, middle, _grain);
+			left.fork();
+			new RangeTask(_body, middle, _to, _grain).compute();
+			left.join();
+		}
+	}
+}
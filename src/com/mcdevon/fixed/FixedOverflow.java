@@ -0,0 +1,174 @@
+package com.mcdevon.fixed;
+
+import com.mcdevon.fixed.FixedOverflowCounters.Operation;
+
+/*
+ * Overflow policy for arithmetic on raw data values, so it can be chosen
+ * per call site or kept in a field per context instead of picking between
+ * the plain, safe* and *Exact methods of FixedMath by hand.
+ *
+ * WRAP is the plain operators, unchecked and not counted.
+ * SATURATE is the safe* operators, clamping to MIN_VALUE / MAX_VALUE.
+ * THROW is the *Exact operators, throwing ArithmeticException.
+ *
+ * All policies round the same way, mul() to floor and div() toward zero
+ * like FixedMath.mul() / div(), and differ only when the result does not
+ * fit. SATURATE.div() therefore does not call safeDiv(), which rounds to
+ * nearest.
+ */
+public enum FixedOverflow {
+	WRAP {
+		@Override
+		public int add(int x, int y) {
+			return FixedMath.add(x, y);
+		}
+
+		@Override
+		public int sub(int x, int y) {
+			return FixedMath.sub(x, y);
+		}
+
+		@Override
+		public int mul(int x, int y) {
+			return FixedMath.mul(x, y);
+		}
+
+		@Override
+		public int div(int x, int y) {
+			return FixedMath.div(x, y);
+		}
+
+		@Override
+		public int negate(int value) {
+			return FixedMath.negate(value);
+		}
+
+		@Override
+		public int abs(int value) {
+			return FixedMath.abs(value);
+		}
+
+		@Override
+		public int fromLong(long value) {
+			return FixedMath.fromLong(value);
+		}
+	},
+	SATURATE {
+		@Override
+		public int add(int x, int y) {
+			return FixedMath.safeAdd(x, y);
+		}
+
+		@Override
+		public int sub(int x, int y) {
+			return FixedMath.safeSub(x, y);
+		}
+
+		@Override
+		public int mul(int x, int y) {
+			return FixedMath.safeMul(x, y);
+		}
+
+		@Override
+		public int div(int x, int y) {
+			if (y == 0) {
+				throw new ArithmeticException("Divide by zero");
+			}
+			long quotient = ((long)x << FixedMath.DECIMAL_BITS) / y;
+			if ((int)quotient != quotient) {
+				return FixedOverflowCounters.saturated(Operation.DIV,
+						quotient > 0 ? FixedMath.MAX_VALUE : FixedMath.MIN_VALUE);
+			}
+			return (int)quotient;
+		}
+
+		@Override
+		public int negate(int value) {
+			return FixedMath.safeNegate(value);
+		}
+
+		@Override
+		public int abs(int value) {
+			return FixedMath.safeAbs(value);
+		}
+
+		@Override
+		public int fromLong(long value) {
+			return FixedMath.safeFromLong(value);
+		}
+	},
+	THROW {
+		@Override
+		public int add(int x, int y) {
+			return FixedMath.addExact(x, y);
+		}
+
+		@Override
+		public int sub(int x, int y) {
+			return FixedMath.subExact(x, y);
+		}
+
+		@Override
+		public int mul(int x, int y) {
+			return FixedMath.mulExact(x, y);
+		}
+
+		@Override
+		public int div(int x, int y) {
+			return FixedMath.divExact(x, y);
+		}
+
+		@Override
+		public int negate(int value) {
+			return FixedMath.negateExact(value);
+		}
+
+		@Override
+		public int abs(int value) {
+			return FixedMath.absExact(value);
+		}
+
+		@Override
+		public int fromLong(long value) {
+			return FixedMath.fromLongExact(value);
+		}
+	};
+
+	public abstract int add(int x, int y);
+
+	public abstract int sub(int x, int y);
+
+	public abstract int mul(int x, int y);
+
+	public abstract int div(int x, int y);
+
+	public abstract int negate(int value);
+
+	public abstract int abs(int value);
+
+	public abstract int fromLong(long value);
+
+	public int fromInt(int value) {
+		return fromLong(value);
+	}
+
+	/*
+	 * Fixed
+	 */
+
+	public Fixed add(Fixed x, Fixed y) {
+		return Fixed.fromData(add(x.dataValue(), y.dataValue()));
+	}
+
+	public Fixed sub(Fixed x, Fixed y) {
+		return Fixed.fromData(sub(x.dataValue(), y.dataValue()));
+	}
+
+	public Fixed mul(Fixed x, Fixed y) {
+		return Fixed.fromData(mul(x.dataValue(), y.dataValue()));
+	}
+
+	public Fixed div(Fixed x, Fixed y) {
+		return Fixed.fromData(div(x.dataValue(), y.dataValue()));
+	}
+}
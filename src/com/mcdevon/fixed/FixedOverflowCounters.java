@@ -0,0 +1,101 @@
+package com.mcdevon.fixed;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Process-wide counts of overflows, by operation and by what happened to
+ * the result. Saturating (safe*) methods record SATURATED, *Exact methods
+ * record THROWN before throwing. Plain (wrapping) methods are not checked
+ * and not counted.
+ *
+ * Counters are only touched when an overflow happens. Each one is a
+ * LongAdder, striped per thread, so threads overflowing at the same time
+ * do not contend on one cache line.
+ */
+public final class FixedOverflowCounters {
+
+	public enum Operation {
+		ADD, SUB, MUL, DIV, NEGATE, CONVERT
+	}
+
+	public enum Event {
+		SATURATED, THROWN
+	}
+
+	private static final Operation[] OPERATIONS = Operation.values();
+	private static final Event[] EVENTS = Event.values();
+
+	private static final LongAdder[] COUNTERS = new LongAdder[OPERATIONS.length * EVENTS.length];
+
+	static {
+		for (int i = 0; i < COUNTERS.length; i++) {
+			COUNTERS[i] = new LongAdder();
+		}
+	}
+
+	private FixedOverflowCounters() {
+	}
+
+	static void record(Operation operation, Event event) {
+		COUNTERS[operation.ordinal() * EVENTS.length + event.ordinal()].increment();
+	}
+
+	// For bulk operations, one call for all lanes that saturated
+	static void saturatedLanes(Operation operation, long count) {
+		if (count != 0) {
+			COUNTERS[operation.ordinal() * EVENTS.length + Event.SATURATED.ordinal()].add(count);
+		}
+	}
+
+	static int saturated(Operation operation, int result) {
+		record(operation, Event.SATURATED);
+		return result;
+	}
+
+	static ArithmeticException thrown(Operation operation) {
+		record(operation, Event.THROWN);
+		return new ArithmeticException("Fixed-point overflow in " + operation);
+	}
+
+	public static long count(Operation operation, Event event) {
+		return COUNTERS[operation.ordinal() * EVENTS.length + event.ordinal()].sum();
+	}
+
+	// Sum over all operations
+	public static long count(Event event) {
+		long sum = 0;
+		for (Operation operation : OPERATIONS) {
+			sum += count(operation, event);
+		}
+		return sum;
+	}
+
+	// Counts indexed [operation.ordinal() * Event.values().length + event.ordinal()],
+	// reset to zero if reset is set. Not atomic: overflows counted while the
+	// snapshot is taken may be missed by a resetting snapshot.
+	public static long[] snapshot(boolean reset) {
+		long[] counts = new long[COUNTERS.length];
+		for (int i = 0; i < COUNTERS.length; i++) {
+			counts[i] = reset ? COUNTERS[i].sumThenReset() : COUNTERS[i].sum();
+		}
+		return counts;
+	}
+
+	public static void reset() {
+		snapshot(true);
+	}
+
+	// One "operation event count" line per non-zero counter
+	public static String report() {
+		StringBuilder builder = new StringBuilder();
+		long[] counts = snapshot(false);
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] != 0) {
+				builder.append(OPERATIONS[i / EVENTS.length]).append(' ')
+						.append(EVENTS[i % EVENTS.length]).append(' ')
+						.append(counts[i]).append('\n');
+			}
+		}
+		return builder.toString();
+	}
+}
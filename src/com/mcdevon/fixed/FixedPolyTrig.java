@@ -0,0 +1,73 @@
+package com.mcdevon.fixed;
+
+/*
+ * Integer polynomial kernels of FixedTrigEngine.POLYNOMIAL. Values have
+ * FixedTrigEngine.TRIG_BITS decimal bits. Angles are first folded to
+ * [0, pi/4] where truncated Taylor series stay below 2^-21 error.
+ */
+final class FixedPolyTrig {
+
+	private static final int TRIG_BITS = FixedTrigEngine.TRIG_BITS;
+	private static final long TRIG_ONE = FixedTrigEngine.TRIG_ONE;
+
+	// x^3 ... x^9
+	private static final long SIN_3 = -178956971L;
+	private static final long SIN_5 = 8947849L;
+	private static final long SIN_7 = -213044L;
+	private static final long SIN_9 = 2959L;
+
+	// x^2 ... x^10
+	private static final long COS_2 = -536870912L;
+	private static final long COS_4 = 44739243L;
+	private static final long COS_6 = -1491308L;
+	private static final long COS_8 = 26631L;
+	private static final long COS_10 = -296L;
+
+	// x^3 ... x^15
+	private static final long ATAN_3 = -357913941L;
+	private static final long ATAN_5 = 214748365L;
+	private static final long ATAN_7 = -153391689L;
+	private static final long ATAN_9 = 119304647L;
+	private static final long ATAN_11 = -97612893L;
+	private static final long ATAN_13 = 82595525L;
+	private static final long ATAN_15 = -71582788L;
+
+	// tan(pi / 8)
+	private static final long ATAN_SPLIT = 444758426L;
+
+	private FixedPolyTrig() {
+	}
+
+	private static long mul(long x, long y) {
+		return (x * y) >> TRIG_BITS;
+	}
+
+	// angle in [0, pi/2)
+	static long sinCos(long angle) {
+		boolean swap = angle > FixedTrigEngine.PI_OVER_FOUR;
+		if (swap) {
+			angle = FixedTrigEngine.PI_OVER_TWO - angle;
+		}
+
+		long x2 = mul(angle, angle);
+		long sin = angle + mul(angle, mul(x2, SIN_3 + mul(x2, SIN_5 + mul(x2, SIN_7 + mul(x2, SIN_9)))));
+		long cos = TRIG_ONE + mul(x2, COS_2 + mul(x2, COS_4 + mul(x2, COS_6 + mul(x2, COS_8 + mul(x2, COS_10)))));
+
+		return swap ? FixedTrigEngine.pack(cos, sin) : FixedTrigEngine.pack(sin, cos);
+	}
+
+	// t in [0, 1]
+	static long atan(long t) {
+		long offset = 0;
+		if (t > ATAN_SPLIT) {
+			// atan(t) = pi/4 + atan((t - 1) / (t + 1))
+			t = ((t - TRIG_ONE) << TRIG_BITS) / (t + TRIG_ONE);
+			offset = FixedTrigEngine.PI_OVER_FOUR;
+		}
+
+		long t2 = mul(t, t);
+		long poly = ATAN_3 + mul(t2, ATAN_5 + mul(t2, ATAN_7 + mul(t2, ATAN_9
+				+ mul(t2, ATAN_11 + mul(t2, ATAN_13 + mul(t2, ATAN_15))))));
+		return offset + t + mul(t, mul(t2, poly));
+	}
+}
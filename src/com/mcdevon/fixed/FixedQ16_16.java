@@ -0,0 +1,294 @@
+package com.mcdevon.fixed;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/*
+ * Q16.16 fixed-point math on raw int values.
+ *
+ * Generated by FixedFormatGenerator from templates/FixedQ.java.template,
+ * do not edit by hand.
+ */
+public final class FixedQ16_16 {
+
+	public static final int BITS = 32;
+	public static final int DECIMAL_BITS = 16;
+	public static final int INTEGER_BITS = BITS - DECIMAL_BITS;
+
+	public static final int MAX_VALUE = Integer.MAX_VALUE;
+	public static final int MIN_VALUE = Integer.MIN_VALUE;
+
+	public static final int ONE = 1 << DECIMAL_BITS;
+	public static final int HALF = 1 << (DECIMAL_BITS - 1);
+	public static final int PRECISION = 1;
+	private static final int DECIMAL_MASK = -1 >>> (BITS - DECIMAL_BITS);
+
+	public static final int PI = 205887;
+	public static final int PI_TIMES_TWO = 411775;
+	public static final int PI_OVER_TWO = 102944;
+
+	private FixedQ16_16() {
+	}
+
+	public static int sign(int value) {
+		return value < 0 ? -1 :
+			value > 0 ? 1 : 0;
+	}
+
+	public static int abs(int value) {
+		int mask = value >> (BITS - 1);
+		return (value + mask) ^ mask;
+	}
+
+	public static int safeAbs(int value) {
+		if (value == MIN_VALUE) {
+			return MAX_VALUE;
+		}
+		return abs(value);
+	}
+
+	public static int floor(int value) {
+		return value & (~DECIMAL_MASK);
+	}
+
+	public static int ceiling(int value) {
+		boolean hasFrac = (value & DECIMAL_MASK) != 0;
+		return hasFrac ? floor(value) + ONE : value;
+	}
+
+	public static int round(int value) {
+		// Halves are always rounded upwards
+		return floor(value + HALF);
+	}
+
+	public static int roundRuleEven(int value) {
+		int fract = value & DECIMAL_MASK;
+		int integral = floor(value);
+		if (fract < HALF) {
+			return integral;
+		}
+		if (fract > HALF) {
+			return integral + ONE;
+		}
+
+		// Halves are rounded to nearest even number
+		return (integral & ONE) == 0
+				? integral
+				: integral + ONE;
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public static int add(int x, int y) {
+		return x + y;
+	}
+
+	public static int sub(int x, int y) {
+		return x - y;
+	}
+
+	public static int mul(int x, int y) {
+		return (int)(((long)x * y) >> DECIMAL_BITS);
+	}
+
+	public static int div(int x, int y) {
+		return (int)(((long)x << DECIMAL_BITS) / y);
+	}
+
+	public static int mod(int x, int y) {
+		return x % y;
+	}
+
+	public static int negate(int value) {
+		return -value;
+	}
+
+	/*
+	 * Safe operators
+	 */
+
+	public static int safeAdd(int x, int y) {
+		int sum = x + y;
+		if (((~(x ^ y) & (x ^ sum)) & MIN_VALUE) != 0) {
+			sum = x > 0 ? MAX_VALUE : MIN_VALUE;
+		}
+		return sum;
+	}
+
+	public static int safeSub(int x, int y) {
+		int sub = x - y;
+		if ((((x ^ y) & (x ^ sub)) & MIN_VALUE) != 0) {
+			sub = x < 0 ? MIN_VALUE : MAX_VALUE;
+		}
+		return sub;
+	}
+
+	public static int safeMul(int x, int y) {
+		return saturate(((long)x * y) >> DECIMAL_BITS);
+	}
+
+	public static int safeDiv(int x, int y) {
+		if (y == 0) {
+			throw new ArithmeticException("Divide by zero");
+		}
+
+		// Divide magnitudes with one extra bit, then round half up, so half
+		// away from zero like FixedMath.safeDiv()
+		long dividend = Math.abs((long)x) << (DECIMAL_BITS + 1);
+		long quotient = (dividend / Math.abs((long)y) + 1) >>> 1;
+		return saturate((x ^ y) < 0 ? -quotient : quotient);
+	}
+
+	public static int safeMod(int x, int y) {
+		return x == MIN_VALUE & y == -1 ? 0 :
+			x % y;
+	}
+
+	private static int saturate(long value) {
+		if (value > MAX_VALUE) {
+			return MAX_VALUE;
+		}
+		if (value < MIN_VALUE) {
+			return MIN_VALUE;
+		}
+		return (int)value;
+	}
+
+	/*
+	 * Math operations
+	 */
+
+	public static int sqrt(int x) {
+		if (x < 0) {
+			// Sqrt not defined for negative numbers and NaN not available
+			throw new ArithmeticException("Sqrt for negative number");
+		}
+
+		// Integer square root of x * 2^DECIMAL_BITS, bit by bit
+		long num = (long)x << DECIMAL_BITS;
+		long result = 0;
+		long bit = 1L << 62;
+
+		while (bit > num) {
+			bit >>>= 2;
+		}
+		while (bit != 0) {
+			if (num >= result + bit) {
+				num -= result + bit;
+				result = (result >>> 1) + bit;
+			}
+			else {
+				result >>>= 1;
+			}
+			bit >>>= 2;
+		}
+
+		// If next bit would have been 1, round the result upwards.
+		if (num > result) {
+			++result;
+		}
+		return (int)result;
+	}
+
+	/*
+	 * Compatibility
+	 */
+
+	public static int fromInt(int value) {
+		return value << DECIMAL_BITS;
+	}
+
+	public static int fromLong(long value) {
+		return (int)(value << DECIMAL_BITS);
+	}
+
+	public static int fromFloat(float value) {
+		return (int)(value * ONE);
+	}
+
+	public static int fromDouble(double value) {
+		return (int)(value * ONE);
+	}
+
+	public static int fromString(String stringValue) {
+		try {
+			BigDecimal value = new BigDecimal(stringValue.replace(',', '.'));
+			return value.multiply(BigDecimal.valueOf(ONE))
+					.setScale(0, RoundingMode.HALF_UP)
+					.intValueExact();
+		} catch (ArithmeticException e) {
+			throw new NumberFormatException("Invalid input string: too large number");
+		}
+	}
+
+	public static float floatValue(int value) {
+		return (float)value / ONE;
+	}
+
+	public static double doubleValue(int value) {
+		return (double)value / ONE;
+	}
+
+	public static int intValue(int value) {
+		return value >> DECIMAL_BITS;
+	}
+
+	public static BigDecimal bigDecimalValue(int value) {
+		return new BigDecimal(value).divide(new BigDecimal(ONE));
+	}
+
+	public static String toString(int value) {
+		return bigDecimalValue(value).toString();
+	}
+
+	/*
+	 * Format conversions. Narrowing rounds towards negative infinity,
+	 * widening wraps on overflow unless the safe variant is used.
+	 */
+
+	public static int toFixed(int value) {
+		return value >> 6;
+	}
+
+	public static int safeToFixed(int value) {
+		return value >> 6;
+	}
+
+	public static int fromFixed(int value) {
+		return value << 6;
+	}
+
+	public static int safeFromFixed(int value) {
+		if (value > (MAX_VALUE >> 6)) {
+			return MAX_VALUE;
+		}
+		if (value < (MIN_VALUE >> 6)) {
+			return MIN_VALUE;
+		}
+		return value << 6;
+	}
+
+	public static int toQ22_10(int value) {
+		return value >> 6;
+	}
+
+	public static int safeToQ22_10(int value) {
+		return value >> 6;
+	}
+
+	public static int toQ8_24(int value) {
+		return value << 8;
+	}
+
+	public static int safeToQ8_24(int value) {
+		if (value > (MAX_VALUE >> 8)) {
+			return MAX_VALUE;
+		}
+		if (value < (MIN_VALUE >> 8)) {
+			return MIN_VALUE;
+		}
+		return value << 8;
+	}
+}
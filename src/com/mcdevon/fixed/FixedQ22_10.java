@@ -0,0 +1,224 @@
+package com.mcdevon.fixed;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/*
+ * Q22.10 fixed-point math on raw int values.
+ *
+ * Generated by FixedFormatGenerator from templates/FixedQ.java.template,
+ * do not edit by hand. Every method that FixedMath also has
+ * delegates to it, so results are the same bit for bit.
+ */
+public final class FixedQ22_10 {
+
+	public static final int BITS = 32;
+	public static final int DECIMAL_BITS = 10;
+	public static final int INTEGER_BITS = BITS - DECIMAL_BITS;
+
+	public static final int MAX_VALUE = Integer.MAX_VALUE;
+	public static final int MIN_VALUE = Integer.MIN_VALUE;
+
+	public static final int ONE = 1 << DECIMAL_BITS;
+	public static final int HALF = 1 << (DECIMAL_BITS - 1);
+	public static final int PRECISION = 1;
+	private static final int DECIMAL_MASK = -1 >>> (BITS - DECIMAL_BITS);
+
+	public static final int PI = 3217;
+	public static final int PI_TIMES_TWO = 6434;
+	public static final int PI_OVER_TWO = 1608;
+
+	private FixedQ22_10() {
+	}
+
+	public static int sign(int value) {
+		return FixedMath.sign(value);
+	}
+
+	public static int abs(int value) {
+		return FixedMath.abs(value);
+	}
+
+	public static int safeAbs(int value) {
+		return FixedMath.safeAbs(value);
+	}
+
+	public static int floor(int value) {
+		return FixedMath.floor(value);
+	}
+
+	public static int ceiling(int value) {
+		return FixedMath.ceiling(value);
+	}
+
+	public static int round(int value) {
+		return FixedMath.round(value);
+	}
+
+	public static int roundRuleEven(int value) {
+		return FixedMath.roundRuleEven(value);
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public static int add(int x, int y) {
+		return FixedMath.add(x, y);
+	}
+
+	public static int sub(int x, int y) {
+		return FixedMath.sub(x, y);
+	}
+
+	public static int mul(int x, int y) {
+		return FixedMath.mul(x, y);
+	}
+
+	public static int div(int x, int y) {
+		return FixedMath.div(x, y);
+	}
+
+	public static int mod(int x, int y) {
+		return FixedMath.mod(x, y);
+	}
+
+	public static int negate(int value) {
+		return FixedMath.negate(value);
+	}
+
+	/*
+	 * Safe operators
+	 */
+
+	public static int safeAdd(int x, int y) {
+		return FixedMath.safeAdd(x, y);
+	}
+
+	public static int safeSub(int x, int y) {
+		return FixedMath.safeSub(x, y);
+	}
+
+	public static int safeMul(int x, int y) {
+		return FixedMath.safeMul(x, y);
+	}
+
+	public static int safeDiv(int x, int y) {
+		return FixedMath.safeDiv(x, y);
+	}
+
+	public static int safeMod(int x, int y) {
+		return FixedMath.safeMod(x, y);
+	}
+
+	private static int saturate(long value) {
+		if (value > MAX_VALUE) {
+			return MAX_VALUE;
+		}
+		if (value < MIN_VALUE) {
+			return MIN_VALUE;
+		}
+		return (int)value;
+	}
+
+	/*
+	 * Math operations
+	 */
+
+	public static int sqrt(int x) {
+		return FixedMath.sqrt(x);
+	}
+
+	/*
+	 * Compatibility
+	 */
+
+	public static int fromInt(int value) {
+		return FixedMath.fromInt(value);
+	}
+
+	public static int fromLong(long value) {
+		return FixedMath.fromLong(value);
+	}
+
+	public static int fromFloat(float value) {
+		return FixedMath.fromFloat(value);
+	}
+
+	public static int fromDouble(double value) {
+		return FixedMath.fromDouble(value);
+	}
+
+	public static int fromString(String stringValue) {
+		return FixedMath.fromString(stringValue);
+	}
+
+	public static float floatValue(int value) {
+		return FixedMath.floatValue(value);
+	}
+
+	public static double doubleValue(int value) {
+		return FixedMath.doubleValue(value);
+	}
+
+	public static int intValue(int value) {
+		return FixedMath.intValue(value);
+	}
+
+	public static BigDecimal bigDecimalValue(int value) {
+		return FixedMath.bigDecimalValue(value);
+	}
+
+	public static String toString(int value) {
+		return FixedMath.toString(value);
+	}
+
+	/*
+	 * Format conversions. Narrowing rounds towards negative infinity,
+	 * widening wraps on overflow unless the safe variant is used.
+	 */
+
+	public static int toFixed(int value) {
+		return value;
+	}
+
+	public static int safeToFixed(int value) {
+		return value;
+	}
+
+	public static int fromFixed(int value) {
+		return value;
+	}
+
+	public static int safeFromFixed(int value) {
+		return value;
+	}
+
+	public static int toQ16_16(int value) {
+		return value << 6;
+	}
+
+	public static int safeToQ16_16(int value) {
+		if (value > (MAX_VALUE >> 6)) {
+			return MAX_VALUE;
+		}
+		if (value < (MIN_VALUE >> 6)) {
+			return MIN_VALUE;
+		}
+		return value << 6;
+	}
+
+	public static int toQ8_24(int value) {
+		return value << 14;
+	}
+
+	public static int safeToQ8_24(int value) {
+		if (value > (MAX_VALUE >> 14)) {
+			return MAX_VALUE;
+		}
+		if (value < (MIN_VALUE >> 14)) {
+			return MIN_VALUE;
+		}
+		return value << 14;
+	}
+}
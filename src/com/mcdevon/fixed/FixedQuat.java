@@ -0,0 +1,143 @@
+package com.mcdevon.fixed;
+
+/*
+ * Mutable quaternion of raw fixed-point data values, w is the scalar part.
+ * Methods ending in Assign or InPlace modify this quaternion and return it.
+ */
+public final class FixedQuat {
+	public int x;
+	public int y;
+	public int z;
+	public int w;
+
+	// Identity rotation
+	public FixedQuat() {
+		w = FixedMath.ONE;
+	}
+
+	public FixedQuat(int x, int y, int z, int w) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.w = w;
+	}
+
+	public FixedQuat(FixedQuat value) {
+		this(value.x, value.y, value.z, value.w);
+	}
+
+	public FixedQuat set(int x, int y, int z, int w) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.w = w;
+		return this;
+	}
+
+	public FixedQuat set(FixedQuat value) {
+		return set(value.x, value.y, value.z, value.w);
+	}
+
+	public FixedQuat setIdentity() {
+		return set(0, 0, 0, FixedMath.ONE);
+	}
+
+	// Axis must be a unit vector, angle in radians
+	public FixedQuat setAxisAngle(FixedVec3 axis, int angle) {
+		long sincos = FixedMath.sincos(angle >> 1);
+		int sin = FixedMath.sinOf(sincos);
+		return set(FixedMath.mul(axis.x, sin), FixedMath.mul(axis.y, sin), FixedMath.mul(axis.z, sin),
+				FixedMath.cosOf(sincos));
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public FixedQuat mul(FixedQuat value) {
+		return mul(this, value, new FixedQuat());
+	}
+
+	public FixedQuat mulAssign(FixedQuat value) {
+		return mul(this, value, this);
+	}
+
+	// out = a * b (apply b, then a), out may be a or b
+	public static FixedQuat mul(FixedQuat a, FixedQuat b, FixedQuat out) {
+		int qx = FixedMath.mul(a.w, b.x) + FixedMath.mul(a.x, b.w) + FixedMath.mul(a.y, b.z) - FixedMath.mul(a.z, b.y);
+		int qy = FixedMath.mul(a.w, b.y) - FixedMath.mul(a.x, b.z) + FixedMath.mul(a.y, b.w) + FixedMath.mul(a.z, b.x);
+		int qz = FixedMath.mul(a.w, b.z) + FixedMath.mul(a.x, b.y) - FixedMath.mul(a.y, b.x) + FixedMath.mul(a.z, b.w);
+		int qw = FixedMath.mul(a.w, b.w) - FixedMath.mul(a.x, b.x) - FixedMath.mul(a.y, b.y) - FixedMath.mul(a.z, b.z);
+		return out.set(qx, qy, qz, qw);
+	}
+
+	public FixedQuat conjugateInPlace() {
+		x = -x;
+		y = -y;
+		z = -z;
+		return this;
+	}
+
+	public int dot(FixedQuat value) {
+		return FixedMath.mul(x, value.x) + FixedMath.mul(y, value.y)
+				+ FixedMath.mul(z, value.z) + FixedMath.mul(w, value.w);
+	}
+
+	// From the exact sum of squares, saturating
+	public int length() {
+		return FixedMath.length(x, y, z, w);
+	}
+
+	public FixedQuat normalize() {
+		return new FixedQuat(this).normalizeInPlace();
+	}
+
+	// Zero quaternion stays zero
+	public FixedQuat normalizeInPlace() {
+		int shift = FixedMath.unitShift(x, y, z, w);
+		long length = FixedMath.lengthLong(x << shift, y << shift, z << shift, w << shift);
+		if (length != 0) {
+			x = FixedMath.divideByLength(x << shift, length);
+			y = FixedMath.divideByLength(y << shift, length);
+			z = FixedMath.divideByLength(z << shift, length);
+			w = FixedMath.divideByLength(w << shift, length);
+		}
+		return this;
+	}
+
+	public FixedVec3 transform(FixedVec3 v) {
+		return transform(v, new FixedVec3());
+	}
+
+	// Rotates v by this unit quaternion, out may be v.
+	// v' = v + 2w (q x v) + 2 q x (q x v)
+	public FixedVec3 transform(FixedVec3 v, FixedVec3 out) {
+		int tx = 2 * (FixedMath.mul(y, v.z) - FixedMath.mul(z, v.y));
+		int ty = 2 * (FixedMath.mul(z, v.x) - FixedMath.mul(x, v.z));
+		int tz = 2 * (FixedMath.mul(x, v.y) - FixedMath.mul(y, v.x));
+
+		int rx = v.x + FixedMath.mul(w, tx) + FixedMath.mul(y, tz) - FixedMath.mul(z, ty);
+		int ry = v.y + FixedMath.mul(w, ty) + FixedMath.mul(z, tx) - FixedMath.mul(x, tz);
+		int rz = v.z + FixedMath.mul(w, tz) + FixedMath.mul(x, ty) - FixedMath.mul(y, tx);
+		return out.set(rx, ry, rz);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof FixedQuat)) {
+			return false;
+		}
+		final FixedQuat other = (FixedQuat) obj;
+		return x == other.x && y == other.y && z == other.z && w == other.w;
+	}
+
+	@Override
+	public int hashCode() {
+		return ((31 * x + y) * 31 + z) * 31 + w;
+	}
+
+	public String toString() {
+		return "(" + FixedMath.toString(x) + ", " + FixedMath.toString(y) + ", "
+				+ FixedMath.toString(z) + ", " + FixedMath.toString(w) + ")";
+	}
+}
@@ -0,0 +1,201 @@
+package com.mcdevon.fixed;
+
+/*
+ * Deterministic pseudo-random generator of raw data values, xoroshiro128++
+ * seeded through SplitMix64. Only integer arithmetic is used, so the same
+ * seed gives the same sequence on every platform and JVM, and nothing is
+ * allocated after construction.
+ *
+ * Not thread-safe. Give each thread its own stream with split(), or copy()
+ * one generator and jump() the copies 2^64 steps apart.
+ */
+public final class FixedRandom {
+
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	// Jump polynomials of xoroshiro128++ for 2^64 and 2^96 steps
+	private static final long[] JUMP = { 0x2BD7A6A6E99C2DDCL, 0x0992CCAF6A6FCA05L };
+	private static final long[] LONG_JUMP = { 0x360FD5F2CF8D5D99L, 0x9C6E6877736C46E3L };
+
+	// Sum of GAUSSIAN_TERMS uniform 16-bit values has variance 1 in 16 decimal bits
+	private static final int GAUSSIAN_TERMS = 12;
+	private static final int GAUSSIAN_SHIFT = 16 - FixedMath.DECIMAL_BITS;
+
+	private long _s0;
+	private long _s1;
+
+	public FixedRandom(long seed) {
+		_s0 = mix(seed += GOLDEN_GAMMA);
+		_s1 = mix(seed + GOLDEN_GAMMA);
+		if ((_s0 | _s1) == 0) {
+			_s1 = GOLDEN_GAMMA;
+		}
+	}
+
+	private FixedRandom(long s0, long s1) {
+		_s0 = s0;
+		_s1 = s1;
+	}
+
+	// SplitMix64 output function
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	// Same state, continues with the same sequence
+	public FixedRandom copy() {
+		return new FixedRandom(_s0, _s1);
+	}
+
+	// New generator seeded from this one's next value, for another thread
+	public FixedRandom split() {
+		return new FixedRandom(nextLong());
+	}
+
+	/*
+	 * Raw bits
+	 */
+
+	public long nextLong() {
+		long s0 = _s0;
+		long s1 = _s1;
+		long result = Long.rotateLeft(s0 + s1, 17) + s0;
+
+		s1 ^= s0;
+		_s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+		_s1 = Long.rotateLeft(s1, 28);
+		return result;
+	}
+
+	public int nextInt() {
+		return (int)(nextLong() >>> 32);
+	}
+
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+
+	// Uniform in [0, bound), bound in [1, 2^32], without modulo bias
+	private long nextBounded(long bound) {
+		long m = (nextLong() >>> 32) * bound;
+		long low = m & 0xFFFFFFFFL;
+		if (low < bound) {
+			long threshold = (0x100000000L - bound) % bound;
+			while (low < threshold) {
+				m = (nextLong() >>> 32) * bound;
+				low = m & 0xFFFFFFFFL;
+			}
+		}
+		return m >>> 32;
+	}
+
+	// Uniform int in [0, bound)
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive: " + bound);
+		}
+		return (int)nextBounded(bound);
+	}
+
+	/*
+	 * Fixed-point values
+	 */
+
+	// Uniform in [0, ONE)
+	public int nextFixed() {
+		return (int)(nextLong() >>> (64 - FixedMath.DECIMAL_BITS));
+	}
+
+	// Uniform in [min, max)
+	public int nextFixed(int min, int max) {
+		if (min >= max) {
+			throw new IllegalArgumentException("Empty range: " + min + " >= " + max);
+		}
+		return (int)(min + nextBounded((long)max - min));
+	}
+
+	// Uniform angle in [0, PI_TIMES_TWO)
+	public int nextAngle() {
+		return (int)nextBounded(FixedMath.PI_TIMES_TWO);
+	}
+
+	// Approximately standard normal: the sum of 12 uniform values minus 6
+	// (Irwin-Hall), so mean 0, variance 1 and results within [-6, 6]
+	public int nextGaussian() {
+		long sum = 0;
+		for (int i = 0; i < GAUSSIAN_TERMS / 4; i++) {
+			long bits = nextLong();
+			sum += (bits & 0xFFFF) + ((bits >>> 16) & 0xFFFF) + ((bits >>> 32) & 0xFFFF) + (bits >>> 48);
+		}
+		// Centre each term on its half step so the mean is exactly zero
+		sum -= (GAUSSIAN_TERMS / 2) * 0xFFFFL;
+		if (GAUSSIAN_SHIFT > 0) {
+			return (int)((sum + (1L << (GAUSSIAN_SHIFT - 1))) >> GAUSSIAN_SHIFT);
+		}
+		return (int)sum << -GAUSSIAN_SHIFT;
+	}
+
+	public int nextGaussian(int mean, int standardDeviation) {
+		return mean + FixedMath.mul(nextGaussian(), standardDeviation);
+	}
+
+	/*
+	 * Bulk fills
+	 */
+
+	// Uniform in [0, ONE)
+	public void fill(int[] out, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			out[i] = (int)(nextLong() >>> (64 - FixedMath.DECIMAL_BITS));
+		}
+	}
+
+	// Uniform in [min, max)
+	public void fill(int[] out, int offset, int length, int min, int max) {
+		if (min >= max) {
+			throw new IllegalArgumentException("Empty range: " + min + " >= " + max);
+		}
+		long bound = (long)max - min;
+		for (int i = offset; i < offset + length; i++) {
+			out[i] = (int)(min + nextBounded(bound));
+		}
+	}
+
+	public void fillGaussian(int[] out, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			out[i] = nextGaussian();
+		}
+	}
+
+	/*
+	 * Streams
+	 */
+
+	// Advances 2^64 steps, for up to 2^64 non-overlapping streams from copies
+	public void jump() {
+		jump(JUMP);
+	}
+
+	// Advances 2^96 steps, for up to 2^32 starting points of jump() streams
+	public void longJump() {
+		jump(LONG_JUMP);
+	}
+
+	private void jump(long[] polynomial) {
+		long s0 = 0;
+		long s1 = 0;
+		for (long word : polynomial) {
+			for (int b = 0; b < 64; b++) {
+				if ((word & (1L << b)) != 0) {
+					s0 ^= _s0;
+					s1 ^= _s1;
+				}
+				nextLong();
+			}
+		}
+		_s0 = s0;
+		_s1 = s1;
+	}
+}
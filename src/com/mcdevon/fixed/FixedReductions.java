@@ -0,0 +1,213 @@
+package com.mcdevon.fixed;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Reductions over arrays of raw data values, split over a ForkJoinPool for
+ * large arrays.
+ *
+ * Values are accumulated exactly and narrowed once at the end, saturating
+ * like the safe* operators. sum() fits a long. dot() and sumOfSquares()
+ * add each product as FixedMath.mul() computes it into a FixedSum, which
+ * does not wrap. Both are associative, so the result is the same for
+ * every split and thread count, and equal to a sequential loop.
+ */
+public final class FixedReductions {
+
+	// Below this length a single loop is faster than forking
+	public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+	private static final int SUM = 0;
+	private static final int DOT = 1;
+	private static final int SUM_OF_SQUARES = 2;
+	private static final int MIN = 3;
+	private static final int MAX = 4;
+
+	private FixedReductions() {
+	}
+
+	/*
+	 * Reductions
+	 */
+
+	public static int sum(int[] values) {
+		return sum(values, ForkJoinPool.commonPool());
+	}
+
+	public static int sum(int[] values, ForkJoinPool pool) {
+		return narrow(sumLong(values, pool));
+	}
+
+	// Exact sum as a long, for means and further accumulation
+	public static long sumLong(int[] values) {
+		return sumLong(values, ForkJoinPool.commonPool());
+	}
+
+	public static long sumLong(int[] values, ForkJoinPool pool) {
+		return reduce(SUM, values, null, pool).longValue();
+	}
+
+	public static int dot(int[] a, int[] b) {
+		return dot(a, b, ForkJoinPool.commonPool());
+	}
+
+	public static int dot(int[] a, int[] b, ForkJoinPool pool) {
+		if (a.length != b.length) {
+			throw new IllegalArgumentException("Length mismatch: " + a.length + " != " + b.length);
+		}
+		return narrow(reduce(DOT, a, b, pool).longValue());
+	}
+
+	public static int sumOfSquares(int[] values) {
+		return sumOfSquares(values, ForkJoinPool.commonPool());
+	}
+
+	public static int sumOfSquares(int[] values, ForkJoinPool pool) {
+		return narrow(reduce(SUM_OF_SQUARES, values, null, pool).longValue());
+	}
+
+	// Euclidean norm, sqrt of the exact sum of squares
+	public static int norm(int[] values) {
+		return norm(values, ForkJoinPool.commonPool());
+	}
+
+	public static int norm(int[] values, ForkJoinPool pool) {
+		long squares = reduce(SUM_OF_SQUARES, values, null, pool).longValue();
+		// Any norm from 2^(31 - DECIMAL_BITS) on does not fit
+		if (squares >= 1L << (62 - FixedMath.DECIMAL_BITS)) {
+			return narrow(Long.MAX_VALUE);
+		}
+		return narrow(FixedMath.sqrtLong(squares << FixedMath.DECIMAL_BITS));
+	}
+
+	public static int min(int[] values) {
+		return min(values, ForkJoinPool.commonPool());
+	}
+
+	public static int min(int[] values, ForkJoinPool pool) {
+		checkNotEmpty(values);
+		return (int)reduce(MIN, values, null, pool).longValue();
+	}
+
+	public static int max(int[] values) {
+		return max(values, ForkJoinPool.commonPool());
+	}
+
+	public static int max(int[] values, ForkJoinPool pool) {
+		checkNotEmpty(values);
+		return (int)reduce(MAX, values, null, pool).longValue();
+	}
+
+	// Rounded half up, always within the range of the values
+	public static int mean(int[] values) {
+		return mean(values, ForkJoinPool.commonPool());
+	}
+
+	public static int mean(int[] values, ForkJoinPool pool) {
+		checkNotEmpty(values);
+		long sum = sumLong(values, pool);
+		return (int)Math.floorDiv(sum + values.length / 2, values.length);
+	}
+
+	private static void checkNotEmpty(int[] values) {
+		if (values.length == 0) {
+			throw new IllegalArgumentException("Empty array");
+		}
+	}
+
+	private static int narrow(long value) {
+		if (value > FixedMath.MAX_VALUE) {
+			return FixedOverflowCounters.saturated(FixedOverflowCounters.Operation.ADD, FixedMath.MAX_VALUE);
+		}
+		if (value < FixedMath.MIN_VALUE) {
+			return FixedOverflowCounters.saturated(FixedOverflowCounters.Operation.ADD, FixedMath.MIN_VALUE);
+		}
+		return (int)value;
+	}
+
+	/*
+	 * Kernels
+	 */
+
+	private static FixedSum reduce(int op, int[] a, int[] b, ForkJoinPool pool) {
+		if (a.length < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+			return reduce(op, a, b, 0, a.length);
+		}
+		return pool.invoke(new Task(op, a, b, 0, a.length));
+	}
+
+	// MIN and MAX results are exact FixedSums of the int value
+	private static FixedSum reduce(int op, int[] a, int[] b, int from, int to) {
+		switch (op) {
+		case SUM: {
+			long sum = 0;
+			for (int i = from; i < to; i++) {
+				sum += a[i];
+			}
+			return new FixedSum(sum);
+		}
+		case DOT:
+			return FixedSum.dot(a, from, b, from, to - from);
+		case SUM_OF_SQUARES:
+			return FixedSum.sumOfSquares(a, from, to - from);
+		case MIN: {
+			int min = FixedMath.MAX_VALUE;
+			for (int i = from; i < to; i++) {
+				min = Math.min(min, a[i]);
+			}
+			return new FixedSum(min);
+		}
+		default: {
+			int max = FixedMath.MIN_VALUE;
+			for (int i = from; i < to; i++) {
+				max = Math.max(max, a[i]);
+			}
+			return new FixedSum(max);
+		}
+		}
+	}
+
+	private static FixedSum combine(int op, FixedSum x, FixedSum y) {
+		switch (op) {
+		case MIN:
+			return x.longValue() <= y.longValue() ? x : y;
+		case MAX:
+			return x.longValue() >= y.longValue() ? x : y;
+		default:
+			x.add(y);
+			return x;
+		}
+	}
+
+	private static final class Task extends RecursiveTask<FixedSum> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int _op;
+		private final int[] _a;
+		private final int[] _b;
+		private final int _from;
+		private final int _to;
+
+		Task(int op, int[] a, int[] b, int from, int to) {
+			_op = op;
+			_a = a;
+			_b = b;
+			_from = from;
+			_to = to;
+		}
+
+		@Override
+		protected FixedSum compute() {
+			if (_to - _from <= PARALLEL_THRESHOLD) {
+				return reduce(_op, _a, _b, _from, _to);
+			}
+			int middle = (_from + _to) >>> 1;
+			Task left = new Task(_op, _a, _b, _from, middle);
+			left.fork();
+			FixedSum right = new Task(_op, _a, _b, middle, _to).compute();
+			return combine(_op, left.join(), right);
+		}
+	}
+}
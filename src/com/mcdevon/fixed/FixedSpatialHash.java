@@ -0,0 +1,287 @@
+package com.mcdevon.fixed;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/*
+ * Broad phase over a uniform grid of square cells, 2^cellShift raw units
+ * wide. Cells are hashed into a fixed number of buckets, so the grid is
+ * unbounded and its memory depends only on the number of bodies.
+ *
+ * Bodies are int ids from 0 with a bounding box in raw values. Everything
+ * is kept in int[]: one entry per body and covered cell, chained per
+ * bucket. update() only relinks a body whose cell range changed, so
+ * rebuilding every tick costs little for bodies that stay in their cells.
+ * Iteration order depends only on the sequence of calls, so results are
+ * deterministic.
+ */
+public final class FixedSpatialHash {
+
+	public interface PairConsumer {
+		void accept(int a, int b);
+	}
+
+	// Limit of the cells one body may cover
+	public static final int MAX_CELLS_PER_BODY = 1 << 12;
+
+	private static final int NONE = -1;
+
+	private final int _cellShift;
+	private final int[] _buckets;
+	private final int _bucketMask;
+
+	// Per body: bounds minX, minY, maxX, maxY and cell range x0, y0, x1, y1
+	private int[] _bounds = new int[0];
+	private int[] _cells = new int[0];
+	private int[] _firstEntry = new int[0];
+	private int _size;
+
+	// Per entry, entries of a body are chained through _entryNextOfBody
+	private int[] _entryBody = new int[0];
+	private int[] _entryCellX = new int[0];
+	private int[] _entryCellY = new int[0];
+	private int[] _entryNext = new int[0];
+	private int[] _entryPrevious = new int[0];
+	private int[] _entryNextOfBody = new int[0];
+	private int _entryCount;
+	private int _freeEntry = NONE;
+
+	// Query stamps per body
+	private int[] _marks = new int[0];
+	private int _mark;
+
+	// 2^bucketBits buckets, about as many as bodies works well
+	public FixedSpatialHash(int cellShift, int bucketBits) {
+		if (cellShift < 1 || cellShift > 30) {
+			throw new IllegalArgumentException("Cell shift must be between 1 and 30");
+		}
+		if (bucketBits < 0 || bucketBits > 30) {
+			throw new IllegalArgumentException("Bucket bits must be between 0 and 30");
+		}
+		_cellShift = cellShift;
+		_buckets = new int[1 << bucketBits];
+		_bucketMask = _buckets.length - 1;
+		Arrays.fill(_buckets, NONE);
+	}
+
+	public int size() {
+		return _size;
+	}
+
+	public boolean contains(int body) {
+		return body >= 0 && body < _firstEntry.length && _firstEntry[body] != NONE;
+	}
+
+	public void clear() {
+		Arrays.fill(_buckets, NONE);
+		Arrays.fill(_firstEntry, NONE);
+		_size = 0;
+		_entryCount = 0;
+		_freeEntry = NONE;
+	}
+
+	private int bucket(int cellX, int cellY) {
+		int h = (cellX * 0x9E3779B9) ^ (cellY * 0x85EBCA6B);
+		return (h ^ (h >>> 16)) & _bucketMask;
+	}
+
+	/*
+	 * Bodies
+	 */
+
+	// Inserts body or moves it to new bounds
+	public void update(int body, int minX, int minY, int maxX, int maxY) {
+		if (body < 0) {
+			throw new IllegalArgumentException("Negative body: " + body);
+		}
+		if (minX > maxX || minY > maxY) {
+			throw new IllegalArgumentException("Empty bounds");
+		}
+		int cellX0 = minX >> _cellShift;
+		int cellY0 = minY >> _cellShift;
+		int cellX1 = maxX >> _cellShift;
+		int cellY1 = maxY >> _cellShift;
+		if (((long)cellX1 - cellX0 + 1) * ((long)cellY1 - cellY0 + 1) > MAX_CELLS_PER_BODY) {
+			throw new IllegalArgumentException("Body covers more than " + MAX_CELLS_PER_BODY + " cells");
+		}
+		ensureBodies(body + 1);
+
+		int b = body << 2;
+		_bounds[b] = minX;
+		_bounds[b + 1] = minY;
+		_bounds[b + 2] = maxX;
+		_bounds[b + 3] = maxY;
+		if (_firstEntry[body] != NONE) {
+			if (_cells[b] == cellX0 && _cells[b + 1] == cellY0 && _cells[b + 2] == cellX1 && _cells[b + 3] == cellY1) {
+				return;
+			}
+			unlink(body);
+		} else {
+			_size++;
+		}
+		_cells[b] = cellX0;
+		_cells[b + 1] = cellY0;
+		_cells[b + 2] = cellX1;
+		_cells[b + 3] = cellY1;
+		link(body, cellX0, cellY0, cellX1, cellY1);
+	}
+
+	public void update(int body, FixedVec2 min, FixedVec2 max) {
+		update(body, min.x, min.y, max.x, max.y);
+	}
+
+	// Returns true if body was present
+	public boolean remove(int body) {
+		if (!contains(body)) {
+			return false;
+		}
+		unlink(body);
+		_firstEntry[body] = NONE;
+		_size--;
+		return true;
+	}
+
+	private void ensureBodies(int count) {
+		int length = _firstEntry.length;
+		if (count > length) {
+			int grown = Math.max(count, length + (length >> 1) + 16);
+			_bounds = Arrays.copyOf(_bounds, grown << 2);
+			_cells = Arrays.copyOf(_cells, grown << 2);
+			_marks = Arrays.copyOf(_marks, grown);
+			_firstEntry = Arrays.copyOf(_firstEntry, grown);
+			Arrays.fill(_firstEntry, length, grown, NONE);
+		}
+	}
+
+	private int allocateEntry() {
+		if (_freeEntry != NONE) {
+			int entry = _freeEntry;
+			_freeEntry = _entryNext[entry];
+			return entry;
+		}
+		if (_entryCount == _entryBody.length) {
+			int grown = _entryCount + (_entryCount >> 1) + 16;
+			_entryBody = Arrays.copyOf(_entryBody, grown);
+			_entryCellX = Arrays.copyOf(_entryCellX, grown);
+			_entryCellY = Arrays.copyOf(_entryCellY, grown);
+			_entryNext = Arrays.copyOf(_entryNext, grown);
+			_entryPrevious = Arrays.copyOf(_entryPrevious, grown);
+			_entryNextOfBody = Arrays.copyOf(_entryNextOfBody, grown);
+		}
+		return _entryCount++;
+	}
+
+	private void link(int body, int cellX0, int cellY0, int cellX1, int cellY1) {
+		int first = NONE;
+		for (int cellY = cellY1; cellY >= cellY0; cellY--) {
+			for (int cellX = cellX1; cellX >= cellX0; cellX--) {
+				int entry = allocateEntry();
+				int bucket = bucket(cellX, cellY);
+				int head = _buckets[bucket];
+				_entryBody[entry] = body;
+				_entryCellX[entry] = cellX;
+				_entryCellY[entry] = cellY;
+				_entryNext[entry] = head;
+				_entryPrevious[entry] = NONE;
+				if (head != NONE) {
+					_entryPrevious[head] = entry;
+				}
+				_buckets[bucket] = entry;
+				_entryNextOfBody[entry] = first;
+				first = entry;
+			}
+		}
+		_firstEntry[body] = first;
+	}
+
+	// Unlinks and frees the entries of body, leaving _firstEntry stale
+	private void unlink(int body) {
+		for (int entry = _firstEntry[body]; entry != NONE; ) {
+			int next = _entryNext[entry];
+			int previous = _entryPrevious[entry];
+			if (previous != NONE) {
+				_entryNext[previous] = next;
+			} else {
+				_buckets[bucket(_entryCellX[entry], _entryCellY[entry])] = next;
+			}
+			if (next != NONE) {
+				_entryPrevious[next] = previous;
+			}
+			int following = _entryNextOfBody[entry];
+			_entryNext[entry] = _freeEntry;
+			_freeEntry = entry;
+			entry = following;
+		}
+	}
+
+	/*
+	 * Queries
+	 */
+
+	// Every pair of bodies with overlapping bounds, once. A pair sharing
+	// several cells is reported only in the lowest of them.
+	public void forEachPair(PairConsumer consumer) {
+		int[] bounds = _bounds;
+		int[] cells = _cells;
+		for (int head : _buckets) {
+			for (int a = head; a != NONE; a = _entryNext[a]) {
+				int cellX = _entryCellX[a];
+				int cellY = _entryCellY[a];
+				int bodyA = _entryBody[a] << 2;
+				for (int b = _entryNext[a]; b != NONE; b = _entryNext[b]) {
+					if (_entryCellX[b] != cellX || _entryCellY[b] != cellY) {
+						continue;
+					}
+					int bodyB = _entryBody[b] << 2;
+					if (Math.max(cells[bodyA], cells[bodyB]) == cellX
+							&& Math.max(cells[bodyA + 1], cells[bodyB + 1]) == cellY
+							&& FixedCollision.aabbOverlaps(bounds[bodyA], bounds[bodyA + 1], bounds[bodyA + 2],
+									bounds[bodyA + 3], bounds[bodyB], bounds[bodyB + 1], bounds[bodyB + 2],
+									bounds[bodyB + 3])) {
+						consumer.accept(bodyA >> 2, bodyB >> 2);
+					}
+				}
+			}
+		}
+	}
+
+	// Every body with bounds overlapping the box, once
+	public void query(int minX, int minY, int maxX, int maxY, IntConsumer consumer) {
+		if (++_mark == 0) {
+			Arrays.fill(_marks, 0);
+			_mark = 1;
+		}
+		int cellX0 = minX >> _cellShift;
+		int cellY0 = minY >> _cellShift;
+		int cellX1 = maxX >> _cellShift;
+		int cellY1 = maxY >> _cellShift;
+
+		// Large boxes are cheaper to test against every body
+		if (((long)cellX1 - cellX0 + 1) * ((long)cellY1 - cellY0 + 1) > _firstEntry.length) {
+			for (int body = 0; body < _firstEntry.length; body++) {
+				if (_firstEntry[body] != NONE && overlaps(body, minX, minY, maxX, maxY)) {
+					consumer.accept(body);
+				}
+			}
+			return;
+		}
+		for (int cellY = cellY0; cellY <= cellY1; cellY++) {
+			for (int cellX = cellX0; cellX <= cellX1; cellX++) {
+				for (int e = _buckets[bucket(cellX, cellY)]; e != NONE; e = _entryNext[e]) {
+					int body = _entryBody[e];
+					if (_entryCellX[e] == cellX && _entryCellY[e] == cellY && _marks[body] != _mark
+							&& overlaps(body, minX, minY, maxX, maxY)) {
+						_marks[body] = _mark;
+						consumer.accept(body);
+					}
+				}
+			}
+		}
+	}
+
+	private boolean overlaps(int body, int minX, int minY, int maxX, int maxY) {
+		int b = body << 2;
+		return FixedCollision.aabbOverlaps(_bounds[b], _bounds[b + 1], _bounds[b + 2], _bounds[b + 3],
+				minX, minY, maxX, maxY);
+	}
+}
@@ -0,0 +1,100 @@
+package com.mcdevon.fixed;
+
+/*
+ * Exact sums of dot products for FixedReductions and FixedMatrices. Each
+ * product is rounded like FixedMath.mul() and is at most 2^52, so a plain
+ * long wraps after about 2^11 full range products. Sums of blocks of
+ * products are split into their high and low 32 bits and each half is
+ * summed in its own long, which stays exact for up to 2^31 blocks. Both
+ * halves are plain long sums, so partial sums can be merged in any order
+ * with the same result.
+ */
+final class FixedSum {
+
+	// Saturated value of sums that do not fit, far outside the int range
+	// but leaving room to add or subtract an int without wrapping
+	static final long INFINITY = 1L << 62;
+
+	private static final long LOW_MASK = 0xFFFFFFFFL;
+
+	// Products are at most 2^52 in magnitude, so this many fit a long
+	private static final int BLOCK = 1 << 10;
+
+	private long _high;
+	private long _low;
+
+	FixedSum() {
+	}
+
+	FixedSum(long value) {
+		_high = value >> 32;
+		_low = value & LOW_MASK;
+	}
+
+	void add(FixedSum sum) {
+		_high += sum._high;
+		_low += sum._low;
+	}
+
+	// Exact value, saturated to +-INFINITY
+	long longValue() {
+		long high = _high + (_low >>> 32);
+		if (high >= INFINITY >> 32) {
+			return INFINITY;
+		}
+		if (high < -(INFINITY >> 32)) {
+			return -INFINITY;
+		}
+		return (high << 32) | (_low & LOW_MASK);
+	}
+
+	void add(long value) {
+		_high += value >> 32;
+		_low += value & LOW_MASK;
+	}
+
+	// Sum of a[i] * b[i] for length steps, products rounded like mul().
+	// BLOCK products always fit a plain long sum, which is split once per
+	// block.
+	static FixedSum dot(int[] a, int aOffset, int[] b, int bOffset, int length) {
+		FixedSum sum = new FixedSum();
+		for (int block = 0; block < length; block += BLOCK) {
+			int end = Math.min(length, block + BLOCK);
+			long blockSum = 0;
+			for (int i = block; i < end; i++) {
+				blockSum += ((long)a[aOffset + i] * b[bOffset + i]) >> FixedMath.DECIMAL_BITS;
+			}
+			sum.add(blockSum);
+		}
+		return sum;
+	}
+
+	static FixedSum sumOfSquares(int[] a, int offset, int length) {
+		FixedSum sum = new FixedSum();
+		for (int block = 0; block < length; block += BLOCK) {
+			int end = Math.min(length, block + BLOCK);
+			long blockSum = 0;
+			for (int i = block; i < end; i++) {
+				int value = a[offset + i];
+				blockSum += ((long)value * value) >> FixedMath.DECIMAL_BITS;
+			}
+			sum.add(blockSum);
+		}
+		return sum;
+	}
+
+	static FixedSum dot(int[] a, int aOffset, int aStride, int[] b, int bOffset, int bStride, int length) {
+		FixedSum sum = new FixedSum();
+		for (int block = 0; block < length; block += BLOCK) {
+			int end = Math.min(length, block + BLOCK);
+			long blockSum = 0;
+			for (int i = block; i < end; i++) {
+				blockSum += ((long)a[aOffset] * b[bOffset]) >> FixedMath.DECIMAL_BITS;
+				aOffset += aStride;
+				bOffset += bStride;
+			}
+			sum.add(blockSum);
+		}
+		return sum;
+	}
+}
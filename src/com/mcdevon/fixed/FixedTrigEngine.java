@@ -0,0 +1,242 @@
+package com.mcdevon.fixed;
+
+/*
+ * Selectable trigonometry on raw data values.
+ *
+ * LUT uses the FixedLut and FixedAtanLut tables, exactly like
+ * FixedMath / Fixed.
+ * POLYNOMIAL uses integer polynomials and no tables at all.
+ * CORDIC uses shift-and-add iterations and a table of a few ints.
+ *
+ * POLYNOMIAL and CORDIC work internally with TRIG_BITS decimal bits and
+ * round once to the Fixed format, so they are accurate to about 1 ulp.
+ * The default engine can be chosen per deployment with the system property
+ * com.mcdevon.fixed.trig (LUT, POLYNOMIAL or CORDIC).
+ */
+public enum FixedTrigEngine {
+	LUT {
+		@Override
+		public int sin(int angle) {
+			return FixedMath.sin(angle);
+		}
+
+		@Override
+		public int cos(int angle) {
+			return FixedMath.cos(angle);
+		}
+
+		@Override
+		public int tan(int angle) {
+			return FixedMath.tan(angle);
+		}
+
+		@Override
+		public int atan2(int y, int x) {
+			return FixedMath.atan2(y, x);
+		}
+
+		@Override
+		public int asin(int value) {
+			checkUnitRange(value);
+			return FixedMath.atan2(value, FixedMath.sqrt(FixedMath.ONE - FixedMath.mul(value, value)));
+		}
+
+		@Override
+		public int acos(int value) {
+			return FixedMath.PI_OVER_TWO - asin(value);
+		}
+
+		@Override
+		public void sincos(int angle, int[] out) {
+			FixedMath.sincos(angle, out);
+		}
+
+		@Override
+		long sinCosKernel(long angle) {
+			long sincos = FixedMath.sincos(toFixed(angle));
+			return pack((long)FixedMath.sinOf(sincos) << SHIFT, (long)FixedMath.cosOf(sincos) << SHIFT);
+		}
+
+		@Override
+		long atanKernel(long t) {
+			return FixedAtanLut.atan(t);
+		}
+	},
+
+	POLYNOMIAL {
+		@Override
+		long sinCosKernel(long angle) {
+			return FixedPolyTrig.sinCos(angle);
+		}
+
+		@Override
+		long atanKernel(long t) {
+			return FixedPolyTrig.atan(t);
+		}
+	},
+
+	CORDIC {
+		@Override
+		long sinCosKernel(long angle) {
+			return FixedCordic.sinCos(angle);
+		}
+
+		@Override
+		long atanKernel(long t) {
+			return FixedCordic.atan(t);
+		}
+	};
+
+	public static final FixedTrigEngine DEFAULT =
+			valueOf(System.getProperty("com.mcdevon.fixed.trig", "LUT"));
+
+	// Internal precision of POLYNOMIAL and CORDIC
+	static final int TRIG_BITS = 30;
+	static final long TRIG_ONE = 1L << TRIG_BITS;
+	static final int SHIFT = TRIG_BITS - FixedMath.DECIMAL_BITS;
+
+	static final long PI = 3373259426L;
+	static final long PI_OVER_TWO = 1686629713L;
+	static final long PI_OVER_FOUR = 843314857L;
+	static final long PI_TIMES_TWO = 6746518852L;
+
+	// sin and cos packed in one long, each with TRIG_BITS decimal bits,
+	// for an angle in [0, pi/2)
+	abstract long sinCosKernel(long angle);
+
+	// atan of t in [0, 1], TRIG_BITS decimal bits in and out
+	abstract long atanKernel(long t);
+
+	public int sin(int angle) {
+		return toFixed(sinOf(sinCosTrig(angle)));
+	}
+
+	public int cos(int angle) {
+		return toFixed(cosOf(sinCosTrig(angle)));
+	}
+
+	// Both values with a single range reduction, out[0] = sin, out[1] = cos
+	public void sincos(int angle, int[] out) {
+		long sinCos = sinCosTrig(angle);
+		out[0] = toFixed(sinOf(sinCos));
+		out[1] = toFixed(cosOf(sinCos));
+	}
+
+	// Saturates where cos is zero
+	public int tan(int angle) {
+		long sinCos = sinCosTrig(angle);
+		long sin = sinOf(sinCos);
+		long cos = cosOf(sinCos);
+		if (cos == 0) {
+			return sin < 0 ? FixedMath.MIN_VALUE : FixedMath.MAX_VALUE;
+		}
+
+		// One extra bit for rounding
+		long tan = (sin << (FixedMath.DECIMAL_BITS + 1)) / cos;
+		tan = (tan + (tan < 0 ? -1 : 1)) / 2;
+		if (tan > FixedMath.MAX_VALUE) {
+			return FixedMath.MAX_VALUE;
+		}
+		if (tan < FixedMath.MIN_VALUE) {
+			return FixedMath.MIN_VALUE;
+		}
+		return (int)tan;
+	}
+
+	public int atan(int value) {
+		return atan2(value, FixedMath.ONE);
+	}
+
+	public int atan2(int y, int x) {
+		return toFixed(atan2Trig(y, x));
+	}
+
+	public int asin(int value) {
+		return toFixed(asinTrig(value));
+	}
+
+	public int acos(int value) {
+		return toFixed(PI_OVER_TWO - asinTrig(value));
+	}
+
+	/*
+	 * Shared range reduction
+	 */
+
+	// Reduces to [0, pi/2) with TRIG_BITS decimal bits and maps the
+	// kernel result back to the full circle
+	long sinCosTrig(int angle) {
+		long reduced = ((long)angle << SHIFT) % PI_TIMES_TWO;
+		if (reduced < 0) {
+			reduced += PI_TIMES_TWO;
+		}
+		int quadrant = (int)(reduced / PI_OVER_TWO);
+		long sinCos = sinCosKernel(reduced - quadrant * PI_OVER_TWO);
+
+		long sin = sinOf(sinCos);
+		long cos = cosOf(sinCos);
+		switch (quadrant) {
+		case 1:
+			return pack(cos, -sin);
+		case 2:
+			return pack(-sin, -cos);
+		case 3:
+			return pack(-cos, sin);
+		default:
+			return sinCos;
+		}
+	}
+
+	// Only the ratio of y and x matters, so any common scale works
+	long atan2Trig(long y, long x) {
+		if (x == 0 && y == 0) {
+			return 0;
+		}
+
+		long ax = Math.abs(x);
+		long ay = Math.abs(y);
+
+		long angle;
+		if (ay <= ax) {
+			angle = atanKernel((ay << TRIG_BITS) / ax);
+		} else {
+			angle = PI_OVER_TWO - atanKernel((ax << TRIG_BITS) / ay);
+		}
+
+		if (x < 0) {
+			angle = PI - angle;
+		}
+		return y < 0 ? -angle : angle;
+	}
+
+	long asinTrig(int value) {
+		checkUnitRange(value);
+
+		// sqrt(1 - value^2) with TRIG_BITS decimal bits
+		long one = 1L << (2 * FixedMath.DECIMAL_BITS);
+		long cos = FixedMath.sqrtLong((one - (long)value * value) << (2 * SHIFT));
+		return atan2Trig((long)value << SHIFT, cos);
+	}
+
+	static void checkUnitRange(int value) {
+		if (value > FixedMath.ONE || value < -FixedMath.ONE) {
+			throw new ArithmeticException("Asin/acos for value outside [-1, 1]");
+		}
+	}
+
+	static int toFixed(long value) {
+		return (int)((value + (1L << (SHIFT - 1))) >> SHIFT);
+	}
+
+	static long pack(long sin, long cos) {
+		return (sin << 32) | (cos & 0xFFFFFFFFL);
+	}
+
+	static long sinOf(long sinCos) {
+		return sinCos >> 32;
+	}
+
+	static long cosOf(long sinCos) {
+		return (int)sinCos;
+	}
+}
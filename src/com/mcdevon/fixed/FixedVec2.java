@@ -0,0 +1,157 @@
+package com.mcdevon.fixed;
+
+/*
+ * Mutable 2D vector of raw fixed-point data values. Methods ending in
+ * Assign or InPlace modify this vector and return it, the rest leave it
+ * untouched and return a new vector or a raw value.
+ */
+public final class FixedVec2 {
+	public int x;
+	public int y;
+
+	public FixedVec2() {
+	}
+
+	public FixedVec2(int x, int y) {
+		this.x = x;
+		this.y = y;
+	}
+
+	public FixedVec2(FixedVec2 value) {
+		this(value.x, value.y);
+	}
+
+	public static FixedVec2 fromFixed(Fixed x, Fixed y) {
+		return new FixedVec2(x.dataValue(), y.dataValue());
+	}
+
+	public FixedVec2 set(int x, int y) {
+		this.x = x;
+		this.y = y;
+		return this;
+	}
+
+	public FixedVec2 set(FixedVec2 value) {
+		return set(value.x, value.y);
+	}
+
+	public Fixed getX() {
+		return Fixed.fromData(x);
+	}
+
+	public Fixed getY() {
+		return Fixed.fromData(y);
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public FixedVec2 add(FixedVec2 value) {
+		return new FixedVec2(this).addAssign(value);
+	}
+
+	public FixedVec2 addAssign(FixedVec2 value) {
+		x += value.x;
+		y += value.y;
+		return this;
+	}
+
+	public FixedVec2 sub(FixedVec2 value) {
+		return new FixedVec2(this).subAssign(value);
+	}
+
+	public FixedVec2 subAssign(FixedVec2 value) {
+		x -= value.x;
+		y -= value.y;
+		return this;
+	}
+
+	public FixedVec2 mul(int scalar) {
+		return new FixedVec2(this).mulAssign(scalar);
+	}
+
+	public FixedVec2 mulAssign(int scalar) {
+		x = FixedMath.mul(x, scalar);
+		y = FixedMath.mul(y, scalar);
+		return this;
+	}
+
+	public FixedVec2 negateInPlace() {
+		x = -x;
+		y = -y;
+		return this;
+	}
+
+	public int dot(FixedVec2 value) {
+		return FixedMath.mul(x, value.x) + FixedMath.mul(y, value.y);
+	}
+
+	// Z component of the 3D cross product
+	public int cross(FixedVec2 value) {
+		return FixedMath.mul(x, value.y) - FixedMath.mul(y, value.x);
+	}
+
+	// Lengths come from the exact sum of squares and saturate
+	public int lengthSquared() {
+		return FixedMath.lengthSquared(x, y, 0, 0);
+	}
+
+	public int length() {
+		return FixedMath.length(x, y, 0, 0);
+	}
+
+	public int distance(FixedVec2 value) {
+		return FixedMath.length(FixedMath.safeSub(x, value.x), FixedMath.safeSub(y, value.y), 0, 0);
+	}
+
+	public FixedVec2 normalize() {
+		return new FixedVec2(this).normalizeInPlace();
+	}
+
+	// Zero vector stays zero
+	public FixedVec2 normalizeInPlace() {
+		int shift = FixedMath.unitShift(x, y, 0, 0);
+		long length = FixedMath.lengthLong(x << shift, y << shift, 0, 0);
+		if (length != 0) {
+			x = FixedMath.divideByLength(x << shift, length);
+			y = FixedMath.divideByLength(y << shift, length);
+		}
+		return this;
+	}
+
+	public FixedVec2 lerpInPlace(FixedVec2 target, int t) {
+		x += FixedMath.mul(target.x - x, t);
+		y += FixedMath.mul(target.y - y, t);
+		return this;
+	}
+
+	public FixedVec2 rotateInPlace(int angle) {
+		long sincos = FixedMath.sincos(angle);
+		int sin = FixedMath.sinOf(sincos);
+		int cos = FixedMath.cosOf(sincos);
+		int rx = FixedMath.mul(x, cos) - FixedMath.mul(y, sin);
+		int ry = FixedMath.mul(x, sin) + FixedMath.mul(y, cos);
+		x = rx;
+		y = ry;
+		return this;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof FixedVec2)) {
+			return false;
+		}
+		final FixedVec2 other = (FixedVec2) obj;
+		return x == other.x && y == other.y;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * x + y;
+	}
+
+	public String toString() {
+		return "(" + FixedMath.toString(x) + ", " + FixedMath.toString(y) + ")";
+	}
+}
@@ -0,0 +1,171 @@
+package com.mcdevon.fixed;
+
+/*
+ * Mutable 3D vector of raw fixed-point data values. Methods ending in
+ * Assign or InPlace modify this vector and return it, the rest leave it
+ * untouched and return a new vector or a raw value.
+ */
+public final class FixedVec3 {
+	public int x;
+	public int y;
+	public int z;
+
+	public FixedVec3() {
+	}
+
+	public FixedVec3(int x, int y, int z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+	public FixedVec3(FixedVec3 value) {
+		this(value.x, value.y, value.z);
+	}
+
+	public static FixedVec3 fromFixed(Fixed x, Fixed y, Fixed z) {
+		return new FixedVec3(x.dataValue(), y.dataValue(), z.dataValue());
+	}
+
+	public FixedVec3 set(int x, int y, int z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		return this;
+	}
+
+	public FixedVec3 set(FixedVec3 value) {
+		return set(value.x, value.y, value.z);
+	}
+
+	public Fixed getX() {
+		return Fixed.fromData(x);
+	}
+
+	public Fixed getY() {
+		return Fixed.fromData(y);
+	}
+
+	public Fixed getZ() {
+		return Fixed.fromData(z);
+	}
+
+	/*
+	 * Operators
+	 */
+
+	public FixedVec3 add(FixedVec3 value) {
+		return new FixedVec3(this).addAssign(value);
+	}
+
+	public FixedVec3 addAssign(FixedVec3 value) {
+		x += value.x;
+		y += value.y;
+		z += value.z;
+		return this;
+	}
+
+	public FixedVec3 sub(FixedVec3 value) {
+		return new FixedVec3(this).subAssign(value);
+	}
+
+	public FixedVec3 subAssign(FixedVec3 value) {
+		x -= value.x;
+		y -= value.y;
+		z -= value.z;
+		return this;
+	}
+
+	public FixedVec3 mul(int scalar) {
+		return new FixedVec3(this).mulAssign(scalar);
+	}
+
+	public FixedVec3 mulAssign(int scalar) {
+		x = FixedMath.mul(x, scalar);
+		y = FixedMath.mul(y, scalar);
+		z = FixedMath.mul(z, scalar);
+		return this;
+	}
+
+	public FixedVec3 negateInPlace() {
+		x = -x;
+		y = -y;
+		z = -z;
+		return this;
+	}
+
+	public int dot(FixedVec3 value) {
+		return FixedMath.mul(x, value.x) + FixedMath.mul(y, value.y) + FixedMath.mul(z, value.z);
+	}
+
+	public FixedVec3 cross(FixedVec3 value) {
+		return new FixedVec3(this).crossAssign(value);
+	}
+
+	public FixedVec3 crossAssign(FixedVec3 value) {
+		return cross(this, value, this);
+	}
+
+	// out = a x b, out may be a or b
+	public static FixedVec3 cross(FixedVec3 a, FixedVec3 b, FixedVec3 out) {
+		int cx = FixedMath.mul(a.y, b.z) - FixedMath.mul(a.z, b.y);
+		int cy = FixedMath.mul(a.z, b.x) - FixedMath.mul(a.x, b.z);
+		int cz = FixedMath.mul(a.x, b.y) - FixedMath.mul(a.y, b.x);
+		return out.set(cx, cy, cz);
+	}
+
+	// Lengths come from the exact sum of squares and saturate
+	public int lengthSquared() {
+		return FixedMath.lengthSquared(x, y, z, 0);
+	}
+
+	public int length() {
+		return FixedMath.length(x, y, z, 0);
+	}
+
+	public int distance(FixedVec3 value) {
+		return FixedMath.length(FixedMath.safeSub(x, value.x), FixedMath.safeSub(y, value.y),
+				FixedMath.safeSub(z, value.z), 0);
+	}
+
+	public FixedVec3 normalize() {
+		return new FixedVec3(this).normalizeInPlace();
+	}
+
+	// Zero vector stays zero
+	public FixedVec3 normalizeInPlace() {
+		int shift = FixedMath.unitShift(x, y, z, 0);
+		long length = FixedMath.lengthLong(x << shift, y << shift, z << shift, 0);
+		if (length != 0) {
+			x = FixedMath.divideByLength(x << shift, length);
+			y = FixedMath.divideByLength(y << shift, length);
+			z = FixedMath.divideByLength(z << shift, length);
+		}
+		return this;
+	}
+
+	public FixedVec3 lerpInPlace(FixedVec3 target, int t) {
+		x += FixedMath.mul(target.x - x, t);
+		y += FixedMath.mul(target.y - y, t);
+		z += FixedMath.mul(target.z - z, t);
+		return this;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof FixedVec3)) {
+			return false;
+		}
+		final FixedVec3 other = (FixedVec3) obj;
+		return x == other.x && y == other.y && z == other.z;
+	}
+
+	@Override
+	public int hashCode() {
+		return (31 * x + y) * 31 + z;
+	}
+
+	public String toString() {
+		return "(" + FixedMath.toString(x) + ", " + FixedMath.toString(y) + ", " + FixedMath.toString(z) + ")";
+	}
+}
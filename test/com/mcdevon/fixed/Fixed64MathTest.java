@@ -0,0 +1,174 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Fixed64Math against BigInteger / BigDecimal arithmetic
+ */
+class Fixed64MathTest {
+
+	static final long MAX = Fixed64Math.MAX_VALUE;
+	static final long MIN = Fixed64Math.MIN_VALUE;
+	static final long ONE = Fixed64Math.ONE;
+	static final BigInteger BIG_MAX = BigInteger.valueOf(MAX);
+	static final BigInteger BIG_MIN = BigInteger.valueOf(MIN);
+
+	static long[] operands(int count) {
+		long[] edges = { 0, 1, -1, ONE, -ONE, ONE + 1, Fixed64Math.HALF, MAX, MIN, MIN + 1, MAX >> 32, MIN >> 32,
+				1L << 47, -(1L << 47), (1L << 47) - 1 };
+		Random random = new Random(42);
+		long[] values = new long[count];
+		System.arraycopy(edges, 0, values, 0, edges.length);
+		for (int i = edges.length; i < count; i++) {
+			values[i] = random.nextLong() >> (random.nextInt(4) * 16);
+		}
+		return values;
+	}
+
+	static long clamp(BigInteger value) {
+		return value.max(BIG_MIN).min(BIG_MAX).longValue();
+	}
+
+	@Test
+	void mulAndSafeMul() {
+		for (long x : operands(200)) {
+			for (long y : operands(200)) {
+				BigInteger product = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)).shiftRight(32);
+				assertEquals(product.longValue(), Fixed64Math.mul(x, y));
+				assertEquals(clamp(product), Fixed64Math.safeMul(x, y), x + " * " + y);
+			}
+		}
+	}
+
+	@Test
+	void divAndSafeDiv() {
+		for (long x : operands(200)) {
+			for (long y : operands(200)) {
+				if (y == 0) {
+					continue;
+				}
+				BigDecimal quotient = new BigDecimal(BigInteger.valueOf(x).shiftLeft(32))
+						.divide(BigDecimal.valueOf(y), 1, RoundingMode.DOWN);
+				if (quotient.abs().compareTo(new BigDecimal(BIG_MAX)) <= 0) {
+					assertEquals(quotient.setScale(0, RoundingMode.DOWN).longValue(), Fixed64Math.div(x, y));
+				}
+				BigInteger rounded = new BigDecimal(BigInteger.valueOf(x).shiftLeft(32))
+						.divide(BigDecimal.valueOf(y), 0, RoundingMode.HALF_UP).toBigInteger();
+				assertEquals(clamp(rounded), Fixed64Math.safeDiv(x, y), x + " / " + y);
+			}
+		}
+		assertThrows(ArithmeticException.class, () -> Fixed64Math.safeDiv(ONE, 0));
+	}
+
+	@Test
+	void fromStringRoundsHalfUp() {
+		Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			// At most 18 fraction digits, which are parsed exactly
+			BigDecimal value = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(19));
+			BigDecimal scaled = value.multiply(BigDecimal.valueOf(ONE));
+			if (scaled.abs().compareTo(new BigDecimal(BIG_MAX)) > 0) {
+				continue;
+			}
+			long expected = scaled.setScale(0, value.signum() < 0 ? RoundingMode.HALF_DOWN : RoundingMode.HALF_UP)
+					.longValueExact();
+			assertEquals(expected, Fixed64Math.fromString(value.toPlainString()), value.toPlainString());
+		}
+	}
+
+	@Test
+	void fromStringBoundaries() {
+		assertEquals(MIN, Fixed64Math.fromString("-2147483648"));
+		assertEquals(MIN, Fixed64Math.fromString("-2147483648.0"));
+		assertEquals(MAX, Fixed64Math.fromString(Fixed64Math.toString(MAX)));
+		assertEquals(-Fixed64Math.HALF, Fixed64Math.fromString("-0.5"));
+		assertEquals(-Fixed64Math.HALF, Fixed64Math.fromString("-,5"));
+		assertThrows(NumberFormatException.class, () -> Fixed64Math.fromString("2147483648"));
+		assertThrows(NumberFormatException.class, () -> Fixed64Math.fromString("2147483648.0"));
+		assertThrows(NumberFormatException.class, () -> Fixed64Math.fromString("-2147483648.5"));
+		assertThrows(NumberFormatException.class, () -> Fixed64Math.fromString("1."));
+		for (long x : operands(1000)) {
+			assertEquals(x, Fixed64Math.fromString(Fixed64Math.toString(x)));
+		}
+	}
+
+	@Test
+	void sqrtRoundsToNearest() {
+		for (long x : operands(2000)) {
+			if (x < 0) {
+				assertThrows(ArithmeticException.class, () -> Fixed64Math.sqrt(x));
+				continue;
+			}
+			// (r - 1/2)^2 < x <= (r + 1/2)^2 with 2 * DECIMAL_BITS decimal bits
+			BigInteger scaled = BigInteger.valueOf(x).shiftLeft(2 + 32);
+			BigInteger twice = BigInteger.valueOf(Fixed64Math.sqrt(x)).shiftLeft(1);
+			BigInteger below = twice.subtract(BigInteger.ONE);
+			BigInteger above = twice.add(BigInteger.ONE);
+			assertTrue(x == 0 || below.multiply(below).compareTo(scaled) < 0, "sqrt " + x);
+			assertTrue(above.multiply(above).compareTo(scaled) > 0, "sqrt " + x);
+		}
+		assertEquals(0, Fixed64Math.sqrt(0));
+		assertEquals(ONE, Fixed64Math.sqrt(ONE));
+		assertEquals(3 * ONE, Fixed64Math.sqrt(9 * ONE));
+		assertEquals(1L << 16, Fixed64Math.sqrt(1));
+	}
+
+	@Test
+	void trigonometryMatchesStrictMath() {
+		Random random = new Random(5);
+		for (int i = 0; i < 20000; i++) {
+			// Within a few turns, where reduction by the rounded 2 pi is exact enough
+			long angle = (long)((random.nextDouble() * 8 - 4) * Fixed64Math.PI_TIMES_TWO);
+			double x = angle / (double)ONE;
+			assertEquals(StrictMath.sin(x) * ONE, Fixed64Math.sin(angle), 2, "sin " + angle);
+			assertEquals(StrictMath.cos(x) * ONE, Fixed64Math.cos(angle), 2, "cos " + angle);
+			long t = (long)((random.nextDouble() * 2.8 - 1.4) * ONE);
+			double tan = StrictMath.tan(t / (double)ONE);
+			assertEquals(tan * ONE, Fixed64Math.tan(t), 4 * (1 + tan * tan), "tan " + t);
+
+			long y = random.nextLong() >> random.nextInt(64);
+			long z = random.nextLong() >> random.nextInt(64);
+			assertEquals(StrictMath.atan2(y, z) * ONE, Fixed64Math.atan2(y, z), 1, "atan2 " + y + ", " + z);
+		}
+		assertEquals(0, Fixed64Math.sin(0));
+		assertEquals(ONE, Fixed64Math.cos(0));
+		assertEquals(ONE, Fixed64Math.sin(Fixed64Math.PI_OVER_TWO));
+		assertEquals(0, Fixed64Math.tan(0));
+		assertEquals(0, Fixed64Math.atan2(0, 0));
+		assertEquals(Fixed64Math.PI_OVER_TWO, Fixed64Math.atan2(ONE, 0));
+		assertEquals(-Fixed64Math.PI_OVER_TWO, Fixed64Math.atan2(MIN, 0));
+		assertEquals(Fixed64Math.PI, Fixed64Math.atan2(0, -ONE));
+		assertEquals(StrictMath.atan2(-1, -1) * ONE, Fixed64Math.atan2(MIN, MIN), 1);
+	}
+
+	@Test
+	void tanSaturatesAtThePoles() {
+		// cos rounds to zero at PI_OVER_TWO + 1, the sign of sin decides
+		assertEquals(0, Fixed64Math.cos(Fixed64Math.PI_OVER_TWO + 1));
+		assertEquals(MAX, Fixed64Math.tan(Fixed64Math.PI_OVER_TWO + 1));
+		assertEquals(MIN, Fixed64Math.tan(-Fixed64Math.PI_OVER_TWO));
+		for (int k = -5; k <= 5; k += 2) {
+			long pole = k * Fixed64Math.PI_OVER_TWO;
+			for (long angle = pole - 16; angle <= pole + 16; angle++) {
+				long tan = Fixed64Math.tan(angle);
+				assertTrue(Math.abs(tan) > 1000 * ONE || tan == MIN, "tan " + angle);
+			}
+		}
+	}
+
+	@Test
+	void fixedConversion() {
+		for (int x : FixedMathTest.operands(200)) {
+			assertEquals(x, Fixed64Math.toFixed(Fixed64Math.fromFixed(x)));
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Every bulk operation against the scalar FixedMath operator
+ */
+class FixedArraysTest {
+
+	static final int N = 1000;
+
+	// Full range operands, so the saturating operators overflow often
+	static final int[] A = FixedMathTest.operands(N);
+	static final int[] B = reversed(A);
+	// Operands that do not overflow the plain operators
+	static final int[] SMALL_A = shifted(A, 12);
+	static final int[] SMALL_B = shifted(B, 12);
+
+	static int[] reversed(int[] values) {
+		int[] result = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = values[values.length - 1 - i];
+		}
+		return result;
+	}
+
+	static int[] shifted(int[] values, int shift) {
+		int[] result = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = values[i] >> shift;
+		}
+		return result;
+	}
+
+	static int[] map(int[] a, IntUnaryOperator op) {
+		int[] result = new int[a.length];
+		for (int i = 0; i < a.length; i++) {
+			result[i] = op.applyAsInt(a[i]);
+		}
+		return result;
+	}
+
+	static int[] map(int[] a, int[] b, IntBinaryOperator op) {
+		int[] result = new int[a.length];
+		for (int i = 0; i < a.length; i++) {
+			result[i] = op.applyAsInt(a[i], b[i]);
+		}
+		return result;
+	}
+
+	@Test
+	void operatorsMatchScalar() {
+		int[] out = new int[N];
+		FixedArrays.add(A, B, out);
+		assertArrayEquals(map(A, B, FixedMath::add), out);
+		FixedArrays.sub(A, B, out);
+		assertArrayEquals(map(A, B, FixedMath::sub), out);
+		FixedArrays.mul(SMALL_A, SMALL_B, out);
+		assertArrayEquals(map(SMALL_A, SMALL_B, FixedMath::mul), out);
+		FixedArrays.mul(SMALL_A, -3 * FixedMath.HALF, out);
+		assertArrayEquals(map(SMALL_A, x -> FixedMath.mul(x, -3 * FixedMath.HALF)), out);
+		FixedArrays.negate(A, out);
+		assertArrayEquals(map(A, FixedMath::negate), out);
+		FixedArrays.fma(SMALL_A, SMALL_B, A, out);
+		for (int i = 0; i < N; i++) {
+			assertEquals(FixedMath.fma(SMALL_A[i], SMALL_B[i], A[i]), out[i]);
+		}
+	}
+
+	@Test
+	void safeOperatorsMatchScalar() {
+		int[] out = new int[N];
+		FixedArrays.safeAdd(A, B, out);
+		assertArrayEquals(map(A, B, FixedMath::safeAdd), out);
+		FixedArrays.safeSub(A, B, out);
+		assertArrayEquals(map(A, B, FixedMath::safeSub), out);
+		FixedArrays.safeMul(A, B, out);
+		assertArrayEquals(map(A, B, FixedMath::safeMul), out);
+		FixedArrays.safeFma(A, B, SMALL_A, out);
+		assertArrayEquals(map(map(A, B, FixedMath::safeMul), SMALL_A, FixedMath::safeAdd), out);
+	}
+
+	@Test
+	void lerpAndDot() {
+		int[] out = new int[N];
+		int t = FixedMath.ONE / 3;
+		FixedArrays.lerp(SMALL_A, SMALL_B, t, out);
+		assertArrayEquals(map(SMALL_A, SMALL_B, (a, b) -> a + FixedMath.mul(b - a, t)), out);
+		FixedArrays.lerp(SMALL_A, SMALL_B, SMALL_A, out);
+		for (int i = 0; i < N; i++) {
+			assertEquals(SMALL_A[i] + FixedMath.mul(SMALL_B[i] - SMALL_A[i], SMALL_A[i]), out[i]);
+		}
+
+		int sum = 0;
+		for (int i = 0; i < N; i++) {
+			sum += FixedMath.mul(SMALL_A[i], SMALL_B[i]);
+		}
+		assertEquals(sum, FixedArrays.dot(SMALL_A, SMALL_B));
+	}
+
+	@Test
+	void functionsMatchScalar() {
+		int[] out = new int[N];
+		int[] cosOut = new int[N];
+		FixedArrays.sin(A, out);
+		assertArrayEquals(map(A, FixedMath::sin), out);
+		FixedArrays.cos(A, out);
+		assertArrayEquals(map(A, FixedMath::cos), out);
+		FixedArrays.sincos(A, out, cosOut);
+		assertArrayEquals(map(A, FixedMath::sin), out);
+		assertArrayEquals(map(A, FixedMath::cos), cosOut);
+
+		int[] exponents = shifted(A, 22);
+		FixedArrays.exp2(exponents, out);
+		assertArrayEquals(map(exponents, FixedMath::exp2), out);
+		FixedArrays.exp(exponents, out);
+		assertArrayEquals(map(exponents, FixedMath::exp), out);
+		int[] positive = map(A, x -> (x & FixedMath.MAX_VALUE) | 1);
+		FixedArrays.log2(positive, out);
+		assertArrayEquals(map(positive, FixedMath::log2), out);
+		FixedArrays.ln(positive, out);
+		assertArrayEquals(map(positive, FixedMath::ln), out);
+		FixedArrays.pow(positive, FixedMath.HALF, out);
+		assertArrayEquals(map(positive, x -> FixedMath.pow(x, FixedMath.HALF)), out);
+		FixedArrays.pow(positive, exponents, out);
+		assertArrayEquals(map(positive, exponents, FixedMath::pow), out);
+	}
+
+	@Test
+	void outputMayBeAnInput() {
+		int[] a = A.clone();
+		FixedArrays.safeAdd(a, B, a);
+		assertArrayEquals(map(A, B, FixedMath::safeAdd), a);
+	}
+
+	@Test
+	void lengthIsTakenFromOutput() {
+		int[] empty = new int[0];
+		FixedArrays.add(empty, empty, empty);
+		FixedArrays.sin(A, empty);
+		assertEquals(0, FixedArrays.dot(empty, empty));
+
+		int[] out = new int[2];
+		FixedArrays.add(A, B, out);
+		assertArrayEquals(new int[] { A[0] + B[0], A[1] + B[1] }, out);
+		assertThrows(IllegalArgumentException.class, () -> FixedArrays.add(empty, B, out));
+		assertThrows(IllegalArgumentException.class, () -> FixedArrays.dot(A, empty));
+	}
+}
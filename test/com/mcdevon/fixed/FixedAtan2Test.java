@@ -0,0 +1,67 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedAtan2 tiers against StrictMath, and the batch form against the
+ * scalar one
+ */
+class FixedAtan2Test {
+
+	static final int ONE = FixedMath.ONE;
+
+	// Documented error of each tier in raw units
+	static double tolerance(FixedAtan2 tier) {
+		return tier == FixedAtan2.FAST ? 0.005 * ONE + 1 : 1;
+	}
+
+	@Test
+	void tiersAreWithinTheirBounds() {
+		int[] values = FixedMathTest.operands(400);
+		for (FixedAtan2 tier : FixedAtan2.values()) {
+			assertEquals(0, tier.atan2(0, 0));
+			for (int y : values) {
+				for (int x : values) {
+					int result = tier.atan2(y, x);
+					assertTrue(result >= -FixedMath.PI && result <= FixedMath.PI, tier + " " + y + ", " + x);
+					if (x != 0 || y != 0) {
+						double exact = StrictMath.atan2(y, x) * ONE;
+						assertEquals(exact, result, tolerance(tier), tier + " atan2 " + y + ", " + x);
+					}
+				}
+				assertEquals(tier.atan2(y, ONE), tier.atan(y));
+			}
+			// Axes and diagonals
+			assertEquals(FixedMath.PI_OVER_TWO, tier.atan2(ONE, 0), tolerance(tier));
+			assertEquals(-FixedMath.PI_OVER_TWO, tier.atan2(FixedMath.MIN_VALUE, 0), tolerance(tier));
+			assertEquals(FixedMath.PI, Math.abs(tier.atan2(0, -ONE)), tolerance(tier));
+			assertEquals(StrictMath.atan2(-1, -1) * ONE, tier.atan2(FixedMath.MIN_VALUE, FixedMath.MIN_VALUE), tolerance(tier));
+		}
+		assertEquals(FixedMath.atan2Fast(3 * ONE, -ONE), FixedAtan2.FAST.atan2(3 * ONE, -ONE));
+		assertEquals(FixedMath.atan2(3 * ONE, -ONE), FixedAtan2.LUT.atan2(3 * ONE, -ONE));
+		assertEquals(FixedTrigEngine.POLYNOMIAL.atan2(3 * ONE, -ONE), FixedAtan2.POLYNOMIAL.atan2(3 * ONE, -ONE));
+	}
+
+	@Test
+	void batchMatchesScalar() {
+		int[] y = FixedMathTest.operands(1000);
+		int[] x = FixedArraysTest.reversed(y);
+		for (FixedAtan2 tier : FixedAtan2.values()) {
+			int[] out = new int[y.length - 1];
+			tier.atan2(y, x, out);
+			for (int i = 0; i < out.length; i++) {
+				assertEquals(tier.atan2(y[i], x[i]), out[i], tier + " " + i);
+				assertEquals(Fixed.fromData(out[i]), tier.atan2(Fixed.fromData(y[i]), Fixed.fromData(x[i])));
+			}
+			// Inputs may be longer than the output
+			tier.atan2(new int[0], new int[0], new int[0]);
+			tier.atan2(y, x, new int[0]);
+			assertThrows(IllegalArgumentException.class, () -> tier.atan2(new int[1], x, new int[2]));
+			assertThrows(IllegalArgumentException.class, () -> tier.atan2(y, new int[1], new int[2]));
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Fixed instance cache with the default range, -128...127 in quarters
+ */
+class FixedCacheTest {
+
+	static final int ONE = FixedMath.ONE;
+	static final int QUARTER = ONE / 4;
+
+	@Test
+	void cachedRange() {
+		for (int data = -128 * ONE; data <= 127 * ONE; data += QUARTER) {
+			assertSame(Fixed.fromData(data), Fixed.fromData(data), "" + data);
+		}
+		assertSame(Fixed.fromInt(-128), Fixed.fromLong(-128));
+		assertSame(Fixed.fromInt(127), Fixed.fromData(127 * ONE));
+		assertSame(Fixed.zero, Fixed.fromInt(0));
+		assertSame(Fixed.one, Fixed.fromInt(1));
+		assertSame(Fixed.two, Fixed.fromLong(2));
+		assertSame(Fixed.half, Fixed.fromData(FixedMath.HALF));
+
+		// Just outside the range or between the steps
+		int[] uncached = { -128 * ONE - QUARTER, 127 * ONE + QUARTER, 128 * ONE, QUARTER / 2, -1, 1,
+			FixedMath.MAX_VALUE, FixedMath.MIN_VALUE };
+		for (int data : uncached) {
+			Fixed a = Fixed.fromData(data);
+			Fixed b = Fixed.fromData(data);
+			assertNotSame(a, b, "" + data);
+			assertEquals(a, b);
+			assertEquals(a.hashCode(), b.hashCode());
+			assertEquals(data, a.dataValue());
+		}
+	}
+
+	@Test
+	void invalidSettingsAreRejected() {
+		assertEquals(null, Fixed.cacheError(2, -128, 127));
+		assertEquals(null, Fixed.cacheError(FixedMath.DECIMAL_BITS, -4, 3));
+		assertEquals(null, Fixed.cacheError(0, 1 << 20, (1 << 21) - 1));
+		// Disabled, whatever the range
+		assertEquals(null, Fixed.cacheError(2, 0, -1));
+		assertEquals(null, Fixed.cacheError(2, Integer.MAX_VALUE, Integer.MIN_VALUE));
+
+		assertNotNull(Fixed.cacheError(-1, -128, 127));
+		assertNotNull(Fixed.cacheError(FixedMath.DECIMAL_BITS + 1, -128, 127));
+		assertNotNull(Fixed.cacheError(2, -(1 << 21) - 1, 0));
+		assertNotNull(Fixed.cacheError(2, 0, 1 << 21));
+		assertNotNull(Fixed.cacheError(FixedMath.DECIMAL_BITS, -(1 << 13), 1 << 13));
+	}
+
+	@Test
+	void roundingMatchesFixedMath() {
+		for (int data : FixedMathTest.operands(2000)) {
+			Fixed value = Fixed.fromData(data);
+			assertEquals(FixedMath.floor(data), Fixed.floor(value).dataValue());
+			assertEquals(FixedMath.ceiling(data), Fixed.Ceiling(value).dataValue());
+			assertEquals(FixedMath.round(data), Fixed.round(value).dataValue());
+			assertEquals(FixedMath.roundRuleEven(data), Fixed.roundRuleEven(value).dataValue());
+		}
+		assertSame(Fixed.fromInt(-3), Fixed.floor(Fixed.fromData(-2 * ONE - 1)));
+		assertSame(Fixed.fromInt(2), Fixed.roundRuleEven(Fixed.fromData(2 * ONE + FixedMath.HALF)));
+		assertSame(Fixed.zero, Fixed.round(Fixed.fromData(-1)));
+	}
+}
@@ -0,0 +1,132 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * FixedCodec blocks written and read back in every encoding and byte order
+ */
+class FixedCodecTest {
+
+	static final int[] VALUES = FixedMathTest.operands(500);
+
+	@TempDir
+	Path directory;
+
+	static ByteBuffer[] buffers(int capacity) {
+		return new ByteBuffer[] {
+			ByteBuffer.allocate(capacity).order(ByteOrder.BIG_ENDIAN),
+			ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN),
+			ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder()),
+		};
+	}
+
+	@Test
+	void arraysRoundTrip() {
+		int[] base = FixedArraysTest.reversed(VALUES);
+		for (ByteBuffer buffer : buffers(3 * FixedCodec.maxBlockSize(VALUES.length) + 7)) {
+			buffer.position(7);
+			FixedCodec.write(buffer, VALUES, 1, VALUES.length - 1);
+			FixedCodec.writeVarint(buffer, VALUES, 0, VALUES.length);
+			FixedCodec.writeDelta(buffer, VALUES, base, 0, VALUES.length);
+			int end = buffer.position();
+			buffer.flip().position(7);
+
+			// Readers use the order of the block, not the one of the buffer
+			ByteOrder order = buffer.order();
+			buffer.order(order == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+			int[] out = new int[VALUES.length];
+			assertEquals(FixedCodec.Encoding.RAW, FixedCodec.encoding(buffer));
+			assertEquals(VALUES.length - 1, FixedCodec.count(buffer));
+			assertEquals(7, buffer.position());
+			assertEquals(VALUES.length - 1, FixedCodec.read(buffer, out, 1));
+			assertArrayEquals(Arrays.copyOfRange(VALUES, 1, VALUES.length), Arrays.copyOfRange(out, 1, VALUES.length));
+
+			Arrays.fill(out, 0);
+			assertEquals(FixedCodec.Encoding.VARINT, FixedCodec.encoding(buffer));
+			assertEquals(VALUES.length, FixedCodec.read(buffer, out, 0));
+			assertArrayEquals(VALUES, out);
+
+			// Base may be the output
+			int[] inPlace = base.clone();
+			assertEquals(FixedCodec.Encoding.DELTA, FixedCodec.encoding(buffer));
+			assertEquals(VALUES.length, FixedCodec.read(buffer, inPlace, 0, inPlace));
+			assertArrayEquals(VALUES, inPlace);
+			assertEquals(end, buffer.position());
+			assertTrue(order != buffer.order());
+		}
+	}
+
+	@Test
+	void varintBlocksStayWithinMaxBlockSize() {
+		int[] worst = { FixedMath.MIN_VALUE, FixedMath.MAX_VALUE, -1, 0 };
+		ByteBuffer buffer = ByteBuffer.allocate(FixedCodec.maxBlockSize(worst.length));
+		FixedCodec.writeVarint(buffer, worst, 0, worst.length);
+		buffer.flip();
+		int[] out = new int[worst.length];
+		FixedCodec.read(buffer, out, 0);
+		assertArrayEquals(worst, out);
+
+		// Small deltas take one byte each
+		int[] small = new int[100];
+		ByteBuffer delta = ByteBuffer.allocate(FixedCodec.maxBlockSize(small.length));
+		FixedCodec.writeDelta(delta, FixedArraysTest.shifted(VALUES, 31), small, 0, small.length);
+		assertEquals(FixedCodec.HEADER_BYTES + small.length, delta.position());
+	}
+
+	@Test
+	void vectorsRoundTrip() {
+		FixedVec2[] v2 = { new FixedVec2(1, -2), new FixedVec2(FixedMath.MAX_VALUE, FixedMath.MIN_VALUE) };
+		FixedVec3[] v3 = { new FixedVec3(1, 2, 3), new FixedVec3(-4, 5, FixedMath.MIN_VALUE) };
+		for (ByteBuffer buffer : buffers(256)) {
+			FixedCodec.write(buffer, v2, 0, v2.length);
+			FixedCodec.write(buffer, v3, 1, 1);
+			buffer.flip();
+			FixedVec2[] r2 = { new FixedVec2(), new FixedVec2(), new FixedVec2() };
+			FixedVec3[] r3 = { new FixedVec3() };
+			assertThrows(IllegalArgumentException.class, () -> FixedCodec.read(buffer, new int[2], 0));
+			assertEquals(2, FixedCodec.read(buffer, r2, 1));
+			assertEquals(v2[0], r2[1]);
+			assertEquals(v2[1], r2[2]);
+			assertEquals(1, FixedCodec.read(buffer, r3, 0));
+			assertEquals(v3[1], r3[0]);
+		}
+	}
+
+	@Test
+	void invalidBlocks() {
+		ByteBuffer buffer = ByteBuffer.allocate(FixedCodec.maxBlockSize(VALUES.length));
+		FixedCodec.writeDelta(buffer, VALUES, VALUES, 0, VALUES.length);
+		buffer.flip();
+		assertThrows(IllegalArgumentException.class, () -> FixedCodec.read(buffer, new int[VALUES.length], 0));
+		assertThrows(IllegalArgumentException.class, () -> FixedCodec.read(buffer, new int[1], 0, new int[1]));
+		buffer.put(6, (byte)(FixedMath.BITS * 2));
+		assertThrows(IllegalArgumentException.class, () -> FixedCodec.count(buffer));
+		buffer.put(0, (byte)0);
+		assertThrows(IllegalArgumentException.class, () -> FixedCodec.count(buffer));
+		assertThrows(IllegalArgumentException.class, () -> FixedCodec.write(buffer, VALUES, 10, VALUES.length));
+	}
+
+	@Test
+	void filesRoundTrip() throws IOException {
+		Path file = directory.resolve("values.bin");
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN }) {
+			FixedCodec.write(file, VALUES, order);
+			assertArrayEquals(VALUES, FixedCodec.read(file));
+		}
+		// A shorter array replaces the longer file
+		FixedCodec.write(file, new int[0], ByteOrder.BIG_ENDIAN);
+		assertArrayEquals(new int[0], FixedCodec.read(file));
+	}
+}
@@ -0,0 +1,166 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedCollision against exact long and double references, with touching,
+ * degenerate and saturated shapes
+ */
+class FixedCollisionTest {
+
+	static final int ONE = FixedMath.ONE;
+	static final int MAX = FixedMath.MAX_VALUE;
+	static final int MIN = FixedMath.MIN_VALUE;
+	static final int MISS = FixedCollision.MISS;
+
+	static boolean within(long dx, long dy, long r) {
+		return dx * dx + dy * dy <= r * r;
+	}
+
+	@Test
+	void boxesAndCircles() {
+		Random random = new Random(22);
+		for (int i = 0; i < 100000; i++) {
+			// Small enough that every difference and square stays exact
+			int x1 = random.nextInt() >> 3;
+			int y1 = random.nextInt() >> 3;
+			int r1 = random.nextInt(1 << 27);
+			int x2 = x1 + (random.nextInt() >> 4);
+			int y2 = y1 + (random.nextInt() >> 4);
+			int r2 = random.nextInt(1 << 27);
+			assertEquals(within((long)x2 - x1, (long)y2 - y1, (long)r1 + r2), FixedCollision.circleOverlaps(x1, y1, r1, x2, y2, r2));
+			assertEquals(within((long)x2 - x1, (long)y2 - y1, r1), FixedCollision.circleContains(x1, y1, r1, x2, y2));
+
+			int minX = Math.min(x2, y2);
+			int maxX = Math.max(x2, y2);
+			int minY = x2 - r2;
+			int maxY = x2;
+			long closestX = Math.max(minX, Math.min(maxX, x1));
+			long closestY = Math.max(minY, Math.min(maxY, y1));
+			assertEquals(within(x1 - closestX, y1 - closestY, r1), FixedCollision.circleAabbOverlaps(x1, y1, r1, minX, minY, maxX, maxY));
+			assertEquals(x1 >= minX && x1 <= maxX && y1 >= minY && y1 <= maxY, FixedCollision.aabbContains(minX, minY, maxX, maxY, x1, y1));
+			assertEquals(FixedCollision.aabbOverlaps(minX, minY, maxX, maxY, x1 - r1, y1 - r1, x1 + r1, y1 + r1),
+					FixedCollision.aabbOverlaps(x1 - r1, y1 - r1, x1 + r1, y1 + r1, minX, minY, maxX, maxY));
+		}
+
+		// Touching edges and points count, as do zero radii
+		assertTrue(FixedCollision.aabbOverlaps(0, 0, ONE, ONE, ONE, ONE, 2 * ONE, 2 * ONE));
+		assertFalse(FixedCollision.aabbOverlaps(0, 0, ONE, ONE, ONE + 1, 0, 2 * ONE, ONE));
+		assertTrue(FixedCollision.aabbOverlaps(5, 5, 5, 5, 5, 5, 5, 5));
+		assertTrue(FixedCollision.aabbOverlaps(MIN, MIN, MAX, MAX, 0, 0, 0, 0));
+		assertTrue(FixedCollision.circleOverlaps(0, 0, 3 * ONE, 5 * ONE, 0, 2 * ONE));
+		assertFalse(FixedCollision.circleOverlaps(0, 0, 3 * ONE, 5 * ONE, 1, 2 * ONE));
+		assertTrue(FixedCollision.circleContains(7, 7, 0, 7, 7));
+		assertFalse(FixedCollision.circleContains(7, 7, 0, 7, 8));
+		assertTrue(FixedCollision.circleAabbOverlaps(0, 0, ONE, ONE, -5, 2 * ONE, 5));
+
+		// Saturated differences never wrap into an overlap
+		assertFalse(FixedCollision.circleOverlaps(MIN, MIN, ONE, MAX, MAX, ONE));
+		assertFalse(FixedCollision.circleOverlaps(MAX, MAX, ONE, MIN, MIN, ONE));
+		assertFalse(FixedCollision.circleContains(MAX, MAX, MAX, MIN, MIN));
+		assertFalse(FixedCollision.circleAabbOverlaps(MIN, MIN, ONE, MAX - 1, MAX - 1, MAX, MAX));
+	}
+
+	@Test
+	void raysAgainstBoxes() {
+		// Along an axis, entry at 2
+		assertEquals(2 * ONE, FixedCollision.rayAabb(0, 0, ONE, 0, MAX, 2 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(ONE, FixedCollision.rayAabb(0, 0, 2 * ONE, 0, MAX, 2 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(2 * ONE, FixedCollision.rayAabb(0, 0, ONE, 0, 2 * ONE, 2 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(MISS, FixedCollision.rayAabb(0, 0, ONE, 0, 2 * ONE - 1, 2 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(MISS, FixedCollision.rayAabb(0, 0, -ONE, 0, MAX, 2 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(MISS, FixedCollision.rayAabb(0, 2 * ONE, ONE, 0, MAX, 2 * ONE, -ONE, 3 * ONE, ONE));
+		// Grazing the top edge
+		assertEquals(2 * ONE, FixedCollision.rayAabb(0, ONE, ONE, 0, MAX, 2 * ONE, -ONE, 3 * ONE, ONE));
+		// Diagonal into the corner
+		assertEquals(2 * ONE, FixedCollision.rayAabb(0, 0, ONE, ONE, MAX, 2 * ONE, 2 * ONE, 3 * ONE, 3 * ONE));
+		// Origin inside, or zero direction
+		assertEquals(0, FixedCollision.rayAabb(ONE, ONE, -ONE, 3, MAX, 0, 0, 2 * ONE, 2 * ONE));
+		assertEquals(0, FixedCollision.rayAabb(ONE, ONE, 0, 0, 0, 0, 0, 2 * ONE, 2 * ONE));
+		assertEquals(MISS, FixedCollision.rayAabb(-ONE, ONE, 0, 0, MAX, 0, 0, 2 * ONE, 2 * ONE));
+		// Point box
+		assertEquals(5 * ONE, FixedCollision.rayAabb(0, 0, ONE, 0, MAX, 5 * ONE, 0, 5 * ONE, 0));
+
+		Random random = new Random(23);
+		for (int i = 0; i < 100000; i++) {
+			int ox = random.nextInt(1 << 20) - (1 << 19);
+			int oy = random.nextInt(1 << 20) - (1 << 19);
+			int dx = random.nextInt(1 << 14) - (1 << 13);
+			int dy = random.nextInt(1 << 14) - (1 << 13);
+			int minX = random.nextInt(1 << 20) - (1 << 19);
+			int minY = random.nextInt(1 << 20) - (1 << 19);
+			int maxX = minX + random.nextInt(1 << 16);
+			int maxY = minY + random.nextInt(1 << 16);
+			int t = FixedCollision.rayAabb(ox, oy, dx, dy, MAX, minX, minY, maxX, maxY);
+			if (t == MISS) {
+				continue;
+			}
+			// The point at t lies on the box, give or take one step of t
+			double x = ox + (double)t * dx / ONE;
+			double y = oy + (double)t * dy / ONE;
+			double slack = (Math.abs(dx) + Math.abs(dy)) / (double)ONE + 1;
+			assertTrue(x >= minX - slack && x <= maxX + slack && y >= minY - slack && y <= maxY + slack, i + ": " + t);
+		}
+	}
+
+	@Test
+	void segments() {
+		// Crossing in the middle, t along the first segment
+		assertEquals(FixedMath.HALF, FixedCollision.segmentsIntersect(0, 0, 2 * ONE, 2 * ONE, 0, 2 * ONE, 2 * ONE, 0));
+		assertEquals(ONE / 4, FixedCollision.segmentsIntersect(0, 0, 4 * ONE, 0, ONE, -ONE, ONE, ONE));
+		// Touching at end points
+		assertEquals(ONE, FixedCollision.segmentsIntersect(0, 0, ONE, 0, ONE, 0, ONE, ONE));
+		assertEquals(0, FixedCollision.segmentsIntersect(0, 0, ONE, 0, 0, -ONE, 0, 0));
+		// Just past an end, parallel, collinear and zero length
+		assertEquals(MISS, FixedCollision.segmentsIntersect(0, 0, ONE, 0, ONE + 1, -ONE, ONE + 1, ONE));
+		assertEquals(MISS, FixedCollision.segmentsIntersect(0, 0, ONE, ONE, 0, 1, ONE, ONE + 1));
+		assertEquals(MISS, FixedCollision.segmentsIntersect(0, 0, 2 * ONE, 0, ONE, 0, 3 * ONE, 0));
+		assertEquals(MISS, FixedCollision.segmentsIntersect(ONE, ONE, ONE, ONE, 0, 0, 2 * ONE, 2 * ONE));
+		assertTrue(FixedCollision.segmentsIntersect(new FixedVec2(0, 0), new FixedVec2(ONE, ONE),
+				new FixedVec2(ONE, 0), new FixedVec2(0, ONE)));
+		assertFalse(FixedCollision.segmentsIntersect(new FixedVec2(0, 0), new FixedVec2(ONE, ONE),
+				new FixedVec2(2 * ONE, 0), new FixedVec2(ONE + 1, ONE - 1)));
+
+		// Rays are unbounded up to maxT
+		assertEquals(3 * ONE, FixedCollision.raySegment(0, 0, ONE, 0, MAX, 3 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(3 * ONE, FixedCollision.raySegment(0, 0, ONE, 0, MAX, 3 * ONE, 0, 3 * ONE, ONE));
+		assertEquals(MISS, FixedCollision.raySegment(0, 0, ONE, 0, 3 * ONE - 1, 3 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(MISS, FixedCollision.raySegment(0, 0, -ONE, 0, MAX, 3 * ONE, -ONE, 3 * ONE, ONE));
+		assertEquals(MISS, FixedCollision.raySegment(0, 0, ONE, 0, MAX, ONE, 0, 3 * ONE, 0));
+		assertEquals(MISS, FixedCollision.raySegment(0, 0, 0, 0, MAX, ONE, -ONE, ONE, ONE));
+
+		Random random = new Random(24);
+		for (int i = 0; i < 100000; i++) {
+			int[] p = new int[8];
+			for (int j = 0; j < p.length; j++) {
+				p[j] = random.nextInt() >> 4;
+			}
+			int t = FixedCollision.segmentsIntersect(p[0], p[1], p[2], p[3], p[4], p[5], p[6], p[7]);
+			double rx = (double)p[2] - p[0];
+			double ry = (double)p[3] - p[1];
+			double sx = (double)p[6] - p[4];
+			double sy = (double)p[7] - p[5];
+			double qx = (double)p[4] - p[0];
+			double qy = (double)p[5] - p[1];
+			double denominator = rx * sy - ry * sx;
+			double exactT = (qx * sy - qy * sx) / denominator;
+			double exactU = (qx * ry - qy * rx) / denominator;
+			boolean hit = exactT >= 0 && exactT <= 1 && exactU >= 0 && exactU <= 1;
+			// Products are exact in a long, but not always in a double
+			double margin = Math.min(Math.min(exactT, 1 - exactT), Math.min(exactU, 1 - exactU));
+			if (Math.abs(margin) > 1e-6) {
+				assertEquals(hit, t != MISS, "hit " + i);
+			}
+			if (t != MISS && hit) {
+				// Rounded toward zero
+				assertTrue(t <= exactT * ONE + 1e-6 && t > exactT * ONE - 1, i + ": " + t + " " + exactT * ONE);
+			}
+		}
+	}
+}
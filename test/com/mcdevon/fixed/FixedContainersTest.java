@@ -0,0 +1,162 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedArray, FixedBuffer and FixedMap against FixedArrays and java.util
+ */
+class FixedContainersTest {
+
+	static final int[] A = FixedArraysTest.A;
+	static final int[] B = FixedArraysTest.B;
+	static final int N = A.length;
+
+	@Test
+	void arrayMatchesFixedArrays() {
+		FixedArray array = new FixedArray(0);
+		for (int value : A) {
+			array.add(value);
+		}
+		assertArrayEquals(A, array.toArray());
+		FixedArray other = new FixedArray(B);
+
+		int[] out = new int[N];
+		FixedArrays.add(A, B, out);
+		assertArrayEquals(out, new FixedArray(A).addAssign(other).toArray());
+		FixedArrays.sub(A, B, out);
+		assertArrayEquals(out, new FixedArray(A).subAssign(other).toArray());
+		FixedArrays.mul(A, B, out);
+		assertArrayEquals(out, new FixedArray(A).mulAssign(other).toArray());
+		FixedArrays.mul(A, -FixedMath.HALF, out);
+		assertArrayEquals(out, new FixedArray(A).mulAssign(-FixedMath.HALF).toArray());
+		FixedArrays.negate(A, out);
+		assertArrayEquals(out, new FixedArray(A).negateInPlace().toArray());
+		assertEquals(FixedArrays.dot(A, B), array.dot(other));
+		assertThrows(IllegalArgumentException.class, () -> array.addAssign(new FixedArray(1)));
+	}
+
+	@Test
+	void arrayGrowsAndShrinks() {
+		FixedArray array = new FixedArray();
+		assertTrue(array.isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, array::removeLast);
+		array.addAll(A, 10, 40);
+		array.addAll(new FixedArray(B));
+		assertEquals(40 + N, array.size());
+		assertEquals(A[10], array.get(0));
+		assertEquals(B[N - 1], array.removeLast());
+		array.set(1, Fixed.fromData(7));
+		assertEquals(7, array.get(1));
+		assertEquals(Fixed.fromData(7), array.getFixed(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> array.get(array.size()));
+
+		FixedArray copy = new FixedArray(array.toArray());
+		assertEquals(array, copy);
+		assertEquals(array.hashCode(), copy.hashCode());
+		copy.add(1);
+		assertFalse(array.equals(copy));
+		array.clear();
+		assertEquals(0, array.size());
+		assertEquals("[]", array.toString());
+		array.add(Fixed.fromData(FixedMath.ONE + FixedMath.HALF));
+		array.add(-1);
+		assertEquals("[1.5, -0.0009765625]", array.toString());
+	}
+
+	@Test
+	void bufferMatchesArray() {
+		FixedBuffer buffer = new FixedBuffer(N);
+		FixedBuffer other = new FixedBuffer(N);
+		buffer.set(0, A, 0, N);
+		other.set(0, B, 0, N);
+		assertEquals(N, buffer.length());
+		assertEquals(A[5], buffer.get(5));
+		assertEquals(FixedArrays.dot(A, B), buffer.dot(other));
+
+		int[] out = new int[N];
+		buffer.addAssign(other).get(0, out, 0, N);
+		assertArrayEquals(new FixedArray(A).addAssign(new FixedArray(B)).toArray(), out);
+		buffer.subAssign(other).get(0, out, 0, N);
+		assertArrayEquals(A, out);
+		buffer.mulAssign(other).mulAssign(3 * FixedMath.ONE).negateInPlace().get(0, out, 0, N);
+		assertArrayEquals(new FixedArray(A).mulAssign(new FixedArray(B)).mulAssign(3 * FixedMath.ONE).negateInPlace()
+				.toArray(), out);
+
+		// Partial ranges at an offset
+		int[] part = new int[12];
+		buffer.set(100, B, 3, 10);
+		buffer.get(99, part, 1, 11);
+		assertEquals(out[99], part[1]);
+		assertEquals(B[3], part[2]);
+		assertEquals(B[12], part[11]);
+		buffer.set(7, Fixed.fromData(-3));
+		assertEquals(Fixed.fromData(-3), buffer.getFixed(7));
+
+		buffer.fill(42);
+		assertEquals(42, buffer.get(N - 1));
+		assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(N));
+		assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> buffer.set(N - 2, A, 0, 3));
+		assertThrows(IllegalArgumentException.class, () -> buffer.addAssign(new FixedBuffer(1)));
+		assertThrows(IllegalArgumentException.class, () -> new FixedBuffer(-1));
+		assertEquals(0, new FixedBuffer(0).dot(new FixedBuffer(0)));
+	}
+
+	@Test
+	void mapMatchesHashMap() {
+		Random random = new Random(13);
+		FixedMap map = new FixedMap();
+		Map<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 200000; i++) {
+			// Few distinct keys, so removals shift long probe sequences
+			int key = random.nextInt(3) == 0 ? random.nextInt(64) << 16 : random.nextInt(2000) - 1000;
+			int value = random.nextInt();
+			switch (random.nextInt(4)) {
+			case 0:
+				map.put(key, value);
+				expected.put(key, value);
+				break;
+			case 1:
+				map.addTo(key, value);
+				expected.merge(key, value, Integer::sum);
+				break;
+			case 2:
+				assertEquals(expected.remove(key) != null, map.remove(key));
+				break;
+			default:
+				assertEquals(expected.containsKey(key), map.containsKey(key));
+				assertEquals(expected.getOrDefault(key, 17), map.get(key, 17));
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		Map<Integer, Integer> entries = new HashMap<>();
+		map.forEach(entries::put);
+		assertEquals(expected, entries);
+
+		FixedMap copy = new FixedMap(expected.size());
+		copy.addAssign(map).addAssign(map).mulAssign(FixedMath.HALF);
+		map.forEach((key, value) -> assertEquals(FixedMath.mul(2 * value, FixedMath.HALF), copy.get(key, 0)));
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(0));
+		assertNull(map.getFixed(0));
+		map.put(0, Fixed.fromData(5));
+		map.put(FixedMath.MIN_VALUE, 6);
+		assertEquals(Fixed.fromData(5), map.getFixed(0));
+		assertEquals(6, map.get(FixedMath.MIN_VALUE, 0));
+		assertEquals(2, map.size());
+		assertThrows(IllegalArgumentException.class, () -> new FixedMap(-1));
+	}
+}
@@ -0,0 +1,67 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedCsvWriter output read back by FixedCsvReader
+ */
+class FixedCsvTest {
+
+	static FixedCsvReader reader(String text) {
+		return new FixedCsvReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)), ';');
+	}
+
+	@Test
+	void roundTrip() throws IOException {
+		// Records longer than the 8192 byte buffers
+		int[] values = FixedMathTest.operands(3000);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (FixedCsvWriter writer = new FixedCsvWriter(bytes, ';')) {
+			writer.writeRecord(values);
+			writer.writeRecord(values, 1, 3);
+			writer.writeRecord(new int[0]);
+		}
+
+		FixedCsvReader reader = new FixedCsvReader(new ByteArrayInputStream(bytes.toByteArray()), ';');
+		int[] out = new int[values.length];
+		assertEquals(values.length, reader.readRecord(out));
+		assertArrayEquals(values, out);
+		assertEquals(2, reader.readRecord(out));
+		assertArrayEquals(Arrays.copyOfRange(values, 1, 3), Arrays.copyOf(out, 2));
+		assertEquals(0, reader.readRecord(out));
+		assertEquals(-1, reader.readRecord(out));
+		assertEquals(3, reader.lineNumber());
+	}
+
+	@Test
+	void readerAcceptsFromStringText() throws IOException {
+		FixedCsvReader reader = reader("1,5;-0.5;7\r\n-0,25\n\n3");
+		int[] out = new int[3];
+		assertEquals(3, reader.readRecord(out));
+		assertArrayEquals(new int[] { FixedMath.ONE + FixedMath.HALF, -FixedMath.HALF, 7 * FixedMath.ONE }, out);
+		assertEquals(1, reader.readRecord(out));
+		assertEquals(-FixedMath.ONE / 4, out[0]);
+		assertEquals(0, reader.readRecord(out));
+		assertEquals(1, reader.readRecord(out));
+		assertEquals(3 * FixedMath.ONE, out[0]);
+		assertEquals(-1, reader.readRecord(out));
+	}
+
+	@Test
+	void invalidInput() {
+		assertThrows(NumberFormatException.class, () -> reader("1;x").readRecord(new int[2]));
+		assertThrows(IllegalArgumentException.class, () -> reader("1;2;3").readRecord(new int[2]));
+		assertThrows(IllegalArgumentException.class, () -> new FixedCsvWriter(new ByteArrayOutputStream(), '.'));
+		assertThrows(IllegalArgumentException.class, () -> new FixedCsvReader(new ByteArrayInputStream(new byte[0]), '\n'));
+	}
+}
@@ -0,0 +1,116 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Sampled curves against the scalar evaluators, and arc length tables
+ * with degenerate segments
+ */
+class FixedCurvesTest {
+
+	static final int ONE = FixedMath.ONE;
+
+	@Test
+	void samplesMatchScalar() {
+		Random random = new Random(11);
+		for (int bits = 0; bits <= FixedCurves.MAX_SEGMENT_BITS; bits++) {
+			int count = (1 << bits) + 1;
+			int shift = FixedMath.DECIMAL_BITS - bits;
+			int[] p = new int[4];
+			for (int i = 0; i < 4; i++) {
+				p[i] = random.nextInt() >> 8;
+			}
+			int[] bezier = new int[count + 1];
+			int[] hermite = new int[count];
+			int[] catmullRom = new int[count];
+			FixedCurves.sampleBezier(p[0], p[1], p[2], p[3], bits, bezier, 1);
+			FixedCurves.sampleHermite(p[0], p[1], p[2], p[3], bits, hermite, 0);
+			FixedCurves.sampleCatmullRom(p[0], p[1], p[2], p[3], bits, catmullRom, 0);
+			for (int i = 0; i < count; i++) {
+				int t = i << shift;
+				assertEquals(FixedCurves.bezier(p[0], p[1], p[2], p[3], t), bezier[i + 1], "bezier " + bits + " " + i);
+				assertEquals(FixedCurves.hermite(p[0], p[1], p[2], p[3], t), hermite[i], "hermite " + bits + " " + i);
+				assertEquals(FixedCurves.catmullRom(p[0], p[1], p[2], p[3], t), catmullRom[i], "catmullRom " + bits + " " + i);
+			}
+			assertEquals(p[0], bezier[1]);
+			assertEquals(p[3], bezier[count]);
+		}
+		assertThrows(IllegalArgumentException.class, () -> FixedCurves.sampleBezier(0, 0, 0, 0, 2, new int[4], 0));
+		assertThrows(IllegalArgumentException.class, () -> FixedCurves.sampleBezier(0, 0, 0, 0, -1, new int[4], 0));
+	}
+
+	@Test
+	void largeControlPointsMatchSamples() {
+		assertEquals(600000000, FixedCurves.bezier(0, 800000000, 800000000, 0, FixedMath.HALF));
+		Random random = new Random(12);
+		for (int n = 0; n < 200; n++) {
+			// Inner points beyond MAX_VALUE / 3, where 3 p no longer fits an int
+			int[] p = { random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt() };
+			p[1] = p[1] < 0 ? p[1] | 0xC0000000 : p[1] & 0x7FFFFFFF | 0x30000000;
+			int bits = 6;
+			int[] samples = new int[(1 << bits) + 1];
+			FixedCurves.sampleBezier(p[0], p[1], p[2], p[3], bits, samples, 0);
+			for (int i = 0; i < samples.length; i++) {
+				int t = i << (FixedMath.DECIMAL_BITS - bits);
+				assertEquals(samples[i], FixedCurves.bezier(p[0], p[1], p[2], p[3], t), n + " " + i);
+			}
+		}
+	}
+
+	@Test
+	void interpolation() {
+		assertEquals(5 * ONE, FixedCurves.lerp(0, 10 * ONE, FixedMath.HALF));
+		assertEquals(FixedMath.HALF, FixedCurves.inverseLerp(0, 10 * ONE, 5 * ONE));
+		assertEquals(0, FixedCurves.inverseLerp(ONE, ONE, 7 * ONE));
+		assertEquals(0, FixedCurves.smoothstep(0, ONE, -ONE));
+		assertEquals(ONE, FixedCurves.smoothstep(0, ONE, 2 * ONE));
+		assertEquals(FixedMath.HALF, FixedCurves.smoothstep(0, ONE, FixedMath.HALF));
+		assertEquals(FixedMath.MAX_VALUE, FixedCurves.lerp(FixedMath.MIN_VALUE, FixedMath.MAX_VALUE, ONE));
+	}
+
+	@Test
+	void zeroLengthSegments() {
+		FixedCurves.ArcLengthTable table = new FixedCurves.ArcLengthTable(new int[] { 0, 5, 5, 10, 15 },
+				new int[] { 0, 0, 0, 0, 0 }, 2);
+		assertEquals(15, table.length());
+		int quarter = ONE / 4;
+		assertEquals(quarter, table.parameterAt(5));
+		assertEquals(3 * quarter, table.parameterAt(10));
+		assertEquals(quarter / 5, table.parameterAt(1));
+		assertEquals(2 * quarter + quarter / 5, table.parameterAt(6));
+		assertEquals(5, table.distanceAt(quarter));
+		assertEquals(5, table.distanceAt(2 * quarter));
+
+		// A curve that is a single point
+		FixedCurves.ArcLengthTable point = new FixedCurves.ArcLengthTable(new int[] { 7, 7, 7 }, new int[] { 3, 3, 3 }, 1);
+		assertEquals(0, point.length());
+		assertEquals(0, point.parameterAt(0));
+		assertEquals(0, point.parameterAt(-1));
+		assertEquals(ONE, point.parameterAt(1));
+		assertEquals(0, point.distanceAt(ONE / 3));
+	}
+
+	@Test
+	void parameterInvertsDistance() {
+		FixedCurves.ArcLengthTable table = FixedCurves.ArcLengthTable.bezier(new FixedVec2(0, 0),
+				new FixedVec2(0, 100 * ONE), new FixedVec2(100 * ONE, 100 * ONE), new FixedVec2(100 * ONE, 0), 6);
+		int previous = 0;
+		for (int distance = 0; distance <= table.length(); distance += 97) {
+			int t = table.parameterAt(distance);
+			assertTrue(t >= previous);
+			// Truncated to the parameter at or before the distance
+			assertTrue(table.distanceAt(t) <= distance && distance <= table.distanceAt(t + 1) + 1, distance + " -> " + t);
+			previous = t;
+		}
+		assertEquals(ONE, table.parameterAt(table.length()));
+		assertEquals(table.length(), table.distanceAt(ONE));
+		assertThrows(IllegalArgumentException.class,
+				() -> new FixedCurves.ArcLengthTable(new int[] { 0, FixedMath.MAX_VALUE, 0 }, new int[3], 1));
+	}
+}
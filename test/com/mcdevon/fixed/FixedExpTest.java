@@ -0,0 +1,113 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Exponentials, logarithms and pow against StrictMath, within the bounds
+ * documented in FixedMath
+ */
+class FixedExpTest {
+
+	static final int MAX = FixedMath.MAX_VALUE;
+	static final int ONE = FixedMath.ONE;
+
+	// Result raw value against the exact one, saturated like the result
+	static void check(int result, double exact, double ulps, double relative, String message) {
+		double expected = Math.min(exact * ONE, MAX);
+		assertEquals(expected, result, ulps + relative * expected, message);
+	}
+
+	@Test
+	void exponentialsAreWithinHalfUlp() {
+		// Every raw value from full underflow to saturation
+		for (int value = -12 * ONE; value <= 22 * ONE; value++) {
+			double x = value / (double)ONE;
+			check(FixedMath.exp2(value), StrictMath.pow(2, x), 0.5, 0x1p-29, "exp2 " + value);
+		}
+		for (int value = -9 * ONE; value <= 15 * ONE; value++) {
+			double x = value / (double)ONE;
+			check(FixedMath.exp(value), StrictMath.exp(x), 0.5, 0x1p-29, "exp " + value);
+		}
+		for (int value : new int[] { FixedMath.MIN_VALUE, FixedMath.MIN_VALUE + 1, -(1 << 20) }) {
+			assertEquals(0, FixedMath.exp2(value));
+			assertEquals(0, FixedMath.exp(value));
+		}
+		for (int value : new int[] { MAX, MAX - 1, 21 * ONE, 1 << 20 }) {
+			assertEquals(MAX, FixedMath.exp2(value));
+			assertEquals(MAX, FixedMath.exp(value));
+		}
+		assertEquals(ONE, FixedMath.exp2(0));
+		assertEquals(ONE, FixedMath.exp(0));
+		assertEquals(1 << 30, FixedMath.exp2(20 * ONE));
+	}
+
+	@Test
+	void logarithmsAreWithinHalfUlp() {
+		int[] values = new int[1 << 16];
+		for (int i = 0; i < values.length; i++) {
+			// Every small value, then a spread over the full positive range
+			values[i] = i < 1 << 15 ? i + 1 : (int)((long)(i - (1 << 15)) * (MAX >> 15)) + (i * 7919 & 0x7FFF) + 1;
+		}
+		for (int value : values) {
+			double x = value / (double)ONE;
+			double log2 = StrictMath.log(x) / StrictMath.log(2);
+			assertEquals(log2 * ONE, FixedMath.log2(value), 0.5 + 0x1p-20, "log2 " + value);
+			assertEquals(StrictMath.log(x) * ONE, FixedMath.ln(value), 0.5 + 0x1p-20, "ln " + value);
+		}
+		for (int bits = 0; bits < 31; bits++) {
+			assertEquals((bits - FixedMath.DECIMAL_BITS) * ONE, FixedMath.log2(1 << bits));
+		}
+		assertEquals(0, FixedMath.ln(ONE));
+		assertThrows(ArithmeticException.class, () -> FixedMath.log2(0));
+		assertThrows(ArithmeticException.class, () -> FixedMath.ln(-1));
+		assertThrows(ArithmeticException.class, () -> FixedMath.log2(FixedMath.MIN_VALUE));
+	}
+
+	@Test
+	void powIsWithinOneUlp() {
+		int[] operands = FixedMathTest.operands(600);
+		for (int x : operands) {
+			if (x <= 0) {
+				continue;
+			}
+			for (int y : operands) {
+				double exact = StrictMath.pow(x / (double)ONE, y / (double)ONE);
+				double relative = 0x1p-29 * Math.max(1, Math.abs(y / (double)ONE));
+				check(FixedMath.pow(x, y), exact, 1, relative, "pow " + x + ", " + y);
+			}
+		}
+		// Negative bases with integral exponents
+		for (int x = -20 * ONE; x < 0; x += 37) {
+			for (int n = -3; n <= 4; n++) {
+				double exact = StrictMath.pow(x / (double)ONE, n);
+				double expected = Math.max(Math.min(exact * ONE, MAX), -MAX);
+				int result = FixedMath.pow(x, n * ONE);
+				assertEquals(expected, result, 1 + 0x1p-27 * Math.abs(expected), "pow " + x + ", " + n);
+			}
+		}
+		assertEquals(-MAX, FixedMath.pow(FixedMath.MIN_VALUE, ONE));
+		assertEquals(MAX, FixedMath.pow(FixedMath.MIN_VALUE, 2 * ONE));
+		assertEquals(ONE, FixedMath.pow(0, 0));
+		assertEquals(0, FixedMath.pow(0, 3 * ONE + 1));
+		assertEquals(ONE, FixedMath.pow(-ONE, 0));
+		assertThrows(ArithmeticException.class, () -> FixedMath.pow(0, -1));
+		assertThrows(ArithmeticException.class, () -> FixedMath.pow(-ONE, FixedMath.HALF));
+	}
+
+	@Test
+	void fixedMatchesFixedMath() {
+		for (int value : FixedMathTest.operands(300)) {
+			Fixed x = Fixed.fromData(value);
+			assertEquals(FixedMath.exp2(value), Fixed.exp2(x).dataValue());
+			assertEquals(FixedMath.exp(value), Fixed.exp(x).dataValue());
+			if (value > 0) {
+				assertEquals(FixedMath.log2(value), Fixed.log2(x).dataValue());
+				assertEquals(FixedMath.ln(value), Fixed.ln(x).dataValue());
+				assertEquals(FixedMath.pow(value, -FixedMath.HALF), Fixed.pow(x, Fixed.fromData(-FixedMath.HALF)).dataValue());
+			}
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Generated Q-format classes: FixedQ22_10 against FixedMath, the other
+ * formats against exact arithmetic
+ */
+class FixedFormatTest {
+
+	static final int[] VALUES = FixedMathTest.operands(400);
+
+	static final String[] TEXTS = {
+		"0", "1", "-1", "1.5", "-0.5", "-0.0009765625", "0.0004", "0.0005", "0.00048828125", "2,25",
+		"3.14159265358979323846", "-2097152", "2097151.999", "+7.", "123.456789012345678901",
+	};
+
+	// Value or class of the exception thrown
+	static Object outcome(Callable<Object> call) {
+		try {
+			return call.call();
+		} catch (Exception e) {
+			return e.getClass();
+		}
+	}
+
+	@Test
+	void q22_10IsFixedMath() {
+		for (int x : VALUES) {
+			assertEquals(FixedMath.round(x), FixedQ22_10.round(x));
+			assertEquals(FixedMath.roundRuleEven(x), FixedQ22_10.roundRuleEven(x));
+			assertEquals(FixedMath.ceiling(x), FixedQ22_10.ceiling(x));
+			assertEquals(FixedMath.safeAbs(x), FixedQ22_10.safeAbs(x));
+			assertEquals(outcome(() -> FixedMath.sqrt(x)), outcome(() -> FixedQ22_10.sqrt(x)));
+			assertEquals(FixedMath.toString(x), FixedQ22_10.toString(x));
+			assertEquals(FixedMath.bigDecimalValue(x), FixedQ22_10.bigDecimalValue(x));
+			for (int y : VALUES) {
+				assertEquals(FixedMath.mul(x, y), FixedQ22_10.mul(x, y));
+				assertEquals(FixedMath.safeAdd(x, y), FixedQ22_10.safeAdd(x, y));
+				assertEquals(FixedMath.safeSub(x, y), FixedQ22_10.safeSub(x, y));
+				assertEquals(FixedMath.safeMul(x, y), FixedQ22_10.safeMul(x, y));
+				assertEquals(outcome(() -> FixedMath.safeDiv(x, y)), outcome(() -> FixedQ22_10.safeDiv(x, y)));
+				assertEquals(outcome(() -> FixedMath.div(x, y)), outcome(() -> FixedQ22_10.div(x, y)));
+			}
+		}
+		for (String text : TEXTS) {
+			assertEquals(outcome(() -> FixedMath.fromString(text)), outcome(() -> FixedQ22_10.fromString(text)), text);
+		}
+		assertEquals(FixedMath.PI, FixedQ22_10.PI);
+		assertEquals(FixedMath.PI_OVER_TWO, FixedQ22_10.PI_OVER_TWO);
+	}
+
+	@Test
+	void q16_16MatchesExactArithmetic() {
+		for (int x : VALUES) {
+			for (int y : VALUES) {
+				assertEquals(FixedMathTest.clamp(((long)x * y) >> 16), FixedQ16_16.safeMul(x, y));
+				if (y != 0) {
+					BigDecimal quotient = BigDecimal.valueOf(x).multiply(BigDecimal.valueOf(1 << 16))
+							.divide(BigDecimal.valueOf(y), 0, RoundingMode.HALF_UP);
+					long expected = quotient.max(BigDecimal.valueOf(Long.MIN_VALUE))
+							.min(BigDecimal.valueOf(Long.MAX_VALUE)).longValue();
+					assertEquals(FixedMathTest.clamp(expected), FixedQ16_16.safeDiv(x, y), x + " / " + y);
+				}
+			}
+			if (x >= 0) {
+				// Nearest integer to sqrt(x * 2^16)
+				long n = (long)x << 16;
+				long root = (long)Math.sqrt(n);
+				while (root * root > n) {
+					root--;
+				}
+				while ((root + 1) * (root + 1) <= n) {
+					root++;
+				}
+				assertEquals(n - root * root > root ? root + 1 : root, FixedQ16_16.sqrt(x));
+			}
+			assertEquals(x, FixedQ16_16.fromString(FixedQ16_16.toString(x)));
+		}
+	}
+
+	@Test
+	void conversionsSaturateOnlyInSafeVariants() {
+		for (int x : VALUES) {
+			assertEquals(x >> 6, FixedQ16_16.toFixed(x));
+			assertEquals(x << 6, FixedQ16_16.fromFixed(x));
+			assertEquals(FixedMathTest.clamp((long)x << 6), FixedQ16_16.safeFromFixed(x));
+			assertEquals(FixedMathTest.clamp((long)x << 8), FixedQ16_16.safeToQ8_24(x));
+			assertEquals(x >> 14, FixedQ8_24.toFixed(x));
+			assertEquals(FixedMathTest.clamp((long)x << 14), FixedQ8_24.safeFromFixed(x));
+			assertEquals(x, FixedQ22_10.toFixed(x));
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Param;
+
+/*
+ * The default JMH parameters list every case registered by FixedBenchmark
+ */
+class FixedJmhBenchmarkTest {
+
+	@Test
+	void defaultParametersCoverEveryCase() throws NoSuchFieldException {
+		Bench bench = new Bench();
+		FixedBenchmark.addCases(bench);
+		Param param = FixedJmhBenchmark.class.getField("op").getAnnotation(Param.class);
+		assertEquals(bench.names(), Arrays.asList(param.value()));
+	}
+}
@@ -0,0 +1,102 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Heap and memory-mapped FixedLut tables against each other and StrictMath
+ */
+class FixedLutTest {
+
+	static final int ONE = FixedMath.ONE;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void tablesAreWithinOneUlp() {
+		for (int bits : new int[] { 4, 8, FixedMath.DECIMAL_BITS, 12 }) {
+			FixedLut lut = FixedLut.build(bits);
+			assertEquals(bits, lut.resolutionBits());
+			assertEquals((int)(Math.PI / 2 * (1 << bits)), lut.size());
+			// Angles past the last entry read that entry
+			int end = Math.min(FixedMath.PI_OVER_TWO, (int)(((long)lut.size() - 1 << FixedMath.DECIMAL_BITS) >> bits));
+			for (int angle = 0; angle <= end; angle++) {
+				double exact = StrictMath.sin(angle / (double)ONE) * ONE;
+				// Entries are truncated, interpolation between entries 2^-bits
+				// apart adds up to h^2 / 8 and a rounding
+				double tolerance = bits >= FixedMath.DECIMAL_BITS ? 1 : 1.5 + ONE / 8.0 / (1 << (2 * bits));
+				assertEquals(exact, lut.sin(angle), tolerance, bits + " sin " + angle);
+			}
+			assertEquals(lut.sin(end), lut.sin(FixedMath.PI_OVER_TWO + 100));
+		}
+		assertThrows(IllegalArgumentException.class, () -> FixedLut.build(0));
+		assertThrows(IllegalArgumentException.class, () -> FixedLut.build(FixedLut.MAX_RESOLUTION_BITS + 1));
+	}
+
+	@Test
+	void mappedTablesMatchHeapTables() throws IOException {
+		Path file = directory.resolve("sub").resolve("lut.bin");
+		for (int bits : new int[] { 6, FixedMath.DECIMAL_BITS, 13 }) {
+			FixedLut heap = FixedLut.build(bits);
+			// Generated, then regenerated for the new resolution
+			FixedLut mapped = FixedLut.map(file, bits);
+			assertEquals(heap.size(), mapped.size());
+			for (int angle = 0; angle <= FixedMath.PI_OVER_TWO + 4; angle++) {
+				assertEquals(heap.sin(angle), mapped.sin(angle), bits + " sin " + angle);
+				assertEquals(heap.tan(angle), mapped.tan(angle), bits + " tan " + angle);
+			}
+		}
+
+		// A damaged file is written again
+		long length = Files.size(file);
+		byte[] bytes = Files.readAllBytes(file);
+		bytes[0] ^= 1;
+		Files.write(file, bytes);
+		FixedLut mapped = FixedLut.map(file, 13);
+		assertEquals(FixedLut.build(13).sin(ONE), mapped.sin(ONE));
+		assertEquals(length, Files.size(file));
+		try (Stream<Path> files = Files.list(file.getParent())) {
+			assertEquals(1, files.count());
+		}
+	}
+
+	@Test
+	void sharedTablesMatchInstance() {
+		FixedLut shared = FixedLut.shared();
+		FixedLut built = FixedLut.build(FixedLut.DEFAULT_RESOLUTION_BITS);
+		assertEquals(built.size(), shared.size());
+		for (int angle = 0; angle <= FixedMath.PI_OVER_TWO + 100; angle++) {
+			assertEquals(shared.sin(angle), FixedLut.sharedSin(angle), "sin " + angle);
+			assertEquals(shared.tan(angle), FixedLut.sharedTan(angle), "tan " + angle);
+			assertEquals(built.sin(angle), FixedLut.sharedSin(angle), "sin " + angle);
+		}
+		assertEquals(shared.sin(FixedMath.MAX_VALUE), FixedLut.sharedSin(FixedMath.MAX_VALUE));
+		assertEquals(shared.tan(FixedMath.MAX_VALUE), FixedLut.sharedTan(FixedMath.MAX_VALUE));
+		// FixedMath reads the first quadrant straight from the shared tables
+		assertEquals(FixedLut.sharedSin(ONE), FixedMath.sin(ONE));
+		assertEquals(FixedLut.sharedTan(ONE), FixedMath.tan(ONE));
+	}
+
+	@Test
+	void tanSaturates() {
+		FixedLut lut = FixedLut.build(FixedMath.DECIMAL_BITS);
+		assertEquals(0, lut.tan(0));
+		assertEquals(FixedMath.fromDouble(StrictMath.tan(1.0)), lut.tan(ONE));
+		int previous = 0;
+		for (int angle = 0; angle < FixedMath.PI_OVER_TWO + 4; angle++) {
+			int tan = lut.tan(angle);
+			assertTrue(tan >= previous, "tan " + angle);
+			previous = tan;
+		}
+	}
+}
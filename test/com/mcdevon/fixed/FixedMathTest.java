@@ -0,0 +1,257 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedMath against exact long arithmetic, and Fixed against FixedMath
+ */
+class FixedMathTest {
+
+	static final int MAX = FixedMath.MAX_VALUE;
+	static final int MIN = FixedMath.MIN_VALUE;
+	static final int ONE = FixedMath.ONE;
+
+	// Operands near every boundary, followed by random ones
+	static final int[] EDGES = {
+		0, 1, -1, 2, -2, ONE - 1, ONE, ONE + 1, -ONE, FixedMath.HALF, -FixedMath.HALF,
+		1 << 20, -(1 << 20), 1 << 21, -(1 << 21), (1 << 21) - 1, 46341 << 5, -(46341 << 5),
+		MAX, MAX - 1, MIN, MIN + 1, MAX >> 10, MIN >> 10, 0x55555555, 0xAAAAAAAA,
+	};
+
+	static int[] operands(int count) {
+		Random random = new Random(42);
+		int[] values = new int[count];
+		System.arraycopy(EDGES, 0, values, 0, EDGES.length);
+		for (int i = EDGES.length; i < count; i++) {
+			// Mix of full range, mid range and small values
+			int shift = random.nextInt(3) * 10;
+			values[i] = random.nextInt() >> shift;
+		}
+		return values;
+	}
+
+	static int clamp(long value) {
+		return (int)Math.max(MIN, Math.min(MAX, value));
+	}
+
+	@Test
+	void safeAddAndSubSaturate() {
+		for (int x : operands(300)) {
+			for (int y : operands(300)) {
+				assertEquals(clamp((long)x + y), FixedMath.safeAdd(x, y));
+				assertEquals(clamp((long)x - y), FixedMath.safeSub(x, y));
+			}
+		}
+	}
+
+	@Test
+	void safeMulIsFloorOfProductSaturated() {
+		for (int x : operands(300)) {
+			for (int y : operands(300)) {
+				long product = ((long)x * y) >> FixedMath.DECIMAL_BITS;
+				assertEquals(clamp(product), FixedMath.safeMul(x, y), x + " * " + y);
+				if (product == clamp(product)) {
+					assertEquals((int)product, FixedMath.mul(x, y));
+				}
+			}
+		}
+	}
+
+	@Test
+	void safeDivRoundsHalfAwayFromZeroSaturated() {
+		for (int x : operands(300)) {
+			for (int y : operands(300)) {
+				if (y == 0) {
+					continue;
+				}
+				long magnitude = ((Math.abs((long)x) << (FixedMath.DECIMAL_BITS + 1)) / Math.abs((long)y) + 1) >> 1;
+				long expected = (x ^ y) < 0 ? -magnitude : magnitude;
+				assertEquals(clamp(expected), FixedMath.safeDiv(x, y), x + " / " + y);
+			}
+		}
+		assertEquals(MIN, FixedMath.safeDiv(MIN, ONE));
+		assertEquals(MAX, FixedMath.safeDiv(MIN, -ONE));
+		assertEquals(0, FixedMath.safeDiv(ONE, MIN));
+		assertEquals(-ONE, FixedMath.safeDiv(MIN >> 10, 1 << 21));
+		assertThrows(ArithmeticException.class, () -> FixedMath.safeDiv(ONE, 0));
+	}
+
+	@Test
+	void sqrtIsRoundedToNearest() {
+		Random random = new Random(1);
+		for (int i = 0; i < 100000; i++) {
+			int x = i < 4096 ? i : i < 8192 ? MAX - (i - 4096) : (random.nextInt() >>> 1) >> random.nextInt(31);
+			long n = (long)x << FixedMath.DECIMAL_BITS;
+			long root = (long)Math.sqrt(n);
+			while (root * root > n) {
+				root--;
+			}
+			while ((root + 1) * (root + 1) <= n) {
+				root++;
+			}
+			assertEquals(n - root * root > root ? root + 1 : root, FixedMath.sqrt(x), "sqrt " + x);
+			if (x > 0) {
+				double expected = (1 << (FixedMath.DECIMAL_BITS + FixedMath.DECIMAL_BITS / 2)) / Math.sqrt(x);
+				assertEquals(expected, FixedMath.invSqrt(x), 1.0, "invSqrt " + x);
+			}
+		}
+		assertThrows(ArithmeticException.class, () -> FixedMath.sqrt(-1));
+		assertThrows(ArithmeticException.class, () -> FixedMath.invSqrt(0));
+	}
+
+	@Test
+	void sincosMatchesSinAndCos() {
+		Random random = new Random(9);
+		int[] angles = new int[100000];
+		// Next to multiples of pi/2 in both directions, then random
+		int count = 0;
+		for (int k = -1300000; k <= 1300000; k += 331) {
+			for (int d = -2; d <= 2; d++) {
+				angles[count++] = k * FixedMath.PI_OVER_TWO + d;
+			}
+		}
+		while (count < angles.length) {
+			angles[count++] = random.nextInt();
+		}
+		int[] out = new int[2];
+		for (int angle : angles) {
+			long sincos = FixedMath.sincos(angle);
+			assertEquals(FixedMath.sin(angle), FixedMath.sinOf(sincos), "sin " + angle);
+			assertEquals(FixedMath.cos(angle), FixedMath.cosOf(sincos), "cos " + angle);
+			FixedMath.sincos(angle, out);
+			assertEquals(FixedMath.sin(angle), out[0]);
+			assertEquals(FixedMath.cos(angle), out[1]);
+		}
+		for (int angle : new int[] { MAX, MIN, MIN + 1, -FixedMath.PI_TIMES_TWO, FixedMath.PI_TIMES_TWO, 0 }) {
+			long sincos = FixedMath.sincos(angle);
+			assertEquals(FixedMath.sin(angle), FixedMath.sinOf(sincos), "sin " + angle);
+			assertEquals(FixedMath.cos(angle), FixedMath.cosOf(sincos), "cos " + angle);
+		}
+
+		FixedVec2 rotated = new FixedVec2(3 * ONE, -ONE).rotateInPlace(FixedMath.PI / 3);
+		int sin = FixedMath.sin(FixedMath.PI / 3);
+		int cos = FixedMath.cos(FixedMath.PI / 3);
+		assertEquals(new FixedVec2(FixedMath.mul(3 * ONE, cos) - FixedMath.mul(-ONE, sin),
+				FixedMath.mul(3 * ONE, sin) + FixedMath.mul(-ONE, cos)), rotated);
+	}
+
+	@Test
+	void safeUnaryOperatorsSaturate() {
+		assertEquals(MAX, FixedMath.safeNegate(MIN));
+		assertEquals(MAX, FixedMath.safeAbs(MIN));
+		assertEquals(-MAX, FixedMath.safeNegate(MAX));
+		assertEquals(0, FixedMath.safeMod(MIN, -1));
+	}
+
+	@Test
+	void rounding() {
+		assertEquals(ONE, FixedMath.round(FixedMath.HALF));
+		assertEquals(0, FixedMath.round(FixedMath.HALF - 1));
+		assertEquals(0, FixedMath.round(-FixedMath.HALF));
+		assertEquals(0, FixedMath.roundRuleEven(FixedMath.HALF));
+		assertEquals(2 * ONE, FixedMath.roundRuleEven(ONE + FixedMath.HALF));
+		assertEquals(-ONE, FixedMath.floor(-1));
+		assertEquals(ONE, FixedMath.ceiling(1));
+		assertEquals(-ONE, FixedMath.ceiling(-ONE - 1));
+	}
+
+	@Test
+	void textRoundTrip() {
+		for (int x : operands(2000)) {
+			String text = FixedMath.toString(x);
+			assertEquals(x, FixedMath.fromString(text), text);
+			byte[] bytes = ("[" + text + "]").getBytes(StandardCharsets.US_ASCII);
+			assertEquals(x, FixedMath.fromString(bytes, 1, bytes.length - 1), text);
+			assertEquals(x, FixedMath.fromString("[" + text + "]", 1, text.length() + 1), text);
+		}
+		assertEquals(ONE + FixedMath.HALF, FixedMath.fromString("1.5"));
+		assertEquals(-ONE - FixedMath.HALF, FixedMath.fromString("-1.5"));
+		assertEquals(-FixedMath.HALF, FixedMath.fromString("-0.5"));
+		assertEquals(-FixedMath.HALF, FixedMath.fromString("-0,5"));
+		assertEquals(FixedMath.HALF, FixedMath.fromString("+0.5"));
+		assertEquals(-1, FixedMath.fromString("-0.0009765625"));
+		assertEquals(MIN, FixedMath.fromString(FixedMath.toString(MIN)));
+	}
+
+	@Test
+	void roundingModesRoundExactResultOnce() {
+		BigDecimal one = BigDecimal.valueOf(ONE);
+		int[] values = operands(120);
+		for (int x : values) {
+			for (int y : values) {
+				long product = (long)x * y;
+				BigDecimal exactProduct = BigDecimal.valueOf(product).divide(one);
+				for (RoundingMode mode : RoundingMode.values()) {
+					if (mode == RoundingMode.UNNECESSARY) {
+						continue;
+					}
+					long rounded = exactProduct.setScale(0, mode).longValue();
+					if (rounded == (int)rounded) {
+						assertEquals((int)rounded, FixedMath.mul(x, y, mode), x + " * " + y + " " + mode);
+					}
+					if (y != 0) {
+						BigDecimal quotient = new BigDecimal((long)x << FixedMath.DECIMAL_BITS)
+								.divide(BigDecimal.valueOf(y), 0, mode);
+						if (quotient.compareTo(BigDecimal.valueOf(quotient.intValue())) == 0) {
+							assertEquals(quotient.intValue(), FixedMath.div(x, y, mode), x + " / " + y + " " + mode);
+						}
+					}
+				}
+				int z = x >> 12;
+				BigDecimal exactFma = exactProduct.add(BigDecimal.valueOf(z));
+				// Nearest, halves toward positive infinity
+				long nearest = exactFma.add(new BigDecimal("0.5")).setScale(0, RoundingMode.FLOOR).longValue();
+				if (nearest == (int)nearest) {
+					assertEquals((int)nearest, FixedMath.fma(x, y, z), x + " * " + y + " + " + z);
+					assertEquals(exactFma.setScale(0, RoundingMode.HALF_EVEN).intValue(), FixedMath.fma(x, y, z, RoundingMode.HALF_EVEN));
+					assertEquals(exactFma.setScale(0, RoundingMode.FLOOR).intValue(), FixedMath.fma(x, y, z, RoundingMode.FLOOR));
+				}
+				if (y != 0 && FixedMath.safeDiv(x, y) != MAX && FixedMath.safeDiv(x, y) != MIN) {
+					assertEquals(FixedMath.safeDiv(x, y), FixedMath.divRound(x, y), x + " / " + y);
+				}
+				if (product >> FixedMath.DECIMAL_BITS == (int)(product >> FixedMath.DECIMAL_BITS)) {
+					assertTrue(Math.abs(((long)FixedMath.mulRound(x, y) << FixedMath.DECIMAL_BITS) - product) <= FixedMath.HALF);
+				}
+			}
+		}
+		assertEquals(3, FixedMath.mul(3 * ONE, 1, RoundingMode.UNNECESSARY));
+		assertThrows(ArithmeticException.class, () -> FixedMath.mul(1, 1, RoundingMode.UNNECESSARY));
+		assertThrows(ArithmeticException.class, () -> FixedMath.div(ONE, 3 * ONE, RoundingMode.UNNECESSARY));
+		assertEquals(ONE, FixedMath.fma(FixedMath.HALF, 1, ONE - 1));
+		assertEquals(ONE - 1, FixedMath.fma(FixedMath.HALF - 1, 1, ONE - 1));
+	}
+
+	@Test
+	void fixedDelegatesToFixedMath() {
+		int[] values = operands(100);
+		for (int x : values) {
+			Fixed fx = Fixed.fromData(x);
+			assertEquals(x, fx.dataValue());
+			assertEquals(FixedMath.toString(x), fx.toString());
+			assertEquals(FixedMath.sqrt(FixedMath.safeAbs(x)), Fixed.sqrt(Fixed.safeAbs(fx)).dataValue());
+			assertEquals(FixedMath.sin(x), Fixed.sin(fx).dataValue());
+			for (int y : values) {
+				Fixed fy = Fixed.fromData(y);
+				assertEquals(FixedMath.add(x, y), fx.add(fy).dataValue());
+				assertEquals(FixedMath.sub(x, y), fx.sub(fy).dataValue());
+				assertEquals(FixedMath.mul(x, y), fx.mul(fy).dataValue());
+				assertEquals(FixedMath.safeAdd(x, y), fx.safeAdd(fy).dataValue());
+				assertEquals(FixedMath.safeMul(x, y), fx.safeMul(fy).dataValue());
+				if (y != 0) {
+					assertEquals(FixedMath.safeDiv(x, y), fx.safeDiv(fy).dataValue());
+				}
+				assertEquals(x < y, fx.lessThan(fy));
+				assertEquals(x == y, fx.equals(fy));
+			}
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedMatrices products against exact BigInteger sums, and solutions of
+ * the factorizations against their right hand sides
+ */
+class FixedMatricesTest {
+
+	static final int MAX = FixedMath.MAX_VALUE;
+	static final int MIN = FixedMath.MIN_VALUE;
+	static final int ONE = FixedMath.ONE;
+
+	static final ForkJoinPool SEQUENTIAL = new ForkJoinPool(1);
+	static final ForkJoinPool PARALLEL = new ForkJoinPool(4);
+
+	// Exact product, each term rounded like mul(), saturated once
+	static int[] multiply(int[] a, int[] b, int m, int k, int n) {
+		int[] out = new int[m * n];
+		for (int i = 0; i < m; i++) {
+			for (int j = 0; j < n; j++) {
+				BigInteger sum = BigInteger.ZERO;
+				for (int p = 0; p < k; p++) {
+					sum = sum.add(BigInteger.valueOf(((long)a[i * k + p] * b[p * n + j]) >> FixedMath.DECIMAL_BITS));
+				}
+				out[i * n + j] = sum.max(BigInteger.valueOf(MIN)).min(BigInteger.valueOf(MAX)).intValue();
+			}
+		}
+		return out;
+	}
+
+	static int[] random(Random random, int length, int shift) {
+		int[] values = new int[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = random.nextInt() >> shift;
+		}
+		return values;
+	}
+
+	@Test
+	void multiplyIsExact() {
+		Random random = new Random(5);
+		int[][] sizes = { { 1, 1, 1 }, { 3, 5, 2 }, { 70, 33, 130 }, { 2, 4000, 3 } };
+		for (int[] size : sizes) {
+			int m = size[0];
+			int k = size[1];
+			int n = size[2];
+			for (int shift : new int[] { 0, 12 }) {
+				int[] a = random(random, m * k, shift);
+				int[] b = random(random, k * n, shift);
+				int[] expected = multiply(a, b, m, k, n);
+				for (ForkJoinPool pool : new ForkJoinPool[] { SEQUENTIAL, PARALLEL }) {
+					int[] out = new int[m * n];
+					FixedMatrices.multiply(a, b, out, m, k, n, pool);
+					assertArrayEquals(expected, out);
+					int[] column = Arrays.copyOf(b, k);
+					int[] vector = new int[m];
+					FixedMatrices.multiplyVector(a, column, vector, m, k, pool);
+					assertArrayEquals(multiply(a, column, m, k, 1), vector);
+				}
+			}
+		}
+	}
+
+	@Test
+	void productsSaturateInsteadOfWrapping() {
+		// k products of 2^52, a long wraps after 2^11 of them
+		int k = 5000;
+		int[] a = new int[2 * k];
+		Arrays.fill(a, MIN);
+		int[] b = new int[k];
+		Arrays.fill(b, MIN);
+		Arrays.fill(a, k, 2 * k, MAX);
+		int[] out = new int[2];
+		FixedMatrices.multiply(a, b, out, 2, k, 1);
+		assertArrayEquals(new int[] { MAX, MIN }, out);
+		FixedMatrices.multiplyVector(a, b, out, 2, k);
+		assertArrayEquals(new int[] { MAX, MIN }, out);
+	}
+
+	@Test
+	void factorizationsSolve() {
+		Random random = new Random(9);
+		int n = 40;
+		// Diagonally dominant, symmetric positive definite
+		int[] a = random(random, n * n, 24);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < i; j++) {
+				a[j * n + i] = a[i * n + j];
+			}
+			a[i * n + i] = 64 * ONE;
+		}
+		int[] x = random(random, n, 20);
+		int[] b = new int[n];
+		FixedMatrices.multiplyVector(a, x, b, n, n);
+
+		for (ForkJoinPool pool : new ForkJoinPool[] { SEQUENTIAL, PARALLEL }) {
+			int[] solved = new int[n];
+			FixedMatrices.lu(a, n, pool).solve(b, solved);
+			for (int i = 0; i < n; i++) {
+				assertTrue(Math.abs(solved[i] - x[i]) <= 4, "lu " + i + ": " + solved[i] + " != " + x[i]);
+			}
+			FixedMatrices.cholesky(a, n, pool).solve(b, solved);
+			for (int i = 0; i < n; i++) {
+				assertTrue(Math.abs(solved[i] - x[i]) <= 4, "cholesky " + i + ": " + solved[i] + " != " + x[i]);
+			}
+		}
+		assertArrayEquals(FixedMatrices.cholesky(a, n, SEQUENTIAL).factor(), FixedMatrices.cholesky(a, n, PARALLEL).factor());
+	}
+
+	@Test
+	void degenerateInput() {
+		assertThrows(ArithmeticException.class, () -> FixedMatrices.lu(new int[] { ONE, 2 * ONE, 2 * ONE, 4 * ONE }, 2));
+		assertThrows(ArithmeticException.class, () -> FixedMatrices.cholesky(new int[] { -ONE, 0, 0, ONE }, 2));
+		assertThrows(IllegalArgumentException.class, () -> FixedMatrices.multiply(new int[3], new int[4], new int[4], 2, 2, 2));
+		int[] a = { ONE };
+		assertThrows(IllegalArgumentException.class, () -> FixedMatrices.multiply(a, a, a, 1, 1, 1));
+
+		int[] empty = new int[0];
+		FixedMatrices.multiply(empty, empty, new int[0], 0, 0, 0);
+		int[] out = { 7 };
+		FixedMatrices.multiply(empty, empty, out, 1, 0, 1);
+		assertEquals(0, out[0]);
+		assertEquals(0, FixedMatrices.lu(empty, 0).size());
+	}
+}
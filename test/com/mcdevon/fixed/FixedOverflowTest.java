@@ -0,0 +1,107 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.mcdevon.fixed.FixedOverflowCounters.Event;
+import com.mcdevon.fixed.FixedOverflowCounters.Operation;
+
+/*
+ * FixedOverflow policies against each other and exact long arithmetic,
+ * and the overflow counts of scalar and bulk operators
+ */
+class FixedOverflowTest {
+
+	static final int MAX = FixedMath.MAX_VALUE;
+	static final int MIN = FixedMath.MIN_VALUE;
+	static final int ONE = FixedMath.ONE;
+
+	// Overflows of the operation counted while running the call
+	static long counted(Operation operation, Event event, Runnable call) {
+		long before = FixedOverflowCounters.count(operation, event);
+		call.run();
+		return FixedOverflowCounters.count(operation, event) - before;
+	}
+
+	static boolean fits(long value) {
+		return (int)value == value;
+	}
+
+	static Object thrown(Supplier<Integer> call) {
+		try {
+			return call.get();
+		} catch (ArithmeticException e) {
+			return e.getClass();
+		}
+	}
+
+	@Test
+	void policiesDifferOnlyOnOverflow() {
+		for (int x : FixedMathTest.operands(300)) {
+			for (int y : FixedMathTest.operands(300)) {
+				long sum = (long)x + y;
+				long product = ((long)x * y) >> FixedMath.DECIMAL_BITS;
+				assertEquals((int)sum, FixedOverflow.WRAP.add(x, y));
+				assertEquals(FixedMathTest.clamp(sum), FixedOverflow.SATURATE.add(x, y));
+				assertEquals(fits(sum) ? (Object)(int)sum : ArithmeticException.class, thrown(() -> FixedOverflow.THROW.add(x, y)));
+				assertEquals((int)product, FixedOverflow.WRAP.mul(x, y));
+				assertEquals(FixedMathTest.clamp(product), FixedOverflow.SATURATE.mul(x, y));
+				assertEquals(fits(product) ? (Object)(int)product : ArithmeticException.class, thrown(() -> FixedOverflow.THROW.mul(x, y)));
+				if (y == 0) {
+					continue;
+				}
+				// Truncated toward zero under every policy
+				long quotient = ((long)x << FixedMath.DECIMAL_BITS) / y;
+				assertEquals((int)quotient, FixedOverflow.WRAP.div(x, y));
+				assertEquals(FixedMathTest.clamp(quotient), FixedOverflow.SATURATE.div(x, y), x + " / " + y);
+				assertEquals(fits(quotient) ? (Object)(int)quotient : ArithmeticException.class, thrown(() -> FixedOverflow.THROW.div(x, y)));
+			}
+		}
+		assertEquals(0, FixedOverflow.SATURATE.div(1, 3 * ONE));
+		assertEquals(-ONE / 3, FixedOverflow.SATURATE.div(-ONE, 3 * ONE));
+		assertEquals(MAX, FixedOverflow.SATURATE.div(MIN, -ONE));
+		assertEquals(MIN, FixedOverflow.SATURATE.div(MIN, ONE));
+		for (FixedOverflow policy : FixedOverflow.values()) {
+			assertThrows(ArithmeticException.class, () -> policy.div(ONE, 0));
+		}
+	}
+
+	@Test
+	void saturationsAreCounted() {
+		assertEquals(1, counted(Operation.DIV, Event.SATURATED, () -> FixedOverflow.SATURATE.div(MAX, 1)));
+		assertEquals(0, counted(Operation.DIV, Event.SATURATED, () -> FixedOverflow.WRAP.div(MAX, 1)));
+		assertEquals(1, counted(Operation.DIV, Event.THROWN, () -> thrown(() -> FixedOverflow.THROW.div(MAX, 1))));
+		assertEquals(1, counted(Operation.ADD, Event.SATURATED, () -> FixedMath.safeAdd(MAX, 1)));
+	}
+
+	@Test
+	void bulkOperatorsCountLikeScalar() {
+		int[] a = FixedArraysTest.A;
+		int[] b = FixedArraysTest.B;
+		int[] out = new int[a.length];
+		for (Operation operation : new Operation[] { Operation.ADD, Operation.SUB }) {
+			Runnable scalar = () -> {
+				for (int i = 0; i < a.length; i++) {
+					out[i] = operation == Operation.ADD ? FixedMath.safeAdd(a[i], b[i]) : FixedMath.safeSub(a[i], b[i]);
+				}
+			};
+			Runnable bulk = () -> {
+				if (operation == Operation.ADD) {
+					FixedArrays.safeAdd(a, b, out);
+				} else {
+					FixedArrays.safeSub(a, b, out);
+				}
+			};
+			long expected = counted(operation, Event.SATURATED, scalar);
+			assertEquals(expected, counted(operation, Event.SATURATED, bulk), operation.toString());
+			assertTrue(expected > 0);
+		}
+		int[] small = FixedArraysTest.SMALL_A;
+		assertEquals(0, counted(Operation.ADD, Event.SATURATED, () -> FixedArrays.safeAdd(small, small, out)));
+	}
+}
@@ -0,0 +1,124 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedRandom against reference xoroshiro128++ outputs, ranges and the
+ * agreement of bulk fills with single values
+ */
+class FixedRandomTest {
+
+	static final int ONE = FixedMath.ONE;
+
+	@Test
+	void referenceSequence() {
+		// Outputs of java.util.random Xoroshiro128PlusPlus from the state
+		// SplitMix64 gives for seed 42
+		FixedRandom random = new FixedRandom(42);
+		FixedRandom copy = random.copy();
+		assertEquals(0xE88AF6CAEF1D3C23L, random.nextLong());
+		assertEquals(0x54A303B2A5A54931L, random.nextLong());
+		assertEquals(0xF370812CCD646345L, random.nextLong());
+		assertEquals(0xE88AF6CAEF1D3C23L, copy.nextLong());
+
+		FixedRandom jumped = new FixedRandom(42);
+		jumped.jump();
+		assertEquals(0xDEC7728A7E26B163L, jumped.nextLong());
+		FixedRandom leaped = new FixedRandom(42);
+		leaped.longJump();
+		assertEquals(0xCCC6059B2B92B5AFL, leaped.nextLong());
+
+		FixedRandom parent = new FixedRandom(42);
+		FixedRandom child = parent.split();
+		assertEquals(0x54A303B2A5A54931L, parent.nextLong());
+		assertNotEquals(child.nextLong(), new FixedRandom(42).nextLong());
+	}
+
+	@Test
+	void valuesStayInRange() {
+		FixedRandom random = new FixedRandom(16);
+		int[][] ranges = {
+			{ 0, 1 }, { -1, 0 }, { FixedMath.MIN_VALUE, FixedMath.MIN_VALUE + 1 }, { FixedMath.MAX_VALUE - 1, FixedMath.MAX_VALUE },
+			{ FixedMath.MIN_VALUE, FixedMath.MAX_VALUE }, { -3 * ONE, 5 * ONE }, { 7, 10 },
+		};
+		for (int i = 0; i < 20000; i++) {
+			int fixed = random.nextFixed();
+			assertTrue(fixed >= 0 && fixed < ONE);
+			int angle = random.nextAngle();
+			assertTrue(angle >= 0 && angle < FixedMath.PI_TIMES_TWO);
+			int bounded = random.nextInt(3);
+			assertTrue(bounded >= 0 && bounded < 3);
+			assertEquals(0, random.nextInt(1));
+			assertTrue(random.nextInt(Integer.MAX_VALUE) >= 0);
+			for (int[] range : ranges) {
+				int value = random.nextFixed(range[0], range[1]);
+				assertTrue(value >= range[0] && value < range[1], range[0] + "..." + range[1] + ": " + value);
+			}
+			int gaussian = random.nextGaussian();
+			assertTrue(gaussian >= -6 * ONE && gaussian <= 6 * ONE);
+		}
+		assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+		assertThrows(IllegalArgumentException.class, () -> random.nextInt(-1));
+		assertThrows(IllegalArgumentException.class, () -> random.nextFixed(ONE, ONE));
+		assertThrows(IllegalArgumentException.class, () -> random.fill(new int[1], 0, 1, ONE, 0));
+	}
+
+	@Test
+	void uniformAndGaussianMoments() {
+		FixedRandom random = new FixedRandom(7);
+		int n = 200000;
+		int[] counts = new int[8];
+		double sum = 0;
+		double squares = 0;
+		for (int i = 0; i < n; i++) {
+			counts[random.nextInt(8)]++;
+			double gaussian = random.nextGaussian() / (double)ONE;
+			sum += gaussian;
+			squares += gaussian * gaussian;
+		}
+		for (int count : counts) {
+			assertEquals(n / 8.0, count, n / 100.0);
+		}
+		assertEquals(0, sum / n, 0.01);
+		assertEquals(1, squares / n, 0.02);
+		assertEquals(3 * ONE, new FixedRandom(7).nextGaussian(3 * ONE, 0));
+	}
+
+	@Test
+	void fillsMatchSingleValues() {
+		FixedRandom random = new FixedRandom(3);
+		FixedRandom copy = random.copy();
+		int[] out = new int[103];
+		int[] expected = new int[103];
+
+		random.fill(out, 1, 100);
+		for (int i = 1; i <= 100; i++) {
+			expected[i] = copy.nextFixed();
+		}
+		assertArrayEquals(expected, out);
+
+		random.fill(out, 2, 100, -ONE, 4 * ONE);
+		for (int i = 2; i < 102; i++) {
+			expected[i] = copy.nextFixed(-ONE, 4 * ONE);
+		}
+		assertArrayEquals(expected, out);
+
+		random.fillGaussian(out, 3, 100);
+		for (int i = 3; i < 103; i++) {
+			expected[i] = copy.nextGaussian();
+		}
+		assertArrayEquals(expected, out);
+
+		// Empty fills draw nothing
+		random.fill(out, 0, 0);
+		random.fill(out, 0, 0, 0, 1);
+		random.fillGaussian(out, 0, 0);
+		assertEquals(copy.nextLong(), random.nextLong());
+	}
+}
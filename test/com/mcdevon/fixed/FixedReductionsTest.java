@@ -0,0 +1,114 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedReductions against exact BigInteger sums, sequential and split over
+ * a pool
+ */
+class FixedReductionsTest {
+
+	static final int MAX = FixedMath.MAX_VALUE;
+	static final int MIN = FixedMath.MIN_VALUE;
+	static final int N = 3 * FixedReductions.PARALLEL_THRESHOLD + 17;
+
+	static final ForkJoinPool SEQUENTIAL = new ForkJoinPool(1);
+	static final ForkJoinPool PARALLEL = new ForkJoinPool(4);
+
+	static int clamp(BigInteger value) {
+		return value.max(BigInteger.valueOf(MIN)).min(BigInteger.valueOf(MAX)).intValue();
+	}
+
+	static BigInteger dot(int[] a, int[] b) {
+		BigInteger sum = BigInteger.ZERO;
+		for (int i = 0; i < a.length; i++) {
+			sum = sum.add(BigInteger.valueOf(((long)a[i] * b[i]) >> FixedMath.DECIMAL_BITS));
+		}
+		return sum;
+	}
+
+	static int[] filled(int value) {
+		int[] values = new int[N];
+		Arrays.fill(values, value);
+		return values;
+	}
+
+	@Test
+	void reductionsAreExact() {
+		int[] a = FixedMathTest.operands(N);
+		int[] b = FixedArraysTest.reversed(a);
+		int[] small = FixedArraysTest.shifted(a, 16);
+		for (ForkJoinPool pool : new ForkJoinPool[] { SEQUENTIAL, PARALLEL }) {
+			long sum = 0;
+			for (int x : a) {
+				sum += x;
+			}
+			assertEquals(sum, FixedReductions.sumLong(a, pool));
+			assertEquals(FixedMathTest.clamp(sum), FixedReductions.sum(a, pool));
+			assertEquals(clamp(dot(a, b)), FixedReductions.dot(a, b, pool));
+			assertEquals(clamp(dot(small, b)), FixedReductions.dot(small, b, pool));
+			assertEquals(clamp(dot(small, small)), FixedReductions.sumOfSquares(small, pool));
+			assertEquals(Arrays.stream(a).min().getAsInt(), FixedReductions.min(a, pool));
+			assertEquals(Arrays.stream(a).max().getAsInt(), FixedReductions.max(a, pool));
+		}
+	}
+
+	@Test
+	void sumsSaturateInsteadOfWrapping() {
+		// 2^52 per product, the sum wraps a long after 2^11 of them
+		int[] mins = filled(MIN);
+		int[] maxs = filled(MAX);
+		for (ForkJoinPool pool : new ForkJoinPool[] { SEQUENTIAL, PARALLEL }) {
+			assertEquals(MAX, FixedReductions.sumOfSquares(mins, pool));
+			assertEquals(MAX, FixedReductions.dot(mins, mins, pool));
+			assertEquals(MIN, FixedReductions.dot(mins, maxs, pool));
+			assertEquals(MAX, FixedReductions.norm(mins, pool));
+			assertEquals(MIN, FixedReductions.sum(mins, pool));
+			assertEquals((long)MIN * N, FixedReductions.sumLong(mins, pool));
+		}
+	}
+
+	@Test
+	void largePartialSumsCancel() {
+		// Products of about +2^52 in the first half and -2^52 in the second, so
+		// every partial sum is far beyond a long but the total is small
+		int[] a = filled(MIN);
+		int[] b = new int[N];
+		for (int i = 0; i < N; i++) {
+			b[i] = i < N / 2 ? -MAX : i < 2 * (N / 2) ? MAX : 0;
+		}
+		a[N - 1] = FixedMath.ONE;
+		b[N - 1] = 3 * FixedMath.ONE;
+		for (ForkJoinPool pool : new ForkJoinPool[] { SEQUENTIAL, PARALLEL }) {
+			assertEquals(clamp(dot(a, b)), FixedReductions.dot(a, b, pool));
+		}
+		assertEquals(BigInteger.valueOf(3 * FixedMath.ONE), dot(a, b));
+	}
+
+	@Test
+	void normIsRootOfExactSum() {
+		int[] values = { 3 * FixedMath.ONE, 0, -4 * FixedMath.ONE };
+		assertEquals(5 * FixedMath.ONE, FixedReductions.norm(values));
+		assertEquals(0, FixedReductions.norm(new int[0]));
+		assertEquals(FixedMath.sqrt(FixedMath.ONE * 2), FixedReductions.norm(new int[] { FixedMath.ONE, -FixedMath.ONE }));
+	}
+
+	@Test
+	void emptyAndMismatchedInput() {
+		int[] empty = new int[0];
+		assertEquals(0, FixedReductions.sum(empty));
+		assertEquals(0, FixedReductions.dot(empty, empty));
+		assertThrows(IllegalArgumentException.class, () -> FixedReductions.min(empty));
+		assertThrows(IllegalArgumentException.class, () -> FixedReductions.mean(empty));
+		assertThrows(IllegalArgumentException.class, () -> FixedReductions.dot(new int[1], empty));
+		assertEquals(FixedMath.HALF, FixedReductions.mean(new int[] { 0, FixedMath.ONE }));
+		assertEquals(MAX, FixedReductions.mean(filled(MAX), PARALLEL));
+	}
+}
@@ -0,0 +1,225 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedFft against a double DFT, and FixedConvolver against a direct loop
+ * of products
+ */
+class FixedSignalTest {
+
+	static final int ONE = FixedMath.ONE;
+
+	static int[] signal(Random random, int length, int bits) {
+		int[] values = new int[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = random.nextInt() >> (32 - bits);
+		}
+		return values;
+	}
+
+	// Interleaved DFT in double, sign -1 forward and 1 inverse
+	static double[] dft(int[] data, int size, int sign) {
+		double[] result = new double[2 * size];
+		for (int k = 0; k < size; k++) {
+			for (int j = 0; j < size; j++) {
+				double angle = sign * 2 * Math.PI * ((long)j * k % size) / size;
+				double cos = Math.cos(angle);
+				double sin = Math.sin(angle);
+				result[2 * k] += data[2 * j] * cos - data[2 * j + 1] * sin;
+				result[2 * k + 1] += data[2 * j] * sin + data[2 * j + 1] * cos;
+			}
+		}
+		return result;
+	}
+
+	static double maxError(double[] expected, int[] data, int exponent) {
+		double error = 0;
+		for (int i = 0; i < expected.length; i++) {
+			error = Math.max(error, Math.abs(expected[i] - Math.scalb((double)data[i], exponent)));
+		}
+		return error;
+	}
+
+	static double maxMagnitude(double[] values) {
+		double max = 0;
+		for (double value : values) {
+			max = Math.max(max, Math.abs(value));
+		}
+		return max;
+	}
+
+	@Test
+	void forwardMatchesDft() {
+		Random random = new Random(24);
+		for (int bits = 1; bits <= 9; bits++) {
+			int size = 1 << bits;
+			FixedFft fft = new FixedFft(size);
+			assertEquals(size, fft.size());
+			// Small, mid range and full scale signals
+			for (int signalBits : new int[] { 12, 24, 32 }) {
+				int[] data = signal(random, 2 * size, signalBits);
+				double[] expected = dft(data, size, -1);
+				int exponent = fft.forward(data);
+				// Rounding of the passes grows like sqrt(size), twiddle errors with the magnitude
+				double tolerance = 2 * Math.sqrt(size) * Math.scalb(1.0, exponent) + maxMagnitude(expected) * bits * 0x1p-21;
+				assertEquals(0, maxError(expected, data, exponent), tolerance, size + " " + signalBits);
+			}
+		}
+	}
+
+	@Test
+	void inverseRestoresSignal() {
+		Random random = new Random(25);
+		for (FixedTrigEngine engine : FixedTrigEngine.values()) {
+			// LUT twiddles only have the precision of FixedMath.sincos()
+			double precision = engine == FixedTrigEngine.LUT ? 0x1p-9 : 0x1p-20;
+			for (int bits = 1; bits <= 10; bits++) {
+				int size = 1 << bits;
+				FixedFft fft = new FixedFft(size, engine);
+				int[] signal = signal(random, 2 * size, 24);
+				int[] data = signal.clone();
+				int exponent = fft.forward(data);
+				exponent += fft.inverse(data);
+				fft.scale(data, exponent);
+				for (int i = 0; i < data.length; i++) {
+					assertEquals(signal[i], data[i], 2 * bits + 2 + bits * precision * (1 << 23), engine + " " + size + " " + i);
+				}
+			}
+		}
+	}
+
+	@Test
+	void degenerateSignals() {
+		FixedFft fft = new FixedFft(8);
+		int[] zero = new int[16];
+		assertEquals(0, fft.forward(zero));
+		assertArrayEquals(new int[16], zero);
+		assertEquals(-3, fft.inverse(zero));
+		assertArrayEquals(new int[16], zero);
+
+		// An impulse has a flat spectrum, a constant a single bin
+		int[] impulse = new int[16];
+		impulse[0] = ONE;
+		fft.scale(impulse, fft.forward(impulse));
+		for (int k = 0; k < 8; k++) {
+			assertEquals(ONE, impulse[2 * k]);
+			assertEquals(0, impulse[2 * k + 1]);
+		}
+		fft.scale(impulse, fft.inverse(impulse));
+		assertEquals(ONE, impulse[0]);
+		assertEquals(0, impulse[2]);
+
+		// Full scale constant, the spectrum saturates when scaled back
+		int[] constant = new int[16];
+		for (int i = 0; i < 16; i += 2) {
+			constant[i] = FixedMath.MIN_VALUE;
+		}
+		int exponent = fft.forward(constant);
+		assertEquals(-8.0 * (1L << 31), Math.scalb((double)constant[0], exponent));
+		fft.scale(constant, exponent);
+		assertEquals(FixedMath.MIN_VALUE, constant[0]);
+		assertEquals(0, constant[2]);
+
+		// Larger blocks than needed are allowed, shorter ones are not
+		new FixedFft(2).forward(new int[5]);
+		assertThrows(IllegalArgumentException.class, () -> fft.forward(new int[15]));
+		for (int size : new int[] { 0, 1, 3, 12, 1 << (FixedFft.MAX_SIZE_BITS + 1) }) {
+			assertThrows(IllegalArgumentException.class, () -> new FixedFft(size));
+		}
+	}
+
+	// Sum of input[n - j] * kernel[j], in raw units
+	static double[] direct(int[] input, int[] kernel) {
+		double[] out = new double[input.length + kernel.length - 1];
+		for (int n = 0; n < input.length; n++) {
+			for (int j = 0; j < kernel.length; j++) {
+				out[n + j] += (double)input[n] * kernel[j] / ONE;
+			}
+		}
+		return out;
+	}
+
+	// A few raw units plus 2^-23 of the largest output
+	static double convolverTolerance(double largest) {
+		return 3 + Math.abs(largest) * 0x1p-23;
+	}
+
+	@Test
+	void convolverMatchesDirectLoop() {
+		Random random = new Random(26);
+		for (int kernelLength : new int[] { 1, 2, 5, 33 }) {
+			for (int blockSize : new int[] { 1, 7, 64 }) {
+				int[] kernel = signal(random, kernelLength, 12);
+				int[] input = signal(random, 5 * blockSize, 24);
+				double[] expected = direct(input, kernel);
+				FixedConvolver convolver = new FixedConvolver(kernel, blockSize);
+				assertEquals(blockSize, convolver.blockSize());
+				assertEquals(kernelLength, convolver.kernelLength());
+				assertEquals(kernelLength - 1, convolver.tailLength());
+
+				int[] out = new int[expected.length];
+				for (int offset = 0; offset < input.length; offset += blockSize) {
+					convolver.process(input, offset, out, offset);
+				}
+				convolver.flush(out, input.length);
+				double tolerance = convolverTolerance(maxMagnitude(expected));
+				for (int i = 0; i < out.length; i++) {
+					assertEquals(expected[i], out[i], tolerance, kernelLength + " " + blockSize + " " + i);
+				}
+
+				// flush() started a new stream, in place this time
+				int[] copy = input.clone();
+				for (int offset = 0; offset < copy.length; offset += blockSize) {
+					convolver.process(copy, offset, copy, offset);
+				}
+				assertArrayEquals(Arrays.copyOf(out, input.length), copy);
+			}
+		}
+	}
+
+	@Test
+	void convolverEdges() {
+		// Identity kernel on a full scale signal, and silence
+		FixedConvolver identity = new FixedConvolver(new int[] { ONE }, 16);
+		int[] input = signal(new Random(27), 16, 32);
+		int[] out = new int[16];
+		identity.process(input, 0, out, 0);
+		for (int i = 0; i < 16; i++) {
+			assertEquals(input[i], out[i], convolverTolerance(FixedMath.MAX_VALUE), "" + i);
+		}
+		identity.process(new int[16], 0, out, 0);
+		assertArrayEquals(new int[16], out);
+		identity.flush(out, 16);
+
+		// A kernel longer than the block spreads one block over several
+		FixedConvolver echo = new FixedConvolver(new int[] { 0, 0, 0, 0, 0, ONE }, 2);
+		int[] block = { 3 * ONE, -ONE };
+		int[] result = new int[2];
+		int[] tail = new int[5];
+		echo.process(block, 0, result, 0);
+		assertArrayEquals(new int[2], result);
+		echo.process(new int[2], 0, result, 0);
+		assertArrayEquals(new int[2], result);
+		echo.flush(tail, 0);
+		assertArrayEquals(new int[] { 0, 3 * ONE, -ONE, 0, 0 }, tail);
+		echo.process(block, 0, result, 0);
+		echo.reset();
+		echo.flush(tail, 0);
+		assertArrayEquals(new int[5], tail);
+
+		assertThrows(IllegalArgumentException.class, () -> new FixedConvolver(new int[0], 4));
+		assertThrows(IllegalArgumentException.class, () -> new FixedConvolver(new int[1], 0));
+		assertThrows(IllegalArgumentException.class, () -> new FixedConvolver(new int[2], 1 << FixedFft.MAX_SIZE_BITS));
+		assertThrows(IllegalArgumentException.class, () -> echo.process(new int[3], 2, result, 0));
+		assertThrows(IllegalArgumentException.class, () -> echo.process(block, 0, result, -1));
+		assertThrows(IllegalArgumentException.class, () -> echo.flush(new int[4], 0));
+	}
+}
@@ -0,0 +1,165 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedSpatialHash against brute force over every pair of bodies
+ */
+class FixedSpatialHashTest {
+
+	static final int ONE = FixedMath.ONE;
+	static final int BODIES = 300;
+
+	// bounds[body] = { minX, minY, maxX, maxY }, null if absent
+	static Set<Long> bruteForcePairs(int[][] bounds) {
+		Set<Long> pairs = new TreeSet<>();
+		for (int a = 0; a < bounds.length; a++) {
+			for (int b = a + 1; b < bounds.length; b++) {
+				if (bounds[a] != null && bounds[b] != null && overlaps(bounds[a], bounds[b])) {
+					pairs.add(pair(a, b));
+				}
+			}
+		}
+		return pairs;
+	}
+
+	static boolean overlaps(int[] a, int[] b) {
+		return FixedCollision.aabbOverlaps(a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3]);
+	}
+
+	static long pair(int a, int b) {
+		return (long)Math.min(a, b) << 32 | Math.max(a, b);
+	}
+
+	static List<Long> pairs(FixedSpatialHash hash) {
+		List<Long> pairs = new ArrayList<>();
+		hash.forEachPair((a, b) -> pairs.add(pair(a, b)));
+		return pairs;
+	}
+
+	@Test
+	void matchesBruteForce() {
+		Random random = new Random(22);
+		// Cells of 4 units, one bucket or a few hundred
+		for (int bucketBits : new int[] { 0, 8 }) {
+			FixedSpatialHash hash = new FixedSpatialHash(FixedMath.DECIMAL_BITS + 2, bucketBits);
+			int[][] bounds = new int[BODIES][];
+			for (int step = 0; step < 40; step++) {
+				for (int i = 0; i < BODIES / 3; i++) {
+					int body = random.nextInt(BODIES);
+					if (random.nextInt(6) == 0) {
+						assertEquals(bounds[body] != null, hash.remove(body));
+						bounds[body] = null;
+						continue;
+					}
+					// Around the origin, so cells have negative coordinates too
+					int x = random.nextInt(80 * ONE) - 40 * ONE;
+					int y = random.nextInt(80 * ONE) - 40 * ONE;
+					int[] box = { x, y, x + random.nextInt(6 * ONE), y + random.nextInt(6 * ONE) };
+					hash.update(body, box[0], box[1], box[2], box[3]);
+					bounds[body] = box;
+				}
+
+				List<Long> pairs = pairs(hash);
+				Set<Long> unique = new TreeSet<>(pairs);
+				assertEquals(pairs.size(), unique.size(), "pair reported twice");
+				assertEquals(bruteForcePairs(bounds), unique);
+
+				int size = 0;
+				for (int body = 0; body < BODIES; body++) {
+					assertEquals(bounds[body] != null, hash.contains(body));
+					size += bounds[body] != null ? 1 : 0;
+				}
+				assertEquals(size, hash.size());
+
+				// Small boxes go through the cells, large ones over every body
+				int x = random.nextInt(80 * ONE) - 40 * ONE;
+				int y = random.nextInt(80 * ONE) - 40 * ONE;
+				int[][] queries = { { x, y, x, y }, { x, y, x + 8 * ONE, y + 3 * ONE },
+					{ FixedMath.MIN_VALUE, FixedMath.MIN_VALUE, FixedMath.MAX_VALUE, FixedMath.MAX_VALUE } };
+				for (int[] query : queries) {
+					List<Integer> found = new ArrayList<>();
+					hash.query(query[0], query[1], query[2], query[3], found::add);
+					Set<Integer> expected = new TreeSet<>();
+					for (int body = 0; body < BODIES; body++) {
+						if (bounds[body] != null && overlaps(bounds[body], query)) {
+							expected.add(body);
+						}
+					}
+					assertEquals(expected.size(), found.size(), "body reported twice");
+					assertEquals(expected, new TreeSet<>(found));
+				}
+			}
+		}
+	}
+
+	@Test
+	void deterministicOrder() {
+		List<List<Long>> orders = new ArrayList<>();
+		for (int run = 0; run < 2; run++) {
+			Random random = new Random(5);
+			FixedSpatialHash hash = new FixedSpatialHash(FixedMath.DECIMAL_BITS, 4);
+			for (int i = 0; i < 500; i++) {
+				int x = random.nextInt(20 * ONE);
+				int y = random.nextInt(20 * ONE);
+				hash.update(random.nextInt(100), x, y, x + ONE, y + ONE);
+			}
+			orders.add(pairs(hash));
+		}
+		assertFalse(orders.get(0).isEmpty());
+		assertEquals(orders.get(0), orders.get(1));
+	}
+
+	@Test
+	void degenerateBodies() {
+		FixedSpatialHash hash = new FixedSpatialHash(FixedMath.DECIMAL_BITS, 2);
+		assertEquals(0, pairs(hash).size());
+		hash.query(0, 0, ONE, ONE, body -> {
+			throw new AssertionError();
+		});
+
+		// Point bodies on a shared cell corner, and at the ends of the range
+		hash.update(0, ONE, ONE, ONE, ONE);
+		hash.update(1, 0, 0, ONE, ONE);
+		hash.update(2, ONE, ONE, 2 * ONE, 2 * ONE);
+		hash.update(3, FixedMath.MAX_VALUE, FixedMath.MAX_VALUE, FixedMath.MAX_VALUE, FixedMath.MAX_VALUE);
+		hash.update(4, FixedMath.MIN_VALUE, FixedMath.MIN_VALUE, FixedMath.MIN_VALUE, FixedMath.MIN_VALUE);
+		assertEquals(new TreeSet<>(Arrays.asList(pair(0, 1), pair(0, 2), pair(1, 2))), new TreeSet<>(pairs(hash)));
+
+		// Moving within the same cells keeps the new bounds
+		hash.update(2, ONE + 1, ONE + 1, 2 * ONE, 2 * ONE);
+		assertEquals(new TreeSet<>(Arrays.asList(pair(0, 1))), new TreeSet<>(pairs(hash)));
+		assertTrue(hash.remove(0));
+		assertFalse(hash.remove(0));
+		assertFalse(hash.remove(-1));
+		assertFalse(hash.remove(1000));
+		assertEquals(4, hash.size());
+
+		hash.clear();
+		assertEquals(0, hash.size());
+		assertFalse(hash.contains(1));
+		assertEquals(0, pairs(hash).size());
+		hash.update(1, 0, 0, ONE, ONE);
+		hash.update(7, 0, 0, 0, 0);
+		assertEquals(Collections.singletonList(pair(1, 7)), pairs(hash));
+
+		assertThrows(IllegalArgumentException.class, () -> hash.update(-1, 0, 0, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> hash.update(0, 1, 0, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> hash.update(0, 0, 0, 64 * ONE, 64 * ONE));
+		assertThrows(IllegalArgumentException.class, () -> new FixedSpatialHash(0, 4));
+		assertThrows(IllegalArgumentException.class, () -> new FixedSpatialHash(4, 31));
+	}
+}
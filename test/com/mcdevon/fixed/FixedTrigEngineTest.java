@@ -0,0 +1,91 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * FixedTrigEngine against StrictMath, and LUT against FixedMath
+ */
+class FixedTrigEngineTest {
+
+	static final int ONE = FixedMath.ONE;
+	static final int TURN = FixedMath.PI_TIMES_TWO;
+
+	static final FixedTrigEngine[] COMPUTED = { FixedTrigEngine.POLYNOMIAL, FixedTrigEngine.CORDIC };
+
+	// Error in ulps of the raw result against the exact function of the
+	// raw argument
+	static double error(int result, double exact) {
+		return Math.abs(result - exact * ONE);
+	}
+
+	@Test
+	void computedEnginesAreWithinOneUlp() {
+		for (FixedTrigEngine engine : COMPUTED) {
+			for (int angle = -2 * TURN; angle <= 2 * TURN; angle++) {
+				double x = angle / (double)ONE;
+				assertEquals(0, error(engine.sin(angle), StrictMath.sin(x)), 1.0, engine + " sin " + angle);
+				assertEquals(0, error(engine.cos(angle), StrictMath.cos(x)), 1.0, engine + " cos " + angle);
+			}
+			for (int angle = -FixedMath.PI_OVER_TWO * 15 / 16; angle <= FixedMath.PI_OVER_TWO * 15 / 16; angle++) {
+				assertEquals(0, error(engine.tan(angle), StrictMath.tan(angle / (double)ONE)), 1.0, engine + " tan " + angle);
+			}
+			for (int value = -ONE; value <= ONE; value++) {
+				double x = value / (double)ONE;
+				assertEquals(0, error(engine.asin(value), StrictMath.asin(x)), 1.0, engine + " asin " + value);
+				assertEquals(0, error(engine.acos(value), StrictMath.acos(x)), 1.0, engine + " acos " + value);
+			}
+			for (int value = -64 * ONE; value <= 64 * ONE; value += 7) {
+				assertEquals(0, error(engine.atan(value), StrictMath.atan(value / (double)ONE)), 1.0, engine + " atan " + value);
+			}
+			// Far outside one turn
+			for (int angle : new int[] { FixedMath.MAX_VALUE, FixedMath.MIN_VALUE, 1 << 30, -(1 << 29) + 3 }) {
+				assertEquals(0, error(engine.sin(angle), StrictMath.sin(angle / (double)ONE)), 1.0, engine + " sin " + angle);
+			}
+		}
+	}
+
+	@Test
+	void atan2CoversAllQuadrants() {
+		int[] values = { 0, 1, -1, ONE, -ONE, 3 * ONE, -7 * ONE, FixedMath.MAX_VALUE, FixedMath.MIN_VALUE + 1 };
+		for (FixedTrigEngine engine : FixedTrigEngine.values()) {
+			assertEquals(0, engine.atan2(0, 0));
+			for (int y : values) {
+				for (int x : values) {
+					if (x == 0 && y == 0) {
+						continue;
+					}
+					assertEquals(0, error(engine.atan2(y, x), StrictMath.atan2(y, x)), 1.0, engine + " atan2 " + y + ", " + x);
+				}
+			}
+		}
+	}
+
+	@Test
+	void lutIsFixedMath() {
+		int[] sincos = new int[2];
+		for (int angle : FixedMathTest.operands(2000)) {
+			assertEquals(FixedMath.sin(angle), FixedTrigEngine.LUT.sin(angle));
+			assertEquals(FixedMath.cos(angle), FixedTrigEngine.LUT.cos(angle));
+			assertEquals(FixedMath.tan(angle), FixedTrigEngine.LUT.tan(angle));
+			assertEquals(FixedMath.atan2(angle, ONE), FixedTrigEngine.LUT.atan(angle));
+			for (FixedTrigEngine engine : FixedTrigEngine.values()) {
+				engine.sincos(angle, sincos);
+				assertArrayEquals(new int[] { engine.sin(angle), engine.cos(angle) }, sincos, engine + " " + angle);
+			}
+		}
+	}
+
+	@Test
+	void inverseFunctionsRejectValuesOutsideUnitRange() {
+		for (FixedTrigEngine engine : FixedTrigEngine.values()) {
+			assertThrows(ArithmeticException.class, () -> engine.asin(ONE + 1));
+			assertThrows(ArithmeticException.class, () -> engine.acos(-ONE - 1));
+			assertEquals(0, engine.asin(0));
+			assertEquals(0, engine.acos(ONE));
+		}
+	}
+}
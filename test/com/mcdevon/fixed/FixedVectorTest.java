@@ -0,0 +1,122 @@
+package com.mcdevon.fixed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Lengths of FixedVec2, FixedVec3 and FixedQuat against exact roots, and
+ * the transforms of FixedMat3 and FixedQuat
+ */
+class FixedVectorTest {
+
+	static final int ONE = FixedMath.ONE;
+	static final int MAX = FixedMath.MAX_VALUE;
+	static final int MIN = FixedMath.MIN_VALUE;
+
+	// Root of the sum of squares of raw components rounded to nearest,
+	// saturated like the vector types
+	static int length(int... components) {
+		BigInteger squares = BigInteger.ZERO;
+		for (int c : components) {
+			squares = squares.add(BigInteger.valueOf(c).pow(2));
+		}
+		BigInteger root = BigInteger.valueOf((long)Math.sqrt(squares.doubleValue()));
+		while (root.pow(2).compareTo(squares) > 0) {
+			root = root.subtract(BigInteger.ONE);
+		}
+		while (root.add(BigInteger.ONE).pow(2).compareTo(squares) <= 0) {
+			root = root.add(BigInteger.ONE);
+		}
+		if (squares.subtract(root.pow(2)).compareTo(root) > 0) {
+			root = root.add(BigInteger.ONE);
+		}
+		return (int)Math.min(MAX, root.longValue());
+	}
+
+	static int random(Random random) {
+		return random.nextInt() >> random.nextInt(32);
+	}
+
+	@Test
+	void lengthIsExactRoot() {
+		Random random = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			int x = random(random);
+			int y = random(random);
+			int z = random(random);
+			int w = random(random);
+			assertEquals(length(x, y), new FixedVec2(x, y).length());
+			assertEquals(length(x, y, z), new FixedVec3(x, y, z).length());
+			assertEquals(length(x, y, z, w), new FixedQuat(x, y, z, w).length());
+		}
+		assertEquals(FixedMath.fromInt(10000), new FixedVec2(FixedMath.fromInt(10000), 0).length());
+		assertEquals(FixedMath.fromInt(5), new FixedVec3(FixedMath.fromInt(3), 0, FixedMath.fromInt(-4)).length());
+		assertEquals(28, new FixedVec2(20, 20).length());
+	}
+
+	@Test
+	void lengthSaturates() {
+		assertEquals(MAX, new FixedVec2(MAX, MAX).length());
+		assertEquals(MAX, new FixedVec2(MIN, MIN).lengthSquared());
+		assertEquals(MAX, new FixedQuat(MIN, MIN, MIN, MIN).length());
+		assertEquals(MAX, new FixedVec2(MIN, 0).distance(new FixedVec2(MAX, 0)));
+		assertEquals(0, new FixedVec2(MIN, 0).distance(new FixedVec2(MIN, 0)));
+		assertEquals(MAX, new FixedVec3(MAX, 0, 0).length());
+		assertEquals(1518500250, new FixedVec2(1 << 30, 1 << 30).length());
+		assertEquals(1 << 30, new FixedVec2(1 << 30, 0).length());
+	}
+
+	@Test
+	void lengthSquaredIsFloorOfExactSum() {
+		Random random = new Random(7);
+		for (int i = 0; i < 20000; i++) {
+			int x = random(random);
+			int y = random(random);
+			long squares = ((long)x * x + (long)y * y) >>> FixedMath.DECIMAL_BITS;
+			assertEquals((int)Math.min(MAX, squares), new FixedVec2(x, y).lengthSquared());
+		}
+		assertEquals(0, new FixedVec2(31, 0).lengthSquared());
+		assertEquals(1, new FixedVec2(32, 0).lengthSquared());
+	}
+
+	@Test
+	void normalizeGivesUnitLength() {
+		Random random = new Random(3);
+		for (int i = 0; i < 20000; i++) {
+			FixedVec3 v = new FixedVec3(random(random), random(random), random(random));
+			if (v.x == 0 && v.y == 0 && v.z == 0) {
+				continue;
+			}
+			// Each component is within 1/2 ulp, so the length within 1 ulp
+			int length = v.normalize().length();
+			assertTrue(Math.abs(length - ONE) <= 1, v + " -> " + length);
+		}
+		assertEquals(new FixedVec2(ONE, 0), new FixedVec2(FixedMath.fromInt(10000), 0).normalize());
+		assertEquals(new FixedVec2(724, 724), new FixedVec2(20, 20).normalize());
+		assertEquals(new FixedVec2(-ONE, 0), new FixedVec2(MIN, 0).normalize());
+		assertEquals(new FixedQuat(-ONE / 2, -ONE / 2, -ONE / 2, -ONE / 2), new FixedQuat(MIN, MIN, MIN, MIN).normalize());
+		assertEquals(new FixedVec3(), new FixedVec3().normalize());
+	}
+
+	@Test
+	void rotations() {
+		FixedVec3 axis = new FixedVec3(0, 0, ONE);
+		FixedQuat q = new FixedQuat().setAxisAngle(axis, FixedMath.PI_OVER_TWO);
+		FixedVec3 rotated = q.transform(new FixedVec3(ONE, 0, 0));
+		// sin and cos of PI / 4 are a few ulps off, and transform() adds more
+		assertTrue(Math.abs(rotated.x) <= 8 && Math.abs(rotated.y - ONE) <= 8 && rotated.z == 0, rotated.toString());
+
+		FixedVec3 viaMatrix = new FixedMat3().setRotation(q).transform(new FixedVec3(ONE, 0, 0));
+		assertTrue(Math.abs(viaMatrix.x - rotated.x) <= 8 && Math.abs(viaMatrix.y - rotated.y) <= 8, viaMatrix.toString());
+
+		FixedMat3 scale = new FixedMat3().setScale(2 * ONE, 3 * ONE, ONE);
+		assertEquals(6 * ONE, scale.determinant());
+		assertEquals(new FixedVec3(2 * ONE, 3 * ONE, ONE), scale.transform(new FixedVec3(ONE, ONE, ONE)));
+		assertEquals(scale, new FixedMat3().setIdentity().mul(scale));
+	}
+}